@@ -32,6 +32,8 @@ android {
     }
 
     compileOptions {
+        // java.time (CourseScheduleEngine) sur les API 24-25
+        isCoreLibraryDesugaringEnabled = true
         sourceCompatibility = JavaVersion.VERSION_11
         targetCompatibility = JavaVersion.VERSION_11
     }
@@ -40,6 +42,20 @@ android {
         jvmTarget = "11"
     }
 
+    sourceSets {
+        // Schémas exportés lus par MigrationTestHelper : assets des tests instrumentés et de la
+        // variante debug (tests Robolectric), jamais de l'APK release
+        getByName("androidTest").assets.srcDir("$projectDir/schemas")
+        getByName("debug").assets.srcDir("$projectDir/schemas")
+    }
+
+    testOptions {
+        // Tests de migration Room exécutés sur la JVM (Robolectric)
+        unitTests.isIncludeAndroidResources = true
+        // Benchmarks JVM ignorés sauf avec -Pbenchmarks (cf. Benchmarks.assumeEnabled)
+        unitTests.all { it.systemProperty("benchmarks", project.hasProperty("benchmarks").toString()) }
+    }
+
     buildFeatures {
         viewBinding = true
         buildConfig = true // Pour utiliser BuildConfig
@@ -62,7 +78,14 @@ android {
 
 }
 
+ksp {
+    // Export du schéma Room (un fichier JSON par version, à versionner avec le code)
+    arg("room.schemaLocation", "$projectDir/schemas")
+}
+
 dependencies {
+    coreLibraryDesugaring(libs.desugar.jdk.libs)
+
     // UI
     implementation(libs.appcompat)
     implementation(libs.material)
@@ -73,15 +96,24 @@ dependencies {
     // Room + KSP
     implementation(libs.androidx.room.runtime)
     implementation(libs.androidx.room.ktx)
+    implementation(libs.androidx.room.paging)
     ksp(libs.androidx.room.compiler)
 
+    // Paging
+    implementation(libs.androidx.paging.runtime)
+
     // Lifecycle
     implementation(libs.androidx.lifecycle.viewmodel)
     implementation(libs.androidx.lifecycle.livedata)
     implementation(libs.androidx.lifecycle.common)
+    implementation(libs.androidx.lifecycle.savedstate)
 
     // Tests
     testImplementation(libs.junit)
+    testImplementation(libs.robolectric)
+    testImplementation(libs.androidx.test.core)
+    testImplementation(libs.androidx.room.testing)
+    androidTestImplementation(libs.androidx.room.testing)
     androidTestImplementation(libs.ext.junit)
     androidTestImplementation(libs.espresso.core)
 
@@ -0,0 +1,133 @@
+package com.example.studentagenda.data;
+
+import android.content.Context;
+import android.util.Log;
+import androidx.room.RoomDatabase;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+import com.example.studentagenda.data.entity.Course;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+// TRUNCATE + synchronous FULL (ancien réglage) contre WAL + synchronous NORMAL,
+// sous une charge mixte : un écrivain et plusieurs lecteurs en parallèle sur un fichier temporaire
+@RunWith(AndroidJUnit4.class)
+public class JournalModeBenchmarkTest {
+
+    private static final String TAG = "JournalModeBenchmark";
+    private static final int SEED_ROWS = 2_000;
+    private static final int WRITES = 500;     // Une transaction par écriture (comme l'éditeur)
+    private static final int READERS = 3;
+    private static final int READS_PER_READER = 500;
+
+    @Test
+    public void compareTruncateAndWalUnderMixedLoad() throws Exception {
+        Result truncate = run(RoomDatabase.JournalMode.TRUNCATE, CourseDatabase.Synchronous.FULL);
+        Result wal = run(RoomDatabase.JournalMode.WRITE_AHEAD_LOGGING, CourseDatabase.Synchronous.NORMAL);
+
+        Log.i(TAG, "TRUNCATE/FULL : " + truncate);
+        Log.i(TAG, "WAL/NORMAL    : " + wal);
+        assertTrue(truncate.totalMs > 0 && wal.totalMs > 0);
+    }
+
+    private Result run(RoomDatabase.JournalMode mode, CourseDatabase.Synchronous level) throws Exception {
+        Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        String name = "journal-benchmark-" + mode.name();
+        context.deleteDatabase(name);
+        CourseDatabase database = CourseDatabase.create(context, name, mode, level);
+        CourseDao dao = database.courseDao();
+        try {
+            List<Course> seed = new ArrayList<>(SEED_ROWS);
+            for (int i = 0; i < SEED_ROWS; i++) {
+                seed.add(course(i));
+            }
+            database.runInTransaction(() -> {
+                for (Course course : seed) {
+                    dao.insert(course);
+                }
+            });
+
+            ExecutorService pool = Executors.newFixedThreadPool(READERS + 1);
+            CountDownLatch startSignal = new CountDownLatch(1);
+            AtomicLong readNanos = new AtomicLong();
+            AtomicLong writeNanos = new AtomicLong();
+
+            pool.execute(() -> {
+                await(startSignal);
+                long start = System.nanoTime();
+                for (int i = 0; i < WRITES; i++) {
+                    dao.insert(course(SEED_ROWS + i));
+                }
+                writeNanos.set(System.nanoTime() - start);
+            });
+            for (int r = 0; r < READERS; r++) {
+                final int reader = r;
+                pool.execute(() -> {
+                    await(startSignal);
+                    long start = System.nanoTime();
+                    for (int i = 0; i < READS_PER_READER; i++) {
+                        dao.getCoursesInWindow(1 + (i + reader) % 7, 480, 720);
+                    }
+                    readNanos.addAndGet(System.nanoTime() - start);
+                });
+            }
+
+            long start = System.nanoTime();
+            startSignal.countDown();
+            pool.shutdown();
+            assertTrue(pool.awaitTermination(5, TimeUnit.MINUTES));
+            long totalNanos = System.nanoTime() - start;
+
+            assertEquals(SEED_ROWS + WRITES, dao.getAllCoursesSnapshot().size());
+            return new Result(totalNanos / 1_000_000,
+                    writeNanos.get() / 1_000 / WRITES,
+                    readNanos.get() / 1_000 / (READERS * READS_PER_READER));
+        } finally {
+            database.close();
+            context.deleteDatabase(name);
+        }
+    }
+
+    private static Course course(int i) {
+        Course course = new Course(0, "Cours " + i, "Professeur " + (i % 50), "Salle " + (i % 30),
+                Course.CourseType.CM, 1 + i % 7, "08:00", "10:00", false);
+        course.refreshDerivedFields();
+        return course;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Durée totale, puis coût moyen d'une écriture et d'une lecture
+    private static final class Result {
+        final long totalMs;
+        final long writeMicros;
+        final long readMicros;
+
+        Result(long totalMs, long writeMicros, long readMicros) {
+            this.totalMs = totalMs;
+            this.writeMicros = writeMicros;
+            this.readMicros = readMicros;
+        }
+
+        @Override
+        public String toString() {
+            return totalMs + " ms au total, écriture " + writeMicros + " µs, lecture " + readMicros + " µs";
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.studentagenda.data;
+
+import android.content.Context;
+import android.database.Cursor;
+import android.util.Log;
+import androidx.room.RoomDatabase;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+import com.example.studentagenda.data.entity.Course;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntSupplier;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+// Coût de lecture curseur -> objets pour 10 000 cours : SELECT * (entité complète) contre les
+// projections de la liste (CourseListItem) et des rappels (ReminderSlot, index couvrant)
+@RunWith(AndroidJUnit4.class)
+public class ProjectionBenchmarkTest {
+
+    private static final String TAG = "ProjectionBenchmark";
+    private static final String DB_NAME = "projection-benchmark";
+    private static final int ROWS = 10_000;
+    private static final int WARMUP = 3;
+    private static final int RUNS = 10;
+
+    private Context context;
+    private CourseDatabase database;
+    private CourseDao dao;
+
+    @Before
+    public void setUp() {
+        context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        context.deleteDatabase(DB_NAME);
+        database = CourseDatabase.create(context, DB_NAME,
+                RoomDatabase.JournalMode.WRITE_AHEAD_LOGGING, CourseDatabase.Synchronous.NORMAL);
+        dao = database.courseDao();
+
+        List<Course> seed = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            Course course = new Course(0, "Cours magistral de mécanique des fluides " + i,
+                    "Professeur Jean-Baptiste Lefèvre " + (i % 200), "Amphithéâtre Descartes " + (i % 40),
+                    Course.CourseType.values()[i % 4], 1 + i % 7, "08:00", "10:00", i % 2 == 0);
+            course.refreshDerivedFields();
+            seed.add(course);
+        }
+        dao.importChunk(seed); // Professeurs et salles enregistrés dans leurs dictionnaires
+    }
+
+    @After
+    public void tearDown() {
+        database.close();
+        context.deleteDatabase(DB_NAME);
+    }
+
+    @Test
+    public void listProjection_isCheaperThanFullEntities() {
+        long before = measure(() -> dao.getAllCoursesSnapshot().size());
+        long after = measure(() -> dao.getCourseListSnapshot().size());
+
+        Log.i(TAG, "Liste, 10k lignes : SELECT * " + before + " µs, CourseListItem " + after + " µs");
+        assertTrue(before > 0 && after > 0);
+    }
+
+    @Test
+    public void reminderSlots_areReadFromTheCoveringIndex() {
+        // Avant : toute la table relue puis filtrée en Java
+        long before = measure(() -> {
+            int enabled = 0;
+            for (Course course : dao.getAllCoursesSnapshot()) {
+                if (course.isNotificationEnabled()) {
+                    enabled++;
+                }
+            }
+            return enabled;
+        });
+        long after = measure(() -> dao.getReminderSlots().size());
+
+        Log.i(TAG, "Rappels, 10k lignes : SELECT * + filtre " + before + " µs, ReminderSlot " + after + " µs");
+        assertEquals(ROWS / 2, dao.getReminderSlots().size());
+        assertTrue(queryPlan("SELECT id, dayOfWeek, startMinute FROM courses WHERE notificationEnabled = 1")
+                .contains("COVERING INDEX index_courses_notificationEnabled_dayOfWeek_startMinute"));
+    }
+
+    // Durée médiane d'une lecture complète (µs), après préchauffage
+    private static long measure(IntSupplier read) {
+        for (int i = 0; i < WARMUP; i++) {
+            read.getAsInt();
+        }
+        long[] micros = new long[RUNS];
+        for (int i = 0; i < RUNS; i++) {
+            long start = System.nanoTime();
+            read.getAsInt();
+            micros[i] = (System.nanoTime() - start) / 1_000;
+        }
+        Arrays.sort(micros);
+        return micros[RUNS / 2];
+    }
+
+    private String queryPlan(String sql) {
+        StringBuilder plan = new StringBuilder();
+        try (Cursor cursor = database.query("EXPLAIN QUERY PLAN " + sql, null)) {
+            int detail = cursor.getColumnIndexOrThrow("detail");
+            while (cursor.moveToNext()) {
+                plan.append(cursor.getString(detail)).append('\n');
+            }
+        }
+        return plan.toString();
+    }
+}
@@ -1,26 +1,51 @@
 package com.example.studentagenda;
 
 // Import des classes nécessaires pour l'activité, vues, recyclerView, ViewModel, AlertDialog, Intent, etc.
+import android.app.TimePickerDialog;
 import android.content.Intent;
+import android.database.Cursor;
+import android.net.Uri;
 import android.os.Bundle;
+import android.provider.OpenableColumns;
 import android.view.Menu;
 import android.view.MenuItem;
 import android.view.View;
+import android.widget.Toast;
+import androidx.activity.result.ActivityResultLauncher;
+import androidx.activity.result.contract.ActivityResultContracts;
 import androidx.appcompat.app.AlertDialog;
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.annotation.NonNull;
 import androidx.lifecycle.ViewModelProvider;
+import androidx.paging.LoadState;
+import androidx.paging.PagingConfig;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import com.example.studentagenda.adapter.CourseAdapter;
-import com.example.studentagenda.data.CourseDatabase;
+import com.example.studentagenda.adapter.CoursePagingAdapter;
+import com.example.studentagenda.data.CourseTime;
+import com.example.studentagenda.data.conflict.ConflictReport;
+import com.example.studentagenda.data.conflict.CourseConflict;
+import com.example.studentagenda.data.entity.Classroom;
 import com.example.studentagenda.data.entity.Course;
+import com.example.studentagenda.data.entity.CourseListItem;
+import com.example.studentagenda.data.importer.CourseImporter;
+import com.example.studentagenda.data.importer.ImportStats;
+import com.example.studentagenda.data.planner.PlannerResult;
+import com.example.studentagenda.data.planner.TimetablePlan;
 import com.example.studentagenda.databinding.ActivityMainBinding;
 import com.example.studentagenda.ui.AddEditCourseActivity;
 import com.example.studentagenda.ui.CourseDetailActivity;
+import com.example.studentagenda.ui.viewmodel.CoursePaging;
 import com.example.studentagenda.ui.viewmodel.CourseViewModel;
+import com.example.studentagenda.ui.viewmodel.CourseViewModelFactory;
 import com.google.android.material.button.MaterialButton;
+import java.io.FileNotFoundException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.List;
+import kotlin.Unit;
 
 // AJOUTEZ CES IMPORTS
 import android.Manifest;
@@ -28,14 +53,27 @@ import android.content.pm.PackageManager;
 import android.os.Build;
 import androidx.core.content.ContextCompat;
 import com.example.studentagenda.notification.NotificationHelper;
+import com.example.studentagenda.notification.ReminderScheduler;
+import com.example.studentagenda.notification.ReminderSettings;
 
 // Activité principale affichant la liste des cours
 public class MainActivity extends AppCompatActivity {
 
     private ActivityMainBinding binding;   // Binding pour accéder aux vues
     private CourseAdapter courseAdapter;   // Adapter pour recyclerView
+    private CoursePagingAdapter pagingAdapter; // Adapter paginé (très grandes tables), créé à la demande
+    private Boolean showingPages;          // Mode de liste affiché (null avant le premier comptage)
     private CourseViewModel viewModel;     // ViewModel pour manipuler les données des cours
-    private Integer currentDayFilter = null; // Filtre du jour sélectionné (1=Lundi, 2=Mardi...)
+    private ConflictReport conflictReport; // Derniers chevauchements calculés (null avant le premier calcul)
+    private AlertDialog plannerProgress;   // Attente de la génération d'emplois du temps (null sinon)
+    private AlertDialog plansDialog;       // Emplois du temps générés, tant qu'ils sont affichés
+
+    // Choix du fichier d'emploi du temps à importer (CSV ou iCalendar)
+    private final ActivityResultLauncher<String[]> importLauncher =
+            registerForActivityResult(new ActivityResultContracts.OpenDocument(), this::importTimetable);
+    // Création du fichier d'export, un lanceur par format (le type MIME est fixé à l'enregistrement)
+    private final EnumMap<CourseImporter.Format, ActivityResultLauncher<String>> exportLaunchers =
+            new EnumMap<>(CourseImporter.Format.class);
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -45,6 +83,7 @@ public class MainActivity extends AppCompatActivity {
 
         // Initialisation du ViewModel et configuration de l'UI
         initializeViewModel();
+        registerExportLaunchers();
         setupRecyclerView();
         setupObservers();
         setupClickListeners();
@@ -53,11 +92,11 @@ public class MainActivity extends AppCompatActivity {
         // AJOUTEZ CETTE LIGNE
         setupNotificationPermissions(); // Demander la permission pour les notifications
 
-        loadAllCourses(); // Chargement initial de tous les cours
+        updateDayFilterUI(viewModel.getQuery().getDayFilter()); // Filtre restauré par le ViewModel
 
 
-        // Replanifier tous les rappels au démarrage
-        scheduleAllCourseReminders();
+        // Les rappels suivent les écritures via l'outbox (cf. ReminderOutboxWorker)
+        // et sont resynchronisés dans onResume
 
 
     }
@@ -89,7 +128,7 @@ public class MainActivity extends AppCompatActivity {
         if (requestCode == 1001) {
             if (grantResults.length > 0 && grantResults[0] == PackageManager.PERMISSION_GRANTED) {
                 // Permission accordée - replanifier les rappels
-                scheduleAllCourseReminders();
+                ReminderScheduler.getInstance(this).requestSyncFromDatabase(null);
             } else {
                 // Permission refusée
                 // Vous pourriez montrer un message à l'utilisateur
@@ -103,16 +142,6 @@ public class MainActivity extends AppCompatActivity {
         notificationHelper.showTestNotification();
     }
 
-  // Replanifie tous les rappels des cours existants
-
-    private void scheduleAllCourseReminders() {
-        viewModel.getAllCourses().observe(this, courses -> {
-            if (courses != null && !courses.isEmpty()) {
-                NotificationHelper helper = new NotificationHelper(this);
-                helper.rescheduleAllReminders(courses);
-            }
-        });
-    }
     // Test d'une notification planifiée (pour debug)
 
     private void testScheduledNotification() {
@@ -131,23 +160,13 @@ public class MainActivity extends AppCompatActivity {
 
     // Initialisation du ViewModel avec le DAO de la base de données
     private void initializeViewModel() {
-        CourseDatabase database = CourseDatabase.getInstance(this);
-        ViewModelProvider.Factory factory = new ViewModelProvider.Factory() {
-            @NonNull
-            @Override
-            public <T extends androidx.lifecycle.ViewModel> T create(@NonNull Class<T> modelClass) {
-                if (modelClass.isAssignableFrom(CourseViewModel.class)) {
-                    return (T) new CourseViewModel(database.courseDao());
-                }
-                throw new IllegalArgumentException("Unknown ViewModel class");
-            }
-        };
-        viewModel = new ViewModelProvider(this, factory).get(CourseViewModel.class);
+        viewModel = new ViewModelProvider(this, new CourseViewModelFactory(this)).get(CourseViewModel.class);
     }
 
     // Configuration du RecyclerView avec son adapter et layout manager
     private void setupRecyclerView() {
         courseAdapter = new CourseAdapter(
+                this,
                 this::onCourseClick,       // Clic simple sur un cours
                 this::onCourseLongClick    // Clic long sur un cours
         );
@@ -156,16 +175,72 @@ public class MainActivity extends AppCompatActivity {
         binding.recyclerViewCourses.setAdapter(courseAdapter);
     }
 
-    // Observateur LiveData pour mettre à jour la liste des cours en temps réel
+    // Observateur unique : la liste affichée suit la requête courante du ViewModel,
+    // complète ou paginée selon la taille de la table
     private void setupObservers() {
-        viewModel.getAllCourses().observe(this, courses -> {
-            if (courses != null) {
-                courseAdapter.setCourses(courses);
-                updateEmptyState(courses.isEmpty()); // Affiche un message si liste vide
+        viewModel.getUsePaging().observe(this, paged -> showList(Boolean.TRUE.equals(paged)));
+        viewModel.getConflictReport().observe(this, report -> conflictReport = report);
+        // Génération d'emplois du temps : état tenu par le ViewModel, réaffiché après une rotation
+        viewModel.getPlannerRun().observe(this, run -> showPlanningProgress(run != null));
+        viewModel.getPlannerResult().observe(this, result -> {
+            if (result != null) {
+                showPlans(result);
+            }
+        });
+        viewModel.getPlannerError().observe(this, error -> {
+            if (error != null) {
+                Toast.makeText(this, "Échec de la génération : " + error.getMessage(), Toast.LENGTH_LONG).show();
+                viewModel.onPlannerErrorShown();
             }
         });
     }
 
+    // Bascule entre la liste complète et la liste paginée ; l'observateur de l'autre mode est
+    // retiré pour que sa requête Room ne soit plus exécutée
+    private void showList(boolean paged) {
+        if (showingPages != null && showingPages == paged) {
+            return;
+        }
+        showingPages = paged;
+        if (paged) {
+            viewModel.getCourses().removeObservers(this);
+            binding.recyclerViewCourses.setAdapter(getPagingAdapter());
+            viewModel.getPagedCourses(pagingConfig()).observe(this,
+                    pages -> pagingAdapter.submitCourses(getLifecycle(), pages));
+        } else {
+            if (pagingAdapter != null) {
+                viewModel.getPagedCourses(pagingConfig()).removeObservers(this);
+            }
+            binding.recyclerViewCourses.setAdapter(courseAdapter);
+            viewModel.getCourses().observe(this, courses -> {
+                if (courses != null) {
+                    courseAdapter.setCourses(courses);
+                    updateEmptyState(courses.isEmpty()); // Affiche un message si liste vide
+                }
+            });
+        }
+    }
+
+    private CoursePagingAdapter getPagingAdapter() {
+        if (pagingAdapter == null) {
+            pagingAdapter = new CoursePagingAdapter(this, this::onCourseClick, this::onCourseLongClick);
+            // Liste vide : connue une fois le premier chargement terminé
+            pagingAdapter.addLoadStateListener(states -> {
+                if (showingPages == Boolean.TRUE && states.getRefresh() instanceof LoadState.NotLoading) {
+                    updateEmptyState(pagingAdapter.getItemCount() == 0);
+                }
+                return Unit.INSTANCE;
+            });
+        }
+        return pagingAdapter;
+    }
+
+    // Pages dimensionnées sur le nombre de lignes qui tiennent dans la hauteur de l'écran
+    private PagingConfig pagingConfig() {
+        return CoursePaging.configFor(getResources().getDisplayMetrics().heightPixels,
+                getResources().getDimensionPixelSize(R.dimen.course_row_height_estimate));
+    }
+
     // Configuration des boutons et filtres
     private void setupClickListeners() {
         // Bouton d'ajout d'un cours
@@ -223,15 +298,8 @@ public class MainActivity extends AppCompatActivity {
                 String query = s.toString();
                 binding.btnClearSearch.setVisibility(query.isEmpty() ? View.GONE : View.VISIBLE);
 
-                if (!query.isEmpty()) {
-                    performSearch(query);
-                } else {
-                    if (currentDayFilter != null) {
-                        filterByDay(currentDayFilter);
-                    } else {
-                        loadAllCourses();
-                    }
-                }
+                // Le ViewModel applique le délai anti-rebond et remplace la requête en cours
+                viewModel.setSearchText(query);
             }
             @Override
             public void afterTextChanged(android.text.Editable s) {}
@@ -242,48 +310,24 @@ public class MainActivity extends AppCompatActivity {
     }
 
     // Clic simple sur un cours : ouvre CourseDetailActivity
-    private void onCourseClick(Course course) {
+    private void onCourseClick(CourseListItem course) {
         Intent intent = new Intent(this, CourseDetailActivity.class);
         intent.putExtra("COURSE_ID", course.getId());
         startActivity(intent);
     }
 
     // Clic long sur un cours : affiche un dialogue d'actions
-    private boolean onCourseLongClick(Course course) {
+    private boolean onCourseLongClick(CourseListItem course) {
         showCourseActionsDialog(course);
         return true;
     }
 
-    // Chargement de tous les cours
-    private void loadAllCourses() {
-        viewModel.getAllCourses().observe(this, courses -> {
-            courseAdapter.setCourses(courses);
-            updateEmptyState(courses.isEmpty());
-        });
-    }
-
-    // Filtrage des cours par jour
+    // Filtrage des cours par jour (null = tous)
     private void filterByDay(Integer day) {
-        currentDayFilter = day;
-        if (day == null) {
-            loadAllCourses();
-        } else {
-            viewModel.getCoursesByDay(day).observe(this, courses -> {
-                courseAdapter.setCourses(courses);
-                updateEmptyState(courses.isEmpty());
-            });
-        }
+        viewModel.setDayFilter(day);
         updateDayFilterUI(day);
     }
 
-    // Recherche des cours par nom ou professeur
-    private void performSearch(String query) {
-        viewModel.searchCourses(query).observe(this, courses -> {
-            courseAdapter.setCourses(courses);
-            updateEmptyState(courses.isEmpty());
-        });
-    }
-
     // Met à jour l'état des boutons de filtre
     private void updateDayFilterUI(Integer selectedDay) {
         List<MaterialButton> filterButtons = new ArrayList<>();
@@ -328,11 +372,11 @@ public class MainActivity extends AppCompatActivity {
     }
 
     // Dialogue pour modifier ou supprimer un cours
-    private void showCourseActionsDialog(Course course) {
+    private void showCourseActionsDialog(CourseListItem course) {
         String[] actions = {"Modifier", "Supprimer"};
 
         new AlertDialog.Builder(this)
-                .setTitle(course.getTitle()) // Titre du dialogue = nom du cours
+                .setTitle(course.getName()) // Titre du dialogue = nom du cours
                 .setItems(actions, (dialog, which) -> {
                     switch (which) {
                         case 0: // Modifier
@@ -354,17 +398,13 @@ public class MainActivity extends AppCompatActivity {
     }
 
 
-    private void showDeleteConfirmationDialog(Course course) {
+    private void showDeleteConfirmationDialog(CourseListItem course) {
         new AlertDialog.Builder(this)
                 .setTitle("Supprimer le cours")
-                .setMessage("Êtes-vous sûr de vouloir supprimer \"" + course.getTitle() + "\" ?\n\n" +
+                .setMessage("Êtes-vous sûr de vouloir supprimer \"" + course.getName() + "\" ?\n\n" +
                         "⚠️ Tous les rappels planifiés seront également annulés.")
                 .setPositiveButton("Supprimer", (dialog, which) -> {
-                    // Annuler le rappel planifié avant de supprimer le cours
-                    NotificationHelper helper = new NotificationHelper(this);
-                    helper.cancelScheduledReminder(course.getId());
-
-                    // Supprimer le cours
+                    // Supprimer le cours (son rappel est annulé via l'outbox)
                     viewModel.delete(course);
                 })
                 .setNegativeButton("Annuler", null)
@@ -398,6 +438,22 @@ public class MainActivity extends AppCompatActivity {
         } else if (id == R.id.action_clear_all) {
             showClearAllConfirmationDialog();
             return true;
+        } else if (id == R.id.action_conflicts) {
+            showConflictsDialog();
+            return true;
+        } else if (id == R.id.action_free_rooms) {
+            showFreeRoomDialog();
+            return true;
+        } else if (id == R.id.action_plan) {
+            startPlanning();
+            return true;
+        } else if (id == R.id.action_export) {
+            showExportDialog();
+            return true;
+        } else if (id == R.id.action_import) {
+            importLauncher.launch(new String[]{"text/calendar", "text/csv", "text/comma-separated-values",
+                    "text/plain", "application/json", "application/octet-stream"});
+            return true;
         }
         // AJOUTEZ CE CAS
         else if (id == R.id.action_test_notification) {
@@ -414,14 +470,288 @@ public class MainActivity extends AppCompatActivity {
         return super.onOptionsItemSelected(item);
     }
 
-    private void showSettingsDialog() {
+    // Import en flux du fichier choisi ; le résultat est affiché à la fin
+    private void importTimetable(Uri uri) {
+        if (uri == null) {
+            return; // Sélection annulée
+        }
+        CourseImporter.Format format = CourseImporter.Format.detect(displayName(uri),
+                getContentResolver().getType(uri));
+        if (format == null) {
+            Toast.makeText(this, "Format non reconnu (.csv, .ics, .json ou .agenda attendu)",
+                    Toast.LENGTH_LONG).show();
+            return;
+        }
+        InputStream input;
+        try {
+            input = getContentResolver().openInputStream(uri);
+        } catch (FileNotFoundException e) {
+            input = null;
+        }
+        if (input == null) {
+            Toast.makeText(this, "Impossible d'ouvrir le fichier", Toast.LENGTH_LONG).show();
+            return;
+        }
+        Toast.makeText(this, "Import en cours...", Toast.LENGTH_SHORT).show();
+        viewModel.importCourses(input, format, new CourseViewModel.ImportCallback() {
+            @Override
+            public void onProgress(ImportStats stats) {
+                runOnUiThread(() -> showImportProgress(stats.getImported() + " cours ("
+                        + stats.getCoursesPerSecond() + "/s)"));
+            }
+
+            @Override
+            public void onImported(ImportStats stats) {
+                runOnUiThread(() -> {
+                    showImportProgress(null);
+                    Toast.makeText(MainActivity.this, stats.getImported() + " cours importés ("
+                            + stats.getSkipped() + " ignorés)", Toast.LENGTH_LONG).show();
+                });
+            }
+
+            @Override
+            public void onImportFailed(Throwable error) {
+                runOnUiThread(() -> {
+                    showImportProgress(null);
+                    Toast.makeText(MainActivity.this, "Échec de l'import : " + error.getMessage(),
+                            Toast.LENGTH_LONG).show();
+                });
+            }
+        });
+    }
+
+    private void registerExportLaunchers() {
+        for (CourseImporter.Format format : CourseImporter.Format.values()) {
+            if (format != CourseImporter.Format.CSV) {
+                exportLaunchers.put(format, registerForActivityResult(
+                        new ActivityResultContracts.CreateDocument(format.getMimeType()),
+                        uri -> exportTimetable(uri, format)));
+            }
+        }
+    }
+
+    // Choix du format puis du fichier de destination
+    private void showExportDialog() {
+        CourseImporter.Format[] formats = {
+                CourseImporter.Format.ICS, CourseImporter.Format.JSON, CourseImporter.Format.BINARY
+        };
+        String[] labels = {
+                "iCalendar (.ics) : autres agendas",
+                "JSON (.json) : lisible, pour partager",
+                "Sauvegarde compacte (.agenda) : restauration rapide"
+        };
+        new AlertDialog.Builder(this)
+                .setTitle("Exporter l'emploi du temps")
+                .setItems(labels, (dialog, which) -> exportLaunchers.get(formats[which])
+                        .launch("emploi_du_temps" + formats[which].getExtension()))
+                .setNegativeButton("Annuler", null)
+                .show();
+    }
+
+    private void exportTimetable(Uri uri, CourseImporter.Format format) {
+        if (uri == null) {
+            return; // Création annulée
+        }
+        OutputStream output;
+        try {
+            output = getContentResolver().openOutputStream(uri);
+        } catch (FileNotFoundException e) {
+            output = null;
+        }
+        if (output == null) {
+            Toast.makeText(this, "Impossible de créer le fichier", Toast.LENGTH_LONG).show();
+            return;
+        }
+        viewModel.exportCourses(output, format, new CourseViewModel.ExportCallback() {
+            @Override
+            public void onExported(int count) {
+                runOnUiThread(() -> Toast.makeText(MainActivity.this, count + " cours exportés",
+                        Toast.LENGTH_LONG).show());
+            }
+
+            @Override
+            public void onExportFailed(Throwable error) {
+                runOnUiThread(() -> Toast.makeText(MainActivity.this, "Échec de l'export : "
+                        + error.getMessage(), Toast.LENGTH_LONG).show());
+            }
+        });
+    }
+
+    // Nom du fichier choisi (l'URI d'un document ne contient pas toujours l'extension)
+    private String displayName(Uri uri) {
+        try (Cursor cursor = getContentResolver().query(uri,
+                new String[]{OpenableColumns.DISPLAY_NAME}, null, null, null)) {
+            if (cursor != null && cursor.moveToFirst()) {
+                return cursor.getString(0);
+            }
+        }
+        return uri.getLastPathSegment();
+    }
+
+    // Progression de l'import dans le sous-titre de la barre d'action (null pour l'effacer)
+    private void showImportProgress(String progress) {
+        if (getSupportActionBar() != null) {
+            getSupportActionBar().setSubtitle(progress);
+        }
+    }
+
+    // Cours qui se chevauchent ; un clic ouvre la modification du premier cours de la paire
+    private void showConflictsDialog() {
+        ConflictReport report = conflictReport;
+        if (report == null || report.isEmpty()) {
+            Toast.makeText(this, report == null ? "Analyse de l'emploi du temps en cours..."
+                    : "Aucun chevauchement", Toast.LENGTH_SHORT).show();
+            return;
+        }
+        List<CourseConflict> conflicts = report.getConflicts();
+        String[] labels = new String[conflicts.size()];
+        for (int i = 0; i < labels.length; i++) {
+            labels[i] = conflicts.get(i).describe();
+        }
+        String title = report.getTotal() + " chevauchement" + (report.getTotal() > 1 ? "s" : "");
+        if (report.getTotal() > conflicts.size()) {
+            title += " (" + conflicts.size() + " premiers)";
+        }
+        new AlertDialog.Builder(this)
+                .setTitle(title)
+                .setItems(labels, (dialog, which) -> {
+                    Intent intent = new Intent(this, AddEditCourseActivity.class);
+                    intent.putExtra("COURSE_ID", conflicts.get(which).getFirst().getId());
+                    startActivity(intent);
+                })
+                .setNegativeButton("Fermer", null)
+                .show();
+    }
+
+    // Salles libres : choix du jour, de l'heure de début puis de l'heure de fin
+    private void showFreeRoomDialog() {
+        String[] days = new String[7];
+        for (int i = 0; i < days.length; i++) {
+            days[i] = Course.dayName(i + 1);
+        }
+        new AlertDialog.Builder(this)
+                .setTitle("Salles libres : quel jour ?")
+                .setItems(days, (dialog, which) -> pickFreeRoomTimes(which + 1))
+                .setNegativeButton("Annuler", null)
+                .show();
+    }
+
+    private void pickFreeRoomTimes(int day) {
+        TimePickerDialog startPicker = new TimePickerDialog(this, (view, startHour, startMinute) -> {
+            int start = startHour * 60 + startMinute;
+            int defaultEnd = Math.min(start + 120, CourseTime.MINUTES_PER_DAY - 1);
+            TimePickerDialog endPicker = new TimePickerDialog(this, (endView, endHour, endMinute) -> {
+                int end = endHour * 60 + endMinute;
+                if (end <= start) {
+                    Toast.makeText(this, "L'heure de fin doit être après l'heure de début",
+                            Toast.LENGTH_LONG).show();
+                    return;
+                }
+                viewModel.findFreeRooms(day, start, end,
+                        rooms -> runOnUiThread(() -> showFreeRooms(day, start, end, rooms)));
+            }, defaultEnd / 60, defaultEnd % 60, true);
+            endPicker.setTitle("Heure de fin");
+            endPicker.show();
+        }, 8, 0, true);
+        startPicker.setTitle("Heure de début");
+        startPicker.show();
+    }
+
+    private void showFreeRooms(int day, int start, int end, List<Classroom> rooms) {
+        String title = Course.dayName(day) + " " + CourseTime.format(start) + "-" + CourseTime.format(end);
+        AlertDialog.Builder builder = new AlertDialog.Builder(this)
+                .setTitle(title)
+                .setPositiveButton("OK", null);
+        if (rooms.isEmpty()) {
+            builder.setMessage("Aucune salle libre sur ce créneau");
+        } else {
+            String[] names = new String[rooms.size()];
+            for (int i = 0; i < names.length; i++) {
+                names[i] = rooms.get(i).getName();
+            }
+            builder.setItems(names, null);
+        }
+        builder.show();
+    }
+
+    // Génération d'emplois du temps ; "Arrêter" garde les meilleurs trouvés jusque-là
+    private void startPlanning() {
+        viewModel.planTimetables(); // Sans effet si une génération est déjà en cours
+    }
+
+    private void showPlanningProgress(boolean running) {
+        if (running && plannerProgress == null) {
+            plannerProgress = new AlertDialog.Builder(this)
+                    .setTitle("Générer un emploi du temps")
+                    .setMessage("Recherche des meilleures combinaisons...")
+                    .setCancelable(false)
+                    .setNegativeButton("Arrêter", (dialog, which) -> viewModel.cancelPlanning())
+                    .show();
+        } else if (!running && plannerProgress != null) {
+            plannerProgress.dismiss();
+            plannerProgress = null;
+        }
+    }
+
+    // Le résultat reste dans le ViewModel tant que l'utilisateur n'a pas fermé la liste
+    private void showPlans(PlannerResult result) {
+        if (plansDialog != null) {
+            return;
+        }
+        List<TimetablePlan> plans = result.getPlans();
+        AlertDialog.Builder builder = new AlertDialog.Builder(this)
+                .setTitle(result.isComplete() ? "Emplois du temps" : "Emplois du temps (recherche interrompue)")
+                .setNegativeButton("Fermer", (dialog, which) -> viewModel.onPlannerResultShown())
+                .setOnCancelListener(dialog -> viewModel.onPlannerResultShown());
+        if (plans.isEmpty()) {
+            builder.setMessage("Aucune combinaison sans chevauchement");
+        } else {
+            String[] labels = new String[plans.size()];
+            for (int i = 0; i < labels.length; i++) {
+                labels[i] = (i + 1) + ". " + plans.get(i).describe();
+            }
+            builder.setItems(labels, (dialog, which) -> {
+                viewModel.onPlannerResultShown();
+                showPlan(plans.get(which));
+            });
+        }
+        plansDialog = builder.show();
+        plansDialog.setOnDismissListener(dialog -> plansDialog = null);
+    }
+
+    private void showPlan(TimetablePlan plan) {
+        List<Course> courses = plan.getCourses();
+        String[] lines = new String[courses.size()];
+        for (int i = 0; i < lines.length; i++) {
+            Course course = courses.get(i);
+            lines[i] = course.getDayName() + " " + course.getStartTime() + "-" + course.getEndTime()
+                    + " : " + course.getName() + " (" + course.getType() + ")";
+        }
         new AlertDialog.Builder(this)
-                .setTitle("Paramètres")
-                .setMessage("Les paramètres seront bientôt disponibles")
+                .setTitle(plan.describe())
+                .setItems(lines, null)
                 .setPositiveButton("OK", null)
                 .show();
     }
 
+    // Paramètres : mode de planification des rappels
+    private void showSettingsDialog() {
+        ReminderScheduler scheduler = ReminderScheduler.getInstance(this);
+        ReminderSettings.Mode[] modes = ReminderSettings.Mode.values();
+        String[] labels = {
+                "Une alarme par cours",
+                "Une seule alarme (la plus proche), réarmée à chaque rappel"
+        };
+        new AlertDialog.Builder(this)
+                .setTitle("Rappels")
+                .setSingleChoiceItems(labels, scheduler.getMode().ordinal(), (dialog, which) -> {
+                    scheduler.setMode(modes[which]);
+                    dialog.dismiss();
+                })
+                .setNegativeButton("Annuler", null)
+                .show();
+    }
+
 
     private void showClearAllConfirmationDialog() {
         new AlertDialog.Builder(this)
@@ -430,17 +760,7 @@ public class MainActivity extends AppCompatActivity {
                         "⚠️ Cette action est irréversible.\n" +
                         "⚠️ Tous les rappels planifiés seront annulés.")
                 .setPositiveButton("Supprimer tout", (dialog, which) -> {
-                    // Annuler tous les rappels planifiés
-                    viewModel.getAllCourses().observe(this, courses -> {
-                        if (courses != null && !courses.isEmpty()) {
-                            NotificationHelper helper = new NotificationHelper(this);
-                            for (Course course : courses) {
-                                helper.cancelScheduledReminder(course.getId());
-                            }
-                        }
-                    });
-
-                    // Supprimer tous les cours
+                    // Supprimer tous les cours (les rappels enregistrés sont annulés via l'outbox)
                     viewModel.deleteAllCourses();
                 })
                 .setNegativeButton("Annuler", null)
@@ -450,9 +770,22 @@ public class MainActivity extends AppCompatActivity {
     @Override
     protected void onResume() {
         super.onResume();
-        // Replanifier les rappels quand l'app revient au premier plan
-        // (Utile après un redémarrage du système)
-        scheduleAllCourseReminders();
+        // Rappels déjà passés réarmés pour la semaine suivante ; sans changement, aucun appel à AlarmManager
+        ReminderScheduler.getInstance(this).requestSyncFromDatabase(null);
+    }
+
+    // Les dialogues de la génération sont recréés par les observateurs de la nouvelle activité ;
+    // la génération elle-même continue dans le ViewModel (annulée dans onCleared)
+    @Override
+    protected void onDestroy() {
+        if (plannerProgress != null) {
+            plannerProgress.dismiss();
+            plannerProgress = null;
+        }
+        if (plansDialog != null) {
+            plansDialog.dismiss();
+        }
+        super.onDestroy();
     }
 
 }
\ No newline at end of file
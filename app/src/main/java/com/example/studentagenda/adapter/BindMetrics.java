@@ -0,0 +1,42 @@
+package com.example.studentagenda.adapter;
+
+import android.util.Log;
+
+// Mesure du temps passé dans onBindViewHolder (thread principal uniquement)
+public final class BindMetrics {
+
+    private static final String TAG = "BindMetrics";
+    private static final int LOG_EVERY = 200; // Un résumé dans le log toutes les N liaisons
+
+    private long count;
+    private long totalNanos;
+    private long maxNanos;
+
+    // Enregistre une liaison commencée à startNanos (System.nanoTime())
+    public void record(long startNanos) {
+        long elapsed = System.nanoTime() - startNanos;
+        count++;
+        totalNanos += elapsed;
+        if (elapsed > maxNanos) {
+            maxNanos = elapsed;
+        }
+        if (count % LOG_EVERY == 0) {
+            Log.d(TAG, "Liaisons: " + count + ", moyenne " + getAverageMicros() + " µs, max "
+                    + maxNanos / 1000 + " µs");
+        }
+    }
+
+    public long getCount() { return count; }
+
+    public long getAverageMicros() {
+        return count == 0 ? 0 : totalNanos / count / 1000;
+    }
+
+    public long getMaxMicros() { return maxNanos / 1000; }
+
+    public void reset() {
+        count = 0;
+        totalNanos = 0;
+        maxNanos = 0;
+    }
+}
@@ -1,36 +1,105 @@
  package com.example.studentagenda.adapter;
 
+import android.content.Context;
+import android.graphics.Color;
+import android.os.Handler;
+import android.os.Looper;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
+import android.widget.ImageView;
 import android.widget.TextView;
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.core.text.PrecomputedTextCompat;
+import androidx.core.widget.TextViewCompat;
+import androidx.recyclerview.widget.AsyncDifferConfig;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
 import com.example.studentagenda.R;
-import com.example.studentagenda.data.entity.Course;
+import com.example.studentagenda.data.entity.CourseListItem;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
-public class CourseAdapter extends RecyclerView.Adapter<CourseAdapter.CourseViewHolder> {
+public class CourseAdapter extends ListAdapter<CourseRowModel, CourseAdapter.CourseViewHolder> {
+
+    // Payload : seul l'état du rappel a changé, inutile de relier toute la ligne
+    static final Object PAYLOAD_NOTIFICATION = new Object();
+
+    // Thread unique partagé : construction des lignes puis calcul des différences
+    static final ExecutorService DIFF_EXECUTOR = Executors.newSingleThreadExecutor();
 
-    private List<Course> courses = new ArrayList<>(); // Liste des cours affichés
     private final OnItemClickListener onItemClickListener; // Listener clic simple
     private final OnItemLongClickListener onItemLongClickListener; // Listener clic long
+    private final CourseRowModel.Factory rowFactory;       // Pré-calcul des lignes
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final BindMetrics bindMetrics = new BindMetrics(); // Temps de liaison
+    private int submitGeneration = 0; // Ignore une liste préparée si une plus récente est arrivée
 
     // Interface pour gérer le clic sur un item
     public interface OnItemClickListener {
-        void onItemClick(Course course);
+        void onItemClick(CourseListItem course);
     }
 
     // Interface pour gérer le clic long
     public interface OnItemLongClickListener {
-        boolean onItemLongClick(Course course);
+        boolean onItemLongClick(CourseListItem course);
     }
 
-    // Constructeur avec les deux listeners
-    public CourseAdapter(OnItemClickListener clickListener, OnItemLongClickListener longClickListener) {
+    // Comparaison des listes : même id = même item, equals du cours = même contenu
+    static final DiffUtil.ItemCallback<CourseRowModel> DIFF_CALLBACK = new DiffUtil.ItemCallback<CourseRowModel>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull CourseRowModel oldItem, @NonNull CourseRowModel newItem) {
+            return oldItem.getId() == newItem.getId();
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull CourseRowModel oldItem, @NonNull CourseRowModel newItem) {
+            return oldItem.getCourse().equals(newItem.getCourse());
+        }
+
+        @Nullable
+        @Override
+        public Object getChangePayload(@NonNull CourseRowModel oldItem, @NonNull CourseRowModel newItem) {
+            // Si seule la notification diffère, on ne met à jour que son indicateur
+            if (oldItem.isNotificationEnabled() != newItem.isNotificationEnabled()
+                    && sameDisplayedFields(oldItem.getCourse(), newItem.getCourse())) {
+                return PAYLOAD_NOTIFICATION;
+            }
+            return null; // Liaison complète
+        }
+    };
+
+    // Constructeur avec le contexte (mesure du texte, couleurs) et les deux listeners
+    public CourseAdapter(Context context, OnItemClickListener clickListener,
+                         OnItemLongClickListener longClickListener) {
+        super(new AsyncDifferConfig.Builder<>(DIFF_CALLBACK)
+                .setBackgroundThreadExecutor(DIFF_EXECUTOR)
+                .build());
         this.onItemClickListener = clickListener;
         this.onItemLongClickListener = longClickListener;
+        this.rowFactory = createRowFactory(context);
+        setHasStableIds(true); // L'id du cours identifie la ligne (animations conservées)
+    }
+
+    // Paramètres de mesure lus sur un item prototype : identiques à ceux des vraies lignes.
+    // Sans parent, le prototype resterait LTR : il reçoit le sens de la configuration, comme la
+    // racine de la fenêtre, et la mesure résout ce sens jusqu'aux TextView (sinon, en arabe ou
+    // en hébreu, setPrecomputedText rejette le texte à partir de l'API 29)
+    static CourseRowModel.Factory createRowFactory(Context context) {
+        View prototype = LayoutInflater.from(context).inflate(R.layout.item_course, null, false);
+        prototype.setLayoutDirection(context.getResources().getConfiguration().getLayoutDirection());
+        prototype.measure(View.MeasureSpec.UNSPECIFIED, View.MeasureSpec.UNSPECIFIED);
+        return new CourseRowModel.Factory(
+                context,
+                TextViewCompat.getTextMetricsParams(prototype.findViewById(R.id.tvCourseName)),
+                TextViewCompat.getTextMetricsParams(prototype.findViewById(R.id.tvProfessor)),
+                TextViewCompat.getTextMetricsParams(prototype.findViewById(R.id.tvTime))
+        );
     }
 
     @NonNull
@@ -39,44 +108,85 @@ public class CourseAdapter extends RecyclerView.Adapter<CourseAdapter.CourseView
         // Inflate du layout de chaque item
         View view = LayoutInflater.from(parent.getContext())
                 .inflate(R.layout.item_course, parent, false);
-        return new CourseViewHolder(view);
+        CourseViewHolder holder = new CourseViewHolder(view);
+
+        // Listeners créés une seule fois par ViewHolder (et non à chaque liaison)
+        view.setOnClickListener(v -> {
+            int position = holder.getBindingAdapterPosition();
+            if (position != RecyclerView.NO_POSITION && onItemClickListener != null) {
+                onItemClickListener.onItemClick(getItem(position).getCourse());
+            }
+        });
+        view.setOnLongClickListener(v -> {
+            int position = holder.getBindingAdapterPosition();
+            if (position != RecyclerView.NO_POSITION && onItemLongClickListener != null) {
+                return onItemLongClickListener.onItemLongClick(getItem(position).getCourse());
+            }
+            return false;
+        });
+        return holder;
     }
 
     @Override
     public void onBindViewHolder(@NonNull CourseViewHolder holder, int position) {
-        Course course = courses.get(position); // Récupération du cours actuel
-        holder.bind(course); // Remplissage des vues
+        long start = System.nanoTime();
+        holder.bind(getItem(position)); // Remplissage des vues (simples affectations)
+        bindMetrics.record(start);
+    }
 
-        // Gestion du clic simple
-        holder.itemView.setOnClickListener(v -> {
-            if (onItemClickListener != null) {
-                onItemClickListener.onItemClick(course);
-            }
-        });
+    @Override
+    public void onBindViewHolder(@NonNull CourseViewHolder holder, int position, @NonNull List<Object> payloads) {
+        if (payloads.isEmpty()) {
+            onBindViewHolder(holder, position);
+            return;
+        }
+        // Tous les payloads de cet adapter ne concernent que l'indicateur de rappel
+        holder.bindNotification(getItem(position));
+    }
+
+    @Override
+    public long getItemId(int position) {
+        return getItem(position).getId();
+    }
 
-        // Gestion du clic long
-        holder.itemView.setOnLongClickListener(v -> {
-            if (onItemLongClickListener != null) {
-                return onItemLongClickListener.onItemLongClick(course);
+    // Mettre à jour la liste des cours : lignes construites puis différences calculées
+    // en arrière-plan, publication sur le thread principal
+    public void setCourses(List<CourseListItem> courses) {
+        final int generation = ++submitGeneration;
+        final List<CourseListItem> source = courses != null ? courses : new ArrayList<>();
+        DIFF_EXECUTOR.execute(() -> {
+            List<CourseRowModel> rows = new ArrayList<>(source.size());
+            for (CourseListItem course : source) {
+                rows.add(rowFactory.create(course));
             }
-            return false;
+            mainHandler.post(() -> {
+                if (generation == submitGeneration) {
+                    submitList(rows);
+                }
+            });
         });
     }
 
-    @Override
-    public int getItemCount() {
-        return courses.size(); // Nombre total d’items
+    // Statistiques du temps de liaison (pour comparer avant/après optimisation)
+    public BindMetrics getBindMetrics() {
+        return bindMetrics;
     }
 
-    // Mettre à jour la liste des cours
-    public void setCourses(List<Course> courses) {
-        this.courses = courses != null ? courses : new ArrayList<>();
-        notifyDataSetChanged(); // Rafraîchir la liste
+    // Vrai si tout ce qui est affiché, hors indicateur de rappel, est identique
+    private static boolean sameDisplayedFields(CourseListItem a, CourseListItem b) {
+        return a.getDayOfWeek() == b.getDayOfWeek()
+                && a.getType() == b.getType()
+                && Objects.equals(a.getName(), b.getName())
+                && Objects.equals(a.getProfessor(), b.getProfessor())
+                && Objects.equals(a.getRoom(), b.getRoom())
+                && Objects.equals(a.getStartTime(), b.getStartTime())
+                && Objects.equals(a.getEndTime(), b.getEndTime());
     }
 
     // ViewHolder représentant un item du RecyclerView
     static class CourseViewHolder extends RecyclerView.ViewHolder {
         private final TextView tvName, tvProfessor, tvTime, tvRoom, tvType, tvDay;
+        private final ImageView ivNotification;
 
         public CourseViewHolder(@NonNull View itemView) {
             super(itemView);
@@ -86,33 +196,45 @@ public class CourseAdapter extends RecyclerView.Adapter<CourseAdapter.CourseView
             tvRoom = itemView.findViewById(R.id.tvRoom);
             tvType = itemView.findViewById(R.id.tvType);
             tvDay = itemView.findViewById(R.id.tvDay);
+            ivNotification = itemView.findViewById(R.id.ivNotification);
+        }
+
+        // Affecte les valeurs déjà préparées par CourseRowModel
+        public void bind(CourseRowModel row) {
+            setText(tvName, row.getName());
+            setText(tvProfessor, row.getProfessor());
+            setText(tvTime, row.getTime());
+            setText(tvRoom, row.getRoom());
+            tvType.setText(row.getType());
+            tvDay.setText(row.getDay());
+            tvType.setBackgroundColor(row.getTypeColor());
+            bindNotification(row);
         }
 
-        // Lier les données du cours aux TextView
-        public void bind(Course course) {
-            tvName.setText(course.getName());
-            tvProfessor.setText(course.getProfessor());
-            tvTime.setText(course.getStartTime() + " - " + course.getEndTime());
-            tvRoom.setText(course.getRoom());
-            tvType.setText(course.getType().name());
-            tvDay.setText(course.getDayName());
-
-            // Couleur selon le type de cours
-            int typeColor;
-            switch (course.getType()) {
-                case CM:
-                    typeColor = R.color.cm_color;
-                    break;
-                case TD:
-                    typeColor = R.color.td_color;
-                    break;
-                case TP:
-                    typeColor = R.color.tp_color;
-                    break;
-                default:
-                    typeColor = R.color.autre_color;
+        // Le texte pré-mesuré doit passer par TextViewCompat pour éviter une nouvelle mesure
+        private static void setText(TextView view, CharSequence text) {
+            if (text instanceof PrecomputedTextCompat) {
+                TextViewCompat.setPrecomputedText(view, (PrecomputedTextCompat) text);
+            } else {
+                view.setText(text);
             }
-            tvType.setBackgroundResource(typeColor);
+        }
+
+        // Espace réservé (page pas encore chargée, cf. CoursePagingAdapter) : ligne vide
+        void clear() {
+            tvName.setText(null);
+            tvProfessor.setText(null);
+            tvTime.setText(null);
+            tvRoom.setText(null);
+            tvType.setText(null);
+            tvDay.setText(null);
+            tvType.setBackgroundColor(Color.TRANSPARENT);
+            ivNotification.setVisibility(View.GONE);
+        }
+
+        // Mise à jour partielle : seulement l'indicateur de rappel
+        void bindNotification(CourseRowModel row) {
+            ivNotification.setVisibility(row.isNotificationEnabled() ? View.VISIBLE : View.GONE);
         }
     }
-}
\ No newline at end of file
+}
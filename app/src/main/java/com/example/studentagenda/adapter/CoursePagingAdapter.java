@@ -0,0 +1,97 @@
+package com.example.studentagenda.adapter;
+
+import android.content.Context;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import androidx.annotation.NonNull;
+import androidx.lifecycle.Lifecycle;
+import androidx.paging.PagingData;
+import androidx.paging.PagingDataAdapter;
+import androidx.paging.PagingDataTransforms;
+import androidx.recyclerview.widget.RecyclerView;
+import com.example.studentagenda.R;
+import com.example.studentagenda.data.entity.CourseListItem;
+import java.util.List;
+
+// Variante paginée de CourseAdapter pour les très grandes tables : seules les pages proches de
+// l'écran sont en mémoire, les autres positions sont des espaces réservés (item null).
+// Mêmes lignes (CourseRowModel), même ViewHolder et même comparaison que la liste complète.
+public class CoursePagingAdapter extends PagingDataAdapter<CourseRowModel, CourseAdapter.CourseViewHolder> {
+
+    private final CourseAdapter.OnItemClickListener onItemClickListener;
+    private final CourseAdapter.OnItemLongClickListener onItemLongClickListener;
+    private final CourseRowModel.Factory rowFactory;
+    private final BindMetrics bindMetrics = new BindMetrics();
+
+    public CoursePagingAdapter(Context context, CourseAdapter.OnItemClickListener clickListener,
+                               CourseAdapter.OnItemLongClickListener longClickListener) {
+        super(CourseAdapter.DIFF_CALLBACK);
+        this.onItemClickListener = clickListener;
+        this.onItemLongClickListener = longClickListener;
+        this.rowFactory = CourseAdapter.createRowFactory(context);
+        // Pas d'ids stables : une position peut rester sans item (espace réservé)
+    }
+
+    @NonNull
+    @Override
+    public CourseAdapter.CourseViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        View view = LayoutInflater.from(parent.getContext())
+                .inflate(R.layout.item_course, parent, false);
+        CourseAdapter.CourseViewHolder holder = new CourseAdapter.CourseViewHolder(view);
+
+        // peek : un clic ne déclenche pas de chargement de page
+        view.setOnClickListener(v -> {
+            CourseRowModel row = rowAt(holder);
+            if (row != null && onItemClickListener != null) {
+                onItemClickListener.onItemClick(row.getCourse());
+            }
+        });
+        view.setOnLongClickListener(v -> {
+            CourseRowModel row = rowAt(holder);
+            if (row != null && onItemLongClickListener != null) {
+                return onItemLongClickListener.onItemLongClick(row.getCourse());
+            }
+            return false;
+        });
+        return holder;
+    }
+
+    private CourseRowModel rowAt(RecyclerView.ViewHolder holder) {
+        int position = holder.getBindingAdapterPosition();
+        return position != RecyclerView.NO_POSITION ? peek(position) : null;
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull CourseAdapter.CourseViewHolder holder, int position) {
+        long start = System.nanoTime();
+        CourseRowModel row = getItem(position); // Demande aussi le préchargement des pages voisines
+        if (row != null) {
+            holder.bind(row);
+        } else {
+            holder.clear();
+        }
+        bindMetrics.record(start);
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull CourseAdapter.CourseViewHolder holder, int position,
+                                 @NonNull List<Object> payloads) {
+        CourseRowModel row = getItem(position);
+        if (payloads.isEmpty() || row == null) {
+            onBindViewHolder(holder, position);
+            return;
+        }
+        holder.bindNotification(row);
+    }
+
+    // Publie une nouvelle génération de pages ; les lignes sont construites hors du thread
+    // principal, page par page, au fur et à mesure du chargement
+    public void submitCourses(Lifecycle lifecycle, PagingData<CourseListItem> courses) {
+        submitData(lifecycle, PagingDataTransforms.map(courses, CourseAdapter.DIFF_EXECUTOR, rowFactory::create));
+    }
+
+    public BindMetrics getBindMetrics() {
+        return bindMetrics;
+    }
+}
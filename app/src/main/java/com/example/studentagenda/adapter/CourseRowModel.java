@@ -0,0 +1,99 @@
+package com.example.studentagenda.adapter;
+
+import android.content.Context;
+import androidx.annotation.ColorInt;
+import androidx.core.content.ContextCompat;
+import androidx.core.text.PrecomputedTextCompat;
+import com.example.studentagenda.R;
+import com.example.studentagenda.data.entity.Course;
+import com.example.studentagenda.data.entity.CourseListItem;
+
+// Ligne de la liste prête à afficher : textes déjà formatés (et mesurés) et couleur résolue
+// Construite hors du thread principal ; onBindViewHolder ne fait qu'affecter les champs
+public final class CourseRowModel {
+
+    private final CourseListItem course;    // Ligne d'origine (clics, comparaison)
+    private final CharSequence name;
+    private final CharSequence professor;
+    private final CharSequence time;        // "08:00 - 10:00"
+    private final CharSequence room;
+    private final CharSequence type;
+    private final CharSequence day;
+    @ColorInt private final int typeColor;  // Couleur de fond du type, déjà résolue
+
+    private CourseRowModel(CourseListItem course, CharSequence name, CharSequence professor, CharSequence time,
+                           CharSequence room, CharSequence type, CharSequence day, int typeColor) {
+        this.course = course;
+        this.name = name;
+        this.professor = professor;
+        this.time = time;
+        this.room = room;
+        this.type = type;
+        this.day = day;
+        this.typeColor = typeColor;
+    }
+
+    public CourseListItem getCourse() { return course; }
+    public long getId() { return course.getId(); }
+    public CharSequence getName() { return name; }
+    public CharSequence getProfessor() { return professor; }
+    public CharSequence getTime() { return time; }
+    public CharSequence getRoom() { return room; }
+    public CharSequence getType() { return type; }
+    public CharSequence getDay() { return day; }
+    public int getTypeColor() { return typeColor; }
+    public boolean isNotificationEnabled() { return course.isNotificationEnabled(); }
+
+    // Fabrique partagée : couleurs résolues une fois, paramètres de mesure du texte par champ
+    public static final class Factory {
+
+        private final int[] typeColors = new int[Course.CourseType.values().length];
+        private final PrecomputedTextCompat.Params nameParams;  // null = pas de pré-calcul
+        private final PrecomputedTextCompat.Params bodyParams;
+        private final PrecomputedTextCompat.Params smallParams;
+
+        public Factory(Context context,
+                       PrecomputedTextCompat.Params nameParams,
+                       PrecomputedTextCompat.Params bodyParams,
+                       PrecomputedTextCompat.Params smallParams) {
+            for (Course.CourseType type : Course.CourseType.values()) {
+                typeColors[type.ordinal()] = ContextCompat.getColor(context, colorRes(type));
+            }
+            this.nameParams = nameParams;
+            this.bodyParams = bodyParams;
+            this.smallParams = smallParams;
+        }
+
+        // À appeler en arrière-plan : formatage et mesure du texte
+        public CourseRowModel create(CourseListItem course) {
+            Course.CourseType type = course.getType() != null ? course.getType() : Course.CourseType.AUTRE;
+            return new CourseRowModel(
+                    course,
+                    precompute(course.getName(), nameParams),
+                    precompute(course.getProfessor(), bodyParams),
+                    precompute(course.getStartTime() + " - " + course.getEndTime(), smallParams),
+                    precompute(course.getRoom(), smallParams),
+                    type.name(),
+                    course.getDayName(),
+                    typeColors[type.ordinal()]
+            );
+        }
+
+        private static CharSequence precompute(String text, PrecomputedTextCompat.Params params) {
+            if (text == null) {
+                return "";
+            }
+            return params != null ? PrecomputedTextCompat.create(text, params) : text;
+        }
+
+        // Couleur associée à chaque type de cours
+        private static int colorRes(Course.CourseType type) {
+            switch (type) {
+                case CM: return R.color.cm_color;
+                case TD: return R.color.td_color;
+                case TP: return R.color.tp_color;
+                default: return R.color.autre_color;
+            }
+        }
+    }
+}
@@ -1,42 +1,344 @@
 package com.example.studentagenda.data;
 
+import android.database.Cursor;
 import androidx.lifecycle.LiveData;
+import androidx.paging.PagingSource;
 import androidx.room.*;
+import com.example.studentagenda.data.entity.Classroom;
 import com.example.studentagenda.data.entity.Course;
+import com.example.studentagenda.data.entity.CourseInterval;
+import com.example.studentagenda.data.entity.CourseListItem;
+import com.example.studentagenda.data.entity.CourseRecord;
+import com.example.studentagenda.data.entity.Professor;
+import com.example.studentagenda.data.entity.ReminderOutbox;
+import com.example.studentagenda.data.entity.ReminderSlot;
+import com.example.studentagenda.data.entity.RoomBooking;
+import com.example.studentagenda.data.search.CourseMatch;
+import com.example.studentagenda.data.search.FtsHit;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Dao
 public interface CourseDao {
 
+    // Colonnes de CourseListItem : les listes ne lisent ni les clés de recherche ni les minutes.
+    // Professeur et salle viennent de leur dictionnaire (@Relation) : requêtes en @Transaction
+    String LIST_COLUMNS = "id, name, professorId, roomId, type, dayOfWeek, startTime, endTime, notificationEnabled";
+
+    // Cours dont le professeur ou la salle a une clé comprise dans [:key, :keyEnd)
+    String PREFIX_FILTER = "(nameKey >= :key AND nameKey < :keyEnd) " +
+            "OR professorId IN (SELECT id FROM professors WHERE nameKey >= :key AND nameKey < :keyEnd) " +
+            "OR roomId IN (SELECT id FROM rooms WHERE nameKey >= :key AND nameKey < :keyEnd)";
+
     // Récupère tous les cours triés par jour puis par heure de début
-    @Query("SELECT * FROM courses ORDER BY dayOfWeek, startTime")
-    LiveData<List<Course>> getAllCourses();
+    @Transaction
+    @Query("SELECT " + LIST_COLUMNS + " FROM courses ORDER BY dayOfWeek, startMinute")
+    LiveData<List<CourseListItem>> getAllCourses();
+
+    // Instantané synchrone de la liste (mêmes colonnes que getAllCourses)
+    @Transaction
+    @Query("SELECT " + LIST_COLUMNS + " FROM courses ORDER BY dayOfWeek, startMinute")
+    List<CourseListItem> getCourseListSnapshot();
+
+    // Instantané synchrone de toute la table (index de recherche en mémoire)
+    @Transaction
+    @Query("SELECT * FROM courses")
+    List<CourseRecord> loadAllCourses();
+
+    default List<Course> getAllCoursesSnapshot() {
+        return CourseRecord.toCourses(loadAllCourses());
+    }
+
+    // Parcours en flux de toute la table, pour l'export (cf. CourseCursorReader) ; à fermer après usage.
+    // Jointure sur les dictionnaires : mêmes colonnes "professor" et "room" qu'une ligne complète
+    @Query("SELECT courses.*, professors.name AS professor, rooms.name AS room FROM courses " +
+            "LEFT JOIN professors ON professors.id = courses.professorId " +
+            "LEFT JOIN rooms ON rooms.id = courses.roomId " +
+            "ORDER BY dayOfWeek, startMinute")
+    Cursor getAllCoursesCursor();
 
     // Récupère tous les cours d’un jour précis
-    @Query("SELECT * FROM courses WHERE dayOfWeek = :day ORDER BY startTime")
-    LiveData<List<Course>> getCoursesByDay(int day);
+    @Transaction
+    @Query("SELECT " + LIST_COLUMNS + " FROM courses WHERE dayOfWeek = :day ORDER BY startMinute")
+    LiveData<List<CourseListItem>> getCoursesByDay(int day);
 
-    // Recherche par nom, professeur ou salle
-    @Query("SELECT * FROM courses WHERE name LIKE '%' || :query || '%' OR professor LIKE '%' || :query || '%' OR room LIKE '%' || :query || '%'")
-    LiveData<List<Course>> searchCourses(String query);
+    // Rappels : seuls les cours au rappel activé sont lus
+    @Transaction
+    @Query("SELECT * FROM courses WHERE notificationEnabled = 1")
+    List<CourseRecord> loadReminderCourses();
 
-    // Insère un nouveau cours
-    @Insert
-    void insert(Course course);
+    default List<Course> getReminderCourses() {
+        return CourseRecord.toCourses(loadReminderCourses());
+    }
+
+    // Heures des rappels uniquement, lues sur l'index (notificationEnabled, dayOfWeek, startMinute)
+    @Query("SELECT id, dayOfWeek, startMinute FROM courses WHERE notificationEnabled = 1")
+    List<ReminderSlot> getReminderSlots();
+
+    @Transaction
+    @Query("SELECT * FROM courses WHERE id IN (:courseIds)")
+    List<CourseRecord> loadCoursesByIds(List<Long> courseIds);
+
+    default List<Course> getCoursesByIds(List<Long> courseIds) {
+        return CourseRecord.toCourses(loadCoursesByIds(courseIds));
+    }
+
+    // Créneaux de tous les cours, pour la détection des conflits (cf. ConflictDetector)
+    @Query("SELECT id, name, dayOfWeek, startMinute, endMinute FROM courses")
+    List<CourseInterval> getCourseIntervals();
+
+    // Salles et créneaux des cours qui ont une salle (cf. RoomOccupancyIndex)
+    @Query("SELECT id, roomId, dayOfWeek, startMinute, endMinute FROM courses WHERE roomId IS NOT NULL")
+    List<RoomBooking> getRoomBookings();
+
+    @Query("SELECT * FROM rooms")
+    List<Classroom> getClassrooms();
+
+    // Cours en train de se dérouler le jour donné à la minute donnée (minutes depuis minuit)
+    // Filtrage entièrement sur l'index (dayOfWeek, startMinute, endMinute)
+    @Transaction
+    @Query("SELECT * FROM courses WHERE dayOfWeek = :day " +
+            "AND startMinute <= :minute AND endMinute > :minute ORDER BY startMinute")
+    List<CourseRecord> loadCoursesActiveAt(int day, int minute);
+
+    default List<Course> getCoursesActiveAt(int day, int minute) {
+        return CourseRecord.toCourses(loadCoursesActiveAt(day, minute));
+    }
+
+    // Cours qui chevauchent la plage [fromMinute, toMinute) du jour donné
+    @Transaction
+    @Query("SELECT * FROM courses WHERE dayOfWeek = :day " +
+            "AND startMinute < :toMinute AND endMinute > :fromMinute ORDER BY startMinute")
+    List<CourseRecord> loadCoursesInWindow(int day, int fromMinute, int toMinute);
+
+    default List<Course> getCoursesInWindow(int day, int fromMinute, int toMinute) {
+        return CourseRecord.toCourses(loadCoursesInWindow(day, fromMinute, toMinute));
+    }
+
+    // Recherche par préfixe sur les clés normalisées : parcours d'intervalle sur les index
+    // (dictionnaires compris, puis index professorId/roomId de la table des cours)
+    @Transaction
+    @Query("SELECT " + LIST_COLUMNS + " FROM courses WHERE " + PREFIX_FILTER)
+    LiveData<List<CourseListItem>> searchCoursesByPrefix(String key, String keyEnd);
+
+    // Recherche plein texte via l'index FTS (match construit par FtsQueryBuilder)
+    // Renvoie aussi matchinfo/offsets pour le classement par pertinence
+    @Transaction
+    @Query("SELECT courses.*, matchinfo(courses_fts, 'pcx') AS matchInfo, offsets(courses_fts) AS matchOffsets " +
+            "FROM courses JOIN courses_fts ON courses.id = courses_fts.rowid " +
+            "WHERE courses_fts MATCH :match")
+    LiveData<List<CourseMatch>> searchCoursesFts(String match);
+
+    // Recherche plein texte sans jointure : ids des cours et positions des correspondances
+    @Query("SELECT rowid AS courseId, matchinfo(courses_fts, 'pcx') AS matchInfo, offsets(courses_fts) AS matchOffsets " +
+            "FROM courses_fts WHERE courses_fts MATCH :match")
+    List<FtsHit> matchCourseIds(String match);
+
+    // --- Variantes paginées (Paging 3) : seules les pages visibles sont chargées ---
+    // Tri complété par l'id : ordre stable entre deux pages. Le filtre jour vaut 0 pour "tous les jours".
+
+    // Nombre de cours (choix entre liste complète et liste paginée)
+    @Query("SELECT COUNT(*) FROM courses")
+    LiveData<Integer> countCourses();
+
+    // Idem, lecture ponctuelle (l'index en mémoire ne lit la table que sous sa limite de taille)
+    @Query("SELECT COUNT(*) FROM courses")
+    int getCourseCount();
+
+    @Transaction
+    @Query("SELECT " + LIST_COLUMNS + " FROM courses ORDER BY dayOfWeek, startMinute, id")
+    PagingSource<Integer, CourseListItem> pageAllCourses();
+
+    @Transaction
+    @Query("SELECT " + LIST_COLUMNS + " FROM courses WHERE dayOfWeek = :day ORDER BY startMinute, id")
+    PagingSource<Integer, CourseListItem> pageCoursesByDay(int day);
+
+    // Recherche plein texte paginée : triée par jour et heure (le classement par pertinence
+    // demande toutes les correspondances, incompatible avec un chargement par pages)
+    @Transaction
+    @Query("SELECT " + LIST_COLUMNS + " FROM courses " +
+            "WHERE id IN (SELECT rowid FROM courses_fts WHERE courses_fts MATCH :match) " +
+            "AND (:day = 0 OR dayOfWeek = :day) " +
+            "ORDER BY dayOfWeek, startMinute, id")
+    PagingSource<Integer, CourseListItem> pageSearchFts(String match, int day);
+
+    @Transaction
+    @Query("SELECT " + LIST_COLUMNS + " FROM courses " +
+            "WHERE (" + PREFIX_FILTER + ") " +
+            "AND (:day = 0 OR dayOfWeek = :day) " +
+            "ORDER BY dayOfWeek, startMinute, id")
+    PagingSource<Integer, CourseListItem> pageSearchByPrefix(String key, String keyEnd, int day);
+
+    // Insère un nouveau cours ; renvoie l'id généré
+    @Transaction
+    default long insert(Course course) {
+        prepareForWrite(Collections.singletonList(course));
+        return insertRow(course);
+    }
 
     // Met à jour un cours existant
+    @Transaction
+    default int update(Course course) {
+        prepareForWrite(Collections.singletonList(course));
+        int updated = updateRow(course);
+        deleteUnusedReferences(); // Le professeur ou la salle a pu changer
+        return updated;
+    }
+
+    // Insère ou met à jour (selon l'id) plusieurs cours
+    @Transaction
+    default List<Long> upsertAll(List<Course> courses) {
+        prepareForWrite(courses);
+        return upsertRows(courses);
+    }
+
+    // Écritures brutes des lignes : le professeur et la salle (@Ignore) ne sont enregistrés que
+    // par leurs ids ; appeler resolveReferences avant (cf. insert, update, upsertAll)
+    @Insert
+    long insertRow(Course course);
+
     @Update
-    void update(Course course);
+    int updateRow(Course course);
+
+    @Upsert
+    List<Long> upsertRows(List<Course> courses);
 
     // Supprime un cours
     @Delete
-    void delete(Course course);
+    int delete(Course course);
+
+    // Supprime plusieurs cours en une requête
+    @Delete
+    int deleteCourses(List<Course> courses);
 
     // Récupère un cours par son ID (méthode synchrone)
+    @Transaction
     @Query("SELECT * FROM courses WHERE id = :courseId")
-    Course getCourseById(long courseId);
+    CourseRecord loadCourseById(long courseId);
+
+    default Course getCourseById(long courseId) {
+        CourseRecord record = loadCourseById(courseId);
+        return record != null ? record.toCourse() : null;
+    }
 
     // Supprime tous les cours
     @Query("DELETE FROM courses")
     void deleteAllCourses();
+
+    // --- Dictionnaires des professeurs et des salles ---
+
+    // Ajoute un nom au dictionnaire ; -1 s'il y figure déjà (index unique sur name)
+    @Insert(onConflict = OnConflictStrategy.IGNORE)
+    long insertProfessor(Professor professor);
+
+    @Insert(onConflict = OnConflictStrategy.IGNORE)
+    long insertClassroom(Classroom room);
+
+    @Query("SELECT id FROM professors WHERE name = :name")
+    long findProfessorId(String name);
+
+    @Query("SELECT id FROM rooms WHERE name = :name")
+    long findClassroomId(String name);
+
+    // Entrées plus référencées par aucun cours
+    @Query("DELETE FROM professors WHERE NOT EXISTS (SELECT 1 FROM courses WHERE professorId = professors.id)")
+    void deleteUnusedProfessors();
+
+    @Query("DELETE FROM rooms WHERE NOT EXISTS (SELECT 1 FROM courses WHERE roomId = rooms.id)")
+    void deleteUnusedClassrooms();
+
+    // Remplace le nom du professeur et de la salle de chaque cours par l'id de son entrée dans le
+    // dictionnaire (créée au besoin) ; un nom n'est cherché qu'une fois par appel
+    default void resolveReferences(List<Course> courses) {
+        Map<String, Long> professorIds = new HashMap<>();
+        Map<String, Long> roomIds = new HashMap<>();
+        for (Course course : courses) {
+            String professor = course.getProfessor();
+            Long professorId = null;
+            if (professor != null) {
+                professorId = professorIds.get(professor);
+                if (professorId == null) {
+                    long id = insertProfessor(new Professor(professor));
+                    professorId = id != -1 ? id : findProfessorId(professor);
+                    professorIds.put(professor, professorId);
+                }
+            }
+            course.setProfessorId(professorId);
+
+            String room = course.getRoom();
+            Long roomId = null;
+            if (room != null) {
+                roomId = roomIds.get(room);
+                if (roomId == null) {
+                    long id = insertClassroom(new Classroom(room));
+                    roomId = id != -1 ? id : findClassroomId(room);
+                    roomIds.put(room, roomId);
+                }
+            }
+            course.setRoomId(roomId);
+        }
+    }
+
+    // Colonnes dérivées recalculées puis noms remplacés par leurs ids de dictionnaire
+    default void prepareForWrite(List<Course> courses) {
+        for (Course course : courses) {
+            course.refreshDerivedFields();
+        }
+        resolveReferences(courses);
+    }
+
+    // Vide les dictionnaires des noms devenus inutilisés
+    @Transaction
+    default void deleteUnusedReferences() {
+        deleteUnusedProfessors();
+        deleteUnusedClassrooms();
+    }
+
+    // Demande de resynchronisation des rappels (cf. ReminderOutboxWorker)
+    @Insert
+    long enqueueReminderChange(ReminderOutbox entry);
+
+    // Rafale d'écritures regroupées par CourseWriteQueue, avec la demande de rappel, dans une même
+    // transaction (une seule invalidation Room). Ordre : suppression totale, enregistrements
+    // (l'id généré est affecté à l'objet), suppressions, puis nettoyage des dictionnaires si une
+    // référence a pu disparaître (une insertion seule n'en retire aucune).
+    @Transaction
+    default void applyWrites(boolean deleteAll, List<Course> saved, List<Course> deleted) {
+        if (deleteAll) {
+            deleteAllCourses();
+        }
+        resolveReferences(saved);
+        boolean referencesReleased = deleteAll || !deleted.isEmpty();
+        for (Course course : saved) {
+            if (course.getId() == 0) {
+                course.setId(insertRow(course));
+            } else {
+                updateRow(course); // Le professeur ou la salle a pu changer
+                referencesReleased = true;
+            }
+        }
+        if (!deleted.isEmpty()) {
+            deleteCourses(deleted);
+        }
+        if (referencesReleased) {
+            deleteUnusedReferences();
+        }
+        // Une seule demande de resynchronisation pour toute la rafale
+        long courseId = !deleteAll && saved.size() + deleted.size() == 1
+                ? (saved.isEmpty() ? deleted.get(0) : saved.get(0)).getId()
+                : ReminderOutbox.ALL_COURSES;
+        enqueueReminderChange(new ReminderOutbox(courseId, System.currentTimeMillis()));
+    }
+
+    // Lot d'un import (cf. ChunkedCourseWriter) : une transaction et une demande de rappel par lot.
+    // Upsert : les cours d'une sauvegarde (id conservé) remplacent ceux de même id, les autres sont ajoutés.
+    // Les dictionnaires sont nettoyés une seule fois, à la fin de l'import (deleteUnusedReferences)
+    @Transaction
+    default void importChunk(List<Course> courses) {
+        resolveReferences(courses); // Champs dérivés déjà calculés par ChunkedCourseWriter
+        upsertRows(courses);
+        enqueueReminderChange(new ReminderOutbox(ReminderOutbox.ALL_COURSES, System.currentTimeMillis()));
+    }
 }
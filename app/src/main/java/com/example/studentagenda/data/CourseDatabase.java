@@ -1,43 +1,136 @@
 package com.example.studentagenda.data;
 
+import androidx.annotation.NonNull;
 import androidx.room.Database;
 import androidx.room.Room;
 import androidx.room.RoomDatabase;
 import androidx.room.TypeConverters;
+import androidx.sqlite.db.SupportSQLiteDatabase;
 import android.content.Context;
+import android.database.Cursor;
+import com.example.studentagenda.data.entity.Classroom;
 import com.example.studentagenda.data.entity.Course;
+import com.example.studentagenda.data.entity.CourseFts;
+import com.example.studentagenda.data.entity.Professor;
+import com.example.studentagenda.data.entity.ReminderOutbox;
+import com.example.studentagenda.data.entity.ReminderSchedule;
+import java.util.concurrent.Executors;
 
 @Database(
-        entities = {Course.class},   // Entités gérées par la base
-        version = 1,                 // Version de la base Room
-        exportSchema = false         // Désactive l’export du schéma
+        entities = {Course.class, CourseFts.class, Professor.class, Classroom.class,
+                ReminderSchedule.class, ReminderOutbox.class}, // Entités gérées par la base
+        version = 8,                 // Version de la base Room
+        exportSchema = true          // Schéma exporté dans app/schemas (tests de migration)
 )
 @TypeConverters({CourseTypeConverter.class}) // Convertisseur utilisé pour certains types
 public abstract class CourseDatabase extends RoomDatabase {
 
+    public static final String DATABASE_NAME = "course_database"; // Nom du fichier de base de données
+
+    // Threads de lecture : en WAL, les lectures ne bloquent pas l'écriture (ni entre elles)
+    static final int READ_POOL_SIZE = 4;
+
+    // Pages WAL avant un checkpoint automatique (valeur par défaut de SQLite : 1000)
+    static final int WAL_AUTOCHECKPOINT_PAGES = 1000;
+
+    // Niveau de PRAGMA synchronous appliqué à l'ouverture
+    public enum Synchronous {
+        OFF,    // Aucune attente disque (risque de corruption en cas de coupure)
+        NORMAL, // Suffisant en WAL : un commit peut être perdu, jamais la cohérence
+        FULL    // fsync à chaque commit (nécessaire hors WAL)
+    }
+
+    // Réglages par défaut : WAL + synchronous NORMAL
+    private static RoomDatabase.JournalMode journalMode = RoomDatabase.JournalMode.WRITE_AHEAD_LOGGING;
+    private static Synchronous synchronous = Synchronous.NORMAL;
+
     // DAO accessible depuis la base
     public abstract CourseDao courseDao();
 
+    // Registre des rappels enregistrés auprès d'AlarmManager
+    public abstract ReminderScheduleDao reminderScheduleDao();
+
+    // Demandes de resynchronisation des rappels en attente
+    public abstract ReminderOutboxDao reminderOutboxDao();
+
     // Instance unique (Singleton)
     private static volatile CourseDatabase INSTANCE;
 
+    // Change le mode de journal et le niveau synchronous ; à appeler avant le premier getInstance()
+    public static synchronized void configure(RoomDatabase.JournalMode mode, Synchronous level) {
+        if (INSTANCE != null) {
+            throw new IllegalStateException("La base est déjà ouverte");
+        }
+        journalMode = mode;
+        synchronous = level;
+    }
+
     // Retourne l’instance unique de la base
     public static CourseDatabase getInstance(Context context) {
         if (INSTANCE == null) { // Première vérification
             synchronized (CourseDatabase.class) { // Sécurisation multithread
                 if (INSTANCE == null) { // Deuxième vérification
-                    INSTANCE = Room.databaseBuilder(
-                                    context.getApplicationContext(),
-                                    CourseDatabase.class,
-                                    "course_database"          // Nom du fichier de base de données
-                            )
-                            // Permet de recréer la base si migration manquante
-                            .setJournalMode(RoomDatabase.JournalMode.TRUNCATE)
-                            .fallbackToDestructiveMigration()
-                            .build(); // Création de la base
+                    INSTANCE = create(context, DATABASE_NAME, journalMode, synchronous);
                 }
             }
         }
         return INSTANCE;
     }
+
+    // Construit une base avec les réglages donnés (singleton, tests et benchmarks)
+    public static CourseDatabase create(Context context, String name,
+                                        RoomDatabase.JournalMode mode, Synchronous level) {
+        return Room.databaseBuilder(context.getApplicationContext(), CourseDatabase.class, name)
+                .setJournalMode(mode)
+                // Lectures réparties sur plusieurs connexions, écritures sérialisées sur un seul thread
+                .setQueryExecutor(Executors.newFixedThreadPool(READ_POOL_SIZE))
+                .setTransactionExecutor(Executors.newSingleThreadExecutor())
+                .addCallback(new PragmaCallback(level))
+                .addCallback(new FtsCallback())
+                // Migrations conservant les données existantes (pas de repli destructif :
+                // une migration manquante doit échouer plutôt qu'effacer l'emploi du temps)
+                .addMigrations(CourseMigrations.ALL)
+                .build(); // Création de la base
+    }
+
+    // Force un checkpoint : recopie le WAL dans la base puis le tronque (sans effet hors WAL)
+    public void checkpoint() {
+        SupportSQLiteDatabase db = getOpenHelper().getWritableDatabase();
+        try (Cursor cursor = db.query("PRAGMA wal_checkpoint(TRUNCATE)")) {
+            cursor.moveToFirst();
+        }
+    }
+
+    // Triggers de synchronisation de courses_fts, que Room ne génère pas pour une table à contenu propre
+    // (base neuve ; une base migrée les reçoit de MIGRATION_7_8)
+    private static final class FtsCallback extends RoomDatabase.Callback {
+
+        @Override
+        public void onCreate(@NonNull SupportSQLiteDatabase db) {
+            CourseMigrations.createDictionaryFtsTriggers(db);
+        }
+    }
+
+    // Réglages appliqués à chaque ouverture (sur la connexion d'écriture, celle des commits)
+    private static final class PragmaCallback extends RoomDatabase.Callback {
+
+        private final Synchronous synchronous;
+
+        PragmaCallback(Synchronous synchronous) {
+            this.synchronous = synchronous;
+        }
+
+        @Override
+        public void onOpen(@NonNull SupportSQLiteDatabase db) {
+            pragma(db, "PRAGMA synchronous = " + synchronous.name());
+            pragma(db, "PRAGMA wal_autocheckpoint = " + WAL_AUTOCHECKPOINT_PAGES);
+        }
+
+        // Certains PRAGMA renvoient une ligne : query() plutôt que execSQL()
+        private static void pragma(SupportSQLiteDatabase db, String sql) {
+            try (Cursor cursor = db.query(sql)) {
+                cursor.moveToFirst();
+            }
+        }
+    }
 }
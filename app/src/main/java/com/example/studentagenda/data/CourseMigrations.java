@@ -0,0 +1,264 @@
+package com.example.studentagenda.data;
+
+import android.database.Cursor;
+import androidx.annotation.NonNull;
+import androidx.room.migration.Migration;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+import androidx.sqlite.db.SupportSQLiteStatement;
+import com.example.studentagenda.data.search.SearchNormalizer;
+
+// Migrations du schéma Room, de version en version
+public final class CourseMigrations {
+
+    private CourseMigrations() { }
+
+    // v1 -> v2 : ajout de l'index plein texte courses_fts (+ triggers de synchronisation)
+    public static final Migration MIGRATION_1_2 = new Migration(1, 2) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("CREATE VIRTUAL TABLE IF NOT EXISTS `courses_fts` USING FTS4(" +
+                    "`name` TEXT, `professor` TEXT, `room` TEXT, " +
+                    "tokenize=unicode61, content=`courses`, prefix=`2,3`)");
+            createFtsTriggers(db, "name", "professor", "room");
+
+            // Indexation des cours déjà présents
+            db.execSQL("INSERT INTO courses_fts(courses_fts) VALUES('rebuild')");
+        }
+    };
+
+    // v2 -> v3 : clés de recherche normalisées (+ index) et FTS reconstruit sur ces clés
+    public static final Migration MIGRATION_2_3 = new Migration(2, 3) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("ALTER TABLE `courses` ADD COLUMN `nameKey` TEXT");
+            db.execSQL("ALTER TABLE `courses` ADD COLUMN `professorKey` TEXT");
+            db.execSQL("ALTER TABLE `courses` ADD COLUMN `roomKey` TEXT");
+
+            // Les anciens triggers référencent les colonnes brutes : on repart de zéro
+            dropFts(db);
+
+            // Calcul des clés pour les cours existants (normalisation faite en Java)
+            // Requête UPDATE compilée une seule fois puis réutilisée pour chaque ligne
+            SupportSQLiteStatement update = db.compileStatement(
+                    "UPDATE courses SET nameKey = ?, professorKey = ?, roomKey = ? WHERE id = ?");
+            try (Cursor cursor = db.query("SELECT id, name, professor, room FROM courses")) {
+                while (cursor.moveToNext()) {
+                    bindNullable(update, 1, SearchNormalizer.fold(cursor.getString(1)));
+                    bindNullable(update, 2, SearchNormalizer.fold(cursor.getString(2)));
+                    bindNullable(update, 3, SearchNormalizer.fold(cursor.getString(3)));
+                    update.bindLong(4, cursor.getLong(0));
+                    update.executeUpdateDelete();
+                }
+            }
+
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_courses_nameKey` ON `courses` (`nameKey`)");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_courses_professorKey` ON `courses` (`professorKey`)");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_courses_roomKey` ON `courses` (`roomKey`)");
+
+            db.execSQL("CREATE VIRTUAL TABLE IF NOT EXISTS `courses_fts` USING FTS4(" +
+                    "`nameKey` TEXT, `professorKey` TEXT, `roomKey` TEXT, " +
+                    "tokenize=unicode61, content=`courses`, prefix=`2,3`)");
+            createFtsTriggers(db, "nameKey", "professorKey", "roomKey");
+            db.execSQL("INSERT INTO courses_fts(courses_fts) VALUES('rebuild')");
+        }
+    };
+
+    // v3 -> v4 : heures en minutes depuis minuit + index (dayOfWeek, startMinute, endMinute)
+    public static final Migration MIGRATION_3_4 = new Migration(3, 4) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("ALTER TABLE `courses` ADD COLUMN `startMinute` INTEGER NOT NULL DEFAULT 0");
+            db.execSQL("ALTER TABLE `courses` ADD COLUMN `endMinute` INTEGER NOT NULL DEFAULT 0");
+
+            // Les colonnes indexées par la FTS ne changent pas : sans triggers pendant la conversion,
+            // on évite une suppression + réinsertion dans courses_fts pour chaque ligne
+            dropFtsTriggers(db);
+
+            // "HH:mm" -> HH * 60 + mm, directement en SQL (une seule passe sur la table)
+            db.execSQL("UPDATE `courses` SET " +
+                    "startMinute = " + minutesOf("startTime") + ", " +
+                    "endMinute = " + minutesOf("endTime") + " " +
+                    "WHERE instr(startTime, ':') > 0 AND instr(endTime, ':') > 0");
+            createFtsTriggers(db, "nameKey", "professorKey", "roomKey");
+
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_courses_dayOfWeek_startMinute_endMinute` " +
+                    "ON `courses` (`dayOfWeek`, `startMinute`, `endMinute`)");
+        }
+    };
+
+    // v4 -> v5 : registre des rappels enregistrés (synchronisation par différence)
+    public static final Migration MIGRATION_4_5 = new Migration(4, 5) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("CREATE TABLE IF NOT EXISTS `reminder_schedule` (" +
+                    "`courseId` INTEGER NOT NULL, `fireAt` INTEGER NOT NULL, " +
+                    "`contentHash` INTEGER NOT NULL, PRIMARY KEY(`courseId`))");
+        }
+    };
+
+    // v5 -> v6 : outbox des rappels, écrite dans la même transaction que les cours
+    public static final Migration MIGRATION_5_6 = new Migration(5, 6) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("CREATE TABLE IF NOT EXISTS `reminder_outbox` (" +
+                    "`id` INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL, `courseId` INTEGER NOT NULL, " +
+                    "`enqueuedAt` INTEGER NOT NULL)");
+        }
+    };
+
+    // v6 -> v7 : index couvrant des rappels (cf. ReminderSlot)
+    public static final Migration MIGRATION_6_7 = new Migration(6, 7) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_courses_notificationEnabled_dayOfWeek_startMinute` " +
+                    "ON `courses` (`notificationEnabled`, `dayOfWeek`, `startMinute`)");
+        }
+    };
+
+    // v7 -> v8 : professeurs et salles déplacés dans leurs dictionnaires (tables professors et rooms),
+    // référencés par clé étrangère ; la FTS passe à un contenu propre alimenté par jointure
+    public static final Migration MIGRATION_7_8 = new Migration(7, 8) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            // L'ancienne FTS lit professorKey/roomKey dans "courses", colonnes supprimées ici
+            dropFts(db);
+
+            // Dictionnaires : une ligne par nom distinct (la clé normalisée est déjà calculée)
+            db.execSQL("CREATE TABLE IF NOT EXISTS `professors` (" +
+                    "`id` INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL, `name` TEXT NOT NULL, `nameKey` TEXT)");
+            db.execSQL("CREATE UNIQUE INDEX IF NOT EXISTS `index_professors_name` ON `professors` (`name`)");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_professors_nameKey` ON `professors` (`nameKey`)");
+            db.execSQL("CREATE TABLE IF NOT EXISTS `rooms` (" +
+                    "`id` INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL, `name` TEXT NOT NULL, `nameKey` TEXT)");
+            db.execSQL("CREATE UNIQUE INDEX IF NOT EXISTS `index_rooms_name` ON `rooms` (`name`)");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_rooms_nameKey` ON `rooms` (`nameKey`)");
+            db.execSQL("INSERT INTO professors (name, nameKey) SELECT professor, MIN(professorKey) " +
+                    "FROM courses WHERE professor IS NOT NULL GROUP BY professor");
+            db.execSQL("INSERT INTO rooms (name, nameKey) SELECT room, MIN(roomKey) " +
+                    "FROM courses WHERE room IS NOT NULL GROUP BY room");
+
+            // SQLite ne sait ni supprimer une colonne indexée ni ajouter une clé étrangère :
+            // la table est reconstruite (ids conservés, ainsi que le compteur AUTOINCREMENT)
+            long sequence = 0;
+            try (Cursor cursor = db.query("SELECT seq FROM sqlite_sequence WHERE name = 'courses'")) {
+                if (cursor.moveToFirst()) {
+                    sequence = cursor.getLong(0);
+                }
+            }
+            db.execSQL("CREATE TABLE IF NOT EXISTS `courses_new` (" +
+                    "`id` INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL, `name` TEXT, `professorId` INTEGER, " +
+                    "`roomId` INTEGER, `type` TEXT, `dayOfWeek` INTEGER NOT NULL, `startTime` TEXT, " +
+                    "`endTime` TEXT, `startMinute` INTEGER NOT NULL DEFAULT 0, " +
+                    "`endMinute` INTEGER NOT NULL DEFAULT 0, `notificationEnabled` INTEGER NOT NULL, " +
+                    "`nameKey` TEXT, " +
+                    "FOREIGN KEY(`professorId`) REFERENCES `professors`(`id`) ON UPDATE NO ACTION ON DELETE SET NULL , " +
+                    "FOREIGN KEY(`roomId`) REFERENCES `rooms`(`id`) ON UPDATE NO ACTION ON DELETE SET NULL )");
+            db.execSQL("INSERT INTO courses_new (id, name, professorId, roomId, type, dayOfWeek, startTime, " +
+                    "endTime, startMinute, endMinute, notificationEnabled, nameKey) " +
+                    "SELECT c.id, c.name, p.id, r.id, c.type, c.dayOfWeek, c.startTime, c.endTime, " +
+                    "c.startMinute, c.endMinute, c.notificationEnabled, c.nameKey FROM courses c " +
+                    "LEFT JOIN professors p ON p.name = c.professor " +
+                    "LEFT JOIN rooms r ON r.name = c.room");
+            db.execSQL("DROP TABLE courses");
+            db.execSQL("ALTER TABLE courses_new RENAME TO courses");
+            db.execSQL("UPDATE sqlite_sequence SET seq = MAX(seq, " + sequence + ") WHERE name = 'courses'");
+
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_courses_nameKey` ON `courses` (`nameKey`)");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_courses_professorId` ON `courses` (`professorId`)");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_courses_roomId` ON `courses` (`roomId`)");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_courses_dayOfWeek_startMinute_endMinute` " +
+                    "ON `courses` (`dayOfWeek`, `startMinute`, `endMinute`)");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_courses_notificationEnabled_dayOfWeek_startMinute` " +
+                    "ON `courses` (`notificationEnabled`, `dayOfWeek`, `startMinute`)");
+
+            db.execSQL("CREATE VIRTUAL TABLE IF NOT EXISTS `courses_fts` USING FTS4(" +
+                    "`nameKey` TEXT, `professorKey` TEXT, `roomKey` TEXT, " +
+                    "tokenize=unicode61, prefix=`2,3`)");
+            db.execSQL("INSERT INTO courses_fts (docid, nameKey, professorKey, roomKey) " +
+                    "SELECT c.id, c.nameKey, p.nameKey, r.nameKey FROM courses c " +
+                    "LEFT JOIN professors p ON p.id = c.professorId " +
+                    "LEFT JOIN rooms r ON r.id = c.roomId");
+            createDictionaryFtsTriggers(db);
+        }
+    };
+
+    // Toutes les migrations, à passer à Room.databaseBuilder().addMigrations()
+    public static final Migration[] ALL = {
+            MIGRATION_1_2,
+            MIGRATION_2_3,
+            MIGRATION_3_4,
+            MIGRATION_4_5,
+            MIGRATION_5_6,
+            MIGRATION_6_7,
+            MIGRATION_7_8
+    };
+
+    // Expression SQL convertissant une colonne "HH:mm" en minutes
+    private static String minutesOf(String column) {
+        return "(CAST(substr(" + column + ", 1, instr(" + column + ", ':') - 1) AS INTEGER) * 60 + " +
+                "CAST(substr(" + column + ", instr(" + column + ", ':') + 1) AS INTEGER))";
+    }
+
+    // Supprime la table FTS et ses triggers de synchronisation
+    static void dropFts(SupportSQLiteDatabase db) {
+        dropFtsTriggers(db);
+        db.execSQL("DROP TABLE IF EXISTS `courses_fts`");
+    }
+
+    // Supprime seulement les triggers de synchronisation (la table FTS est conservée)
+    static void dropFtsTriggers(SupportSQLiteDatabase db) {
+        db.execSQL("DROP TRIGGER IF EXISTS courses_fts_AFTER_INSERT");
+        db.execSQL("DROP TRIGGER IF EXISTS courses_fts_AFTER_UPDATE");
+        db.execSQL("DROP TRIGGER IF EXISTS courses_fts_AFTER_DELETE");
+        db.execSQL("DROP TRIGGER IF EXISTS room_fts_content_sync_courses_fts_BEFORE_UPDATE");
+        db.execSQL("DROP TRIGGER IF EXISTS room_fts_content_sync_courses_fts_BEFORE_DELETE");
+        db.execSQL("DROP TRIGGER IF EXISTS room_fts_content_sync_courses_fts_AFTER_UPDATE");
+        db.execSQL("DROP TRIGGER IF EXISTS room_fts_content_sync_courses_fts_AFTER_INSERT");
+    }
+
+    // Lie une valeur texte pouvant être nulle
+    private static void bindNullable(SupportSQLiteStatement statement, int index, String value) {
+        if (value == null) {
+            statement.bindNull(index);
+        } else {
+            statement.bindString(index, value);
+        }
+    }
+
+    // Triggers identiques à ceux générés par Room pour une table FTS à contenu externe
+    static void createFtsTriggers(SupportSQLiteDatabase db, String... columns) {
+        StringBuilder names = new StringBuilder();
+        StringBuilder newValues = new StringBuilder();
+        for (String column : columns) {
+            names.append(", `").append(column).append('`');
+            newValues.append(", NEW.`").append(column).append('`');
+        }
+
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS room_fts_content_sync_courses_fts_BEFORE_UPDATE " +
+                "BEFORE UPDATE ON `courses` BEGIN DELETE FROM `courses_fts` WHERE `docid`=OLD.`rowid`; END");
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS room_fts_content_sync_courses_fts_BEFORE_DELETE " +
+                "BEFORE DELETE ON `courses` BEGIN DELETE FROM `courses_fts` WHERE `docid`=OLD.`rowid`; END");
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS room_fts_content_sync_courses_fts_AFTER_UPDATE " +
+                "AFTER UPDATE ON `courses` BEGIN INSERT INTO `courses_fts`(`docid`" + names + ") " +
+                "VALUES (NEW.`rowid`" + newValues + "); END");
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS room_fts_content_sync_courses_fts_AFTER_INSERT " +
+                "AFTER INSERT ON `courses` BEGIN INSERT INTO `courses_fts`(`docid`" + names + ") " +
+                "VALUES (NEW.`rowid`" + newValues + "); END");
+    }
+
+    // Synchronisation de courses_fts (v8+) : clés du professeur et de la salle lues dans leur dictionnaire
+    static void createDictionaryFtsTriggers(SupportSQLiteDatabase db) {
+        String insert = "INSERT INTO `courses_fts`(`docid`, `nameKey`, `professorKey`, `roomKey`) " +
+                "VALUES (NEW.`id`, NEW.`nameKey`, " +
+                "(SELECT `nameKey` FROM `professors` WHERE `id` = NEW.`professorId`), " +
+                "(SELECT `nameKey` FROM `rooms` WHERE `id` = NEW.`roomId`)); ";
+        String delete = "DELETE FROM `courses_fts` WHERE `docid` = OLD.`id`; ";
+
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS courses_fts_AFTER_INSERT " +
+                "AFTER INSERT ON `courses` BEGIN " + insert + "END");
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS courses_fts_AFTER_UPDATE " +
+                "AFTER UPDATE OF `nameKey`, `professorId`, `roomId` ON `courses` BEGIN " + delete + insert + "END");
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS courses_fts_AFTER_DELETE " +
+                "AFTER DELETE ON `courses` BEGIN " + delete + "END");
+    }
+}
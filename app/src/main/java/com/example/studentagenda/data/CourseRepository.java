@@ -0,0 +1,250 @@
+package com.example.studentagenda.data;
+
+import android.content.Context;
+import android.database.Cursor;
+import androidx.lifecycle.LiveData;
+import androidx.paging.PagingSource;
+import com.example.studentagenda.data.conflict.ConflictReport;
+import com.example.studentagenda.data.conflict.CourseConflictEngine;
+import com.example.studentagenda.data.entity.Classroom;
+import com.example.studentagenda.data.entity.Course;
+import com.example.studentagenda.data.entity.CourseInterval;
+import com.example.studentagenda.data.entity.CourseListItem;
+import com.example.studentagenda.data.export.CourseCursorReader;
+import com.example.studentagenda.data.export.CourseExporter;
+import com.example.studentagenda.data.importer.ChunkedCourseWriter;
+import com.example.studentagenda.data.importer.CourseImporter;
+import com.example.studentagenda.data.importer.ImportStats;
+import com.example.studentagenda.data.occupancy.RoomOccupancyEngine;
+import com.example.studentagenda.data.planner.PlanPreferences;
+import com.example.studentagenda.data.planner.PlannerRun;
+import com.example.studentagenda.data.planner.TimetablePlanner;
+import com.example.studentagenda.data.search.CourseMatch;
+import com.example.studentagenda.data.search.CourseSearchEngine;
+import com.example.studentagenda.data.search.FtsHit;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ScheduledExecutorService;
+
+// Point d'accès unique aux cours pour tout le processus : toutes les écritures passent par
+// un seul thread (ordre garanti entre les écrans) et sont regroupées en rafales par
+// CourseWriteQueue ; les lectures ponctuelles passent par un petit pool.
+// Les opérations asynchrones renvoient un CompletableFuture (thenAccept pour un callback).
+public class CourseRepository {
+
+    private static final int READ_POOL_SIZE = 2;
+
+    private static volatile CourseRepository INSTANCE;
+
+    private final CourseDao courseDao;
+    private final CourseSearchEngine searchEngine;
+    private final CourseConflictEngine conflictEngine;
+    private final RoomOccupancyEngine occupancyEngine;
+    private final ScheduledExecutorService writeExecutor = Executors.newSingleThreadScheduledExecutor();
+    private final ExecutorService readExecutor = Executors.newFixedThreadPool(READ_POOL_SIZE);
+    // Lecture et analyse des fichiers importés ; seuls les lots passent par le thread d'écriture
+    private final ExecutorService importExecutor = Executors.newSingleThreadExecutor();
+    private final CourseWriteQueue writeQueue;
+    // Pool dédié au calcul des emplois du temps (un thread par cœur), créé à la première génération
+    private volatile TimetablePlanner planner;
+
+    private CourseRepository(CourseDatabase database) {
+        this.courseDao = database.courseDao();
+        this.searchEngine = CourseSearchEngine.getInstance(database);
+        this.conflictEngine = CourseConflictEngine.getInstance(database);
+        this.occupancyEngine = RoomOccupancyEngine.getInstance(database);
+        this.writeQueue = new CourseWriteQueue(courseDao::applyWrites, writeExecutor);
+    }
+
+    public static CourseRepository getInstance(Context context) {
+        if (INSTANCE == null) {
+            synchronized (CourseRepository.class) {
+                if (INSTANCE == null) {
+                    INSTANCE = new CourseRepository(CourseDatabase.getInstance(context));
+                }
+            }
+        }
+        return INSTANCE;
+    }
+
+    // Recherche en mémoire partagée (index préfixe et trigrammes)
+    public CourseSearchEngine getSearchEngine() {
+        return searchEngine;
+    }
+
+    // --- Lectures observables (exécutées par Room) ---
+
+    public LiveData<List<CourseListItem>> getAllCourses() {
+        return courseDao.getAllCourses();
+    }
+
+    public LiveData<List<CourseListItem>> getCoursesByDay(int day) {
+        return courseDao.getCoursesByDay(day);
+    }
+
+    public LiveData<List<CourseMatch>> searchCoursesFts(String match) {
+        return courseDao.searchCoursesFts(match);
+    }
+
+    public LiveData<List<CourseListItem>> searchCoursesByPrefix(String key, String keyEnd) {
+        return courseDao.searchCoursesByPrefix(key, keyEnd);
+    }
+
+    // Chevauchements de tout l'emploi du temps (cf. CourseConflictEngine)
+    public LiveData<ConflictReport> getConflictReport() {
+        return conflictEngine.getReport();
+    }
+
+    public LiveData<Integer> countCourses() {
+        return courseDao.countCourses();
+    }
+
+    // --- Sources paginées (une nouvelle source à chaque invalidation, cf. CoursePaging) ---
+
+    public PagingSource<Integer, CourseListItem> pageAllCourses() {
+        return courseDao.pageAllCourses();
+    }
+
+    public PagingSource<Integer, CourseListItem> pageCoursesByDay(int day) {
+        return courseDao.pageCoursesByDay(day);
+    }
+
+    public PagingSource<Integer, CourseListItem> pageSearchFts(String match, int day) {
+        return courseDao.pageSearchFts(match, day);
+    }
+
+    public PagingSource<Integer, CourseListItem> pageSearchByPrefix(String key, String keyEnd, int day) {
+        return courseDao.pageSearchByPrefix(key, keyEnd, day);
+    }
+
+    // --- Lectures ponctuelles (pool de lecture) ---
+
+    public CompletableFuture<Course> getCourseById(long courseId) {
+        return CompletableFuture.supplyAsync(() -> courseDao.getCourseById(courseId), readExecutor);
+    }
+
+    // Recherche dans l'index en mémoire, hors du thread principal (l'index peut être verrouillé par
+    // une reconstruction) ; sans résultat exact, recherche approchée à partir de fuzzyMinLength
+    // caractères. Résultat null si l'index n'est pas encore chargé (utiliser la base)
+    public CompletableFuture<List<Course>> searchInMemory(String text, Integer day, int fuzzyMinLength,
+                                                         int fuzzyLimit) {
+        return CompletableFuture.supplyAsync(() -> {
+            List<Course> courses = searchEngine.search(text, day);
+            if (courses != null && courses.isEmpty() && text.length() >= fuzzyMinLength) {
+                // Aucun préfixe ne correspond : probablement une faute de frappe
+                courses = searchEngine.fuzzySearchCourses(text, day, fuzzyLimit);
+            }
+            return courses;
+        }, readExecutor);
+    }
+
+    // Cours qui chevauchent le créneau [startMinute, endMinute) du jour, sauf excludeId
+    public CompletableFuture<List<CourseInterval>> findConflicts(int day, int startMinute, int endMinute,
+                                                                 long excludeId) {
+        return CompletableFuture.supplyAsync(() -> conflictEngine.getDetector()
+                .overlapping(day, startMinute, endMinute, excludeId), readExecutor);
+    }
+
+    // Salles sans cours sur le créneau [startMinute, endMinute) du jour (cf. RoomOccupancyIndex)
+    public CompletableFuture<List<Classroom>> findFreeRooms(int day, int startMinute, int endMinute) {
+        return CompletableFuture.supplyAsync(
+                () -> occupancyEngine.freeRooms(day, startMinute, endMinute), readExecutor);
+    }
+
+    // Emplois du temps sans chevauchement parmi tous les cours (un groupe par matière et par type),
+    // les meilleurs selon les préférences ; run.cancel() interrompt la recherche
+    public PlannerRun planTimetables(PlanPreferences preferences, int maxPlans, long budgetMs) {
+        return getPlanner().plan(courseDao::getAllCoursesSnapshot, preferences, maxPlans, budgetMs);
+    }
+
+    private TimetablePlanner getPlanner() {
+        if (planner == null) {
+            synchronized (this) {
+                if (planner == null) {
+                    planner = new TimetablePlanner(new ForkJoinPool());
+                }
+            }
+        }
+        return planner;
+    }
+
+    public CompletableFuture<List<FtsHit>> matchCourseIds(String match) {
+        return CompletableFuture.supplyAsync(() -> courseDao.matchCourseIds(match), readExecutor);
+    }
+
+    // Export en flux de tous les cours (pool de lecture) ; renvoie le nombre de cours écrits.
+    // Le flux est fermé à la fin ; les événements iCalendar démarrent la semaine courante.
+    public CompletableFuture<Integer> exportCourses(OutputStream output, CourseImporter.Format format) {
+        return CompletableFuture.supplyAsync(() -> {
+            ZoneId zone = ZoneId.systemDefault();
+            LocalDate weekStart = LocalDate.now(zone).with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            try (OutputStream out = output; Cursor cursor = courseDao.getAllCoursesCursor()) {
+                return new CourseCursorReader(cursor).copyTo(CourseExporter.newWriter(format, out, zone, weekStart));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, readExecutor);
+    }
+
+    // --- Écritures (regroupées par rafale, appliquées dans l'ordre d'appel) ---
+
+    // Insertion ou mise à jour + demande de rappel ; renvoie l'id du cours
+    public CompletableFuture<Long> save(Course course) {
+        course.refreshDerivedFields(); // Clés de recherche calculées une fois à l'écriture
+        return writeQueue.save(course);
+    }
+
+    public CompletableFuture<Void> delete(Course course) {
+        return writeQueue.delete(course).thenAccept(id -> { });
+    }
+
+    // Suppression depuis la liste (projection) : @Delete ne lit que la clé primaire
+    public CompletableFuture<Void> delete(CourseListItem item) {
+        Course course = new Course();
+        course.setId(item.getId());
+        return delete(course);
+    }
+
+    public CompletableFuture<Void> deleteAll() {
+        return writeQueue.deleteAll();
+    }
+
+    // Import en flux d'un fichier CSV ou iCalendar ; le fichier est lu sur son propre thread et
+    // chaque lot (une transaction) est écrit sur le thread d'écriture, après les écritures déjà
+    // demandées : un enregistrement depuis le formulaire passe entre deux lots au lieu d'attendre
+    // la fin de l'import, et une suppression totale demandée avant l'import ne l'efface pas.
+    // Le flux est fermé à la fin
+    public CompletableFuture<ImportStats> importCourses(InputStream input, CourseImporter.Format format,
+                                                        ChunkedCourseWriter.ProgressListener listener) {
+        return CompletableFuture.supplyAsync(() -> {
+            try (InputStream in = input) {
+                return CourseImporter.importCourses(in, format, ZoneId.systemDefault(),
+                        chunk -> writeQueue.runAfterPending(() -> courseDao.importChunk(chunk))
+                                .join(), // Attente du lot : la mémoire reste bornée à un lot
+                        listener);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } finally {
+                // Un cours remplacé a pu libérer un professeur ou une salle : un seul nettoyage des
+                // dictionnaires pour tout l'import, y compris après un échec (lots déjà validés)
+                writeQueue.runAfterPending(courseDao::deleteUnusedReferences).join();
+            }
+        }, importExecutor);
+    }
+
+    // Profondeur de la file d'écriture et latence des vidages
+    public CourseWriteQueue.Metrics getWriteMetrics() {
+        return writeQueue.getMetrics();
+    }
+}
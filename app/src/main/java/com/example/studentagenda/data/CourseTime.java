@@ -0,0 +1,60 @@
+package com.example.studentagenda.data;
+
+import java.util.Locale;
+
+// Conversions entre l'heure affichée "HH:mm" et les minutes depuis minuit stockées en base
+public final class CourseTime {
+
+    public static final int MINUTES_PER_DAY = 24 * 60;
+    public static final int INVALID = -1; // Heure absente ou mal formée
+
+    private CourseTime() { }
+
+    // "08:30" -> 510 ; INVALID si le texte n'est pas une heure valide
+    public static int parse(String time) {
+        if (time == null) {
+            return INVALID;
+        }
+        int colon = time.indexOf(':');
+        if (colon <= 0 || colon == time.length() - 1) {
+            return INVALID;
+        }
+        try {
+            int hour = Integer.parseInt(time.substring(0, colon).trim());
+            int minute = Integer.parseInt(time.substring(colon + 1).trim());
+            if (hour < 0 || hour > 23 || minute < 0 || minute > 59) {
+                return INVALID;
+            }
+            return hour * 60 + minute;
+        } catch (NumberFormatException e) {
+            return INVALID;
+        }
+    }
+
+    // 510 -> "08:30"
+    public static String format(int minuteOfDay) {
+        if (minuteOfDay < 0 || minuteOfDay >= MINUTES_PER_DAY) {
+            return String.format(Locale.ROOT, "%02d:%02d", minuteOfDay / 60, minuteOfDay % 60);
+        }
+        // Sans String.format : appelé pour chaque cours lors des imports
+        int hour = minuteOfDay / 60;
+        int minute = minuteOfDay % 60;
+        return new String(new char[]{
+                (char) ('0' + hour / 10), (char) ('0' + hour % 10), ':',
+                (char) ('0' + minute / 10), (char) ('0' + minute % 10)
+        });
+    }
+
+    // 90 -> "1h30min", 45 -> "45min" ; "N/A" si la durée est négative
+    public static String formatDuration(int minutes) {
+        if (minutes < 0) {
+            return "N/A";
+        }
+        long hours = minutes / 60;
+        long rest = minutes % 60;
+        if (hours > 0) {
+            return hours + "h" + (rest > 0 ? rest + "min" : "");
+        }
+        return rest + "min";
+    }
+}
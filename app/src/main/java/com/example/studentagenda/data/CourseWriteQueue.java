@@ -0,0 +1,292 @@
+package com.example.studentagenda.data;
+
+import com.example.studentagenda.data.entity.Course;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// File d'écritures sur les cours : les mutations reçues pendant FLUSH_DELAY_MS sont regroupées
+// par id de cours (la dernière l'emporte, sauf sur une suppression) puis appliquées en une seule transaction.
+// Une rafale (activation des rappels en série, suppression puis réimport...) ne provoque
+// ainsi qu'une invalidation Room et une seule relecture de getAllCourses.
+public class CourseWriteQueue {
+
+    public static final long FLUSH_DELAY_MS = 50;
+
+    // Applique une rafale dans une transaction (CourseDao::applyWrites)
+    public interface BatchWriter {
+        void applyWrites(boolean deleteAll, List<Course> saved, List<Course> deleted);
+    }
+
+    private final BatchWriter writer;
+    private final ScheduledExecutorService executor; // Thread unique : les rafales restent ordonnées
+    private final long flushDelayMs;
+    private final Object lock = new Object();
+
+    // État de la rafale en cours (protégé par lock)
+    private final Map<Long, Pending> byId = new LinkedHashMap<>(); // Cours existants, regroupés par id
+    private final List<Pending> inserts = new ArrayList<>();      // Nouveaux cours (id encore inconnu)
+    private final List<Pending> dropped = new ArrayList<>();      // Effacés par une suppression totale
+    private boolean deleteAll;
+    private CompletableFuture<Void> deleteAllFuture;
+    private long burstStartNanos;
+    private boolean flushScheduled;
+
+    // Métriques (protégées par lock)
+    private long flushCount;
+    private long mutationCount;
+    private long appliedCount;
+    private long lastFlushLatencyMs;
+    private long maxFlushLatencyMs;
+    private long totalFlushLatencyMs;
+    private int maxQueueDepth;
+
+    public CourseWriteQueue(BatchWriter writer, ScheduledExecutorService executor) {
+        this(writer, executor, FLUSH_DELAY_MS);
+    }
+
+    CourseWriteQueue(BatchWriter writer, ScheduledExecutorService executor, long flushDelayMs) {
+        this.writer = writer;
+        this.executor = executor;
+        this.flushDelayMs = flushDelayMs;
+    }
+
+    // Insertion (id = 0) ou mise à jour ; renvoie l'id du cours une fois la rafale écrite
+    public CompletableFuture<Long> save(Course course) {
+        Pending pending = new Pending(course, false);
+        synchronized (lock) {
+            if (course.getId() == 0) {
+                inserts.add(pending);
+            } else {
+                merge(pending);
+            }
+            onSubmitted();
+        }
+        return pending.future;
+    }
+
+    public CompletableFuture<Long> delete(Course course) {
+        Pending pending = new Pending(course, true);
+        synchronized (lock) {
+            if (course.getId() == 0) {
+                return CompletableFuture.completedFuture(0L); // Jamais enregistré : rien à supprimer
+            }
+            merge(pending);
+            onSubmitted();
+        }
+        return pending.future;
+    }
+
+    // Suppression totale : les mutations en attente sont sans objet
+    public CompletableFuture<Void> deleteAll() {
+        synchronized (lock) {
+            dropped.addAll(byId.values());
+            dropped.addAll(inserts);
+            byId.clear();
+            inserts.clear();
+            deleteAll = true;
+            if (deleteAllFuture == null) {
+                deleteAllFuture = new CompletableFuture<>();
+            }
+            onSubmitted();
+            return deleteAllFuture;
+        }
+    }
+
+    // Exécute task sur le thread d'écriture après avoir appliqué sans délai la rafale en attente :
+    // une écriture hors file (lot d'import) ne passe pas avant les écritures demandées plus tôt
+    public CompletableFuture<Void> runAfterPending(Runnable task) {
+        return CompletableFuture.runAsync(() -> {
+            flush();
+            task.run();
+        }, executor);
+    }
+
+    // Nombre d'écritures distinctes en attente (après regroupement)
+    public int getQueueDepth() {
+        synchronized (lock) {
+            return depth();
+        }
+    }
+
+    public Metrics getMetrics() {
+        synchronized (lock) {
+            return new Metrics(flushCount, mutationCount, appliedCount, depth(), maxQueueDepth,
+                    lastFlushLatencyMs, maxFlushLatencyMs,
+                    flushCount == 0 ? 0 : totalFlushLatencyMs / flushCount);
+        }
+    }
+
+    // Remplace la mutation en attente du même cours ; les appelants précédents reçoivent le même résultat.
+    // Une suppression en attente n'est pas remplacée par une mise à jour : appliquées l'une après
+    // l'autre, la mise à jour ne trouverait plus la ligne. Elle est abandonnée et son appelant est
+    // notifié avec la suppression.
+    private void merge(Pending pending) {
+        Pending previous = byId.get(pending.course.getId());
+        if (previous != null && previous.delete && !pending.delete) {
+            pending.previous = previous.previous;
+            previous.previous = pending;
+            return;
+        }
+        byId.remove(pending.course.getId());
+        if (previous != null) {
+            pending.previous = previous;
+        }
+        byId.put(pending.course.getId(), pending); // Réinséré en fin : ordre de la dernière mutation
+    }
+
+    private void onSubmitted() {
+        mutationCount++;
+        maxQueueDepth = Math.max(maxQueueDepth, depth());
+        if (!flushScheduled) {
+            flushScheduled = true;
+            burstStartNanos = System.nanoTime();
+            executor.schedule(this::flush, flushDelayMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private int depth() {
+        return byId.size() + inserts.size() + (deleteAll ? 1 : 0);
+    }
+
+    // Exécuté sur le thread d'écriture
+    private void flush() {
+        boolean clearAll;
+        CompletableFuture<Void> clearFuture;
+        List<Pending> batch = new ArrayList<>();
+        List<Pending> skipped;
+        long startNanos;
+        synchronized (lock) {
+            if (depth() == 0 && dropped.isEmpty()) {
+                return; // Rafale déjà appliquée par runAfterPending
+            }
+            clearAll = deleteAll;
+            clearFuture = deleteAllFuture;
+            batch.addAll(inserts);
+            batch.addAll(byId.values());
+            skipped = new ArrayList<>(dropped);
+            startNanos = burstStartNanos;
+            appliedCount += batch.size() + (clearAll ? 1 : 0);
+            inserts.clear();
+            byId.clear();
+            dropped.clear();
+            deleteAll = false;
+            deleteAllFuture = null;
+            flushScheduled = false;
+        }
+
+        List<Course> saved = new ArrayList<>();
+        List<Course> deleted = new ArrayList<>();
+        for (Pending pending : batch) {
+            (pending.delete ? deleted : saved).add(pending.course);
+        }
+
+        try {
+            writer.applyWrites(clearAll, saved, deleted);
+        } catch (RuntimeException e) {
+            for (Pending pending : batch) {
+                pending.fail(e);
+            }
+            for (Pending pending : skipped) {
+                pending.fail(e);
+            }
+            if (clearFuture != null) {
+                clearFuture.completeExceptionally(e);
+            }
+            recordFlush(startNanos);
+            return;
+        }
+
+        recordFlush(startNanos);
+        for (Pending pending : batch) {
+            pending.complete();
+        }
+        for (Pending pending : skipped) {
+            pending.complete();
+        }
+        if (clearFuture != null) {
+            clearFuture.complete(null);
+        }
+    }
+
+    // Latence : du premier appel de la rafale à la fin de la transaction
+    private void recordFlush(long startNanos) {
+        long latencyMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+        synchronized (lock) {
+            flushCount++;
+            lastFlushLatencyMs = latencyMs;
+            maxFlushLatencyMs = Math.max(maxFlushLatencyMs, latencyMs);
+            totalFlushLatencyMs += latencyMs;
+        }
+    }
+
+    // Mutation en attente ; "previous" chaîne les mutations remplacées du même cours
+    private static final class Pending {
+        final Course course;
+        final boolean delete;
+        final CompletableFuture<Long> future = new CompletableFuture<>();
+        Pending previous;
+
+        Pending(Course course, boolean delete) {
+            this.course = course;
+            this.delete = delete;
+        }
+
+        void complete() {
+            for (Pending p = this; p != null; p = p.previous) {
+                p.future.complete(course.getId());
+            }
+        }
+
+        void fail(Throwable error) {
+            for (Pending p = this; p != null; p = p.previous) {
+                p.future.completeExceptionally(error);
+            }
+        }
+    }
+
+    // Instantané des métriques de la file
+    public static final class Metrics {
+        private final long flushCount;
+        private final long mutationCount;
+        private final long appliedCount;
+        private final int queueDepth;
+        private final int maxQueueDepth;
+        private final long lastFlushLatencyMs;
+        private final long maxFlushLatencyMs;
+        private final long averageFlushLatencyMs;
+
+        Metrics(long flushCount, long mutationCount, long appliedCount, int queueDepth, int maxQueueDepth,
+                long lastFlushLatencyMs, long maxFlushLatencyMs, long averageFlushLatencyMs) {
+            this.flushCount = flushCount;
+            this.mutationCount = mutationCount;
+            this.appliedCount = appliedCount;
+            this.queueDepth = queueDepth;
+            this.maxQueueDepth = maxQueueDepth;
+            this.lastFlushLatencyMs = lastFlushLatencyMs;
+            this.maxFlushLatencyMs = maxFlushLatencyMs;
+            this.averageFlushLatencyMs = averageFlushLatencyMs;
+        }
+
+        public long getFlushCount() { return flushCount; }                 // Transactions exécutées
+        public long getMutationCount() { return mutationCount; }           // Appels reçus
+        public long getAppliedCount() { return appliedCount; }             // Écritures après regroupement
+        public int getQueueDepth() { return queueDepth; }                  // En attente actuellement
+        public int getMaxQueueDepth() { return maxQueueDepth; }
+        public long getLastFlushLatencyMs() { return lastFlushLatencyMs; }
+        public long getMaxFlushLatencyMs() { return maxFlushLatencyMs; }
+        public long getAverageFlushLatencyMs() { return averageFlushLatencyMs; }
+
+        @Override
+        public String toString() {
+            return "Écritures: " + mutationCount + " reçues, " + appliedCount + " appliquées en "
+                    + flushCount + " transaction(s), attente " + queueDepth + " (max " + maxQueueDepth
+                    + "), latence " + lastFlushLatencyMs + " ms (moyenne " + averageFlushLatencyMs
+                    + ", max " + maxFlushLatencyMs + ")";
+        }
+    }
+}
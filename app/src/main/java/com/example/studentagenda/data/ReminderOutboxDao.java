@@ -0,0 +1,29 @@
+package com.example.studentagenda.data;
+
+import androidx.room.Dao;
+import androidx.room.Query;
+import java.util.List;
+
+// Lecture et vidage de l'outbox des rappels (l'écriture se fait dans les transactions de CourseDao)
+@Dao
+public interface ReminderOutboxDao {
+
+    @Query("SELECT COUNT(*) FROM reminder_outbox")
+    int count();
+
+    // Dernière entrée en attente (null si l'outbox est vide)
+    @Query("SELECT MAX(id) FROM reminder_outbox")
+    Long getMaxId();
+
+    // Entrée la plus ancienne, pour mesurer le délai de traitement
+    @Query("SELECT MIN(enqueuedAt) FROM reminder_outbox WHERE id <= :maxId")
+    Long getOldestEnqueuedAt(long maxId);
+
+    // Cours concernés par les entrées en attente (ReminderOutbox.ALL_COURSES : tous)
+    @Query("SELECT DISTINCT courseId FROM reminder_outbox WHERE id <= :maxId")
+    List<Long> getCourseIdsUpTo(long maxId);
+
+    // Retire toutes les entrées traitées d'un coup ; renvoie leur nombre
+    @Query("DELETE FROM reminder_outbox WHERE id <= :maxId")
+    int deleteUpTo(long maxId);
+}
@@ -0,0 +1,44 @@
+package com.example.studentagenda.data;
+
+import androidx.room.Dao;
+import androidx.room.Query;
+import androidx.room.Transaction;
+import androidx.room.Upsert;
+import com.example.studentagenda.data.entity.ReminderSchedule;
+import java.util.List;
+
+@Dao
+public interface ReminderScheduleDao {
+
+    // Taille des lots pour les clauses IN (limite de variables SQLite)
+    int BATCH_SIZE = 500;
+
+    // Tout le registre des alarmes enregistrées
+    @Query("SELECT * FROM reminder_schedule")
+    List<ReminderSchedule> getAll();
+
+    // Lignes de quelques cours (synchronisation ciblée, moins de BATCH_SIZE ids)
+    @Query("SELECT * FROM reminder_schedule WHERE courseId IN (:courseIds)")
+    List<ReminderSchedule> getByCourseIds(List<Long> courseIds);
+
+    @Upsert
+    void upsertAll(List<ReminderSchedule> entries);
+
+    @Query("DELETE FROM reminder_schedule WHERE courseId IN (:courseIds)")
+    void deleteByCourseIds(List<Long> courseIds);
+
+    // Vide le registre (alarmes perdues : redémarrage, arrêt forcé)
+    @Query("DELETE FROM reminder_schedule")
+    void clear();
+
+    // Applique le résultat d'une synchronisation en une seule transaction
+    @Transaction
+    default void apply(List<ReminderSchedule> scheduled, List<Long> cancelled) {
+        if (!scheduled.isEmpty()) {
+            upsertAll(scheduled);
+        }
+        for (int from = 0; from < cancelled.size(); from += BATCH_SIZE) {
+            deleteByCourseIds(cancelled.subList(from, Math.min(from + BATCH_SIZE, cancelled.size())));
+        }
+    }
+}
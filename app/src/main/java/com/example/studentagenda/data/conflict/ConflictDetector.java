@@ -0,0 +1,78 @@
+package com.example.studentagenda.data.conflict;
+
+import com.example.studentagenda.data.entity.CourseInterval;
+import java.util.ArrayList;
+import java.util.List;
+
+// Détection des chevauchements entre cours : un arbre d'intervalles par jour de la semaine,
+// construit à partir d'un instantané (cf. CourseConflictEngine)
+public class ConflictDetector {
+
+    private static final int DAYS = 7;
+
+    private final IntervalTree[] trees = new IntervalTree[DAYS + 1]; // Indice = jour (1 = Lundi)
+
+    public ConflictDetector(List<CourseInterval> intervals) {
+        List<List<CourseInterval>> byDay = new ArrayList<>(DAYS + 1);
+        for (int day = 0; day <= DAYS; day++) {
+            byDay.add(new ArrayList<>());
+        }
+        for (CourseInterval interval : intervals) {
+            int day = interval.getDayOfWeek();
+            if (day >= 1 && day <= DAYS) {
+                byDay.get(day).add(interval);
+            }
+        }
+        for (int day = 1; day <= DAYS; day++) {
+            trees[day] = new IntervalTree(byDay.get(day));
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (int day = 1; day <= DAYS; day++) {
+            size += trees[day].size();
+        }
+        return size;
+    }
+
+    // Cours du jour qui chevauchent [start, end), sauf excludeId (le cours en cours de modification)
+    public List<CourseInterval> overlapping(int day, int start, int end, long excludeId) {
+        List<CourseInterval> result = new ArrayList<>();
+        if (day < 1 || day > DAYS) {
+            return result;
+        }
+        trees[day].query(start, end, result);
+        for (int i = result.size() - 1; i >= 0; i--) {
+            if (result.get(i).getId() == excludeId) {
+                result.remove(i);
+            }
+        }
+        return result;
+    }
+
+    // Parcourt chaque paire de cours qui se chevauchent, une seule fois, jour par jour
+    public void forEachConflict(OverlapVisitor visitor) {
+        for (int day = 1; day <= DAYS; day++) {
+            trees[day].forEachOverlap(visitor);
+        }
+    }
+
+    // Tous les chevauchements en un balayage ; seuls les maxListed premiers sont conservés
+    public ConflictReport report(int maxListed) {
+        List<CourseConflict> listed = new ArrayList<>();
+        long[] total = {0};
+        forEachConflict((first, second) -> {
+            if (listed.size() < maxListed) {
+                listed.add(new CourseConflict(first, second));
+            }
+            total[0]++;
+        });
+        return new ConflictReport(listed, total[0]);
+    }
+
+    // Reçoit chaque paire de créneaux qui se chevauchent (first commence le premier)
+    public interface OverlapVisitor {
+        void onOverlap(CourseInterval first, CourseInterval second);
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.studentagenda.data.conflict;
+
+import java.util.List;
+
+// Chevauchements de tout l'emploi du temps : le nombre total et les premiers, pour l'affichage
+public class ConflictReport {
+
+    private final List<CourseConflict> conflicts;
+    private final long total;
+
+    public ConflictReport(List<CourseConflict> conflicts, long total) {
+        this.conflicts = conflicts;
+        this.total = total;
+    }
+
+    public List<CourseConflict> getConflicts() { return conflicts; }
+    public long getTotal() { return total; }
+
+    public boolean isEmpty() {
+        return total == 0;
+    }
+}
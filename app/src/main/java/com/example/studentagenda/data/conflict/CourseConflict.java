@@ -0,0 +1,39 @@
+package com.example.studentagenda.data.conflict;
+
+import com.example.studentagenda.data.CourseTime;
+import com.example.studentagenda.data.entity.Course;
+import com.example.studentagenda.data.entity.CourseInterval;
+
+// Deux cours du même jour dont les créneaux se chevauchent (first commence le premier)
+public class CourseConflict {
+
+    private final CourseInterval first;
+    private final CourseInterval second;
+
+    public CourseConflict(CourseInterval first, CourseInterval second) {
+        this.first = first;
+        this.second = second;
+    }
+
+    public CourseInterval getFirst() { return first; }
+    public CourseInterval getSecond() { return second; }
+
+    public int getDayOfWeek() {
+        return first.getDayOfWeek();
+    }
+
+    // Partie commune des deux créneaux
+    public int getOverlapStart() {
+        return Math.max(first.getStartMinute(), second.getStartMinute());
+    }
+
+    public int getOverlapEnd() {
+        return Math.min(first.getEndMinute(), second.getEndMinute());
+    }
+
+    // Ex. "Lundi 09:00-09:30 : Physique / Chimie"
+    public String describe() {
+        return Course.dayName(getDayOfWeek()) + " " + CourseTime.format(getOverlapStart()) + "-"
+                + CourseTime.format(getOverlapEnd()) + " : " + first.getName() + " / " + second.getName();
+    }
+}
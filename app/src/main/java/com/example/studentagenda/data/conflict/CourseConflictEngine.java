@@ -0,0 +1,89 @@
+package com.example.studentagenda.data.conflict;
+
+import android.util.Log;
+import androidx.annotation.NonNull;
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MutableLiveData;
+import androidx.room.InvalidationTracker;
+import com.example.studentagenda.data.CourseDao;
+import com.example.studentagenda.data.CourseDatabase;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Détecteur de conflits en mémoire, reconstruit à partir des créneaux de la table "courses"
+// quand Room l'invalide (comme CourseSearchEngine). Publie aussi la liste des chevauchements.
+public class CourseConflictEngine {
+
+    private static final String TAG = "CourseConflictEngine";
+
+    public static final long DEFAULT_DEBOUNCE_MS = 150;
+    public static final int MAX_LISTED_CONFLICTS = 200; // Au-delà, seul le nombre est affiché
+
+    private static volatile CourseConflictEngine INSTANCE;
+
+    private final CourseDao courseDao;
+    private final long debounceMs;
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+    private final AtomicBoolean reloadScheduled = new AtomicBoolean(false);
+    private final MutableLiveData<ConflictReport> report = new MutableLiveData<>();
+    private volatile ConflictDetector detector; // null tant que le premier instantané n'est pas lu
+
+    public CourseConflictEngine(CourseDatabase database, long debounceMs) {
+        this.courseDao = database.courseDao();
+        this.debounceMs = debounceMs;
+
+        database.getInvalidationTracker().addObserver(new InvalidationTracker.Observer(new String[]{"courses"}) {
+            @Override
+            public void onInvalidated(@NonNull Set<String> tables) {
+                scheduleReload();
+            }
+        });
+        scheduleReload(); // Construction initiale
+    }
+
+    public static CourseConflictEngine getInstance(CourseDatabase database) {
+        if (INSTANCE == null) {
+            synchronized (CourseConflictEngine.class) {
+                if (INSTANCE == null) {
+                    INSTANCE = new CourseConflictEngine(database, DEFAULT_DEBOUNCE_MS);
+                }
+            }
+        }
+        return INSTANCE;
+    }
+
+    // Détecteur à jour ; lu en base si le premier instantané n'est pas encore prêt (thread d'arrière-plan)
+    public ConflictDetector getDetector() {
+        ConflictDetector current = detector;
+        return current != null ? current : new ConflictDetector(courseDao.getCourseIntervals());
+    }
+
+    // Chevauchements de tout l'emploi du temps, recalculés après chaque modification
+    public LiveData<ConflictReport> getReport() {
+        return report;
+    }
+
+    private void scheduleReload() {
+        if (reloadScheduled.compareAndSet(false, true)) {
+            executor.schedule(this::reload, debounceMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void reload() {
+        reloadScheduled.set(false);
+        try {
+            long start = System.nanoTime();
+            ConflictDetector next = new ConflictDetector(courseDao.getCourseIntervals());
+            ConflictReport nextReport = next.report(MAX_LISTED_CONFLICTS);
+            detector = next;
+            report.postValue(nextReport);
+            Log.d(TAG, "Conflits recalculés (" + next.size() + " cours, " + nextReport.getTotal()
+                    + " chevauchements) en " + (System.nanoTime() - start) / 1000 + " µs");
+        } catch (Exception e) {
+            Log.e(TAG, "Erreur lors du calcul des conflits", e);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.studentagenda.data.conflict;
+
+import com.example.studentagenda.data.entity.CourseInterval;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+// Arbre d'intervalles statique pour une journée, stocké dans des tableaux : les créneaux [début, fin)
+// sont triés par début, le nœud d'un sous-tableau [lo, hi) est son milieu et maxEnd[milieu] la plus
+// grande fin du sous-tableau. Une recherche abandonne les sous-arbres qui finissent avant le début
+// cherché et ceux qui commencent après la fin cherchée : O(log n + k) pour des créneaux de durées
+// comparables, O(k log n) au pire. Reconstruit à chaque instantané (O(n log n)), jamais modifié.
+public class IntervalTree {
+
+    private static final Comparator<CourseInterval> BY_START = (a, b) -> {
+        int byStart = Integer.compare(a.getStartMinute(), b.getStartMinute());
+        return byStart != 0 ? byStart : Integer.compare(a.getEndMinute(), b.getEndMinute());
+    };
+
+    private final CourseInterval[] intervals;
+    private final int[] starts;
+    private final int[] ends;
+    private final int[] maxEnds;
+
+    // Les créneaux vides ou inversés (heures invalides) ne peuvent chevaucher aucun cours : ignorés
+    public IntervalTree(List<CourseInterval> dayIntervals) {
+        List<CourseInterval> valid = new ArrayList<>(dayIntervals.size());
+        for (CourseInterval interval : dayIntervals) {
+            if (interval.getEndMinute() > interval.getStartMinute()) {
+                valid.add(interval);
+            }
+        }
+        intervals = valid.toArray(new CourseInterval[0]);
+        Arrays.sort(intervals, BY_START);
+
+        int n = intervals.length;
+        starts = new int[n];
+        ends = new int[n];
+        for (int i = 0; i < n; i++) {
+            starts[i] = intervals[i].getStartMinute();
+            ends[i] = intervals[i].getEndMinute();
+        }
+        maxEnds = new int[n];
+        build(0, n);
+    }
+
+    public int size() {
+        return intervals.length;
+    }
+
+    private int build(int lo, int hi) {
+        if (lo >= hi) {
+            return Integer.MIN_VALUE;
+        }
+        int mid = (lo + hi) >>> 1;
+        int max = Math.max(ends[mid], Math.max(build(lo, mid), build(mid + 1, hi)));
+        maxEnds[mid] = max;
+        return max;
+    }
+
+    // Ajoute à out les créneaux qui chevauchent [start, end), par début croissant
+    public void query(int start, int end, List<CourseInterval> out) {
+        if (end > start) {
+            query(0, intervals.length, start, end, out);
+        }
+    }
+
+    private void query(int lo, int hi, int start, int end, List<CourseInterval> out) {
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (maxEnds[mid] <= start) {
+                return; // Tout le sous-arbre finit avant le créneau cherché
+            }
+            query(lo, mid, start, end, out);
+            if (starts[mid] >= end) {
+                return; // Le nœud et son sous-arbre droit commencent après le créneau cherché
+            }
+            if (ends[mid] > start) {
+                out.add(intervals[mid]);
+            }
+            lo = mid + 1; // Sous-arbre droit, sans récursion
+        }
+    }
+
+    // Balayage par début croissant : les créneaux encore ouverts (tas trié par fin) chevauchent
+    // tous le créneau courant. O(n log n + k) pour k chevauchements
+    public void forEachOverlap(ConflictDetector.OverlapVisitor visitor) {
+        PriorityQueue<Integer> open = new PriorityQueue<>(Comparator.comparingInt(i -> ends[i]));
+        for (int i = 0; i < intervals.length; i++) {
+            while (!open.isEmpty() && ends[open.peek()] <= starts[i]) {
+                open.poll();
+            }
+            for (int j : open) {
+                visitor.onOverlap(intervals[j], intervals[i]);
+            }
+            open.add(i);
+        }
+    }
+}
@@ -1,14 +1,41 @@
 package com.example.studentagenda.data.entity;
 
+import androidx.room.ColumnInfo;
 import androidx.room.Entity;
+import androidx.room.ForeignKey;
+import androidx.room.Ignore;
+import androidx.room.Index;
 import androidx.room.PrimaryKey;
 import androidx.room.TypeConverters;
+import com.example.studentagenda.data.CourseTime;
 import com.example.studentagenda.data.CourseTypeConverter;
+import com.example.studentagenda.data.search.SearchNormalizer;
 
 
 import java.util.Objects;
 
-@Entity(tableName = "courses") // Table Room représentant un cours
+@Entity(
+        tableName = "courses", // Table Room représentant un cours
+        // Professeur et salle stockés une seule fois dans leur dictionnaire ; une valeur
+        // supprimée du dictionnaire laisse le cours sans professeur/salle plutôt que de l'effacer
+        foreignKeys = {
+                @ForeignKey(entity = Professor.class, parentColumns = "id", childColumns = "professorId",
+                        onDelete = ForeignKey.SET_NULL),
+                @ForeignKey(entity = Classroom.class, parentColumns = "id", childColumns = "roomId",
+                        onDelete = ForeignKey.SET_NULL)
+        },
+        indices = {
+                // Index sur la clé de recherche normalisée du nom
+                @Index("nameKey"),
+                // Clés étrangères (jointures, suppression des entrées inutilisées du dictionnaire)
+                @Index("professorId"),
+                @Index("roomId"),
+                // Tri par jour/heure et requêtes par plage horaire sans lire la table
+                @Index({"dayOfWeek", "startMinute", "endMinute"}),
+                // Rappels (cf. ReminderSlot) : lus sur l'index seul, sans accès à la table
+                @Index({"notificationEnabled", "dayOfWeek", "startMinute"})
+        }
+)
 @TypeConverters(CourseTypeConverter.class) // Convertisseur pour CourseType
 public class Course {
 
@@ -16,14 +43,30 @@ public class Course {
     private long id;
 
     private String name;               // Nom du cours
-    private String professor;          // Nom du professeur
-    private String room;               // Salle
+    private Long professorId;          // Professeur (table professors), null si aucun
+    private Long roomId;               // Salle (table rooms), null si aucune
     private CourseType type;           // Type (CM, TD, TP...)
     private int dayOfWeek;             // Jour de la semaine (1 = Lundi)
     private String startTime;          // Heure de début
     private String endTime;            // Heure de fin
+
+    // Heures en minutes depuis minuit (dérivées de startTime/endTime à l'écriture)
+    @ColumnInfo(defaultValue = "0")
+    private int startMinute;
+    @ColumnInfo(defaultValue = "0")
+    private int endMinute;
     private boolean notificationEnabled; // Notification activée ou non
 
+    // Clé de recherche (sans accents, minuscules), calculée à l'écriture
+    private String nameKey;
+
+    // Valeurs des dictionnaires, hors table : renseignées à la lecture (CourseRecord, instances
+    // partagées entre tous les cours) et converties en ids à l'écriture (CourseDao.resolveReferences)
+    @Ignore private String professor;
+    @Ignore private String room;
+    @Ignore private String professorKey;
+    @Ignore private String roomKey;
+
     // Constructeur vide requis par Room
     public Course() { }
 
@@ -38,6 +81,7 @@ public class Course {
     }
 
     // Constructeur complet
+    @Ignore
     public Course(long id, String name, String professor, String room,
                   CourseType type, int dayOfWeek, String startTime,
                   String endTime, boolean notificationEnabled) {
@@ -65,6 +109,12 @@ public class Course {
     public String getRoom() { return room; }
     public void setRoom(String room) { this.room = room; }
 
+    public Long getProfessorId() { return professorId; }
+    public void setProfessorId(Long professorId) { this.professorId = professorId; }
+
+    public Long getRoomId() { return roomId; }
+    public void setRoomId(Long roomId) { this.roomId = roomId; }
+
     public CourseType getType() { return type; }
     public void setType(CourseType type) { this.type = type; }
 
@@ -77,13 +127,48 @@ public class Course {
     public String getEndTime() { return endTime; }
     public void setEndTime(String endTime) { this.endTime = endTime; }
 
+    public int getStartMinute() { return startMinute; }
+    public void setStartMinute(int startMinute) { this.startMinute = startMinute; }
+
+    public int getEndMinute() { return endMinute; }
+    public void setEndMinute(int endMinute) { this.endMinute = endMinute; }
+
+    // Durée du cours en minutes
+    public int getDurationMinutes() {
+        return endMinute - startMinute;
+    }
+
     public boolean isNotificationEnabled() { return notificationEnabled; }
     public void setNotificationEnabled(boolean notificationEnabled) {
         this.notificationEnabled = notificationEnabled;
     }
 
+    public String getNameKey() { return nameKey; }
+    public void setNameKey(String nameKey) { this.nameKey = nameKey; }
+
+    public String getProfessorKey() { return professorKey; }
+    public void setProfessorKey(String professorKey) { this.professorKey = professorKey; }
+
+    public String getRoomKey() { return roomKey; }
+    public void setRoomKey(String roomKey) { this.roomKey = roomKey; }
+
+    // Recalcule les colonnes dérivées ; à appeler avant chaque insert/update
+    // (pas dans les setters : Room les appelle aussi à chaque lecture)
+    public void refreshDerivedFields() {
+        nameKey = SearchNormalizer.fold(name);
+        professorKey = SearchNormalizer.fold(professor);
+        roomKey = SearchNormalizer.fold(room);
+        startMinute = Math.max(0, CourseTime.parse(startTime));
+        endMinute = Math.max(0, CourseTime.parse(endTime));
+    }
+
     // Renvoie le nom du jour en texte
     public String getDayName() {
+        return dayName(dayOfWeek);
+    }
+
+    // Nom d'un jour (1 = Lundi), partagé avec CourseListItem
+    public static String dayName(int dayOfWeek) {
         switch(dayOfWeek) {
             case 1: return "Lundi";
             case 2: return "Mardi";
@@ -0,0 +1,38 @@
+package com.example.studentagenda.data.entity;
+
+import androidx.room.ColumnInfo;
+import androidx.room.Entity;
+import androidx.room.Fts4;
+import androidx.room.FtsOptions;
+import androidx.room.PrimaryKey;
+
+// Index plein texte (FTS4) des cours, sur les clés normalisées du nom, du professeur et de la salle.
+// Table à contenu propre : les clés du professeur et de la salle sont dans leur dictionnaire, pas dans
+// "courses". Synchronisation par triggers (CourseMigrations.createDictionaryFtsTriggers)
+@Fts4(
+        tokenizer = FtsOptions.TOKENIZER_UNICODE61, // Découpage Unicode (accents, casse)
+        prefix = {2, 3}                           // Index de préfixes pour la recherche "lef*"
+)
+@Entity(tableName = "courses_fts")
+public class CourseFts {
+
+    @PrimaryKey
+    @ColumnInfo(name = "rowid") // rowid = id du cours dans "courses"
+    private long rowId;
+
+    private String nameKey;       // Nom du cours normalisé
+    private String professorKey;  // Professeur normalisé
+    private String roomKey;       // Salle normalisée
+
+    public long getRowId() { return rowId; }
+    public void setRowId(long rowId) { this.rowId = rowId; }
+
+    public String getNameKey() { return nameKey; }
+    public void setNameKey(String nameKey) { this.nameKey = nameKey; }
+
+    public String getProfessorKey() { return professorKey; }
+    public void setProfessorKey(String professorKey) { this.professorKey = professorKey; }
+
+    public String getRoomKey() { return roomKey; }
+    public void setRoomKey(String roomKey) { this.roomKey = roomKey; }
+}
@@ -0,0 +1,36 @@
+package com.example.studentagenda.data.entity;
+
+// Projection d'un cours pour la détection des conflits : son créneau [startMinute, endMinute) du jour
+public class CourseInterval {
+
+    private long id;
+    private String name;
+    private int dayOfWeek;   // 1 = Lundi
+    private int startMinute; // Minutes depuis minuit
+    private int endMinute;   // Exclue
+
+    public CourseInterval() { }
+
+    public CourseInterval(long id, String name, int dayOfWeek, int startMinute, int endMinute) {
+        this.id = id;
+        this.name = name;
+        this.dayOfWeek = dayOfWeek;
+        this.startMinute = startMinute;
+        this.endMinute = endMinute;
+    }
+
+    public long getId() { return id; }
+    public void setId(long id) { this.id = id; }
+
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public int getDayOfWeek() { return dayOfWeek; }
+    public void setDayOfWeek(int dayOfWeek) { this.dayOfWeek = dayOfWeek; }
+
+    public int getStartMinute() { return startMinute; }
+    public void setStartMinute(int startMinute) { this.startMinute = startMinute; }
+
+    public int getEndMinute() { return endMinute; }
+    public void setEndMinute(int endMinute) { this.endMinute = endMinute; }
+}
@@ -0,0 +1,118 @@
+package com.example.studentagenda.data.entity;
+
+import androidx.room.Ignore;
+import androidx.room.Relation;
+import java.util.Objects;
+
+// Projection d'un cours pour la liste : uniquement les colonnes affichées par une ligne
+// (ni clés de recherche ni minutes dérivées). Requêtes : CourseDao.LIST_COLUMNS
+// Professeur et salle : une instance par valeur distincte, partagée par toutes les lignes
+public class CourseListItem {
+
+    private long id;
+    private String name;
+    private Long professorId;
+    private Long roomId;
+    @Relation(parentColumn = "professorId", entityColumn = "id")
+    private Professor professorEntry;
+    @Relation(parentColumn = "roomId", entityColumn = "id")
+    private Classroom roomEntry;
+    // Lignes construites par of() : noms repris du cours (déjà partagés), sans entrée de dictionnaire
+    @Ignore private String professorName;
+    @Ignore private String roomName;
+    private Course.CourseType type;
+    private int dayOfWeek;             // 1 = Lundi
+    private String startTime;
+    private String endTime;
+    private boolean notificationEnabled;
+
+    // Constructeur vide requis par Room
+    public CourseListItem() { }
+
+    // Ligne construite à partir d'un cours complet (résultats de la recherche en mémoire ou FTS)
+    public static CourseListItem of(Course course) {
+        CourseListItem item = new CourseListItem();
+        item.id = course.getId();
+        item.name = course.getName();
+        item.professorId = course.getProfessorId();
+        item.roomId = course.getRoomId();
+        item.professorName = course.getProfessor();
+        item.roomName = course.getRoom();
+        item.type = course.getType();
+        item.dayOfWeek = course.getDayOfWeek();
+        item.startTime = course.getStartTime();
+        item.endTime = course.getEndTime();
+        item.notificationEnabled = course.isNotificationEnabled();
+        return item;
+    }
+
+    public long getId() { return id; }
+    public void setId(long id) { this.id = id; }
+
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public Long getProfessorId() { return professorId; }
+    public void setProfessorId(Long professorId) { this.professorId = professorId; }
+
+    public Long getRoomId() { return roomId; }
+    public void setRoomId(Long roomId) { this.roomId = roomId; }
+
+    public Professor getProfessorEntry() { return professorEntry; }
+    public void setProfessorEntry(Professor professorEntry) { this.professorEntry = professorEntry; }
+
+    public Classroom getRoomEntry() { return roomEntry; }
+    public void setRoomEntry(Classroom roomEntry) { this.roomEntry = roomEntry; }
+
+    public String getProfessor() {
+        return professorEntry != null ? professorEntry.getName() : professorName;
+    }
+
+    public String getRoom() {
+        return roomEntry != null ? roomEntry.getName() : roomName;
+    }
+
+    public Course.CourseType getType() { return type; }
+    public void setType(Course.CourseType type) { this.type = type; }
+
+    public int getDayOfWeek() { return dayOfWeek; }
+    public void setDayOfWeek(int dayOfWeek) { this.dayOfWeek = dayOfWeek; }
+
+    public String getStartTime() { return startTime; }
+    public void setStartTime(String startTime) { this.startTime = startTime; }
+
+    public String getEndTime() { return endTime; }
+    public void setEndTime(String endTime) { this.endTime = endTime; }
+
+    public boolean isNotificationEnabled() { return notificationEnabled; }
+    public void setNotificationEnabled(boolean notificationEnabled) {
+        this.notificationEnabled = notificationEnabled;
+    }
+
+    public String getDayName() {
+        return Course.dayName(dayOfWeek);
+    }
+
+    // Mêmes champs que Course.equals
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        CourseListItem item = (CourseListItem) o;
+        return id == item.id &&
+                dayOfWeek == item.dayOfWeek &&
+                notificationEnabled == item.notificationEnabled &&
+                Objects.equals(name, item.name) &&
+                Objects.equals(getProfessor(), item.getProfessor()) &&
+                Objects.equals(getRoom(), item.getRoom()) &&
+                type == item.type &&
+                Objects.equals(startTime, item.startTime) &&
+                Objects.equals(endTime, item.endTime);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, name, getProfessor(), getRoom(), type,
+                dayOfWeek, startTime, endTime, notificationEnabled);
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.studentagenda.data.entity;
+
+import androidx.room.Embedded;
+import androidx.room.Relation;
+import java.util.ArrayList;
+import java.util.List;
+
+// Cours lu avec son professeur et sa salle : pour un @Relation, Room charge chaque entrée du
+// dictionnaire une seule fois par requête et partage l'instance entre tous les cours qui la référencent
+public class CourseRecord {
+
+    @Embedded
+    private Course course;
+
+    @Relation(parentColumn = "professorId", entityColumn = "id")
+    private Professor professor;
+
+    @Relation(parentColumn = "roomId", entityColumn = "id")
+    private Classroom room;
+
+    public Course getCourse() { return course; }
+    public void setCourse(Course course) { this.course = course; }
+
+    public Professor getProfessor() { return professor; }
+    public void setProfessor(Professor professor) { this.professor = professor; }
+
+    public Classroom getRoom() { return room; }
+    public void setRoom(Classroom room) { this.room = room; }
+
+    // Cours complet : noms et clés recopiés depuis le dictionnaire (mêmes instances de String)
+    public Course toCourse() {
+        course.setProfessor(professor != null ? professor.getName() : null);
+        course.setProfessorKey(professor != null ? professor.getNameKey() : null);
+        course.setRoom(room != null ? room.getName() : null);
+        course.setRoomKey(room != null ? room.getNameKey() : null);
+        return course;
+    }
+
+    public static List<Course> toCourses(List<? extends CourseRecord> records) {
+        List<Course> courses = new ArrayList<>(records.size());
+        for (CourseRecord record : records) {
+            courses.add(record.toCourse());
+        }
+        return courses;
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.studentagenda.data.entity;
+
+import androidx.annotation.NonNull;
+import androidx.room.Entity;
+import androidx.room.Ignore;
+import androidx.room.Index;
+import androidx.room.PrimaryKey;
+import com.example.studentagenda.data.search.SearchNormalizer;
+
+// Dictionnaire des professeurs : chaque nom distinct n'est stocké qu'une fois, les cours le
+// référencent par son id (Course.professorId)
+@Entity(
+        tableName = "professors",
+        indices = {
+                @Index(value = "name", unique = true), // Recherche de l'id à l'écriture
+                @Index("nameKey")                      // Recherche par préfixe
+        }
+)
+public class Professor {
+
+    @PrimaryKey(autoGenerate = true)
+    private long id;
+
+    @NonNull
+    private String name = "";
+    private String nameKey; // Nom normalisé (cf. SearchNormalizer)
+
+    // Constructeur vide requis par Room
+    public Professor() { }
+
+    @Ignore
+    public Professor(@NonNull String name) {
+        this.name = name;
+        this.nameKey = SearchNormalizer.fold(name);
+    }
+
+    public long getId() { return id; }
+    public void setId(long id) { this.id = id; }
+
+    @NonNull
+    public String getName() { return name; }
+    public void setName(@NonNull String name) { this.name = name; }
+
+    public String getNameKey() { return nameKey; }
+    public void setNameKey(String nameKey) { this.nameKey = nameKey; }
+}
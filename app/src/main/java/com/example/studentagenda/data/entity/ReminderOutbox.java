@@ -0,0 +1,35 @@
+package com.example.studentagenda.data.entity;
+
+import androidx.room.Entity;
+import androidx.room.PrimaryKey;
+
+// Effet de bord en attente : les rappels de ce cours sont à resynchroniser.
+// Écrit dans la même transaction que le cours, vidé par ReminderOutboxWorker.
+@Entity(tableName = "reminder_outbox")
+public class ReminderOutbox {
+
+    // courseId utilisé quand tous les cours sont concernés (suppression totale, import)
+    public static final long ALL_COURSES = 0;
+
+    @PrimaryKey(autoGenerate = true)
+    private long id;
+    private long courseId;
+    private long enqueuedAt; // ms epoch, pour mesurer le délai de traitement
+
+    // Constructeur vide requis par Room
+    public ReminderOutbox() { }
+
+    public ReminderOutbox(long courseId, long enqueuedAt) {
+        this.courseId = courseId;
+        this.enqueuedAt = enqueuedAt;
+    }
+
+    public long getId() { return id; }
+    public void setId(long id) { this.id = id; }
+
+    public long getCourseId() { return courseId; }
+    public void setCourseId(long courseId) { this.courseId = courseId; }
+
+    public long getEnqueuedAt() { return enqueuedAt; }
+    public void setEnqueuedAt(long enqueuedAt) { this.enqueuedAt = enqueuedAt; }
+}
@@ -0,0 +1,37 @@
+package com.example.studentagenda.data.entity;
+
+import androidx.room.Entity;
+import androidx.room.PrimaryKey;
+
+// Ligne du registre des rappels : ce qui est actuellement enregistré auprès d'AlarmManager
+@Entity(tableName = "reminder_schedule")
+public class ReminderSchedule {
+
+    @PrimaryKey
+    private long courseId;   // Un rappel au plus par cours
+    private long fireAt;     // Heure de déclenchement enregistrée (ms epoch)
+    private int contentHash; // Empreinte des données transmises dans l'intent du rappel
+
+    // Constructeur vide requis par Room
+    public ReminderSchedule() { }
+
+    public ReminderSchedule(long courseId, long fireAt, int contentHash) {
+        this.courseId = courseId;
+        this.fireAt = fireAt;
+        this.contentHash = contentHash;
+    }
+
+    public long getCourseId() { return courseId; }
+    public void setCourseId(long courseId) { this.courseId = courseId; }
+
+    public long getFireAt() { return fireAt; }
+    public void setFireAt(long fireAt) { this.fireAt = fireAt; }
+
+    public int getContentHash() { return contentHash; }
+    public void setContentHash(int contentHash) { this.contentHash = contentHash; }
+
+    // Même heure et même contenu : l'alarme enregistrée est à jour
+    public boolean sameAs(ReminderSchedule other) {
+        return other != null && fireAt == other.fireAt && contentHash == other.contentHash;
+    }
+}
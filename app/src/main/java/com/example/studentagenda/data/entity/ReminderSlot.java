@@ -0,0 +1,27 @@
+package com.example.studentagenda.data.entity;
+
+// Projection minimale pour calculer l'heure des rappels (mode chaîné) : entièrement couverte par
+// l'index (notificationEnabled, dayOfWeek, startMinute), l'id étant le rowid de la table
+public class ReminderSlot {
+
+    private long id;
+    private int dayOfWeek;   // 1 = Lundi
+    private int startMinute; // Minutes depuis minuit
+
+    public ReminderSlot() { }
+
+    public ReminderSlot(long id, int dayOfWeek, int startMinute) {
+        this.id = id;
+        this.dayOfWeek = dayOfWeek;
+        this.startMinute = startMinute;
+    }
+
+    public long getId() { return id; }
+    public void setId(long id) { this.id = id; }
+
+    public int getDayOfWeek() { return dayOfWeek; }
+    public void setDayOfWeek(int dayOfWeek) { this.dayOfWeek = dayOfWeek; }
+
+    public int getStartMinute() { return startMinute; }
+    public void setStartMinute(int startMinute) { this.startMinute = startMinute; }
+}
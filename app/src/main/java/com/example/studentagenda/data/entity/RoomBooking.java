@@ -0,0 +1,42 @@
+package com.example.studentagenda.data.entity;
+
+// Projection d'un cours pour l'occupation des salles : la salle et le créneau [startMinute, endMinute)
+public class RoomBooking {
+
+    private long id;         // Id du cours
+    private long roomId;
+    private int dayOfWeek;   // 1 = Lundi
+    private int startMinute;
+    private int endMinute;
+
+    public RoomBooking() { }
+
+    public RoomBooking(long id, long roomId, int dayOfWeek, int startMinute, int endMinute) {
+        this.id = id;
+        this.roomId = roomId;
+        this.dayOfWeek = dayOfWeek;
+        this.startMinute = startMinute;
+        this.endMinute = endMinute;
+    }
+
+    public long getId() { return id; }
+    public void setId(long id) { this.id = id; }
+
+    public long getRoomId() { return roomId; }
+    public void setRoomId(long roomId) { this.roomId = roomId; }
+
+    public int getDayOfWeek() { return dayOfWeek; }
+    public void setDayOfWeek(int dayOfWeek) { this.dayOfWeek = dayOfWeek; }
+
+    public int getStartMinute() { return startMinute; }
+    public void setStartMinute(int startMinute) { this.startMinute = startMinute; }
+
+    public int getEndMinute() { return endMinute; }
+    public void setEndMinute(int endMinute) { this.endMinute = endMinute; }
+
+    // Même salle et même créneau
+    public boolean sameSlot(RoomBooking other) {
+        return roomId == other.roomId && dayOfWeek == other.dayOfWeek
+                && startMinute == other.startMinute && endMinute == other.endMinute;
+    }
+}
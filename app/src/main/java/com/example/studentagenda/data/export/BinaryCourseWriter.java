@@ -0,0 +1,65 @@
+package com.example.studentagenda.data.export;
+
+import com.example.studentagenda.data.entity.Course;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+// Export binaire (cf. CourseBinaryFormat) : varints et chaînes encodées par dictionnaire
+public class BinaryCourseWriter implements CourseStreamWriter {
+
+    private final OutputStream out;
+    private final Map<String, Integer> dictionary = new HashMap<>();
+
+    public BinaryCourseWriter(OutputStream output) {
+        this.out = new BufferedOutputStream(output, 16 * 1024);
+    }
+
+    @Override
+    public void begin() throws IOException {
+        out.write(CourseBinaryFormat.MAGIC);
+        out.write(CourseBinaryFormat.VERSION);
+    }
+
+    @Override
+    public void write(Course course) throws IOException {
+        out.write(CourseBinaryFormat.RECORD);
+        CourseBinaryFormat.writeVarint(out, course.getId());
+        writeString(course.getName());
+        writeString(course.getProfessor());
+        writeString(course.getRoom());
+        out.write(course.getType() == null ? 0 : course.getType().ordinal() + 1);
+        out.write(course.getDayOfWeek());
+        CourseBinaryFormat.writeVarint(out, course.getStartMinute());
+        CourseBinaryFormat.writeVarint(out, course.getEndMinute());
+        out.write(course.isNotificationEnabled() ? 1 : 0);
+    }
+
+    @Override
+    public void end() throws IOException {
+        out.write(CourseBinaryFormat.END);
+        out.flush();
+    }
+
+    private void writeString(String value) throws IOException {
+        if (value == null) {
+            CourseBinaryFormat.writeVarint(out, CourseBinaryFormat.STRING_NULL);
+            return;
+        }
+        Integer index = dictionary.get(value);
+        if (index != null) {
+            CourseBinaryFormat.writeVarint(out, CourseBinaryFormat.STRING_REF_BASE + index);
+            return;
+        }
+        if (dictionary.size() < CourseBinaryFormat.MAX_DICTIONARY_SIZE) {
+            dictionary.put(value, dictionary.size());
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        CourseBinaryFormat.writeVarint(out, CourseBinaryFormat.STRING_LITERAL);
+        CourseBinaryFormat.writeVarint(out, bytes.length);
+        out.write(bytes);
+    }
+}
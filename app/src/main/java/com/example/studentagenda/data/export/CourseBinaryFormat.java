@@ -0,0 +1,56 @@
+package com.example.studentagenda.data.export;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+// Format binaire compact des sauvegardes (.agenda), partagé par l'exporteur et le parseur :
+//   en-tête  : MAGIC (4 octets) + VERSION (1 octet)
+//   cours    : RECORD puis id (varint), nom, professeur, salle (chaînes), type (octet, 0 = aucun),
+//              jour (octet), début et fin en minutes (varints), rappel (octet 0/1)
+//   fin      : END
+// Chaîne : varint 0 = null, 1 = nouvelle chaîne (longueur varint + UTF-8, ajoutée au dictionnaire),
+// n >= 2 = entrée n - 2 du dictionnaire. Le dictionnaire se construit à la volée des deux côtés :
+// professeurs et salles, très répétés, ne coûtent qu'un ou deux octets après leur première occurrence.
+public final class CourseBinaryFormat {
+
+    public static final byte[] MAGIC = {'S', 'A', 'G', 'B'};
+    public static final int VERSION = 1;
+
+    public static final int RECORD = 1;
+    public static final int END = 0;
+
+    public static final int STRING_NULL = 0;
+    public static final int STRING_LITERAL = 1;
+    public static final int STRING_REF_BASE = 2;
+
+    // Au-delà, les chaînes nouvelles sont écrites en clair sans être ajoutées (mémoire bornée)
+    public static final int MAX_DICTIONARY_SIZE = 1 << 16;
+
+    private CourseBinaryFormat() { }
+
+    // Entier non signé sur 7 bits par octet (bit de poids fort = suite)
+    public static void writeVarint(OutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    public static long readVarint(InputStream in) throws IOException {
+        long result = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.read();
+            if (b < 0) {
+                throw new EOFException("Varint tronqué");
+            }
+            result |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+        }
+        throw new IOException("Varint trop long");
+    }
+}
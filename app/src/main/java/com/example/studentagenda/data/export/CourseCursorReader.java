@@ -0,0 +1,54 @@
+package com.example.studentagenda.data.export;
+
+import android.database.Cursor;
+import com.example.studentagenda.data.CourseTypeConverter;
+import com.example.studentagenda.data.entity.Course;
+import java.io.IOException;
+
+// Parcourt un Cursor sur la table courses et passe chaque ligne à un écrivain, sans construire de liste :
+// un seul objet Course est réutilisé pour toutes les lignes
+public class CourseCursorReader {
+
+    private final Cursor cursor;
+    private final int id, name, professor, room, type, dayOfWeek, startTime, endTime, startMinute, endMinute,
+            notificationEnabled;
+
+    public CourseCursorReader(Cursor cursor) {
+        this.cursor = cursor;
+        this.id = cursor.getColumnIndexOrThrow("id");
+        this.name = cursor.getColumnIndexOrThrow("name");
+        this.professor = cursor.getColumnIndexOrThrow("professor");
+        this.room = cursor.getColumnIndexOrThrow("room");
+        this.type = cursor.getColumnIndexOrThrow("type");
+        this.dayOfWeek = cursor.getColumnIndexOrThrow("dayOfWeek");
+        this.startTime = cursor.getColumnIndexOrThrow("startTime");
+        this.endTime = cursor.getColumnIndexOrThrow("endTime");
+        this.startMinute = cursor.getColumnIndexOrThrow("startMinute");
+        this.endMinute = cursor.getColumnIndexOrThrow("endMinute");
+        this.notificationEnabled = cursor.getColumnIndexOrThrow("notificationEnabled");
+    }
+
+    // Écrit toutes les lignes restantes (begin ... end) ; renvoie le nombre de cours écrits
+    public int copyTo(CourseStreamWriter writer) throws IOException {
+        Course course = new Course();
+        int count = 0;
+        writer.begin();
+        while (cursor.moveToNext()) {
+            course.setId(cursor.getLong(id));
+            course.setName(cursor.getString(name));
+            course.setProfessor(cursor.getString(professor));
+            course.setRoom(cursor.getString(room));
+            course.setType(CourseTypeConverter.toCourseType(cursor.getString(type)));
+            course.setDayOfWeek(cursor.getInt(dayOfWeek));
+            course.setStartTime(cursor.getString(startTime));
+            course.setEndTime(cursor.getString(endTime));
+            course.setStartMinute(cursor.getInt(startMinute));
+            course.setEndMinute(cursor.getInt(endMinute));
+            course.setNotificationEnabled(cursor.getInt(notificationEnabled) != 0);
+            writer.write(course);
+            count++;
+        }
+        writer.end();
+        return count;
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.studentagenda.data.export;
+
+import com.example.studentagenda.data.importer.CourseImporter;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.time.ZoneId;
+
+// Choix de l'écrivain selon le format ; les cours lui sont passés un par un (cf. CourseCursorReader)
+public final class CourseExporter {
+
+    private CourseExporter() { }
+
+    // weekStart : lundi de la semaine servant d'ancre aux événements iCalendar
+    public static CourseStreamWriter newWriter(CourseImporter.Format format, OutputStream output,
+                                               ZoneId zone, LocalDate weekStart) {
+        switch (format) {
+            case ICS: return new IcsCourseWriter(output, zone, weekStart);
+            case JSON: return new JsonCourseWriter(output);
+            case BINARY: return new BinaryCourseWriter(output);
+            default: throw new IllegalArgumentException("Export non pris en charge : " + format);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.studentagenda.data.export;
+
+import com.example.studentagenda.data.entity.Course;
+import java.io.IOException;
+
+// Écriture en flux d'une suite de cours : begin, write pour chaque ligne, end.
+// L'objet Course passé à write peut être réutilisé par l'appelant : ne pas le conserver.
+public interface CourseStreamWriter {
+
+    void begin() throws IOException;
+
+    void write(Course course) throws IOException;
+
+    // Termine le document et vide les tampons (le flux sous-jacent n'est pas fermé)
+    void end() throws IOException;
+}
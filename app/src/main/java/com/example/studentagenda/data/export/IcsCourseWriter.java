@@ -0,0 +1,134 @@
+package com.example.studentagenda.data.export;
+
+import com.example.studentagenda.data.entity.Course;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+
+// Export iCalendar (RFC 5545) : un VEVENT hebdomadaire (RRULE FREQ=WEEKLY) par cours, ancré sur la
+// semaine "weekStart", relu tel quel par IcsCourseParser. Lignes repliées à 75 octets.
+public class IcsCourseWriter implements CourseStreamWriter {
+
+    // Rappel désactivé : propriété propre à l'application (les autres agendas l'ignorent)
+    public static final String REMINDER_PROPERTY = "X-STUDENTAGENDA-REMINDER";
+
+    private static final String[] BYDAY = {"MO", "TU", "WE", "TH", "FR", "SA", "SU"};
+    private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss", Locale.ROOT);
+    private static final int MAX_LINE_OCTETS = 75;
+    private static final int ALARM_MINUTES_BEFORE = 15; // Délai par défaut des rappels de l'application
+
+    private final Writer out;
+    private final ZoneId zone;
+    private final LocalDate weekStart; // Lundi de la première occurrence
+    private final String stamp;        // DTSTAMP commun (UTC)
+    private final StringBuilder line = new StringBuilder();
+
+    public IcsCourseWriter(OutputStream output, ZoneId zone, LocalDate weekStart) {
+        this.out = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8), 16 * 1024);
+        this.zone = zone;
+        this.weekStart = weekStart;
+        this.stamp = ZonedDateTime.now(ZoneOffset.UTC).format(DATE_TIME) + "Z";
+    }
+
+    @Override
+    public void begin() throws IOException {
+        writeLine("BEGIN:VCALENDAR");
+        writeLine("VERSION:2.0");
+        writeLine("PRODID:-//StudentAgenda//Export//FR");
+        writeLine("CALSCALE:GREGORIAN");
+    }
+
+    @Override
+    public void write(Course course) throws IOException {
+        int day = course.getDayOfWeek() >= 1 && course.getDayOfWeek() <= 7 ? course.getDayOfWeek() : 1;
+        LocalDate date = weekStart.plusDays(day - 1);
+        String tzid = zone.getId();
+
+        writeLine("BEGIN:VEVENT");
+        writeLine("UID:course-" + course.getId() + "@studentagenda");
+        writeLine("DTSTAMP:" + stamp);
+        writeLine("DTSTART;TZID=" + tzid + ":" + date.atStartOfDay().plusMinutes(course.getStartMinute()).format(DATE_TIME));
+        writeLine("DTEND;TZID=" + tzid + ":" + date.atStartOfDay().plusMinutes(course.getEndMinute()).format(DATE_TIME));
+        writeLine("RRULE:FREQ=WEEKLY;BYDAY=" + BYDAY[day - 1]);
+        writeLine("SUMMARY:" + escape(course.getName()));
+        if (notEmpty(course.getRoom())) {
+            writeLine("LOCATION:" + escape(course.getRoom()));
+        }
+        if (notEmpty(course.getProfessor())) {
+            // Pas d'adresse connue : "invalid:nomail", comme les agendas courants
+            writeLine("ORGANIZER;CN=\"" + course.getProfessor().replace('"', '\'') + "\":invalid:nomail");
+        }
+        if (course.getType() != null) {
+            writeLine("CATEGORIES:" + course.getType().name());
+        }
+        if (course.isNotificationEnabled()) {
+            writeLine("BEGIN:VALARM");
+            writeLine("ACTION:DISPLAY");
+            writeLine("DESCRIPTION:" + escape(course.getName()));
+            writeLine("TRIGGER:-PT" + ALARM_MINUTES_BEFORE + "M");
+            writeLine("END:VALARM");
+        } else {
+            writeLine(REMINDER_PROPERTY + ":FALSE");
+        }
+        writeLine("END:VEVENT");
+    }
+
+    @Override
+    public void end() throws IOException {
+        writeLine("END:VCALENDAR");
+        out.flush();
+    }
+
+    // Écrit une ligne terminée par CRLF, repliée (CRLF + espace) avant 75 octets UTF-8
+    private void writeLine(String content) throws IOException {
+        line.setLength(0);
+        int octets = 0;
+        for (int i = 0; i < content.length(); i++) {
+            char c = content.charAt(i);
+            // Une paire de substitution (4 octets) est comptée sur son premier caractère : jamais coupée
+            int size = c < 0x80 ? 1 : c < 0x800 ? 2 : Character.isHighSurrogate(c) ? 4
+                    : Character.isLowSurrogate(c) ? 0 : 3;
+            if (octets + size > MAX_LINE_OCTETS && size > 0) {
+                line.append("\r\n ");
+                octets = 1;
+            }
+            line.append(c);
+            octets += size;
+        }
+        line.append("\r\n");
+        out.write(line.toString());
+    }
+
+    // Échappements TEXT : \ ; , et retours à la ligne
+    private static String escape(String value) {
+        if (value == null) {
+            return "";
+        }
+        StringBuilder builder = new StringBuilder(value.length() + 8);
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\': builder.append("\\\\"); break;
+                case ';': builder.append("\\;"); break;
+                case ',': builder.append("\\,"); break;
+                case '\n': builder.append("\\n"); break;
+                case '\r': break;
+                default: builder.append(c);
+            }
+        }
+        return builder.toString();
+    }
+
+    private static boolean notEmpty(String value) {
+        return value != null && !value.isEmpty();
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.studentagenda.data.export;
+
+import com.example.studentagenda.data.entity.Course;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+// Export JSON : {"version":1,"courses":[{...},...]}, un objet écrit par cours
+public class JsonCourseWriter implements CourseStreamWriter {
+
+    public static final int VERSION = 1;
+
+    private final Writer out;
+    private boolean first = true;
+
+    public JsonCourseWriter(OutputStream output) {
+        this.out = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8), 16 * 1024);
+    }
+
+    @Override
+    public void begin() throws IOException {
+        out.write("{\"version\":" + VERSION + ",\"courses\":[");
+    }
+
+    @Override
+    public void write(Course course) throws IOException {
+        out.write(first ? "\n{" : ",\n{");
+        first = false;
+        out.write("\"id\":");
+        out.write(Long.toString(course.getId()));
+        writeField("name", course.getName());
+        writeField("professor", course.getProfessor());
+        writeField("room", course.getRoom());
+        writeField("type", course.getType() == null ? null : course.getType().name());
+        out.write(",\"dayOfWeek\":");
+        out.write(Integer.toString(course.getDayOfWeek()));
+        writeField("startTime", course.getStartTime());
+        writeField("endTime", course.getEndTime());
+        out.write(",\"notificationEnabled\":");
+        out.write(course.isNotificationEnabled() ? "true" : "false");
+        out.write('}');
+    }
+
+    @Override
+    public void end() throws IOException {
+        out.write("\n]}\n");
+        out.flush();
+    }
+
+    private void writeField(String name, String value) throws IOException {
+        out.write(",\"");
+        out.write(name);
+        out.write("\":");
+        if (value == null) {
+            out.write("null");
+            return;
+        }
+        out.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"': out.write("\\\""); break;
+                case '\\': out.write("\\\\"); break;
+                case '\n': out.write("\\n"); break;
+                case '\r': out.write("\\r"); break;
+                case '\t': out.write("\\t"); break;
+                default:
+                    if (c < 0x20) {
+                        out.write(String.format("\\u%04x", (int) c));
+                    } else {
+                        out.write(c);
+                    }
+            }
+        }
+        out.write('"');
+    }
+}
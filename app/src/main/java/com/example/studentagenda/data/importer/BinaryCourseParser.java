@@ -0,0 +1,109 @@
+package com.example.studentagenda.data.importer;
+
+import com.example.studentagenda.data.CourseTime;
+import com.example.studentagenda.data.entity.Course;
+import com.example.studentagenda.data.export.CourseBinaryFormat;
+import java.io.BufferedInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+// Lecture en flux des sauvegardes binaires (cf. CourseBinaryFormat) : pas d'analyse de texte,
+// chaque professeur ou salle déjà vu est repris du dictionnaire sans nouvelle allocation
+public class BinaryCourseParser {
+
+    private static final Course.CourseType[] TYPES = Course.CourseType.values();
+
+    private final List<String> dictionary = new ArrayList<>();
+    private byte[] buffer = new byte[256];
+
+    public void parse(InputStream input, CourseSink sink) throws IOException {
+        InputStream in = input instanceof BufferedInputStream ? input : new BufferedInputStream(input, 16 * 1024);
+        for (byte expected : CourseBinaryFormat.MAGIC) {
+            if (in.read() != expected) {
+                throw new IOException("Fichier de sauvegarde non reconnu");
+            }
+        }
+        int version = in.read();
+        if (version != CourseBinaryFormat.VERSION) {
+            throw new IOException("Version de sauvegarde non prise en charge : " + version);
+        }
+
+        long record = 0;
+        while (true) {
+            int tag = readByte(in);
+            if (tag == CourseBinaryFormat.END) {
+                return;
+            }
+            if (tag != CourseBinaryFormat.RECORD) {
+                throw new IOException("Sauvegarde corrompue (enregistrement " + record + ")");
+            }
+            record++;
+
+            long id = CourseBinaryFormat.readVarint(in);
+            String name = readString(in);
+            String professor = readString(in);
+            String room = readString(in);
+            int type = readByte(in);
+            int day = readByte(in);
+            int start = (int) CourseBinaryFormat.readVarint(in);
+            int end = (int) CourseBinaryFormat.readVarint(in);
+            boolean notification = readByte(in) != 0;
+
+            if (name == null || day < 1 || day > 7 || start >= CourseTime.MINUTES_PER_DAY
+                    || end >= CourseTime.MINUTES_PER_DAY) {
+                sink.skip(record, "enregistrement invalide");
+                continue;
+            }
+            sink.accept(new Course(id, name, professor, room,
+                    type == 0 || type > TYPES.length ? null : TYPES[type - 1], day,
+                    CourseTime.format(start), CourseTime.format(end), notification));
+        }
+    }
+
+    private String readString(InputStream in) throws IOException {
+        long tag = CourseBinaryFormat.readVarint(in);
+        if (tag == CourseBinaryFormat.STRING_NULL) {
+            return null;
+        }
+        if (tag >= CourseBinaryFormat.STRING_REF_BASE) {
+            long index = tag - CourseBinaryFormat.STRING_REF_BASE;
+            if (index >= dictionary.size()) {
+                throw new IOException("Sauvegarde corrompue (référence " + index + ")");
+            }
+            return dictionary.get((int) index);
+        }
+        int length = (int) CourseBinaryFormat.readVarint(in);
+        if (length > buffer.length) {
+            buffer = new byte[Math.max(length, buffer.length * 2)];
+        }
+        readFully(in, buffer, length);
+        String value = new String(buffer, 0, length, StandardCharsets.UTF_8);
+        if (dictionary.size() < CourseBinaryFormat.MAX_DICTIONARY_SIZE) {
+            dictionary.add(value);
+        }
+        return value;
+    }
+
+    private static int readByte(InputStream in) throws IOException {
+        int b = in.read();
+        if (b < 0) {
+            throw new EOFException("Sauvegarde tronquée");
+        }
+        return b;
+    }
+
+    private static void readFully(InputStream in, byte[] target, int length) throws IOException {
+        int offset = 0;
+        while (offset < length) {
+            int read = in.read(target, offset, length - offset);
+            if (read < 0) {
+                throw new EOFException("Sauvegarde tronquée");
+            }
+            offset += read;
+        }
+    }
+}
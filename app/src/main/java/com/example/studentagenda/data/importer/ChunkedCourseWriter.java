@@ -0,0 +1,77 @@
+package com.example.studentagenda.data.importer;
+
+import com.example.studentagenda.data.entity.Course;
+import java.util.ArrayList;
+import java.util.List;
+
+// Regroupe les cours reçus en lots de taille fixe, chacun écrit dans une transaction :
+// la mémoire utilisée reste bornée par la taille d'un lot, quelle que soit la taille du fichier
+public class ChunkedCourseWriter implements CourseSink {
+
+    public static final int DEFAULT_CHUNK_SIZE = 500;
+
+    // Écrit un lot en base (CourseDao::importChunk)
+    public interface ChunkWriter {
+        void write(List<Course> chunk);
+    }
+
+    // Appelé après chaque lot validé, sur le thread d'import
+    public interface ProgressListener {
+        void onProgress(ImportStats stats);
+    }
+
+    private final ChunkWriter writer;
+    private final ProgressListener listener;
+    private final int chunkSize;
+    private final List<Course> buffer;
+    private final ImportStats stats = new ImportStats();
+
+    public ChunkedCourseWriter(ChunkWriter writer, ProgressListener listener) {
+        this(writer, listener, DEFAULT_CHUNK_SIZE);
+    }
+
+    public ChunkedCourseWriter(ChunkWriter writer, ProgressListener listener, int chunkSize) {
+        this.writer = writer;
+        this.listener = listener;
+        this.chunkSize = chunkSize;
+        this.buffer = new ArrayList<>(chunkSize);
+    }
+
+    @Override
+    public void accept(Course course) {
+        course.refreshDerivedFields(); // Clés de recherche et minutes, comme pour une saisie
+        buffer.add(course);
+        stats.onParsed();
+        if (buffer.size() >= chunkSize) {
+            flush();
+        }
+    }
+
+    @Override
+    public void skip(long line, String reason) {
+        stats.onSkipped();
+    }
+
+    // Écrit le dernier lot incomplet ; à appeler une fois le fichier entièrement lu
+    public ImportStats finish() {
+        flush();
+        stats.finish();
+        return stats;
+    }
+
+    public ImportStats getStats() {
+        return stats;
+    }
+
+    private void flush() {
+        if (buffer.isEmpty()) {
+            return;
+        }
+        writer.write(buffer);
+        stats.onChunkWritten(buffer.size());
+        buffer.clear(); // Liste réutilisée : le lot écrit n'est plus référencé
+        if (listener != null) {
+            listener.onProgress(stats);
+        }
+    }
+}
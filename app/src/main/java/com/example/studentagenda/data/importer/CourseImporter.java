@@ -0,0 +1,86 @@
+package com.example.studentagenda.data.importer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneId;
+import java.util.Locale;
+
+// Import d'un emploi du temps en flux : parseur du format -> lots -> transactions
+public final class CourseImporter {
+
+    private static final int READ_BUFFER_CHARS = 16 * 1024;
+
+    // Formats lus (et écrits par CourseExporter, sauf CSV)
+    public enum Format {
+        CSV(".csv", "text/csv"),
+        ICS(".ics", "text/calendar"),
+        JSON(".json", "application/json"),
+        BINARY(".agenda", "application/octet-stream"); // Sauvegarde compacte (cf. CourseBinaryFormat)
+
+        private final String extension;
+        private final String mimeType;
+
+        Format(String extension, String mimeType) {
+            this.extension = extension;
+            this.mimeType = mimeType;
+        }
+
+        public String getExtension() { return extension; }
+        public String getMimeType() { return mimeType; }
+
+        // Format déduit du nom de fichier, sinon du type MIME ; null si inconnu
+        public static Format detect(String fileName, String mimeType) {
+            String name = fileName == null ? "" : fileName.toLowerCase(Locale.ROOT);
+            for (Format format : values()) {
+                if (name.endsWith(format.extension)) {
+                    return format;
+                }
+            }
+            if (name.endsWith(".ical")) {
+                return ICS;
+            }
+            String mime = mimeType == null ? "" : mimeType.toLowerCase(Locale.ROOT);
+            switch (mime) {
+                case "text/csv": case "text/comma-separated-values": return CSV;
+                case "text/calendar": return ICS;
+                case "application/json": return JSON;
+                default: return null; // application/octet-stream : trop vague
+            }
+        }
+    }
+
+    private CourseImporter() { }
+
+    // Lit tout le flux (UTF-8 pour les formats texte) et écrit les cours par lots ; le flux n'est pas fermé
+    public static ImportStats importCourses(InputStream input, Format format, ZoneId zone,
+                                            ChunkedCourseWriter.ChunkWriter writer,
+                                            ChunkedCourseWriter.ProgressListener listener) throws IOException {
+        ChunkedCourseWriter sink = new ChunkedCourseWriter(writer, listener);
+        if (format == Format.BINARY) {
+            new BinaryCourseParser().parse(input, sink);
+            return sink.finish();
+        }
+        BufferedReader reader = new BufferedReader(
+                new InputStreamReader(input, StandardCharsets.UTF_8), READ_BUFFER_CHARS);
+        skipByteOrderMark(reader);
+        if (format == Format.ICS) {
+            new IcsCourseParser(zone).parse(reader, sink);
+        } else if (format == Format.JSON) {
+            new JsonCourseParser().parse(reader, sink);
+        } else {
+            new CsvCourseParser().parse(reader, sink);
+        }
+        return sink.finish();
+    }
+
+    // Les exports Excel commencent souvent par un BOM UTF-8
+    private static void skipByteOrderMark(BufferedReader reader) throws IOException {
+        reader.mark(1);
+        if (reader.read() != '\uFEFF') {
+            reader.reset();
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.studentagenda.data.importer;
+
+import com.example.studentagenda.data.entity.Course;
+
+// Destination des cours lus par un parseur, un par un (aucune liste complète en mémoire)
+public interface CourseSink {
+
+    void accept(Course course);
+
+    // Enregistrement ignoré (ligne invalide, événement non hebdomadaire...)
+    default void skip(long line, String reason) { }
+}
@@ -0,0 +1,184 @@
+package com.example.studentagenda.data.importer;
+
+import com.example.studentagenda.data.CourseTime;
+import com.example.studentagenda.data.search.SearchNormalizer;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Lecture en flux d'un emploi du temps CSV (séparateur "," ou ";", champs entre guillemets RFC 4180).
+// Colonnes reconnues par leur en-tête (nom, professeur, salle, type, jour, debut, fin, rappel) ;
+// sans en-tête, elles sont lues dans cet ordre. Seul l'enregistrement courant est en mémoire.
+public class CsvCourseParser {
+
+    private static final int NAME = 0, PROFESSOR = 1, ROOM = 2, TYPE = 3, DAY = 4, START = 5, END = 6, NOTIFICATION = 7;
+    private static final int COLUMN_COUNT = 8;
+    private static final int SNIFF_LIMIT = 4096; // Caractères lus pour détecter le séparateur
+
+    private final List<String> fields = new ArrayList<>(COLUMN_COUNT); // Réutilisée à chaque ligne
+    private final StringBuilder field = new StringBuilder();
+    private final int[] columns = new int[COLUMN_COUNT]; // Index de chaque colonne dans l'enregistrement
+    private char separator;
+    private long line;
+
+    public void parse(Reader input, CourseSink sink) throws IOException {
+        BufferedReader reader = input instanceof BufferedReader ? (BufferedReader) input : new BufferedReader(input);
+        separator = detectSeparator(reader);
+        line = 1;
+
+        if (!readRecord(reader)) {
+            return; // Fichier vide
+        }
+        long recordLine = 1;
+        if (!readHeader()) {
+            handleRecord(recordLine, sink); // Pas d'en-tête : la première ligne est un cours
+        }
+        while (true) {
+            recordLine = line;
+            if (!readRecord(reader)) {
+                return;
+            }
+            handleRecord(recordLine, sink);
+        }
+    }
+
+    // Le séparateur le plus fréquent de la première ligne (hors guillemets) : ";" pour Excel en français
+    private static char detectSeparator(BufferedReader reader) throws IOException {
+        reader.mark(SNIFF_LIMIT);
+        int commas = 0, semicolons = 0;
+        boolean quoted = false;
+        for (int i = 0; i < SNIFF_LIMIT; i++) {
+            int c = reader.read();
+            if (c == -1 || (!quoted && (c == '\n' || c == '\r'))) {
+                break;
+            }
+            if (c == '"') {
+                quoted = !quoted;
+            } else if (!quoted && c == ',') {
+                commas++;
+            } else if (!quoted && c == ';') {
+                semicolons++;
+            }
+        }
+        reader.reset();
+        return semicolons > commas ? ';' : ',';
+    }
+
+    // Lit un enregistrement (éventuellement sur plusieurs lignes) dans "fields" ; false en fin de fichier
+    private boolean readRecord(BufferedReader reader) throws IOException {
+        fields.clear();
+        field.setLength(0);
+        boolean quoted = false;
+        boolean any = false;
+        int c;
+        while ((c = reader.read()) != -1) {
+            any = true;
+            if (quoted) {
+                if (c == '"') {
+                    reader.mark(1);
+                    if (reader.read() == '"') {
+                        field.append('"'); // Guillemet échappé ""
+                    } else {
+                        reader.reset();
+                        quoted = false;
+                    }
+                } else {
+                    if (c == '\n') {
+                        line++;
+                    }
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.length() == 0) {
+                quoted = true;
+            } else if (c == separator) {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n' || c == '\r') {
+                if (c == '\r') {
+                    reader.mark(1);
+                    if (reader.read() != '\n') {
+                        reader.reset();
+                    }
+                }
+                line++;
+                if (fields.isEmpty() && field.length() == 0) {
+                    continue; // Ligne vide
+                }
+                break;
+            } else {
+                field.append((char) c);
+            }
+        }
+        if (!any || (fields.isEmpty() && field.length() == 0)) {
+            return false;
+        }
+        fields.add(field.toString());
+        return true;
+    }
+
+    // Associe les colonnes à partir de l'en-tête ; false si la ligne n'est pas un en-tête
+    private boolean readHeader() {
+        Arrays.fill(columns, -1);
+        boolean header = false;
+        for (int i = 0; i < fields.size(); i++) {
+            int column = columnOf(SearchNormalizer.fold(fields.get(i)));
+            if (column >= 0) {
+                columns[column] = i;
+                header = true;
+            }
+        }
+        if (!header) {
+            for (int i = 0; i < COLUMN_COUNT; i++) {
+                columns[i] = i; // Ordre par défaut
+            }
+        }
+        return header;
+    }
+
+    private static int columnOf(String name) {
+        switch (name) {
+            case "nom": case "name": case "cours": case "course": case "matiere": case "subject": return NAME;
+            case "professeur": case "professor": case "prof": case "enseignant": case "teacher": return PROFESSOR;
+            case "salle": case "room": case "lieu": case "location": return ROOM;
+            case "type": return TYPE;
+            case "jour": case "day": return DAY;
+            case "debut": case "start": case "heure debut": case "start time": return START;
+            case "fin": case "end": case "heure fin": case "end time": return END;
+            case "rappel": case "notification": case "reminder": return NOTIFICATION;
+            default: return -1;
+        }
+    }
+
+    private void handleRecord(long recordLine, CourseSink sink) {
+        String name = value(NAME);
+        int day = ImportValues.parseDay(value(DAY));
+        int start = ImportValues.parseTime(value(START));
+        int end = ImportValues.parseTime(value(END));
+        if (name == null || name.isEmpty()) {
+            sink.skip(recordLine, "nom manquant");
+        } else if (day == ImportValues.INVALID_DAY) {
+            sink.skip(recordLine, "jour invalide");
+        } else if (start == CourseTime.INVALID || end == CourseTime.INVALID || end <= start) {
+            sink.skip(recordLine, "horaires invalides");
+        } else {
+            String notification = value(NOTIFICATION);
+            sink.accept(ImportValues.newCourse(name, value(PROFESSOR), value(ROOM),
+                    ImportValues.parseType(value(TYPE)), day, start, end,
+                    notification == null || !isFalse(notification)));
+        }
+    }
+
+    // Valeur de la colonne (sans espaces autour), null si absente
+    private String value(int column) {
+        int index = columns[column];
+        return index >= 0 && index < fields.size() ? fields.get(index).trim() : null;
+    }
+
+    private static boolean isFalse(String value) {
+        String folded = SearchNormalizer.fold(value);
+        return folded.equals("0") || folded.equals("non") || folded.equals("no") || folded.equals("false");
+    }
+}
@@ -0,0 +1,278 @@
+package com.example.studentagenda.data.importer;
+
+import com.example.studentagenda.data.export.IcsCourseWriter;
+import com.example.studentagenda.data.search.SearchNormalizer;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.time.DateTimeException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+
+// Lecture en flux d'un calendrier iCalendar (.ics, RFC 5545), un VEVENT à la fois.
+// Les événements hebdomadaires (RRULE FREQ=WEEKLY, un cours par jour de BYDAY) et les séances
+// ponctuelles sont ramenés à un cours (jour + heures locales) ; les séances répétées d'un même
+// cours (même nom, jour, horaires et salle) ne créent qu'un seul cours. Relit les exports
+// d'IcsCourseWriter (rappel désactivé via X-STUDENTAGENDA-REMINDER).
+public class IcsCourseParser {
+
+    private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss", Locale.ROOT);
+
+    private final ZoneId zone;                          // Fuseau de l'agenda (heures UTC converties)
+    private final Set<String> seen = new HashSet<>();   // Cours déjà émis (taille = nombre de cours distincts)
+    private final Event event = new Event();            // Réutilisé pour chaque VEVENT
+    private long line;
+
+    public IcsCourseParser(ZoneId zone) {
+        this.zone = zone;
+    }
+
+    public void parse(Reader input, CourseSink sink) throws IOException {
+        BufferedReader reader = input instanceof BufferedReader ? (BufferedReader) input : new BufferedReader(input);
+        StringBuilder logical = new StringBuilder();
+        boolean inEvent = false;
+        int nested = 0; // Profondeur des sous-composants du VEVENT (VALARM...)
+        long eventLine = 0;
+        String raw = reader.readLine();
+        line = raw == null ? 0 : 1;
+
+        while (raw != null) {
+            // Dépliage (RFC 5545 §3.1) : une ligne commençant par un espace prolonge la précédente
+            logical.setLength(0);
+            logical.append(raw);
+            long logicalLine = line;
+            while ((raw = reader.readLine()) != null) {
+                line++;
+                if (raw.isEmpty() || (raw.charAt(0) != ' ' && raw.charAt(0) != '\t')) {
+                    break;
+                }
+                logical.append(raw, 1, raw.length());
+            }
+            if (logical.length() == 0) {
+                continue;
+            }
+
+            String property = logical.toString();
+            if (property.equalsIgnoreCase("BEGIN:VEVENT")) {
+                inEvent = true;
+                nested = 0;
+                eventLine = logicalLine;
+                event.clear();
+            } else if (property.equalsIgnoreCase("END:VEVENT")) {
+                if (inEvent) {
+                    emit(eventLine, sink);
+                }
+                inEvent = false;
+            } else if (!inEvent) {
+                continue;
+            } else if (startsWithIgnoreCase(property, "BEGIN:")) {
+                nested++; // Les propriétés d'un VALARM (SUMMARY, DESCRIPTION...) ne sont pas celles du cours
+            } else if (startsWithIgnoreCase(property, "END:")) {
+                nested = Math.max(0, nested - 1);
+            } else if (nested == 0) {
+                event.set(property);
+            }
+        }
+    }
+
+    private void emit(long eventLine, CourseSink sink) {
+        if (event.summary == null || event.summary.isEmpty()) {
+            sink.skip(eventLine, "SUMMARY manquant");
+            return;
+        }
+        if ("CANCELLED".equalsIgnoreCase(event.status)) {
+            sink.skip(eventLine, "événement annulé");
+            return;
+        }
+
+        LocalDateTime start = toLocal(event.dtStart, event.dtStartTzid);
+        if (start == null) {
+            sink.skip(eventLine, "DTSTART invalide ou journée entière");
+            return;
+        }
+        LocalDateTime end = toLocal(event.dtEnd, event.dtEndTzid);
+        if (end == null && event.duration != null) {
+            try {
+                end = start.plus(Duration.parse(event.duration));
+            } catch (DateTimeException e) {
+                end = null;
+            }
+        }
+        if (end == null || !end.toLocalDate().equals(start.toLocalDate()) || !end.isAfter(start)) {
+            sink.skip(eventLine, "fin invalide ou sur plusieurs jours");
+            return;
+        }
+
+        int startMinute = start.getHour() * 60 + start.getMinute();
+        int endMinute = end.getHour() * 60 + end.getMinute();
+        if (endMinute <= startMinute) {
+            sink.skip(eventLine, "durée inférieure à une minute");
+            return;
+        }
+
+        // Jours du cours : BYDAY de la règle hebdomadaire, sinon le jour de DTSTART
+        int startDay = start.getDayOfWeek().getValue(); // 1 = lundi, comme Course.dayOfWeek
+        String byDay = null;
+        if (event.rrule != null) {
+            String freq = ruleValue(event.rrule, "FREQ");
+            if (!"WEEKLY".equalsIgnoreCase(freq)) {
+                sink.skip(eventLine, "récurrence non hebdomadaire (" + freq + ")");
+                return;
+            }
+            byDay = ruleValue(event.rrule, "BYDAY");
+        }
+        if (byDay == null || byDay.isEmpty()) {
+            emitCourse(eventLine, startDay, startMinute, endMinute, sink);
+            return;
+        }
+        for (String token : byDay.split(",")) {
+            // "MO", "1MO" ou "-1FR" : seuls les deux derniers caractères désignent le jour
+            String code = token.length() > 2 ? token.substring(token.length() - 2) : token;
+            int day = ImportValues.parseDay(code);
+            if (day == ImportValues.INVALID_DAY) {
+                sink.skip(eventLine, "BYDAY invalide (" + token + ")");
+            } else {
+                emitCourse(eventLine, day, startMinute, endMinute, sink);
+            }
+        }
+    }
+
+    private void emitCourse(long eventLine, int day, int startMinute, int endMinute, CourseSink sink) {
+        String key = SearchNormalizer.fold(event.summary) + '\u0000' + day + '\u0000' + startMinute
+                + '\u0000' + endMinute + '\u0000' + SearchNormalizer.fold(event.location);
+        if (!seen.add(key)) {
+            sink.skip(eventLine, "séance déjà importée");
+            return;
+        }
+        String typeSource = event.categories != null ? event.categories + " " + event.summary : event.summary;
+        sink.accept(ImportValues.newCourse(event.summary, event.organizer, event.location,
+                ImportValues.parseType(typeSource), day, startMinute, endMinute,
+                !"FALSE".equalsIgnoreCase(event.reminder)));
+    }
+
+    private static boolean startsWithIgnoreCase(String text, String prefix) {
+        return text.regionMatches(true, 0, prefix, 0, prefix.length());
+    }
+
+    // Date-heure iCalendar -> heure locale dans le fuseau de l'agenda ; null si absente ou journée entière
+    private LocalDateTime toLocal(String value, String tzid) {
+        if (value == null || value.length() < 15) {
+            return null; // VALUE=DATE (journée entière) ou valeur absente
+        }
+        try {
+            boolean utc = value.endsWith("Z");
+            LocalDateTime local = LocalDateTime.parse(value.substring(0, 15), DATE_TIME);
+            if (utc) {
+                return local.atOffset(ZoneOffset.UTC).atZoneSameInstant(zone).toLocalDateTime();
+            }
+            if (tzid != null) {
+                return ZonedDateTime.of(local, ZoneId.of(tzid)).withZoneSameInstant(zone).toLocalDateTime();
+            }
+            return local; // Heure flottante : déjà locale
+        } catch (DateTimeException e) {
+            return null; // Format ou fuseau inconnu
+        }
+    }
+
+    // "FREQ=WEEKLY;BYDAY=MO,WE" + "BYDAY" -> "MO,WE"
+    private static String ruleValue(String rule, String name) {
+        for (String part : rule.split(";")) {
+            int equals = part.indexOf('=');
+            if (equals > 0 && part.substring(0, equals).equalsIgnoreCase(name)) {
+                return part.substring(equals + 1);
+            }
+        }
+        return null;
+    }
+
+    // Propriétés utiles du VEVENT en cours de lecture
+    private static final class Event {
+        String summary, location, organizer, categories, status, rrule, duration, reminder;
+        String dtStart, dtStartTzid, dtEnd, dtEndTzid;
+
+        void clear() {
+            summary = location = organizer = categories = status = rrule = duration = reminder = null;
+            dtStart = dtStartTzid = dtEnd = dtEndTzid = null;
+        }
+
+        // "NOM;PARAM=x;PARAM2=y:valeur"
+        void set(String property) {
+            int colon = valueSeparator(property);
+            if (colon < 0) {
+                return;
+            }
+            int semicolon = property.indexOf(';');
+            int nameEnd = semicolon >= 0 && semicolon < colon ? semicolon : colon;
+            String name = property.substring(0, nameEnd).toUpperCase(Locale.ROOT);
+            String params = nameEnd < colon ? property.substring(nameEnd + 1, colon) : "";
+            String value = property.substring(colon + 1);
+
+            switch (name) {
+                case "SUMMARY": summary = unescape(value).trim(); break;
+                case "LOCATION": location = unescape(value).trim(); break;
+                case "CATEGORIES": categories = unescape(value); break;
+                case "STATUS": status = value.trim(); break;
+                case "RRULE": rrule = value.trim(); break;
+                case "DURATION": duration = value.trim(); break;
+                case IcsCourseWriter.REMINDER_PROPERTY: reminder = value.trim(); break;
+                case "ORGANIZER": organizer = param(params, "CN"); break;
+                case "DTSTART": dtStart = value.trim(); dtStartTzid = param(params, "TZID"); break;
+                case "DTEND": dtEnd = value.trim(); dtEndTzid = param(params, "TZID"); break;
+                default: break;
+            }
+        }
+
+        // Premier ":" hors d'une valeur de paramètre entre guillemets
+        private static int valueSeparator(String property) {
+            boolean quoted = false;
+            for (int i = 0; i < property.length(); i++) {
+                char c = property.charAt(i);
+                if (c == '"') {
+                    quoted = !quoted;
+                } else if (c == ':' && !quoted) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        private static String param(String params, String name) {
+            for (String param : params.split(";")) {
+                int equals = param.indexOf('=');
+                if (equals > 0 && param.substring(0, equals).equalsIgnoreCase(name)) {
+                    String value = param.substring(equals + 1);
+                    if (value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"")) {
+                        value = value.substring(1, value.length() - 1);
+                    }
+                    return value;
+                }
+            }
+            return null;
+        }
+
+        // Échappements TEXT : \, \; \\ \n
+        private static String unescape(String value) {
+            if (value.indexOf('\\') < 0) {
+                return value;
+            }
+            StringBuilder builder = new StringBuilder(value.length());
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c == '\\' && i + 1 < value.length()) {
+                    char next = value.charAt(++i);
+                    builder.append(next == 'n' || next == 'N' ? ' ' : next);
+                } else {
+                    builder.append(c);
+                }
+            }
+            return builder.toString();
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.studentagenda.data.importer;
+
+// Progression et débit d'un import (mis à jour sur le thread d'import)
+public class ImportStats {
+
+    private final long startNanos = System.nanoTime();
+    private volatile long parsed;   // Cours lus
+    private volatile long imported; // Cours écrits en base
+    private volatile long skipped;  // Enregistrements ignorés
+    private volatile long chunks;   // Transactions exécutées
+    private volatile long endNanos;
+
+    void onParsed() { parsed++; }
+    void onSkipped() { skipped++; }
+
+    void onChunkWritten(int size) {
+        imported += size;
+        chunks++;
+    }
+
+    void finish() {
+        endNanos = System.nanoTime();
+    }
+
+    public long getParsed() { return parsed; }
+    public long getImported() { return imported; }
+    public long getSkipped() { return skipped; }
+    public long getChunks() { return chunks; }
+
+    public long getElapsedMs() {
+        long end = endNanos != 0 ? endNanos : System.nanoTime();
+        return (end - startNanos) / 1_000_000;
+    }
+
+    // Cours écrits par seconde depuis le début de l'import
+    public long getCoursesPerSecond() {
+        long elapsed = getElapsedMs();
+        return elapsed == 0 ? imported * 1000 : imported * 1000 / elapsed;
+    }
+
+    @Override
+    public String toString() {
+        return imported + " cours importés (" + skipped + " ignorés) en " + chunks + " transaction(s), "
+                + getElapsedMs() + " ms, " + getCoursesPerSecond() + " cours/s";
+    }
+}
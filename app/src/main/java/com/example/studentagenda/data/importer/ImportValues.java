@@ -0,0 +1,73 @@
+package com.example.studentagenda.data.importer;
+
+import com.example.studentagenda.data.CourseTime;
+import com.example.studentagenda.data.entity.Course;
+import com.example.studentagenda.data.search.SearchNormalizer;
+import java.util.Locale;
+
+// Conversions des valeurs texte communes aux formats importés
+final class ImportValues {
+
+    static final int INVALID_DAY = 0;
+
+    private ImportValues() { }
+
+    // "1".."7", "lundi", "Mardi", "mon", "MO"... -> 1 (lundi) .. 7 (dimanche) ; INVALID_DAY sinon
+    static int parseDay(String value) {
+        String day = SearchNormalizer.fold(value);
+        if (day == null || day.isEmpty()) {
+            return INVALID_DAY;
+        }
+        if (day.length() == 1 && day.charAt(0) >= '1' && day.charAt(0) <= '7') {
+            return day.charAt(0) - '0';
+        }
+        if (day.length() > 3) {
+            day = day.substring(0, 3);
+        }
+        switch (day) {
+            case "lun": case "mon": case "mo": return 1;
+            case "mar": case "tue": case "tu": return 2;
+            case "mer": case "wed": case "we": return 3;
+            case "jeu": case "thu": case "th": return 4;
+            case "ven": case "fri": case "fr": return 5;
+            case "sam": case "sat": case "sa": return 6;
+            case "dim": case "sun": case "su": return 7;
+            default: return INVALID_DAY;
+        }
+    }
+
+    // "08:30", "8h30", "8h" -> minutes depuis minuit ; CourseTime.INVALID sinon
+    static int parseTime(String value) {
+        if (value == null) {
+            return CourseTime.INVALID;
+        }
+        String time = value.trim().toLowerCase(Locale.ROOT).replace('h', ':');
+        if (time.endsWith(":")) {
+            time += "00";
+        }
+        return CourseTime.parse(time);
+    }
+
+    // Premier mot CM/TD/TP trouvé dans le texte ; AUTRE sinon
+    static Course.CourseType parseType(String value) {
+        if (value == null) {
+            return Course.CourseType.AUTRE;
+        }
+        for (String word : value.toUpperCase(Locale.ROOT).split("[^A-Z]+")) {
+            switch (word) {
+                case "CM": return Course.CourseType.CM;
+                case "TD": return Course.CourseType.TD;
+                case "TP": return Course.CourseType.TP;
+                default: break;
+            }
+        }
+        return Course.CourseType.AUTRE;
+    }
+
+    // Cours complet à partir des valeurs lues (heures en minutes depuis minuit)
+    static Course newCourse(String name, String professor, String room, Course.CourseType type,
+                            int day, int startMinute, int endMinute, boolean notification) {
+        return new Course(0, name, professor == null ? "" : professor, room == null ? "" : room, type, day,
+                CourseTime.format(startMinute), CourseTime.format(endMinute), notification);
+    }
+}
@@ -0,0 +1,273 @@
+package com.example.studentagenda.data.importer;
+
+import com.example.studentagenda.data.CourseTime;
+import com.example.studentagenda.data.CourseTypeConverter;
+import com.example.studentagenda.data.entity.Course;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+
+// Lecture en flux des exports JSON (cf. JsonCourseWriter) : {"courses":[{...}]} ou directement [{...}].
+// Lecteur JSON minimal à un caractère d'avance ; les clés inconnues sont ignorées, un seul cours en mémoire.
+public class JsonCourseParser {
+
+    private final StringBuilder text = new StringBuilder(); // Réutilisé pour chaque chaîne
+    private BufferedReader reader;
+    private int current; // Caractère courant (-1 en fin de flux)
+    private long line;
+
+    public void parse(Reader input, CourseSink sink) throws IOException {
+        reader = input instanceof BufferedReader ? (BufferedReader) input : new BufferedReader(input);
+        line = 1;
+        advance();
+        skipWhitespace();
+        if (current == '[') {
+            readCourses(sink);
+            return;
+        }
+        expect('{');
+        skipWhitespace();
+        if (current == '}') {
+            return;
+        }
+        while (true) {
+            String key = readString();
+            skipWhitespace();
+            expect(':');
+            skipWhitespace();
+            if (key.equals("courses")) {
+                readCourses(sink);
+            } else {
+                skipValue();
+            }
+            skipWhitespace();
+            if (current == ',') {
+                advance();
+                skipWhitespace();
+                continue;
+            }
+            expect('}');
+            return;
+        }
+    }
+
+    private void readCourses(CourseSink sink) throws IOException {
+        expect('[');
+        skipWhitespace();
+        if (current == ']') {
+            advance();
+            return;
+        }
+        while (true) {
+            long courseLine = line;
+            Course course = readCourse();
+            if (course.getName() == null || course.getName().isEmpty()) {
+                sink.skip(courseLine, "nom manquant");
+            } else if (course.getDayOfWeek() < 1 || course.getDayOfWeek() > 7) {
+                sink.skip(courseLine, "jour invalide");
+            } else if (CourseTime.parse(course.getStartTime()) == CourseTime.INVALID
+                    || CourseTime.parse(course.getEndTime()) == CourseTime.INVALID) {
+                sink.skip(courseLine, "horaires invalides");
+            } else {
+                sink.accept(course);
+            }
+            skipWhitespace();
+            if (current == ',') {
+                advance();
+                skipWhitespace();
+                continue;
+            }
+            expect(']');
+            return;
+        }
+    }
+
+    private Course readCourse() throws IOException {
+        Course course = new Course();
+        course.setNotificationEnabled(true);
+        expect('{');
+        skipWhitespace();
+        if (current == '}') {
+            advance();
+            return course;
+        }
+        while (true) {
+            String key = readString();
+            skipWhitespace();
+            expect(':');
+            skipWhitespace();
+            switch (key) {
+                case "id": course.setId(readLong()); break;
+                case "name": course.setName(readNullableString()); break;
+                case "professor": course.setProfessor(readNullableString()); break;
+                case "room": course.setRoom(readNullableString()); break;
+                case "type": course.setType(CourseTypeConverter.toCourseType(readNullableString())); break;
+                case "dayOfWeek": course.setDayOfWeek((int) readLong()); break;
+                case "startTime": course.setStartTime(readNullableString()); break;
+                case "endTime": course.setEndTime(readNullableString()); break;
+                case "notificationEnabled": course.setNotificationEnabled(readBoolean()); break;
+                default: skipValue(); break;
+            }
+            skipWhitespace();
+            if (current == ',') {
+                advance();
+                skipWhitespace();
+                continue;
+            }
+            expect('}');
+            return course;
+        }
+    }
+
+    // --- Lecteur JSON ---
+
+    private void advance() throws IOException {
+        current = reader.read();
+        if (current == '\n') {
+            line++;
+        }
+    }
+
+    private void skipWhitespace() throws IOException {
+        while (current == ' ' || current == '\n' || current == '\r' || current == '\t') {
+            advance();
+        }
+    }
+
+    private void expect(char c) throws IOException {
+        if (current != c) {
+            throw new IOException("JSON invalide ligne " + line + " : '" + c + "' attendu");
+        }
+        advance();
+    }
+
+    private String readNullableString() throws IOException {
+        if (current == 'n') {
+            readLiteral("null");
+            return null;
+        }
+        return readString();
+    }
+
+    private String readString() throws IOException {
+        expect('"');
+        text.setLength(0);
+        while (current != '"') {
+            if (current < 0) {
+                throw new IOException("JSON invalide : chaîne non terminée");
+            }
+            if (current == '\\') {
+                advance();
+                switch (current) {
+                    case 'n': text.append('\n'); break;
+                    case 'r': text.append('\r'); break;
+                    case 't': text.append('\t'); break;
+                    case 'b': text.append('\b'); break;
+                    case 'f': text.append('\f'); break;
+                    case 'u':
+                        int code = 0;
+                        for (int i = 0; i < 4; i++) {
+                            advance();
+                            int digit = Character.digit(current, 16);
+                            if (digit < 0) {
+                                throw new IOException("JSON invalide ligne " + line + " : \\u mal formé");
+                            }
+                            code = code * 16 + digit;
+                        }
+                        text.append((char) code);
+                        break;
+                    default: text.append((char) current); break; // \" \\ \/
+                }
+            } else {
+                text.append((char) current);
+            }
+            advance();
+        }
+        advance();
+        return text.toString();
+    }
+
+    private long readLong() throws IOException {
+        boolean negative = current == '-';
+        if (negative) {
+            advance();
+        }
+        if (current < '0' || current > '9') {
+            throw new IOException("JSON invalide ligne " + line + " : nombre attendu");
+        }
+        long value = 0;
+        while (current >= '0' && current <= '9') {
+            value = value * 10 + (current - '0');
+            advance();
+        }
+        if (current == '.' || current == 'e' || current == 'E') {
+            skipNumberTail(); // Partie décimale ignorée
+        }
+        return negative ? -value : value;
+    }
+
+    private boolean readBoolean() throws IOException {
+        if (current == 't') {
+            readLiteral("true");
+            return true;
+        }
+        readLiteral("false");
+        return false;
+    }
+
+    private void readLiteral(String literal) throws IOException {
+        for (int i = 0; i < literal.length(); i++) {
+            expect(literal.charAt(i));
+        }
+    }
+
+    private void skipNumberTail() throws IOException {
+        while ((current >= '0' && current <= '9') || current == '.' || current == 'e' || current == 'E'
+                || current == '+' || current == '-') {
+            advance();
+        }
+    }
+
+    // Ignore une valeur quelconque (objet et tableau imbriqués compris)
+    private void skipValue() throws IOException {
+        switch (current) {
+            case '"': readString(); return;
+            case 't': readLiteral("true"); return;
+            case 'f': readLiteral("false"); return;
+            case 'n': readLiteral("null"); return;
+            case '{':
+            case '[':
+                char close = current == '{' ? '}' : ']';
+                advance();
+                skipWhitespace();
+                if (current == close) {
+                    advance();
+                    return;
+                }
+                while (true) {
+                    if (close == '}') {
+                        readString();
+                        skipWhitespace();
+                        expect(':');
+                        skipWhitespace();
+                    }
+                    skipValue();
+                    skipWhitespace();
+                    if (current == ',') {
+                        advance();
+                        skipWhitespace();
+                        continue;
+                    }
+                    expect(close);
+                    return;
+                }
+            default:
+                if (current == '-' || (current >= '0' && current <= '9')) {
+                    advance();
+                    skipNumberTail();
+                    return;
+                }
+                throw new IOException("JSON invalide ligne " + line + " : valeur attendue");
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.studentagenda.data.occupancy;
+
+import com.example.studentagenda.data.CourseTime;
+
+// Créneau libre d'une salle [startMinute, endMinute), en minutes depuis minuit
+public class FreeSlot {
+
+    private final int startMinute;
+    private final int endMinute;
+
+    public FreeSlot(int startMinute, int endMinute) {
+        this.startMinute = startMinute;
+        this.endMinute = endMinute;
+    }
+
+    public int getStartMinute() { return startMinute; }
+    public int getEndMinute() { return endMinute; }
+
+    public int getDuration() {
+        return endMinute - startMinute;
+    }
+
+    @Override
+    public String toString() {
+        return CourseTime.format(startMinute) + "-" + CourseTime.format(endMinute);
+    }
+}
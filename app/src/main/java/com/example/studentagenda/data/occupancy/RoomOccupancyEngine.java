@@ -0,0 +1,129 @@
+package com.example.studentagenda.data.occupancy;
+
+import android.util.Log;
+import androidx.annotation.NonNull;
+import androidx.room.InvalidationTracker;
+import com.example.studentagenda.data.CourseDao;
+import com.example.studentagenda.data.CourseDatabase;
+import com.example.studentagenda.data.entity.Classroom;
+import com.example.studentagenda.data.entity.RoomBooking;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Index d'occupation des salles en mémoire, tenu à jour quand Room invalide "courses" ou "rooms" :
+// seuls les cours ajoutés, déplacés ou supprimés depuis le dernier instantané sont réindexés
+public class RoomOccupancyEngine {
+
+    private static final String TAG = "RoomOccupancyEngine";
+
+    public static final long DEFAULT_DEBOUNCE_MS = 150;
+
+    private static volatile RoomOccupancyEngine INSTANCE;
+
+    private final CourseDao courseDao;
+    private final long debounceMs;
+    private final RoomOccupancyIndex index = new RoomOccupancyIndex();
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+    private final AtomicBoolean reloadScheduled = new AtomicBoolean(false);
+    private volatile Map<Long, Classroom> rooms = Collections.emptyMap();
+    private volatile boolean loaded = false;
+
+    public RoomOccupancyEngine(CourseDatabase database, long debounceMs) {
+        this.courseDao = database.courseDao();
+        this.debounceMs = debounceMs;
+
+        database.getInvalidationTracker().addObserver(
+                new InvalidationTracker.Observer(new String[]{"courses", "rooms"}) {
+                    @Override
+                    public void onInvalidated(@NonNull Set<String> tables) {
+                        scheduleReload();
+                    }
+                });
+        scheduleReload(); // Construction initiale
+    }
+
+    public static RoomOccupancyEngine getInstance(CourseDatabase database) {
+        if (INSTANCE == null) {
+            synchronized (RoomOccupancyEngine.class) {
+                if (INSTANCE == null) {
+                    INSTANCE = new RoomOccupancyEngine(database, DEFAULT_DEBOUNCE_MS);
+                }
+            }
+        }
+        return INSTANCE;
+    }
+
+    // Salles libres sur [startMinute, endMinute) le jour donné, par nom (thread d'arrière-plan)
+    public List<Classroom> freeRooms(int day, int startMinute, int endMinute) {
+        ensureLoaded();
+        Map<Long, Classroom> current = rooms;
+        List<Classroom> free = new ArrayList<>();
+        for (long roomId : index.freeRooms(day, startMinute, endMinute)) {
+            Classroom room = current.get(roomId);
+            if (room != null) {
+                free.add(room);
+            }
+        }
+        Collections.sort(free, (a, b) -> a.getName().compareToIgnoreCase(b.getName()));
+        return free;
+    }
+
+    // Créneaux libres d'une salle le jour donné (thread d'arrière-plan)
+    public List<FreeSlot> freeSlots(long roomId, int day, int minMinutes) {
+        ensureLoaded();
+        return index.freeSlots(roomId, day, minMinutes);
+    }
+
+    // Première requête avant la construction initiale : l'index est lu tout de suite
+    private void ensureLoaded() {
+        if (!loaded) {
+            reload();
+        }
+    }
+
+    private void scheduleReload() {
+        if (reloadScheduled.compareAndSet(false, true)) {
+            executor.schedule(() -> {
+                reloadScheduled.set(false);
+                reload();
+            }, debounceMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private synchronized void reload() {
+        try {
+            long start = System.nanoTime();
+            Map<Long, Classroom> nextRooms = new HashMap<>();
+            for (Classroom room : courseDao.getClassrooms()) {
+                nextRooms.put(room.getId(), room);
+            }
+            index.setRooms(nextRooms.keySet());
+
+            Set<Long> ids = new HashSet<>();
+            int changed = 0;
+            for (RoomBooking booking : courseDao.getRoomBookings()) {
+                ids.add(booking.getId());
+                if (!index.isUpToDate(booking)) {
+                    index.put(booking);
+                    changed++;
+                }
+            }
+            index.retainOnly(ids);
+            rooms = nextRooms;
+            loaded = true;
+            Log.d(TAG, "Occupation mise à jour (" + nextRooms.size() + " salles, " + changed
+                    + " cours réindexés) en " + (System.nanoTime() - start) / 1000 + " µs");
+        } catch (Exception e) {
+            Log.e(TAG, "Erreur lors de la mise à jour de l'occupation des salles", e);
+        }
+    }
+}
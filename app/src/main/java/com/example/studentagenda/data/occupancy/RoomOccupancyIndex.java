@@ -0,0 +1,270 @@
+package com.example.studentagenda.data.occupancy;
+
+import com.example.studentagenda.data.CourseTime;
+import com.example.studentagenda.data.entity.RoomBooking;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Occupation des salles : pour chaque jour, un bitset de 288 créneaux de 5 minutes par salle (5 longs),
+// toutes les salles à la suite dans un même tableau. "Quelles salles sont libres mardi 14:00-16:00 ?"
+// revient à un ET entre un masque et quelques mots par salle.
+// Un cours occupe tous les créneaux qu'il touche (début arrondi vers le bas, fin vers le haut) :
+// une salle annoncée libre l'est sur tout le créneau demandé.
+public class RoomOccupancyIndex {
+
+    public static final int SLOT_MINUTES = 5;
+    public static final int SLOTS_PER_DAY = CourseTime.MINUTES_PER_DAY / SLOT_MINUTES; // 288
+    static final int WORDS_PER_DAY = (SLOTS_PER_DAY + 63) / 64;                        // 5
+
+    private static final int DAYS = 7;
+
+    // Salle -> numéro d'ordre (position de ses mots dans les bitsets) ; jamais réattribué
+    private final Map<Long, Integer> ordinalByRoom = new HashMap<>();
+    private long[] roomIds = new long[16];
+    private boolean[] active = new boolean[16]; // Faux pour une salle retirée du dictionnaire
+    private int roomCount = 0;
+
+    // Bitsets par jour (indice 1 = Lundi) : mots de la salle n aux positions [n * 5, n * 5 + 5)
+    private final long[][] bits = new long[DAYS + 1][];
+
+    // Cours indexés, et par salle (pour recalculer un jour après une suppression)
+    private final Map<Long, RoomBooking> bookingsByCourse = new HashMap<>();
+    private final List<List<RoomBooking>> bookingsByRoom = new ArrayList<>();
+
+    public RoomOccupancyIndex() {
+        for (int day = 1; day <= DAYS; day++) {
+            bits[day] = new long[roomIds.length * WORDS_PER_DAY];
+        }
+    }
+
+    // Vrai si le cours est déjà indexé avec la même salle et le même créneau
+    public synchronized boolean isUpToDate(RoomBooking booking) {
+        RoomBooking indexed = bookingsByCourse.get(booking.getId());
+        return indexed != null && indexed.sameSlot(booking);
+    }
+
+    // Ajoute ou remplace un cours
+    public synchronized void put(RoomBooking booking) {
+        remove(booking.getId());
+        int ordinal = ordinalOf(booking.getRoomId());
+        bookingsByCourse.put(booking.getId(), booking);
+        bookingsByRoom.get(ordinal).add(booking);
+        mark(ordinal, booking);
+    }
+
+    // Retire un cours : le jour de sa salle est recalculé (d'autres cours peuvent occuper les mêmes créneaux)
+    public synchronized void remove(long courseId) {
+        RoomBooking booking = bookingsByCourse.remove(courseId);
+        if (booking == null) {
+            return;
+        }
+        int ordinal = ordinalByRoom.get(booking.getRoomId());
+        List<RoomBooking> bookings = bookingsByRoom.get(ordinal);
+        bookings.remove(booking);
+
+        int day = booking.getDayOfWeek();
+        if (day < 1 || day > DAYS) {
+            return;
+        }
+        Arrays.fill(bits[day], ordinal * WORDS_PER_DAY, (ordinal + 1) * WORDS_PER_DAY, 0L);
+        for (RoomBooking other : bookings) {
+            if (other.getDayOfWeek() == day) {
+                mark(ordinal, other);
+            }
+        }
+    }
+
+    // Retire tous les cours absents de la collection d'ids donnée
+    public synchronized void retainOnly(Set<Long> courseIds) {
+        for (Long id : new ArrayList<>(bookingsByCourse.keySet())) {
+            if (!courseIds.contains(id)) {
+                remove(id);
+            }
+        }
+    }
+
+    // Salles existantes (dictionnaire) : une salle sans cours est libre toute la semaine
+    public synchronized void setRooms(Set<Long> existingRoomIds) {
+        for (int ordinal = 0; ordinal < roomCount; ordinal++) {
+            active[ordinal] = existingRoomIds.contains(roomIds[ordinal]);
+        }
+        for (Long roomId : existingRoomIds) {
+            ordinalOf(roomId);
+        }
+    }
+
+    public synchronized int roomCount() {
+        int count = 0;
+        for (int ordinal = 0; ordinal < roomCount; ordinal++) {
+            if (active[ordinal]) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    // Salles sans aucun cours sur [startMinute, endMinute) le jour donné ; le créneau est ramené
+    // à la journée [0, 1440), et une liste vide est renvoyée s'il n'en reste rien
+    public synchronized List<Long> freeRooms(int day, int startMinute, int endMinute) {
+        List<Long> free = new ArrayList<>();
+        int from = firstSlot(startMinute);
+        int to = lastSlot(endMinute);
+        if (day < 1 || day > DAYS || endMinute <= startMinute || from >= to) {
+            return free;
+        }
+        long[] mask = new long[WORDS_PER_DAY];
+        setRange(mask, 0, from, to);
+        int firstWord = from >>> 6;
+        int lastWord = (to - 1) >>> 6;
+
+        long[] dayBits = bits[day];
+        rooms:
+        for (int ordinal = 0; ordinal < roomCount; ordinal++) {
+            if (!active[ordinal]) {
+                continue;
+            }
+            int base = ordinal * WORDS_PER_DAY;
+            for (int w = firstWord; w <= lastWord; w++) {
+                if ((dayBits[base + w] & mask[w]) != 0) {
+                    continue rooms;
+                }
+            }
+            free.add(roomIds[ordinal]);
+        }
+        return free;
+    }
+
+    // Vrai si la salle n'a aucun cours sur [startMinute, endMinute) le jour donné
+    public synchronized boolean isFree(long roomId, int day, int startMinute, int endMinute) {
+        if (day < 1 || day > DAYS) {
+            return false;
+        }
+        Integer ordinal = ordinalByRoom.get(roomId);
+        if (ordinal == null) {
+            return true; // Salle sans aucun cours
+        }
+        int base = ordinal * WORDS_PER_DAY;
+        return nextSetSlot(bits[day], base, firstSlot(startMinute)) >= lastSlot(endMinute);
+    }
+
+    // Créneaux libres d'au moins minMinutes le jour donné, par parcours des mots du bitset
+    public synchronized List<FreeSlot> freeSlots(long roomId, int day, int minMinutes) {
+        List<FreeSlot> slots = new ArrayList<>();
+        if (day < 1 || day > DAYS) {
+            return slots;
+        }
+        Integer ordinal = ordinalByRoom.get(roomId);
+        if (ordinal == null) {
+            slots.add(new FreeSlot(0, CourseTime.MINUTES_PER_DAY));
+            return slots;
+        }
+        long[] dayBits = bits[day];
+        int base = ordinal * WORDS_PER_DAY;
+        int slot = nextClearSlot(dayBits, base, 0);
+        while (slot < SLOTS_PER_DAY) {
+            int end = nextSetSlot(dayBits, base, slot);
+            if ((end - slot) * SLOT_MINUTES >= minMinutes) {
+                slots.add(new FreeSlot(slot * SLOT_MINUTES, end * SLOT_MINUTES));
+            }
+            slot = nextClearSlot(dayBits, base, end);
+        }
+        return slots;
+    }
+
+    private int ordinalOf(long roomId) {
+        Integer existing = ordinalByRoom.get(roomId);
+        if (existing != null) {
+            active[existing] = true;
+            return existing;
+        }
+        int ordinal = roomCount++;
+        if (ordinal == roomIds.length) {
+            int capacity = roomIds.length * 2;
+            roomIds = Arrays.copyOf(roomIds, capacity);
+            active = Arrays.copyOf(active, capacity);
+            for (int day = 1; day <= DAYS; day++) {
+                bits[day] = Arrays.copyOf(bits[day], capacity * WORDS_PER_DAY);
+            }
+        }
+        roomIds[ordinal] = roomId;
+        active[ordinal] = true;
+        ordinalByRoom.put(roomId, ordinal);
+        bookingsByRoom.add(new ArrayList<>());
+        return ordinal;
+    }
+
+    // Les créneaux vides ou inversés (heures invalides) n'occupent rien
+    private void mark(int ordinal, RoomBooking booking) {
+        int day = booking.getDayOfWeek();
+        if (day < 1 || day > DAYS || booking.getEndMinute() <= booking.getStartMinute()) {
+            return;
+        }
+        setRange(bits[day], ordinal * WORDS_PER_DAY,
+                firstSlot(booking.getStartMinute()), lastSlot(booking.getEndMinute()));
+    }
+
+    private static int firstSlot(int minute) {
+        return Math.max(0, Math.min(SLOTS_PER_DAY, minute / SLOT_MINUTES));
+    }
+
+    // Exclu, arrondi vers le haut
+    private static int lastSlot(int minute) {
+        return Math.max(0, Math.min(SLOTS_PER_DAY, (minute + SLOT_MINUTES - 1) / SLOT_MINUTES));
+    }
+
+    // Met à 1 les créneaux [from, to) des mots commençant à base
+    private static void setRange(long[] words, int base, int from, int to) {
+        if (from >= to) {
+            return;
+        }
+        int firstWord = from >>> 6;
+        int lastWord = (to - 1) >>> 6;
+        long firstMask = -1L << from;          // Décalage modulo 64
+        long lastMask = -1L >>> -to;
+        if (firstWord == lastWord) {
+            words[base + firstWord] |= firstMask & lastMask;
+            return;
+        }
+        words[base + firstWord] |= firstMask;
+        for (int w = firstWord + 1; w < lastWord; w++) {
+            words[base + w] = -1L;
+        }
+        words[base + lastWord] |= lastMask;
+    }
+
+    // Premier créneau occupé à partir de from (SLOTS_PER_DAY si aucun)
+    private static int nextSetSlot(long[] words, int base, int from) {
+        if (from >= SLOTS_PER_DAY) {
+            return SLOTS_PER_DAY;
+        }
+        int w = from >>> 6;
+        long word = words[base + w] & (-1L << from);
+        while (word == 0) {
+            if (++w == WORDS_PER_DAY) {
+                return SLOTS_PER_DAY;
+            }
+            word = words[base + w];
+        }
+        return Math.min(SLOTS_PER_DAY, (w << 6) + Long.numberOfTrailingZeros(word));
+    }
+
+    // Premier créneau libre à partir de from (SLOTS_PER_DAY si aucun)
+    private static int nextClearSlot(long[] words, int base, int from) {
+        if (from >= SLOTS_PER_DAY) {
+            return SLOTS_PER_DAY;
+        }
+        int w = from >>> 6;
+        long word = ~words[base + w] & (-1L << from);
+        while (word == 0) {
+            if (++w == WORDS_PER_DAY) {
+                return SLOTS_PER_DAY;
+            }
+            word = ~words[base + w];
+        }
+        return Math.min(SLOTS_PER_DAY, (w << 6) + Long.numberOfTrailingZeros(word));
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.studentagenda.data.planner;
+
+// Pondération des critères de classement des emplois du temps générés (score le plus haut en premier)
+public class PlanPreferences {
+
+    // Trous pénalisés, début tardif et jours libres favorisés
+    public static final PlanPreferences DEFAULT = new PlanPreferences(1.0, 0.5, 2.0);
+
+    private final double gapPenaltyPerHour;    // Par heure de trou entre deux cours d'une même journée
+    private final double lateStartBonusPerHour; // Par heure après minuit du premier cours de la semaine
+    private final double freeDayBonus;         // Par jour libre du lundi au vendredi
+
+    public PlanPreferences(double gapPenaltyPerHour, double lateStartBonusPerHour, double freeDayBonus) {
+        this.gapPenaltyPerHour = gapPenaltyPerHour;
+        this.lateStartBonusPerHour = lateStartBonusPerHour;
+        this.freeDayBonus = freeDayBonus;
+    }
+
+    public double getGapPenaltyPerHour() { return gapPenaltyPerHour; }
+    public double getLateStartBonusPerHour() { return lateStartBonusPerHour; }
+    public double getFreeDayBonus() { return freeDayBonus; }
+
+    double score(int gapMinutes, int earliestStart, int freeDays) {
+        return freeDays * freeDayBonus + earliestStart / 60.0 * lateStartBonusPerHour
+                - gapMinutes / 60.0 * gapPenaltyPerHour;
+    }
+}
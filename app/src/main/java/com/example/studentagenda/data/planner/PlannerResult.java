@@ -0,0 +1,24 @@
+package com.example.studentagenda.data.planner;
+
+import java.util.List;
+
+// Résultat d'une recherche : meilleurs emplois du temps trouvés, du meilleur au moins bon
+public class PlannerResult {
+
+    private final List<TimetablePlan> plans;
+    private final long exploredNodes;
+    private final boolean complete; // Faux si la recherche a été interrompue (annulation ou délai)
+    private final long elapsedMs;
+
+    PlannerResult(List<TimetablePlan> plans, long exploredNodes, boolean complete, long elapsedMs) {
+        this.plans = plans;
+        this.exploredNodes = exploredNodes;
+        this.complete = complete;
+        this.elapsedMs = elapsedMs;
+    }
+
+    public List<TimetablePlan> getPlans() { return plans; }
+    public long getExploredNodes() { return exploredNodes; }
+    public boolean isComplete() { return complete; }
+    public long getElapsedMs() { return elapsedMs; }
+}
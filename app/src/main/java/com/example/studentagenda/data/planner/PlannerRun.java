@@ -0,0 +1,26 @@
+package com.example.studentagenda.data.planner;
+
+import java.util.concurrent.CompletableFuture;
+
+// Recherche en cours : annulable, le résultat est livré même après une annulation
+// (meilleurs emplois du temps trouvés jusque-là, PlannerResult.isComplete() faux)
+public class PlannerRun {
+
+    private final CompletableFuture<PlannerResult> result = new CompletableFuture<>();
+    private volatile boolean cancelled;
+
+    PlannerRun() { }
+
+    // Lu par les tâches de recherche au plus tous les 1024 nœuds
+    public void cancel() {
+        cancelled = true;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    public CompletableFuture<PlannerResult> getResult() {
+        return result;
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.studentagenda.data.planner;
+
+import com.example.studentagenda.data.entity.Course;
+
+// Un groupe candidat (CM, TD ou TP d'une matière) et son occupation de la semaine ;
+// seuls les mots non nuls [firstWord, lastWord] sont comparés
+final class Section {
+
+    final Course course;
+    final long[] mask = new long[WeekMask.WORDS];
+    final int firstWord;
+    final int lastWord;
+
+    Section(Course course) {
+        this.course = course;
+        WeekMask.add(mask, course.getDayOfWeek(), course.getStartMinute(), course.getEndMinute());
+        int first = WeekMask.WORDS;
+        int last = -1;
+        for (int w = 0; w < WeekMask.WORDS; w++) {
+            if (mask[w] != 0) {
+                first = Math.min(first, w);
+                last = w;
+            }
+        }
+        firstWord = first;
+        lastWord = last;
+    }
+
+    boolean conflictsWith(long[] occupied) {
+        for (int w = firstWord; w <= lastWord; w++) {
+            if ((mask[w] & occupied[w]) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Sans chevauchement, le retrait (XOR) rend exactement l'occupation précédente
+    void toggle(long[] occupied) {
+        for (int w = firstWord; w <= lastWord; w++) {
+            occupied[w] ^= mask[w];
+        }
+    }
+}
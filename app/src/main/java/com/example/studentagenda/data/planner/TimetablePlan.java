@@ -0,0 +1,36 @@
+package com.example.studentagenda.data.planner;
+
+import com.example.studentagenda.data.CourseTime;
+import com.example.studentagenda.data.entity.Course;
+import java.util.List;
+
+// Emploi du temps généré : un groupe par matière et par type, sans chevauchement
+public class TimetablePlan {
+
+    private final List<Course> courses;
+    private final double score;
+    private final int gapMinutes;    // Total des trous entre cours d'une même journée
+    private final int earliestStart; // Début du premier cours de la semaine (minutes depuis minuit)
+    private final int freeDays;      // Jours sans cours du lundi au vendredi
+
+    TimetablePlan(List<Course> courses, double score, int gapMinutes, int earliestStart, int freeDays) {
+        this.courses = courses;
+        this.score = score;
+        this.gapMinutes = gapMinutes;
+        this.earliestStart = earliestStart;
+        this.freeDays = freeDays;
+    }
+
+    public List<Course> getCourses() { return courses; }
+    public double getScore() { return score; }
+    public int getGapMinutes() { return gapMinutes; }
+    public int getEarliestStart() { return earliestStart; }
+    public int getFreeDays() { return freeDays; }
+
+    // Ex. "2 jours libres, début 10:00, 1h30min de trous"
+    public String describe() {
+        return freeDays + " jour" + (freeDays > 1 ? "s" : "") + " libre" + (freeDays > 1 ? "s" : "")
+                + ", début " + CourseTime.format(earliestStart)
+                + ", " + (gapMinutes == 0 ? "aucun trou" : CourseTime.formatDuration(gapMinutes) + " de trous");
+    }
+}
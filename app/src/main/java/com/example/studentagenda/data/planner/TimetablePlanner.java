@@ -0,0 +1,302 @@
+package com.example.studentagenda.data.planner;
+
+import com.example.studentagenda.data.entity.Course;
+import com.example.studentagenda.data.search.SearchNormalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+// Génération d'emplois du temps sans chevauchement à partir de groupes candidats : un groupe par
+// matière (nom normalisé) et par type (CM, TD, TP...). Recherche par retour arrière sur l'occupation
+// de la semaine en bitsets (un ET par mot pour tester un groupe) :
+// - les matières ayant le moins de groupes sont choisies en premier ;
+// - après chaque choix, une branche est abandonnée dès qu'une matière restante n'a plus de groupe compatible ;
+// - les premiers niveaux sont répartis en sous-tâches sur un ForkJoinPool, les suivants sont séquentiels.
+// Les meilleurs emplois du temps (PlanPreferences) sont conservés ; la recherche s'arrête sur
+// annulation ou à l'expiration du délai, avec les meilleurs trouvés jusque-là.
+public class TimetablePlanner {
+
+    public static final int DEFAULT_MAX_PLANS = 10;
+
+    private static final int CHECK_INTERVAL = 1024;   // Nœuds explorés entre deux vérifications d'arrêt
+    private static final int TASKS_PER_THREAD = 8;    // Sous-tâches visées par thread (équilibrage)
+
+    private final ForkJoinPool pool;
+
+    public TimetablePlanner(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    // Lance une recherche en arrière-plan ; budgetMs <= 0 : pas de limite de temps
+    public PlannerRun plan(List<Course> candidates, PlanPreferences preferences, int maxPlans, long budgetMs) {
+        return plan(() -> candidates, preferences, maxPlans, budgetMs);
+    }
+
+    // Variante où les candidats sont lus dans le pool (lecture de la base comprise dans le délai)
+    public PlannerRun plan(Supplier<List<Course>> candidates, PlanPreferences preferences, int maxPlans,
+                           long budgetMs) {
+        long deadline = budgetMs > 0 ? System.nanoTime() + budgetMs * 1_000_000 : Long.MAX_VALUE;
+        PlannerRun run = new PlannerRun();
+        pool.execute(ForkJoinTask.adapt(() -> {
+            try {
+                Search search = new Search(components(candidates.get()), preferences, maxPlans, deadline,
+                        pool.getParallelism(), run);
+                run.getResult().complete(search.run());
+            } catch (Throwable e) {
+                run.getResult().completeExceptionally(e);
+            }
+        }));
+        return run;
+    }
+
+    // Groupes candidats par matière et par type, les composantes ayant le moins de groupes en premier
+    static Section[][] components(List<Course> candidates) {
+        Map<String, List<Section>> byComponent = new LinkedHashMap<>();
+        for (Course course : candidates) {
+            String nameKey = course.getNameKey() != null ? course.getNameKey() : SearchNormalizer.fold(course.getName());
+            String key = nameKey + '\u0000' + course.getType();
+            List<Section> sections = byComponent.get(key);
+            if (sections == null) {
+                sections = new ArrayList<>();
+                byComponent.put(key, sections);
+            }
+            sections.add(new Section(course));
+        }
+        Section[][] components = new Section[byComponent.size()][];
+        int i = 0;
+        for (List<Section> sections : byComponent.values()) {
+            components[i++] = sections.toArray(new Section[0]);
+        }
+        Arrays.sort(components, Comparator.comparingInt(sections -> sections.length));
+        return components;
+    }
+
+    // État partagé d'une recherche : meilleurs résultats, compteur de nœuds, arrêt
+    static final class Search {
+
+        private final Section[][] components;
+        private final PlanPreferences preferences;
+        private final int maxPlans;
+        private final long deadline;
+        private final int forkDepth;
+        private final LongAdder explored = new LongAdder();
+        private final PriorityQueue<Candidate> best; // Le moins bon en tête
+        private volatile double threshold = Double.NEGATIVE_INFINITY; // Score à battre quand la liste est pleine
+        private final PlannerRun run;
+        private volatile boolean stopped;
+
+        Search(Section[][] components, PlanPreferences preferences, int maxPlans, long deadline, int parallelism,
+               PlannerRun run) {
+            this.components = components;
+            this.preferences = preferences;
+            this.maxPlans = Math.max(1, maxPlans);
+            this.deadline = deadline;
+            this.run = run;
+            this.best = new PriorityQueue<>(this.maxPlans + 1, Candidate.WORST_FIRST);
+
+            // Assez de niveaux répartis pour occuper tous les threads
+            long branches = 1;
+            int depth = 0;
+            while (depth < components.length && branches < (long) parallelism * TASKS_PER_THREAD) {
+                branches *= components[depth].length;
+                depth++;
+            }
+            this.forkDepth = parallelism > 1 ? depth : 0;
+        }
+
+        PlannerResult run() {
+            long start = System.nanoTime();
+            if (feasible(0, new long[WeekMask.WORDS])) {
+                new Branch(this, 0, new long[WeekMask.WORDS], new int[components.length]).invoke();
+            }
+            return new PlannerResult(plans(), explored.sum(), !stopped, (System.nanoTime() - start) / 1_000_000);
+        }
+
+        // Vérifie l'arrêt (annulation ou délai dépassé)
+        boolean shouldStop() {
+            if (!stopped && (run.isCancelled() || System.nanoTime() > deadline)) {
+                stopped = true;
+            }
+            return stopped;
+        }
+
+        // Chaque composante à partir de from a encore au moins un groupe compatible
+        boolean feasible(int from, long[] occupied) {
+            components:
+            for (int depth = from; depth < components.length; depth++) {
+                for (Section section : components[depth]) {
+                    if (!section.conflictsWith(occupied)) {
+                        continue components;
+                    }
+                }
+                return false;
+            }
+            return true;
+        }
+
+        // Emploi du temps complet : évalué puis conservé s'il fait partie des meilleurs
+        void offer(int[] chosen, long[] occupied) {
+            int gapMinutes = 0;
+            int earliestStart = Integer.MAX_VALUE;
+            int freeDays = 0;
+            for (int day = 1; day <= WeekMask.DAYS; day++) {
+                int first = WeekMask.firstSlot(occupied, day);
+                if (first < 0) {
+                    if (day <= 5) {
+                        freeDays++;
+                    }
+                    continue;
+                }
+                int last = WeekMask.lastSlot(occupied, day);
+                gapMinutes += (last - first + 1 - WeekMask.countSlots(occupied, day)) * WeekMask.SLOT_MINUTES;
+                earliestStart = Math.min(earliestStart, first * WeekMask.SLOT_MINUTES);
+            }
+            if (earliestStart == Integer.MAX_VALUE) {
+                earliestStart = 0;
+            }
+            double score = preferences.score(gapMinutes, earliestStart, freeDays);
+            if (score <= threshold) {
+                return;
+            }
+            synchronized (best) {
+                best.add(new Candidate(chosen.clone(), score, gapMinutes, earliestStart, freeDays));
+                if (best.size() > maxPlans) {
+                    best.poll();
+                }
+                if (best.size() == maxPlans) {
+                    threshold = best.peek().score;
+                }
+            }
+        }
+
+        private List<TimetablePlan> plans() {
+            List<Candidate> sorted;
+            synchronized (best) {
+                sorted = new ArrayList<>(best);
+            }
+            sorted.sort(Candidate.WORST_FIRST.reversed());
+            List<TimetablePlan> plans = new ArrayList<>(sorted.size());
+            for (Candidate candidate : sorted) {
+                List<Course> courses = new ArrayList<>(components.length);
+                for (int depth = 0; depth < components.length; depth++) {
+                    courses.add(components[depth][candidate.chosen[depth]].course);
+                }
+                courses.sort(Comparator.comparingInt(Course::getDayOfWeek)
+                        .thenComparingInt(Course::getStartMinute));
+                plans.add(new TimetablePlan(courses, candidate.score, candidate.gapMinutes,
+                        candidate.earliestStart, candidate.freeDays));
+            }
+            return plans;
+        }
+    }
+
+    // Sous-arbre de la recherche à partir d'un niveau ; occupied et chosen appartiennent à la tâche
+    private static final class Branch extends RecursiveAction {
+
+        private final Search search;
+        private final int depth;
+        private final long[] occupied;
+        private final int[] chosen;
+        private long nodes = 0;
+
+        Branch(Search search, int depth, long[] occupied, int[] chosen) {
+            this.search = search;
+            this.depth = depth;
+            this.occupied = occupied;
+            this.chosen = chosen;
+        }
+
+        @Override
+        protected void compute() {
+            if (depth < search.forkDepth && !search.shouldStop()) {
+                List<Branch> branches = new ArrayList<>();
+                Section[] options = search.components[depth];
+                for (int i = 0; i < options.length; i++) {
+                    Section section = options[i];
+                    if (section.conflictsWith(occupied)) {
+                        continue;
+                    }
+                    long[] nextOccupied = occupied.clone();
+                    section.toggle(nextOccupied);
+                    if (search.feasible(depth + 1, nextOccupied)) {
+                        int[] nextChosen = chosen.clone();
+                        nextChosen[depth] = i;
+                        branches.add(new Branch(search, depth + 1, nextOccupied, nextChosen));
+                    }
+                }
+                search.explored.add(branches.size());
+                invokeAll(branches);
+            } else {
+                explore(depth);
+                search.explored.add(nodes);
+            }
+        }
+
+        // Retour arrière séquentiel : le groupe est ajouté puis retiré de l'occupation (XOR)
+        private boolean explore(int level) {
+            if (++nodes % CHECK_INTERVAL == 0 && search.shouldStop()) {
+                return false;
+            }
+            if (level == search.components.length) {
+                search.offer(chosen, occupied);
+                return true;
+            }
+            Section[] options = search.components[level];
+            for (int i = 0; i < options.length; i++) {
+                Section section = options[i];
+                if (section.conflictsWith(occupied)) {
+                    continue;
+                }
+                section.toggle(occupied);
+                chosen[level] = i;
+                boolean keepGoing = !search.feasible(level + 1, occupied) || explore(level + 1);
+                section.toggle(occupied);
+                if (!keepGoing) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    // Emploi du temps retenu, sous forme d'indices de groupes par composante
+    private static final class Candidate {
+
+        // Score croissant ; à score égal, ordre des indices (résultat indépendant du découpage en tâches)
+        static final Comparator<Candidate> WORST_FIRST = (a, b) -> {
+            int byScore = Double.compare(a.score, b.score);
+            if (byScore != 0) {
+                return byScore;
+            }
+            for (int i = 0; i < a.chosen.length; i++) {
+                if (a.chosen[i] != b.chosen[i]) {
+                    return Integer.compare(b.chosen[i], a.chosen[i]);
+                }
+            }
+            return 0;
+        };
+
+        final int[] chosen;
+        final double score;
+        final int gapMinutes;
+        final int earliestStart;
+        final int freeDays;
+
+        Candidate(int[] chosen, double score, int gapMinutes, int earliestStart, int freeDays) {
+            this.chosen = chosen;
+            this.score = score;
+            this.gapMinutes = gapMinutes;
+            this.earliestStart = earliestStart;
+            this.freeDays = freeDays;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.studentagenda.data.planner;
+
+import com.example.studentagenda.data.occupancy.RoomOccupancyIndex;
+
+// Occupation d'une semaine en créneaux de 5 minutes (mêmes créneaux que RoomOccupancyIndex) :
+// 7 jours x 288 créneaux = 2016 bits, soit 32 longs ; le créneau s du jour d est le bit (d - 1) * 288 + s
+final class WeekMask {
+
+    static final int SLOT_MINUTES = RoomOccupancyIndex.SLOT_MINUTES;
+    static final int SLOTS_PER_DAY = RoomOccupancyIndex.SLOTS_PER_DAY;
+    static final int DAYS = 7;
+    static final int WORDS = (DAYS * SLOTS_PER_DAY + 63) / 64;
+
+    private WeekMask() { }
+
+    // Met à 1 les créneaux touchés par [startMinute, endMinute) du jour (arrondis vers l'extérieur)
+    static void add(long[] mask, int day, int startMinute, int endMinute) {
+        if (day < 1 || day > DAYS || endMinute <= startMinute) {
+            return;
+        }
+        int first = Math.max(0, startMinute / SLOT_MINUTES);
+        int last = Math.min(SLOTS_PER_DAY, (endMinute + SLOT_MINUTES - 1) / SLOT_MINUTES);
+        int offset = (day - 1) * SLOTS_PER_DAY;
+        for (int bit = offset + first; bit < offset + last; bit++) {
+            mask[bit >>> 6] |= 1L << bit;
+        }
+    }
+
+    // Premier créneau occupé du jour, -1 si aucun
+    static int firstSlot(long[] mask, int day) {
+        int from = (day - 1) * SLOTS_PER_DAY;
+        int to = from + SLOTS_PER_DAY;
+        for (int w = from >>> 6; w <= (to - 1) >>> 6; w++) {
+            long word = mask[w] & rangeMask(w, from, to);
+            if (word != 0) {
+                return (w << 6) + Long.numberOfTrailingZeros(word) - from;
+            }
+        }
+        return -1;
+    }
+
+    // Dernier créneau occupé du jour, -1 si aucun
+    static int lastSlot(long[] mask, int day) {
+        int from = (day - 1) * SLOTS_PER_DAY;
+        int to = from + SLOTS_PER_DAY;
+        for (int w = (to - 1) >>> 6; w >= from >>> 6; w--) {
+            long word = mask[w] & rangeMask(w, from, to);
+            if (word != 0) {
+                return (w << 6) + 63 - Long.numberOfLeadingZeros(word) - from;
+            }
+        }
+        return -1;
+    }
+
+    // Nombre de créneaux occupés du jour
+    static int countSlots(long[] mask, int day) {
+        int from = (day - 1) * SLOTS_PER_DAY;
+        int to = from + SLOTS_PER_DAY;
+        int count = 0;
+        for (int w = from >>> 6; w <= (to - 1) >>> 6; w++) {
+            count += Long.bitCount(mask[w] & rangeMask(w, from, to));
+        }
+        return count;
+    }
+
+    // Bits du mot w compris dans [from, to)
+    private static long rangeMask(int w, int from, int to) {
+        long mask = -1L;
+        if (from > w << 6) {
+            mask &= -1L << from;
+        }
+        if (to < (w + 1) << 6) {
+            mask &= -1L >>> -to;
+        }
+        return mask;
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.studentagenda.data.search;
+
+import com.example.studentagenda.data.entity.CourseRecord;
+
+// Ligne résultat d'une recherche FTS : le cours (avec professeur et salle) et ses informations de correspondance
+public class CourseMatch extends CourseRecord {
+
+    private byte[] matchInfo;     // Résultat brut de matchinfo(courses_fts, 'pcx')
+    private String matchOffsets;  // Résultat brut de offsets(courses_fts)
+
+    public byte[] getMatchInfo() { return matchInfo; }
+    public void setMatchInfo(byte[] matchInfo) { this.matchInfo = matchInfo; }
+
+    public String getMatchOffsets() { return matchOffsets; }
+    public void setMatchOffsets(String matchOffsets) { this.matchOffsets = matchOffsets; }
+}
@@ -0,0 +1,182 @@
+package com.example.studentagenda.data.search;
+
+import com.example.studentagenda.data.entity.Course;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+// Index de préfixes en mémoire : mot normalisé -> cours qui le contiennent
+// Les mots sont triés (TreeMap) : un préfixe correspond à un intervalle contigu
+public class CoursePrefixIndex {
+
+    // Champs dans lesquels un mot a été trouvé (masque de bits)
+    private static final int FIELD_NAME = 1;
+    private static final int FIELD_PROFESSOR = 2;
+    private static final int FIELD_ROOM = 4;
+
+    private final NavigableMap<String, Map<Long, Integer>> postings = new TreeMap<>();
+    private final Map<Long, Course> courses = new HashMap<>();
+    private final Map<Long, Set<String>> tokensByCourse = new HashMap<>();
+
+    // Ajoute ou remplace un cours
+    public synchronized void put(Course course) {
+        remove(course.getId());
+
+        Map<String, Integer> fields = new HashMap<>();
+        addTokens(fields, keyOf(course.getNameKey(), course.getName()), FIELD_NAME);
+        addTokens(fields, keyOf(course.getProfessorKey(), course.getProfessor()), FIELD_PROFESSOR);
+        addTokens(fields, keyOf(course.getRoomKey(), course.getRoom()), FIELD_ROOM);
+
+        for (Map.Entry<String, Integer> entry : fields.entrySet()) {
+            Map<Long, Integer> ids = postings.get(entry.getKey());
+            if (ids == null) {
+                ids = new HashMap<>();
+                postings.put(entry.getKey(), ids);
+            }
+            ids.put(course.getId(), entry.getValue());
+        }
+        courses.put(course.getId(), course);
+        tokensByCourse.put(course.getId(), fields.keySet());
+    }
+
+    // Retire un cours de l'index
+    public synchronized void remove(long courseId) {
+        Set<String> tokens = tokensByCourse.remove(courseId);
+        if (tokens == null) {
+            return;
+        }
+        for (String token : tokens) {
+            Map<Long, Integer> ids = postings.get(token);
+            if (ids != null) {
+                ids.remove(courseId);
+                if (ids.isEmpty()) {
+                    postings.remove(token);
+                }
+            }
+        }
+        courses.remove(courseId);
+    }
+
+    // Vrai si le cours est déjà indexé avec exactement ces valeurs
+    public synchronized boolean isUpToDate(Course course) {
+        Course indexed = courses.get(course.getId());
+        return indexed != null && indexed.equals(course);
+    }
+
+    // Retire tous les cours absents de la collection d'ids donnée
+    public synchronized void retainOnly(Set<Long> courseIds) {
+        for (Long id : new ArrayList<>(courses.keySet())) {
+            if (!courseIds.contains(id)) {
+                remove(id);
+            }
+        }
+    }
+
+    public synchronized void clear() {
+        postings.clear();
+        courses.clear();
+        tokensByCourse.clear();
+    }
+
+    public synchronized int size() {
+        return courses.size();
+    }
+
+    // Cours dont chaque mot de la requête préfixe un mot du nom, du professeur ou de la salle
+    // Tri : nom > professeur > salle, puis jour et heure ; day != null filtre sur le jour
+    public synchronized List<Course> search(String query, Integer day) {
+        List<String> queryTokens = tokenize(SearchNormalizer.fold(query));
+        if (queryTokens.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        Map<Long, Integer> scores = null;
+        for (String token : queryTokens) {
+            Map<Long, Integer> matches = new HashMap<>();
+            // Mots commençant par token : à partir de token dans l'ordre du TreeMap, tant que le préfixe correspond
+            for (Map.Entry<String, Map<Long, Integer>> word : postings.tailMap(token, true).entrySet()) {
+                if (!word.getKey().startsWith(token)) {
+                    break;
+                }
+                for (Map.Entry<Long, Integer> entry : word.getValue().entrySet()) {
+                    Integer fields = matches.get(entry.getKey());
+                    matches.put(entry.getKey(), fields == null ? entry.getValue() : fields | entry.getValue());
+                }
+            }
+
+            // Intersection avec les mots précédents, en cumulant le score
+            Map<Long, Integer> next = new HashMap<>();
+            for (Map.Entry<Long, Integer> entry : matches.entrySet()) {
+                Integer previous = scores == null ? Integer.valueOf(0) : scores.get(entry.getKey());
+                if (previous != null) {
+                    next.put(entry.getKey(), previous + weight(entry.getValue()));
+                }
+            }
+            scores = next;
+            if (scores.isEmpty()) {
+                return Collections.emptyList();
+            }
+        }
+
+        List<Course> results = new ArrayList<>(scores.size());
+        for (Long id : scores.keySet()) {
+            Course course = courses.get(id);
+            if (day == null || course.getDayOfWeek() == day) {
+                results.add(course);
+            }
+        }
+
+        final Map<Long, Integer> finalScores = scores;
+        Collections.sort(results, (a, b) -> {
+            int byScore = Integer.compare(finalScores.get(b.getId()), finalScores.get(a.getId()));
+            if (byScore != 0) return byScore;
+            int byDay = Integer.compare(a.getDayOfWeek(), b.getDayOfWeek());
+            if (byDay != 0) return byDay;
+            return Integer.compare(a.getStartMinute(), b.getStartMinute());
+        });
+        return results;
+    }
+
+    // Poids du meilleur champ trouvé : nom 3, professeur 2, salle 1
+    private static int weight(int fields) {
+        if ((fields & FIELD_NAME) != 0) return 3;
+        if ((fields & FIELD_PROFESSOR) != 0) return 2;
+        return 1;
+    }
+
+    // Clé stockée si présente, sinon normalisation à la volée (cours pas encore réécrit)
+    private static String keyOf(String key, String raw) {
+        return key != null ? key : SearchNormalizer.fold(raw);
+    }
+
+    private static void addTokens(Map<String, Integer> fields, String key, int field) {
+        for (String token : tokenize(key)) {
+            Integer current = fields.get(token);
+            fields.put(token, current == null ? field : current | field);
+        }
+    }
+
+    // Découpe un texte normalisé en mots (lettres et chiffres)
+    static List<String> tokenize(String key) {
+        List<String> tokens = new ArrayList<>();
+        if (key == null) {
+            return tokens;
+        }
+        int start = -1;
+        for (int i = 0; i <= key.length(); i++) {
+            boolean wordChar = i < key.length() && Character.isLetterOrDigit(key.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                tokens.add(key.substring(start, i));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+}
@@ -0,0 +1,207 @@
+package com.example.studentagenda.data.search;
+
+import android.util.Log;
+import androidx.annotation.NonNull;
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MutableLiveData;
+import androidx.room.InvalidationTracker;
+import com.example.studentagenda.data.CourseDao;
+import com.example.studentagenda.data.CourseDatabase;
+import com.example.studentagenda.data.entity.Course;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Moteur de recherche en mémoire, construit à partir d'un instantané de la table "courses"
+// Répond aux recherches sans accès à la base ; se met à jour quand Room invalide la table
+public class CourseSearchEngine {
+
+    private static final String TAG = "CourseSearchEngine";
+
+    // Valeurs par défaut
+    public static final long DEFAULT_DEBOUNCE_MS = 150;      // Regroupe les invalidations rapprochées
+    public static final int DEFAULT_MAX_INDEXED_ROWS = 20000; // Au-delà : recherche via le DAO
+
+    private static volatile CourseSearchEngine INSTANCE;
+
+    private final Source source;
+    private final long debounceMs;
+    private final int maxIndexedRows;
+    private final CoursePrefixIndex index = new CoursePrefixIndex();
+    private final TrigramIndex trigramIndex = new TrigramIndex(); // Recherche tolérante aux fautes
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+    private final AtomicBoolean reloadScheduled = new AtomicBoolean(false);
+    private final MutableLiveData<Long> version = new MutableLiveData<>(0L);
+    private volatile boolean indexed = false; // Faux tant que l'index n'est pas utilisable
+    private long currentVersion = 0;
+
+    // Lecture des cours : le DAO, ou une source en mémoire dans les tests
+    interface Source {
+        int countCourses();
+        List<Course> getAllCoursesSnapshot();
+    }
+
+    public CourseSearchEngine(CourseDatabase database, long debounceMs, int maxIndexedRows) {
+        this(daoSource(database.courseDao()), debounceMs, maxIndexedRows);
+
+        // Chaque modification de "courses" déclenche une mise à jour incrémentale différée
+        database.getInvalidationTracker().addObserver(new InvalidationTracker.Observer(new String[]{"courses"}) {
+            @Override
+            public void onInvalidated(@NonNull Set<String> tables) {
+                scheduleReload();
+            }
+        });
+    }
+
+    CourseSearchEngine(Source source, long debounceMs, int maxIndexedRows) {
+        this.source = source;
+        this.debounceMs = debounceMs;
+        this.maxIndexedRows = maxIndexedRows;
+        scheduleReload(); // Construction initiale
+    }
+
+    private static Source daoSource(CourseDao courseDao) {
+        return new Source() {
+            @Override
+            public int countCourses() {
+                return courseDao.getCourseCount();
+            }
+
+            @Override
+            public List<Course> getAllCoursesSnapshot() {
+                return courseDao.getAllCoursesSnapshot();
+            }
+        };
+    }
+
+    // Instance unique avec les réglages par défaut
+    public static CourseSearchEngine getInstance(CourseDatabase database) {
+        if (INSTANCE == null) {
+            synchronized (CourseSearchEngine.class) {
+                if (INSTANCE == null) {
+                    INSTANCE = new CourseSearchEngine(database, DEFAULT_DEBOUNCE_MS, DEFAULT_MAX_INDEXED_ROWS);
+                }
+            }
+        }
+        return INSTANCE;
+    }
+
+    // Incrémentée après chaque mise à jour de l'index (pour relancer les recherches affichées)
+    public LiveData<Long> getVersion() {
+        return version;
+    }
+
+    // Vrai si les recherches peuvent être servies par l'index en mémoire
+    public boolean isIndexed() {
+        return indexed;
+    }
+
+    // Recherche en mémoire ; null si l'index n'est pas disponible (utiliser le DAO)
+    public List<Course> search(String query, Integer day) {
+        if (!indexed) {
+            return null;
+        }
+        return index.search(query, day);
+    }
+
+    // Recherche approchée (trigrammes), triée par similarité ; null si l'index n'est pas disponible
+    public List<FuzzyMatch> fuzzySearch(String query, Integer day, int limit) {
+        if (!indexed) {
+            return null;
+        }
+        return trigramIndex.search(query, day, limit);
+    }
+
+    // Variante renvoyant directement les cours, dans l'ordre de similarité
+    public List<Course> fuzzySearchCourses(String query, Integer day, int limit) {
+        List<FuzzyMatch> matches = fuzzySearch(query, day, limit);
+        if (matches == null) {
+            return null;
+        }
+        if (matches.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<Course> courses = new ArrayList<>(matches.size());
+        for (FuzzyMatch match : matches) {
+            courses.add(match.getCourse());
+        }
+        return courses;
+    }
+
+    // Planifie un rechargement ; les invalidations pendant le délai sont fusionnées
+    private void scheduleReload() {
+        if (reloadScheduled.compareAndSet(false, true)) {
+            executor.schedule(this::reload, debounceMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    // Exécuté sur le thread du moteur (appelé directement par les tests)
+    void reload() {
+        reloadScheduled.set(false); // Une invalidation pendant la lecture replanifie un passage
+        try {
+            long start = System.nanoTime();
+            // Table trop grande : comptage seul, sans lire les lignes qui seraient ignorées
+            if (source.countCourses() > maxIndexedRows) {
+                disable();
+                return;
+            }
+            applySnapshot(source.getAllCoursesSnapshot());
+            Log.d(TAG, "Index mis à jour (" + index.size() + " cours) en "
+                    + (System.nanoTime() - start) / 1000 + " µs");
+        } catch (Exception e) {
+            Log.e(TAG, "Erreur lors de la mise à jour de l'index", e);
+        }
+    }
+
+    // Applique un instantané : seuls les cours ajoutés, modifiés ou supprimés sont réindexés
+    private void applySnapshot(List<Course> snapshot) {
+        boolean wasIndexed = indexed;
+
+        if (snapshot.size() > maxIndexedRows) { // Lignes ajoutées depuis le comptage
+            disable();
+            return;
+        }
+
+        Set<Long> ids = new HashSet<>();
+        int changed = 0;
+        for (Course course : snapshot) {
+            ids.add(course.getId());
+            if (!index.isUpToDate(course)) {
+                index.put(course);
+                trigramIndex.put(course);
+                changed++;
+            }
+        }
+        int before = index.size();
+        index.retainOnly(ids);
+        trigramIndex.retainOnly(ids);
+        changed += before - index.size();
+
+        indexed = true;
+        if (changed > 0 || !wasIndexed) {
+            publishVersion();
+        }
+    }
+
+    // Trop de lignes pour la mémoire : on laisse la base répondre
+    private void disable() {
+        boolean wasIndexed = indexed;
+        indexed = false;
+        index.clear();
+        trigramIndex.clear();
+        if (wasIndexed) {
+            publishVersion();
+        }
+    }
+
+    private void publishVersion() {
+        currentVersion++;
+        version.postValue(currentVersion);
+    }
+}
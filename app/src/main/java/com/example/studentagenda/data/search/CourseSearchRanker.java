@@ -0,0 +1,108 @@
+package com.example.studentagenda.data.search;
+
+import com.example.studentagenda.data.entity.Course;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+// Classement par pertinence des résultats FTS à partir de matchinfo('pcx')
+public final class CourseSearchRanker {
+
+    // Poids par colonne de courses_fts (nom, professeur, salle)
+    private static final double[] COLUMN_WEIGHTS = {3.0, 2.0, 1.0};
+
+    private CourseSearchRanker() { }
+
+    // Score type tf-idf : pour chaque terme et colonne, hits de la ligne / hits de toute la table
+    public static double score(byte[] matchInfo) {
+        if (matchInfo == null || matchInfo.length < 8) {
+            return 0;
+        }
+
+        // matchinfo renvoie des entiers 32 bits non signés dans l'ordre natif
+        ByteBuffer buffer = ByteBuffer.wrap(matchInfo).order(ByteOrder.nativeOrder());
+        int phraseCount = buffer.getInt(0);
+        int columnCount = buffer.getInt(4);
+
+        double score = 0;
+        for (int phrase = 0; phrase < phraseCount; phrase++) {
+            for (int column = 0; column < columnCount; column++) {
+                int base = 8 + 12 * (phrase * columnCount + column);
+                if (base + 8 > matchInfo.length) {
+                    return score; // Blob tronqué : on garde ce qui a été lu
+                }
+                int hitsInRow = buffer.getInt(base);
+                int hitsInAllRows = buffer.getInt(base + 4);
+                if (hitsInRow > 0 && hitsInAllRows > 0) {
+                    double weight = column < COLUMN_WEIGHTS.length ? COLUMN_WEIGHTS[column] : 1.0;
+                    score += weight * hitsInRow / hitsInAllRows;
+                }
+            }
+        }
+        return score;
+    }
+
+    // Convertit la chaîne offsets() "c t o s c t o s ..." en tableau d'entiers
+    public static int[] parseOffsets(String offsets) {
+        if (offsets == null || offsets.isEmpty()) {
+            return new int[0];
+        }
+
+        String[] parts = offsets.trim().split(" ");
+        int[] values = new int[parts.length - parts.length % 4];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = Integer.parseInt(parts[i]);
+        }
+        return values;
+    }
+
+    // Trie les cours trouvés du plus pertinent au moins pertinent
+    public static List<Course> rankCourses(List<CourseMatch> matches) {
+        if (matches == null || matches.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<ScoredCourse> scored = new ArrayList<>(matches.size());
+        for (CourseMatch match : matches) {
+            scored.add(new ScoredCourse(match.toCourse(), score(match.getMatchInfo())));
+        }
+        Collections.sort(scored, (a, b) -> Double.compare(b.score, a.score)); // Tri stable
+
+        List<Course> courses = new ArrayList<>(scored.size());
+        for (ScoredCourse item : scored) {
+            courses.add(item.course);
+        }
+        return courses;
+    }
+
+    // Convertit les correspondances brutes en résultats classés (ids + offsets)
+    public static List<SearchResult> rankHits(List<FtsHit> hits) {
+        if (hits == null || hits.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<SearchResult> results = new ArrayList<>(hits.size());
+        for (FtsHit hit : hits) {
+            results.add(new SearchResult(
+                    hit.getCourseId(),
+                    score(hit.getMatchInfo()),
+                    parseOffsets(hit.getMatchOffsets())
+            ));
+        }
+        Collections.sort(results, (a, b) -> Double.compare(b.getScore(), a.getScore()));
+        return results;
+    }
+
+    // Paire (cours, score) utilisée uniquement pendant le tri
+    private static final class ScoredCourse {
+        final Course course;
+        final double score;
+
+        ScoredCourse(Course course, double score) {
+            this.course = course;
+            this.score = score;
+        }
+    }
+}
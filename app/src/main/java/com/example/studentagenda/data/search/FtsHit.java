@@ -0,0 +1,18 @@
+package com.example.studentagenda.data.search;
+
+// Correspondance FTS sans jointure : seulement l'id du cours et les infos de correspondance
+public class FtsHit {
+
+    private long courseId;        // rowid dans courses_fts = id du cours
+    private byte[] matchInfo;     // Résultat brut de matchinfo(courses_fts, 'pcx')
+    private String matchOffsets;  // Résultat brut de offsets(courses_fts)
+
+    public long getCourseId() { return courseId; }
+    public void setCourseId(long courseId) { this.courseId = courseId; }
+
+    public byte[] getMatchInfo() { return matchInfo; }
+    public void setMatchInfo(byte[] matchInfo) { this.matchInfo = matchInfo; }
+
+    public String getMatchOffsets() { return matchOffsets; }
+    public void setMatchOffsets(String matchOffsets) { this.matchOffsets = matchOffsets; }
+}
@@ -0,0 +1,33 @@
+package com.example.studentagenda.data.search;
+
+// Transforme le texte saisi par l'utilisateur en expression MATCH FTS4
+public final class FtsQueryBuilder {
+
+    private FtsQueryBuilder() { }
+
+    // "Mme Lèf" -> "mme* lef*" (texte normalisé, chaque mot en préfixe, ET implicite)
+    // Retourne une chaîne vide si aucun mot exploitable n'a été saisi
+    public static String build(String query) {
+        if (query == null) {
+            return "";
+        }
+
+        StringBuilder match = new StringBuilder();
+        StringBuilder token = new StringBuilder();
+        String key = SearchNormalizer.fold(query); // Même normalisation que les colonnes indexées
+
+        for (int i = 0; i <= key.length(); i++) {
+            char c = i < key.length() ? key.charAt(i) : ' ';
+            if (Character.isLetterOrDigit(c)) {
+                token.append(c); // Les guillemets, '*', '-' etc. sont ignorés
+            } else if (token.length() > 0) {
+                if (match.length() > 0) {
+                    match.append(' ');
+                }
+                match.append(token).append('*');
+                token.setLength(0);
+            }
+        }
+        return match.toString();
+    }
+}
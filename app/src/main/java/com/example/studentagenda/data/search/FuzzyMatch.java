@@ -0,0 +1,19 @@
+package com.example.studentagenda.data.search;
+
+import com.example.studentagenda.data.entity.Course;
+
+// Résultat d'une recherche approchée : le cours et sa similarité (0..1)
+public class FuzzyMatch {
+
+    private final Course course;
+    private final float similarity;
+
+    public FuzzyMatch(Course course, float similarity) {
+        this.course = course;
+        this.similarity = similarity;
+    }
+
+    public Course getCourse() { return course; }
+
+    public float getSimilarity() { return similarity; }
+}
@@ -0,0 +1,73 @@
+package com.example.studentagenda.data.search;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+// Normalisation des textes pour la recherche : "Mme Lefèvre" -> "mme lefevre"
+public final class SearchNormalizer {
+
+    // Marques diacritiques isolées par la décomposition NFD
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{Mn}+");
+    // Suites d'espaces (tabulations, espaces insécables...)
+    private static final Pattern SPACES = Pattern.compile("[\\s\\u00A0]+");
+
+    private SearchNormalizer() { }
+
+    // NFD, suppression des accents, minuscules, espaces compactés
+    public static String fold(String text) {
+        if (text == null) {
+            return null;
+        }
+        String ascii = foldAscii(text);
+        if (ascii != null) {
+            return ascii;
+        }
+
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        String stripped = DIACRITICS.matcher(decomposed).replaceAll("");
+        return SPACES.matcher(stripped.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    // Chemin rapide, même résultat que fold pour un texte entièrement ASCII (cas le plus courant :
+    // rien à décomposer) ; null dès qu'un caractère non ASCII impose le chemin complet
+    private static String foldAscii(String text) {
+        StringBuilder builder = null;
+        boolean space = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c >= 0x80) {
+                return null;
+            }
+            boolean whitespace = c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+            char folded = whitespace ? ' ' : c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+            if (builder == null && (folded != c || (whitespace && space))) {
+                builder = new StringBuilder(text.length());
+                builder.append(text, 0, i);
+            }
+            if (builder != null && !(whitespace && space)) {
+                builder.append(folded);
+            }
+            space = whitespace;
+        }
+        return (builder == null ? text : builder.toString()).trim();
+    }
+
+    // Borne supérieure exclusive pour une recherche par préfixe sur un index SQLite (key <= x < upper).
+    // SQLite compare les octets UTF-8, donc les points de code : le dernier point de code est incrémenté
+    // (un caractère hors BMP, emoji ou CJK étendu, est classé après U+FFFF). U+10FFFF, non-caractère
+    // absent des clés, est retiré avant d'incrémenter le précédent ; clé vide : tout texte est accepté
+    public static String prefixUpperBound(String key) {
+        int end = key.length();
+        while (end > 0) {
+            int last = key.codePointBefore(end);
+            int start = end - Character.charCount(last);
+            if (last < Character.MAX_CODE_POINT) {
+                int next = last + 1 == Character.MIN_SURROGATE ? Character.MAX_SURROGATE + 1 : last + 1;
+                return new StringBuilder(start + 2).append(key, 0, start).appendCodePoint(next).toString();
+            }
+            end = start;
+        }
+        return new String(Character.toChars(Character.MAX_CODE_POINT));
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.studentagenda.data.search;
+
+// Résultat classé d'une recherche : id du cours, score et positions des correspondances
+public class SearchResult {
+
+    private final long courseId;  // Id du cours trouvé
+    private final double score;   // Pertinence (plus grand = plus pertinent)
+    private final int[] offsets;  // Quadruplets (colonne, terme, octet, taille) issus de offsets()
+
+    public SearchResult(long courseId, double score, int[] offsets) {
+        this.courseId = courseId;
+        this.score = score;
+        this.offsets = offsets;
+    }
+
+    public long getCourseId() { return courseId; }
+
+    public double getScore() { return score; }
+
+    public int[] getOffsets() { return offsets; }
+
+    // Nombre de correspondances trouvées dans la ligne
+    public int getMatchCount() {
+        return offsets.length / 4;
+    }
+}
@@ -0,0 +1,331 @@
+package com.example.studentagenda.data.search;
+
+import com.example.studentagenda.data.entity.Course;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Index de trigrammes pour la recherche tolérante aux fautes ("Lefevbre" -> "Lefèvre")
+// Les trigrammes indexent le vocabulaire (mots distincts), pas les cours : un mot comme
+// "mme" ou "amphi" n'est indexé qu'une fois quel que soit le nombre de cours qui l'utilisent
+public class TrigramIndex {
+
+    // Similarité minimale (Jaccard sur les trigrammes) pour qu'un mot corresponde
+    public static final float DEFAULT_MIN_SIMILARITY = 0.3f;
+
+    private final float minSimilarity;
+
+    // Vocabulaire : mot -> id, nombre de trigrammes et cours qui le contiennent
+    private final Map<String, Integer> wordIds = new HashMap<>();
+    private final List<String> words = new ArrayList<>();
+    private int[] wordTrigramCounts = new int[64];
+    private final List<IntList> coursesByWord = new ArrayList<>();
+
+    // Trigramme (3 caractères compactés dans un long) -> ids des mots qui le contiennent
+    private final Map<Long, IntList> wordsByTrigram = new HashMap<>();
+
+    // Cours par numéro d'ordre ; null = supprimé (compacté quand les trous deviennent nombreux)
+    private final List<Course> courses = new ArrayList<>();
+    private final Map<Long, Integer> ordinalById = new HashMap<>();
+    private int removedCount = 0;
+
+    // Tampons réutilisés entre deux recherches (taille = vocabulaire / cours)
+    private int[] sharedCounts = new int[0];
+    private float[] bestByCourse = new float[0];
+    private float[] totalByCourse = new float[0];
+
+    public TrigramIndex() {
+        this(DEFAULT_MIN_SIMILARITY);
+    }
+
+    public TrigramIndex(float minSimilarity) {
+        this.minSimilarity = minSimilarity;
+    }
+
+    // Ajoute ou remplace un cours
+    public synchronized void put(Course course) {
+        remove(course.getId());
+
+        int ordinal = courses.size();
+        courses.add(course);
+        ordinalById.put(course.getId(), ordinal);
+
+        addWords(ordinal, course.getNameKey(), course.getName());
+        addWords(ordinal, course.getProfessorKey(), course.getProfessor());
+        addWords(ordinal, course.getRoomKey(), course.getRoom());
+    }
+
+    // Retire un cours (le numéro d'ordre devient un trou)
+    public synchronized void remove(long courseId) {
+        Integer ordinal = ordinalById.remove(courseId);
+        if (ordinal == null) {
+            return;
+        }
+        courses.set(ordinal, null);
+        removedCount++;
+
+        // Reconstruction quand plus de la moitié des numéros sont des trous
+        if (removedCount > 64 && removedCount * 2 > courses.size()) {
+            compact();
+        }
+    }
+
+    // Retire tous les cours absents de l'ensemble d'ids donné
+    public synchronized void retainOnly(Set<Long> courseIds) {
+        for (Long id : new ArrayList<>(ordinalById.keySet())) {
+            if (!courseIds.contains(id)) {
+                remove(id);
+            }
+        }
+    }
+
+    public synchronized void clear() {
+        wordIds.clear();
+        words.clear();
+        coursesByWord.clear();
+        wordsByTrigram.clear();
+        courses.clear();
+        ordinalById.clear();
+        removedCount = 0;
+    }
+
+    public synchronized int size() {
+        return ordinalById.size();
+    }
+
+    public synchronized int vocabularySize() {
+        return words.size();
+    }
+
+    // Cours les plus proches de la requête, triés par similarité décroissante
+    // Score d'un cours = moyenne, sur les mots de la requête, du meilleur mot correspondant
+    public synchronized List<FuzzyMatch> search(String query, Integer day, int limit) {
+        List<String> queryWords = CoursePrefixIndex.tokenize(SearchNormalizer.fold(query));
+        if (queryWords.isEmpty() || courses.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        ensureBuffers();
+        IntList scoredCourses = new IntList(); // Cours ayant au moins un mot proche
+
+        for (String queryWord : queryWords) {
+            long[] trigrams = trigrams(queryWord);
+            int queryCount = trigrams.length;
+
+            // Nombre de trigrammes communs avec chaque mot du vocabulaire
+            IntList touched = new IntList();
+            for (long trigram : trigrams) {
+                IntList wordList = wordsByTrigram.get(trigram);
+                if (wordList == null) continue;
+                for (int i = 0; i < wordList.size; i++) {
+                    int wordId = wordList.values[i];
+                    if (sharedCounts[wordId]++ == 0) {
+                        touched.add(wordId);
+                    }
+                }
+            }
+
+            // Meilleure similarité par cours pour ce mot de la requête
+            IntList touchedCourses = new IntList();
+            for (int i = 0; i < touched.size; i++) {
+                int wordId = touched.values[i];
+                int shared = sharedCounts[wordId];
+                sharedCounts[wordId] = 0; // Remise à zéro pour le mot suivant
+                float similarity = (float) shared / (queryCount + wordTrigramCounts[wordId] - shared);
+                if (similarity < minSimilarity) continue;
+
+                IntList courseList = coursesByWord.get(wordId);
+                for (int j = 0; j < courseList.size; j++) {
+                    int ordinal = courseList.values[j];
+                    if (bestByCourse[ordinal] == 0f) {
+                        touchedCourses.add(ordinal);
+                    }
+                    if (similarity > bestByCourse[ordinal]) {
+                        bestByCourse[ordinal] = similarity;
+                    }
+                }
+            }
+            for (int i = 0; i < touchedCourses.size; i++) {
+                int ordinal = touchedCourses.values[i];
+                if (totalByCourse[ordinal] == 0f) {
+                    scoredCourses.add(ordinal);
+                }
+                totalByCourse[ordinal] += bestByCourse[ordinal];
+                bestByCourse[ordinal] = 0f;
+            }
+        }
+
+        List<FuzzyMatch> matches = new ArrayList<>();
+        float wordCount = queryWords.size();
+        for (int i = 0; i < scoredCourses.size; i++) {
+            int ordinal = scoredCourses.values[i];
+            float score = totalByCourse[ordinal] / wordCount;
+            totalByCourse[ordinal] = 0f; // Remise à zéro pour la prochaine recherche
+            if (score < minSimilarity) continue;
+            Course course = courses.get(ordinal);
+            if (course != null && (day == null || course.getDayOfWeek() == day)) {
+                matches.add(new FuzzyMatch(course, score));
+            }
+        }
+        Collections.sort(matches, (a, b) -> Float.compare(b.getSimilarity(), a.getSimilarity()));
+        return matches.size() > limit ? new ArrayList<>(matches.subList(0, limit)) : matches;
+    }
+
+    private void addWords(int ordinal, String key, String raw) {
+        String text = key != null ? key : SearchNormalizer.fold(raw);
+        for (String word : CoursePrefixIndex.tokenize(text)) {
+            IntList courseList = coursesByWord.get(wordId(word));
+            if (courseList.size == 0 || courseList.values[courseList.size - 1] != ordinal) {
+                courseList.add(ordinal); // Un mot répété dans le même cours n'est compté qu'une fois
+            }
+        }
+    }
+
+    // Id du mot dans le vocabulaire, créé (avec ses trigrammes) au premier passage
+    private int wordId(String word) {
+        Integer id = wordIds.get(word);
+        if (id != null) {
+            return id;
+        }
+
+        int newId = words.size();
+        wordIds.put(word, newId);
+        words.add(word);
+        coursesByWord.add(new IntList());
+
+        long[] trigrams = trigrams(word);
+        if (newId >= wordTrigramCounts.length) {
+            wordTrigramCounts = Arrays.copyOf(wordTrigramCounts, newId * 2);
+        }
+        wordTrigramCounts[newId] = trigrams.length;
+        for (long trigram : trigrams) {
+            IntList wordList = wordsByTrigram.get(trigram);
+            if (wordList == null) {
+                wordList = new IntList();
+                wordsByTrigram.put(trigram, wordList);
+            }
+            wordList.add(newId);
+        }
+        return newId;
+    }
+
+    // Renumérote les cours restants et retire du vocabulaire les mots sans cours, puis les trigrammes
+    // sans mot : sans recalcul des trigrammes et sans re-tokenisation des cours
+    private void compact() {
+        int[] newOrdinals = new int[courses.size()];
+        List<Course> live = new ArrayList<>(ordinalById.size());
+        for (int ordinal = 0; ordinal < courses.size(); ordinal++) {
+            Course course = courses.get(ordinal);
+            if (course == null) {
+                newOrdinals[ordinal] = -1;
+            } else {
+                newOrdinals[ordinal] = live.size();
+                ordinalById.put(course.getId(), live.size());
+                live.add(course);
+            }
+        }
+        courses.clear();
+        courses.addAll(live);
+        removedCount = 0;
+
+        int[] newWordIds = new int[words.size()];
+        List<String> liveWords = new ArrayList<>();
+        List<IntList> liveCourseLists = new ArrayList<>();
+        int[] liveTrigramCounts = new int[Math.max(64, wordTrigramCounts.length)];
+        for (int wordId = 0; wordId < words.size(); wordId++) {
+            IntList courseList = coursesByWord.get(wordId);
+            if (courseList.retainMapped(newOrdinals) == 0) {
+                newWordIds[wordId] = -1;
+                wordIds.remove(words.get(wordId));
+                continue;
+            }
+            int newId = liveWords.size();
+            newWordIds[wordId] = newId;
+            wordIds.put(words.get(wordId), newId);
+            liveWords.add(words.get(wordId));
+            liveCourseLists.add(courseList);
+            liveTrigramCounts[newId] = wordTrigramCounts[wordId];
+        }
+        words.clear();
+        words.addAll(liveWords);
+        coursesByWord.clear();
+        coursesByWord.addAll(liveCourseLists);
+        wordTrigramCounts = liveTrigramCounts;
+
+        Iterator<IntList> trigramWords = wordsByTrigram.values().iterator();
+        while (trigramWords.hasNext()) {
+            if (trigramWords.next().retainMapped(newWordIds) == 0) {
+                trigramWords.remove();
+            }
+        }
+    }
+
+    // Nombre de trigrammes distincts indexés (vocabulaire réellement utilisé)
+    synchronized int trigramCount() {
+        return wordsByTrigram.size();
+    }
+
+    private void ensureBuffers() {
+        if (sharedCounts.length < words.size()) {
+            sharedCounts = new int[Math.max(16, words.size() * 2)];
+        }
+        if (bestByCourse.length < courses.size()) {
+            bestByCourse = new float[Math.max(16, courses.size() * 2)];
+            totalByCourse = new float[bestByCourse.length];
+        }
+    }
+
+    // Trigrammes distincts d'un mot, complété comme pg_trgm : "  mot " (2 espaces avant, 1 après)
+    static long[] trigrams(String word) {
+        String padded = "  " + word + " ";
+        long[] result = new long[padded.length() - 2];
+        int count = 0;
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            long trigram = ((long) padded.charAt(i) << 32)
+                    | ((long) padded.charAt(i + 1) << 16)
+                    | padded.charAt(i + 2);
+            boolean duplicate = false;
+            for (int j = 0; j < count; j++) {
+                if (result[j] == trigram) {
+                    duplicate = true;
+                    break;
+                }
+            }
+            if (!duplicate) {
+                result[count++] = trigram;
+            }
+        }
+        return count == result.length ? result : Arrays.copyOf(result, count);
+    }
+
+    // Liste d'int extensible (évite le boxing des listes de postings)
+    private static final class IntList {
+        int[] values = new int[4];
+        int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        // Remplace chaque valeur v par mapping[v], retire celles qui valent -1 ; renvoie la nouvelle taille
+        int retainMapped(int[] mapping) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                int mapped = mapping[values[i]];
+                if (mapped >= 0) {
+                    values[kept++] = mapped;
+                }
+            }
+            size = kept;
+            return kept;
+        }
+    }
+}
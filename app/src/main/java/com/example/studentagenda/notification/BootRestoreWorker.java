@@ -0,0 +1,89 @@
+package com.example.studentagenda.notification;
+
+import android.content.Context;
+import android.os.SystemClock;
+import android.util.Log;
+import androidx.annotation.NonNull;
+import androidx.work.Data;
+import androidx.work.ExistingWorkPolicy;
+import androidx.work.ForegroundInfo;
+import androidx.work.OneTimeWorkRequest;
+import androidx.work.OutOfQuotaPolicy;
+import androidx.work.WorkManager;
+import androidx.work.Worker;
+import androidx.work.WorkerParameters;
+import com.example.studentagenda.data.CourseDatabase;
+import com.example.studentagenda.data.entity.Course;
+import java.util.List;
+
+// Restauration des rappels après un redémarrage, un changement d'heure ou de fuseau :
+// une seule requête pour les cours, puis une seule passe de synchronisation des alarmes
+public class BootRestoreWorker extends Worker {
+
+    private static final String TAG = "BootRestoreWorker";
+    private static final String UNIQUE_NAME = "reminder_restore";
+    private static final String KEY_REASON = "reason";
+    private static final int FOREGROUND_NOTIFICATION_ID = 0x5245; // Avant Android 12 uniquement
+
+    // Métriques renvoyées dans les données de sortie du travail
+    public static final String KEY_COURSES = "courses";
+    public static final String KEY_SCHEDULED = "scheduled";
+    public static final String KEY_QUERY_MS = "query_ms";
+    public static final String KEY_REGISTER_MS = "register_ms";
+    public static final String KEY_TOTAL_MS = "total_ms";
+
+    public BootRestoreWorker(@NonNull Context context, @NonNull WorkerParameters params) {
+        super(context, params);
+    }
+
+    // Travail prioritaire ; une restauration en cours n'est pas interrompue : la nouvelle demande
+    // (changement de fuseau pendant la passe...) s'exécute après elle
+    public static void enqueue(Context context, String reason) {
+        OneTimeWorkRequest request = new OneTimeWorkRequest.Builder(BootRestoreWorker.class)
+                .setExpedited(OutOfQuotaPolicy.RUN_AS_NON_EXPEDITED_WORK_REQUEST)
+                .setInputData(new Data.Builder().putString(KEY_REASON, reason).build())
+                .build();
+        WorkManager.getInstance(context)
+                .enqueueUniqueWork(UNIQUE_NAME, ExistingWorkPolicy.APPEND_OR_REPLACE, request);
+    }
+
+    @NonNull
+    @Override
+    public Result doWork() {
+        String reason = getInputData().getString(KEY_REASON);
+        long start = SystemClock.elapsedRealtime();
+        try {
+            // Seuls les cours au rappel activé sont lus
+            List<Course> courses = CourseDatabase.getInstance(getApplicationContext())
+                    .courseDao().getReminderCourses();
+            long queried = SystemClock.elapsedRealtime();
+
+            ReminderDiff diff = ReminderScheduler.getInstance(getApplicationContext())
+                    .fullResyncBlocking(courses);
+            long done = SystemClock.elapsedRealtime();
+
+            Log.i(TAG, "Rappels restaurés (" + reason + ") : " + courses.size() + " cours avec rappel, "
+                    + diff.getToSchedule().size() + " alarme(s) en " + (done - start) + " ms "
+                    + "(lecture " + (queried - start) + " ms, enregistrement " + (done - queried) + " ms)");
+
+            return Result.success(new Data.Builder()
+                    .putInt(KEY_COURSES, courses.size())
+                    .putInt(KEY_SCHEDULED, diff.getToSchedule().size())
+                    .putLong(KEY_QUERY_MS, queried - start)
+                    .putLong(KEY_REGISTER_MS, done - queried)
+                    .putLong(KEY_TOTAL_MS, done - start)
+                    .build());
+        } catch (Exception e) {
+            Log.e(TAG, "Échec de la restauration des rappels", e);
+            return Result.retry();
+        }
+    }
+
+    // Requis pour un travail prioritaire avant Android 12 (exécuté en service de premier plan)
+    @NonNull
+    @Override
+    public ForegroundInfo getForegroundInfo() {
+        NotificationHelper helper = new NotificationHelper(getApplicationContext());
+        return new ForegroundInfo(FOREGROUND_NOTIFICATION_ID, helper.buildRestoreNotification());
+    }
+}
@@ -12,6 +12,9 @@ public class CourseNotificationReceiver extends BroadcastReceiver {
     // Action pour les rappels planifiés
     private static final String ACTION_REMINDER = "com.example.studentagenda.ACTION_REMINDER";
 
+    // Action de l'alarme chaînée unique (mode ReminderSettings.Mode.CHAINED)
+    static final String ACTION_REMINDER_CHAIN = "com.example.studentagenda.ACTION_REMINDER_CHAIN";
+
     // Actions système
     private static final String ACTION_BOOT_COMPLETED = "android.intent.action.BOOT_COMPLETED";
     private static final String ACTION_QUICKBOOT_POWERON = "android.intent.action.QUICKBOOT_POWERON";
@@ -30,9 +33,17 @@ public class CourseNotificationReceiver extends BroadcastReceiver {
         if (ACTION_REMINDER.equals(action)) {
             handleCourseReminder(context, intent);
         }
-        // Gestion du redémarrage du système
-        else if (ACTION_BOOT_COMPLETED.equals(action) || ACTION_QUICKBOOT_POWERON.equals(action)) {
-            handleBootCompleted(context);
+        // Alarme chaînée : tous les rappels dus, puis le suivant est armé
+        else if (ACTION_REMINDER_CHAIN.equals(action)) {
+            PendingResult pendingResult = goAsync();
+            ReminderScheduler.getInstance(context).requestChainedFire(pendingResult::finish);
+        }
+        // Redémarrage, mise à jour de l'app, changement d'heure ou de fuseau : alarmes à restaurer
+        else if (ACTION_BOOT_COMPLETED.equals(action) || ACTION_QUICKBOOT_POWERON.equals(action)
+                || Intent.ACTION_MY_PACKAGE_REPLACED.equals(action)
+                || Intent.ACTION_TIME_CHANGED.equals(action)
+                || Intent.ACTION_TIMEZONE_CHANGED.equals(action)) {
+            handleRestore(context, action);
         }
         // Pour d'autres actions futures
         else {
@@ -74,17 +85,22 @@ public class CourseNotificationReceiver extends BroadcastReceiver {
 
             Log.i(TAG, "✅ Notification de rappel affichée pour: " + courseName);
 
+            // Réarmer ce cours pour la semaine suivante (seule son alarme a changé)
+            PendingResult pendingResult = goAsync();
+            ReminderScheduler.getInstance(context).requestSyncFromDatabase(pendingResult::finish);
+
         } catch (Exception e) {
             Log.e(TAG, "❌ Erreur lors du traitement du rappel", e);
         }
     }
 
-    //Gère le redémarrage du système
-
-    private void handleBootCompleted(Context context) {
-        Log.i(TAG, "🔄 Système redémarré - Prêt à replanifier les rappels");
+    //Gère le redémarrage du système (et les changements d'heure)
 
+    private void handleRestore(Context context, String action) {
+        Log.i(TAG, "🔄 Restauration des rappels demandée : " + action);
 
+        // Travail prioritaire : une lecture des cours puis une passe d'enregistrement des alarmes
+        BootRestoreWorker.enqueue(context, action);
     }
 
     // Méthode utilitaire pour créer un intent de rappel
@@ -0,0 +1,153 @@
+package com.example.studentagenda.notification;
+
+import com.example.studentagenda.data.CourseTime;
+import com.example.studentagenda.data.entity.Course;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+
+// Prochaine occurrence d'un cours hebdomadaire, à partir de son encodage en minute de la semaine
+// (0 = lundi 00:00). Le calcul courant se fait en arithmétique sur des long, avec un décalage
+// horaire mis en cache pour toute la période sans changement d'heure ; seuls les calculs qui
+// traversent un changement d'heure passent par java.time (et allouent).
+public final class CourseScheduleEngine {
+
+    public static final int MINUTES_PER_WEEK = 7 * CourseTime.MINUTES_PER_DAY;
+
+    private static final long MINUTE_MS = 60_000L;
+    private static final long DAY_MS = CourseTime.MINUTES_PER_DAY * MINUTE_MS;
+    private static final long WEEK_MS = MINUTES_PER_WEEK * MINUTE_MS;
+
+    // Le 1er janvier 1970 était un jeudi : jour 0 de l'époque = index 3 (lundi = 0)
+    private static final int EPOCH_DAY_OF_WEEK = 3;
+
+    private static volatile CourseScheduleEngine systemDefault;
+
+    private final ZoneId zone;
+    private final ZoneRules rules;
+    private volatile OffsetWindow window; // Dernière période à décalage constant utilisée
+
+    public CourseScheduleEngine(ZoneId zone) {
+        this.zone = zone;
+        this.rules = zone.getRules();
+        this.window = OffsetWindow.EMPTY;
+    }
+
+    // Moteur du fuseau courant de l'appareil (recréé si le fuseau a changé)
+    public static CourseScheduleEngine systemDefault() {
+        ZoneId zone = ZoneId.systemDefault();
+        CourseScheduleEngine engine = systemDefault;
+        if (engine == null || !engine.zone.equals(zone)) {
+            engine = new CourseScheduleEngine(zone);
+            systemDefault = engine;
+        }
+        return engine;
+    }
+
+    public ZoneId getZone() {
+        return zone;
+    }
+
+    // Jour (1 = lundi ... 7 = dimanche) et minute du jour -> minute de la semaine
+    public static int minuteOfWeek(int dayOfWeek, int minuteOfDay) {
+        int day = dayOfWeek >= 1 && dayOfWeek <= 7 ? dayOfWeek : 1; // Jour inconnu : lundi
+        return (day - 1) * CourseTime.MINUTES_PER_DAY + minuteOfDay;
+    }
+
+    public static int minuteOfWeek(Course course) {
+        return minuteOfWeek(course.getDayOfWeek(), course.getStartMinute());
+    }
+
+    // Premier instant (ms epoch) strictement après "afterMillis" où l'heure locale vaut minuteOfWeek.
+    // Heure inexistante (passage à l'heure d'été) : décalée de la durée du saut ;
+    // heure répétée (retour à l'heure d'hiver) : première des deux, sauf si elle est déjà passée.
+    public long nextOccurrence(int minuteOfWeek, long afterMillis) {
+        OffsetWindow current = windowFor(afterMillis);
+        long local = afterMillis + current.offsetMillis;
+
+        // Minute de la semaine de "afterMillis" en heure locale
+        long localMinuteStart = Math.floorDiv(local, MINUTE_MS) * MINUTE_MS;
+        long epochDay = Math.floorDiv(local, DAY_MS);
+        int dayIndex = (int) Math.floorMod(epochDay + EPOCH_DAY_OF_WEEK, 7L);
+        int minuteOfDay = (int) (Math.floorMod(local, DAY_MS) / MINUTE_MS);
+        int delta = minuteOfWeek - (dayIndex * CourseTime.MINUTES_PER_DAY + minuteOfDay);
+        if (delta <= 0) {
+            delta += MINUTES_PER_WEEK; // Déjà passée (ou en cours) cette semaine
+        }
+        long candidateLocal = localMinuteStart + delta * MINUTE_MS;
+
+        // Cas courant : aucun changement d'heure entre "afterMillis" et le résultat
+        long candidate = candidateLocal - current.offsetMillis;
+        if (candidate < current.endMillis) {
+            return candidate;
+        }
+        return resolveAcrossTransition(candidateLocal, afterMillis);
+    }
+
+    // Rappel "minutesBefore" minutes (durée réelle) avant la prochaine occurrence, strictement après "afterMillis"
+    public long nextReminder(int minuteOfWeek, int minutesBefore, long afterMillis) {
+        long lead = minutesBefore * MINUTE_MS;
+        return nextOccurrence(minuteOfWeek, afterMillis + lead) - lead;
+    }
+
+    // Chemin lent (rare) : heure locale -> instant avec les règles complètes du fuseau
+    private long resolveAcrossTransition(long candidateLocal, long afterMillis) {
+        while (true) {
+            LocalDateTime dateTime = LocalDateTime.ofEpochSecond(
+                    Math.floorDiv(candidateLocal, 1000L), 0, ZoneOffset.UTC);
+            ZonedDateTime zoned = ZonedDateTime.ofLocal(dateTime, zone, null);
+            long result = zoned.toInstant().toEpochMilli();
+            if (result <= afterMillis) {
+                // Heure répétée dont la première occurrence est passée : la seconde
+                result = zoned.withLaterOffsetAtOverlap().toInstant().toEpochMilli();
+            }
+            if (result > afterMillis) {
+                return result;
+            }
+            candidateLocal += WEEK_MS;
+        }
+    }
+
+    // Période à décalage constant contenant "millis" (recalculée seulement en dehors de la période en cache)
+    private OffsetWindow windowFor(long millis) {
+        OffsetWindow current = window;
+        if (millis >= current.startMillis && millis < current.endMillis) {
+            return current;
+        }
+        Instant instant = Instant.ofEpochMilli(millis);
+        ZoneOffset offset = rules.getOffset(instant);
+
+        long start = millis;
+        ZoneOffsetTransition previous = rules.previousTransition(instant);
+        if (previous == null) {
+            start = Long.MIN_VALUE;
+        } else if (previous.getOffsetAfter().equals(offset)) {
+            start = previous.toEpochSecond() * 1000L;
+        }
+        ZoneOffsetTransition next = rules.nextTransition(instant);
+        long end = next == null ? Long.MAX_VALUE : next.toEpochSecond() * 1000L;
+
+        current = new OffsetWindow(start, end, offset.getTotalSeconds() * 1000L);
+        window = current;
+        return current;
+    }
+
+    // [startMillis, endMillis) : intervalle où le fuseau a un décalage constant
+    private static final class OffsetWindow {
+        static final OffsetWindow EMPTY = new OffsetWindow(0, 0, 0);
+
+        final long startMillis;
+        final long endMillis;
+        final long offsetMillis;
+
+        OffsetWindow(long startMillis, long endMillis, long offsetMillis) {
+            this.startMillis = startMillis;
+            this.endMillis = endMillis;
+            this.offsetMillis = offsetMillis;
+        }
+    }
+}
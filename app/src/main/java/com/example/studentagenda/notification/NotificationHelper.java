@@ -113,87 +113,111 @@ public class NotificationHelper {
     private static final String TAG = "NotificationHelper";
     private static final String ACTION_REMINDER = "com.example.studentagenda.ACTION_REMINDER";
 
-     //Planifie une notification 15 minutes avant un cours
+    // Délai par défaut entre le rappel et le début du cours
+    public static final int DEFAULT_MINUTES_BEFORE = 15;
+
+    // Code de requête de l'alarme chaînée (les rappels par cours utilisent l'id du cours, >= 1)
+    private static final int CHAIN_REQUEST_CODE = 0;
+
+     //Planifie une notification X minutes avant la prochaine occurrence d'un cours
 
     public void scheduleReminder(Course course, int minutesBefore) {
         if (course == null || !course.isNotificationEnabled()) {
             return;
         }
+        scheduleReminderAt(course, nextReminderTime(course, minutesBefore, System.currentTimeMillis()));
+    }
 
-        try {
-            // Convertir l'heure du cours en timestamp
-            long courseTime = getCourseTimestamp(course);
-            if (courseTime <= 0) {
-                android.util.Log.e(TAG, "Impossible de calculer l'heure du cours");
-                return;
-            }
+        //Prochaine heure de rappel strictement après "now" (cf. CourseScheduleEngine, fuseau de l'appareil)
 
-            // Soustraire X minutes
-            long reminderTime = courseTime - (minutesBefore * 60 * 1000L);
+    public long nextReminderTime(Course course, int minutesBefore, long now) {
+        return CourseScheduleEngine.systemDefault()
+                .nextReminder(CourseScheduleEngine.minuteOfWeek(course), minutesBefore, now);
+    }
 
-            // Vérifier si le rappel est dans le futur
-            long now = System.currentTimeMillis();
-            if (reminderTime <= now) {
-                android.util.Log.w(TAG, "Le cours est déjà passé ou dans moins de " + minutesBefore + " minutes");
-                return;
-            }
+        //Enregistre l'alarme du rappel d'un cours à l'heure donnée
 
+    public void scheduleReminderAt(Course course, long reminderTime) {
+        try {
             // Créer l'intent pour le rappel
-            Intent reminderIntent = new Intent(context, CourseNotificationReceiver.class);
-            reminderIntent.setAction(ACTION_REMINDER);
-            reminderIntent.putExtra("course_id", course.getId());
-            reminderIntent.putExtra("course_name", course.getName());
-            reminderIntent.putExtra("course_professor", course.getProfessor());
-            reminderIntent.putExtra("course_room", course.getRoom());
-            reminderIntent.putExtra("course_time", course.getStartTime());
+            Intent reminderIntent = CourseNotificationReceiver.createReminderIntent(context, course);
 
             // Utiliser l'ID du cours pour avoir un PendingIntent unique
             int requestCode = (int) course.getId();
 
-            int flags = PendingIntent.FLAG_UPDATE_CURRENT;
-            if (android.os.Build.VERSION.SDK_INT >= android.os.Build.VERSION_CODES.S) {
-                flags |= PendingIntent.FLAG_MUTABLE;
-            }
-
             PendingIntent pendingIntent = PendingIntent.getBroadcast(
                     context,
                     requestCode,
                     reminderIntent,
-                    flags
+                    reminderFlags(PendingIntent.FLAG_UPDATE_CURRENT)
             );
 
-            // Planifier avec AlarmManager
-            android.app.AlarmManager alarmManager = (android.app.AlarmManager) context.getSystemService(Context.ALARM_SERVICE);
-
-            if (alarmManager != null) {
-                if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.M) {
-                    alarmManager.setExactAndAllowWhileIdle(
-                            android.app.AlarmManager.RTC_WAKEUP,
-                            reminderTime,
-                            pendingIntent
-                    );
-                } else if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.KITKAT) {
-                    alarmManager.setExact(
-                            android.app.AlarmManager.RTC_WAKEUP,
-                            reminderTime,
-                            pendingIntent
-                    );
-                } else {
-                    alarmManager.set(
-                            android.app.AlarmManager.RTC_WAKEUP,
-                            reminderTime,
-                            pendingIntent
-                    );
-                }
-
-                android.util.Log.d(TAG, "Rappel planifié pour: " + new java.util.Date(reminderTime));
-            }
+            setExactAlarm(reminderTime, pendingIntent);
+            android.util.Log.d(TAG, "Rappel planifié pour: " + new java.util.Date(reminderTime));
 
         } catch (Exception e) {
             android.util.Log.e(TAG, "Erreur lors de la planification du rappel", e);
         }
     }
 
+        //Vrai si le PendingIntent du rappel existe encore (perdu après un redémarrage ou un arrêt forcé)
+
+    public boolean isReminderRegistered(long courseId) {
+        Intent reminderIntent = new Intent(context, CourseNotificationReceiver.class);
+        reminderIntent.setAction(ACTION_REMINDER);
+        return PendingIntent.getBroadcast(context, (int) courseId, reminderIntent,
+                reminderFlags(PendingIntent.FLAG_NO_CREATE)) != null;
+    }
+
+        //Alarme chaînée unique : réveille le receiver au prochain rappel, quel que soit le cours
+
+    public void scheduleChainAlarmAt(long triggerTime) {
+        try {
+            PendingIntent pendingIntent = PendingIntent.getBroadcast(context, CHAIN_REQUEST_CODE,
+                    createChainIntent(), reminderFlags(PendingIntent.FLAG_UPDATE_CURRENT));
+            setExactAlarm(triggerTime, pendingIntent);
+            android.util.Log.d(TAG, "Alarme chaînée armée pour: " + new java.util.Date(triggerTime));
+        } catch (Exception e) {
+            android.util.Log.e(TAG, "Erreur lors de la planification de l'alarme chaînée", e);
+        }
+    }
+
+    public void cancelChainAlarm() {
+        PendingIntent pendingIntent = PendingIntent.getBroadcast(context, CHAIN_REQUEST_CODE,
+                createChainIntent(), reminderFlags(PendingIntent.FLAG_NO_CREATE));
+        android.app.AlarmManager alarmManager = (android.app.AlarmManager) context.getSystemService(Context.ALARM_SERVICE);
+        if (pendingIntent != null && alarmManager != null) {
+            alarmManager.cancel(pendingIntent);
+            pendingIntent.cancel();
+        }
+    }
+
+    public boolean isChainAlarmRegistered() {
+        return PendingIntent.getBroadcast(context, CHAIN_REQUEST_CODE, createChainIntent(),
+                reminderFlags(PendingIntent.FLAG_NO_CREATE)) != null;
+    }
+
+    private Intent createChainIntent() {
+        Intent intent = new Intent(context, CourseNotificationReceiver.class);
+        intent.setAction(CourseNotificationReceiver.ACTION_REMINDER_CHAIN);
+        return intent;
+    }
+
+    // Alarme exacte, même en mode Doze
+    private void setExactAlarm(long triggerTime, PendingIntent pendingIntent) {
+        android.app.AlarmManager alarmManager = (android.app.AlarmManager) context.getSystemService(Context.ALARM_SERVICE);
+        if (alarmManager != null) {
+            alarmManager.setExactAndAllowWhileIdle(android.app.AlarmManager.RTC_WAKEUP, triggerTime, pendingIntent);
+        }
+    }
+
+    private static int reminderFlags(int flags) {
+        if (android.os.Build.VERSION.SDK_INT >= android.os.Build.VERSION_CODES.S) {
+            flags |= PendingIntent.FLAG_MUTABLE;
+        }
+        return flags;
+    }
+
 
         //Annule un rappel planifié
 
@@ -204,16 +228,11 @@ public class NotificationHelper {
 
             int requestCode = (int) courseId;
 
-            int flags = PendingIntent.FLAG_UPDATE_CURRENT;
-            if (android.os.Build.VERSION.SDK_INT >= android.os.Build.VERSION_CODES.S) {
-                flags |= PendingIntent.FLAG_MUTABLE;
-            }
-
             PendingIntent pendingIntent = PendingIntent.getBroadcast(
                     context,
                     requestCode,
                     reminderIntent,
-                    flags
+                    reminderFlags(PendingIntent.FLAG_UPDATE_CURRENT)
             );
 
             android.app.AlarmManager alarmManager = (android.app.AlarmManager) context.getSystemService(Context.ALARM_SERVICE);
@@ -227,79 +246,6 @@ public class NotificationHelper {
     }
 
 
-        //Convertit l'heure du cours en timestamp
-
-    private long getCourseTimestamp(Course course) {
-        try {
-            // Obtenir la date actuelle
-            java.util.Calendar calendar = java.util.Calendar.getInstance();
-
-            // Convertir le jour de la semaine (1=Lundi) en constante Calendar
-            int targetDayOfWeek = convertToCalendarDay(course.getDayOfWeek());
-            int currentDayOfWeek = calendar.get(java.util.Calendar.DAY_OF_WEEK);
-
-            // Calculer le décalage en jours
-            int daysToAdd = targetDayOfWeek - currentDayOfWeek;
-            if (daysToAdd < 0) {
-                daysToAdd += 7; // Semaine suivante
-            }
-
-            // Ajouter les jours
-            calendar.add(java.util.Calendar.DAY_OF_YEAR, daysToAdd);
-
-            // Parser l'heure du cours
-            String[] timeParts = course.getStartTime().split(":");
-            if (timeParts.length >= 2) {
-                int hour = Integer.parseInt(timeParts[0]);
-                int minute = Integer.parseInt(timeParts[1]);
-
-                calendar.set(java.util.Calendar.HOUR_OF_DAY, hour);
-                calendar.set(java.util.Calendar.MINUTE, minute);
-                calendar.set(java.util.Calendar.SECOND, 0);
-                calendar.set(java.util.Calendar.MILLISECOND, 0);
-
-                return calendar.getTimeInMillis();
-            }
-        } catch (Exception e) {
-            android.util.Log.e(TAG, "Erreur de parsing de l'heure", e);
-        }
-        return 0;
-    }
-
-
-      //Convertit votre jour (1=Lundi) en constante Calendar
-
-    private int convertToCalendarDay(int yourDayOfWeek) {
-        switch (yourDayOfWeek) {
-            case 1: return java.util.Calendar.MONDAY;
-            case 2: return java.util.Calendar.TUESDAY;
-            case 3: return java.util.Calendar.WEDNESDAY;
-            case 4: return java.util.Calendar.THURSDAY;
-            case 5: return java.util.Calendar.FRIDAY;
-            case 6: return java.util.Calendar.SATURDAY;
-            case 7: return java.util.Calendar.SUNDAY;
-            default: return java.util.Calendar.MONDAY;
-        }
-    }
-
-
-         //Replanifie tous les rappels
-
-    public void rescheduleAllReminders(java.util.List<Course> courses) {
-        if (courses == null || courses.isEmpty()) {
-            return;
-        }
-
-        // Replanifier seulement les cours avec notifications activées
-        for (Course course : courses) {
-            cancelScheduledReminder(course.getId());
-            if (course.isNotificationEnabled()) {
-                scheduleReminder(course, 15); // 15 minutes avant
-            }
-        }
-    }
-
-
               //   Affiche une notification de rappel
 
     public void showReminderNotification(Course course) {
@@ -357,6 +303,18 @@ public class NotificationHelper {
                 .setVisibility(NotificationCompat.VISIBILITY_PUBLIC);
     }
 
+    //Notification discrète affichée pendant la restauration des rappels (BootRestoreWorker)
+
+    public android.app.Notification buildRestoreNotification() {
+        return new NotificationCompat.Builder(context, CHANNEL_ID)
+                .setSmallIcon(R.drawable.ic_school)
+                .setContentTitle("Restauration des rappels")
+                .setPriority(NotificationCompat.PRIORITY_LOW)
+                .setSilent(true)
+                .setOngoing(true)
+                .build();
+    }
+
     //Test de notification planifiée
 
     public void scheduleTestReminder() {
@@ -365,20 +323,21 @@ public class NotificationHelper {
         testCourse.setName("TEST Planifié");
         testCourse.setProfessor("Professeur Test");
         testCourse.setRoom("Salle Test");
-        testCourse.setStartTime(getTimeIn1Minute());
+        testCourse.setStartTime(getTimeIn2Minutes());
         testCourse.setDayOfWeek(getCurrentDayOfWeek());
         testCourse.setNotificationEnabled(true);
+        testCourse.refreshDerivedFields(); // Calcule startMinute
 
-        // Planifier notification dans 1 minute
+        // Planifier notification dans 1 minute (1 minute avant un cours qui commence dans 2)
         scheduleReminder(testCourse, 1);
     }
 
     /**
      * Méthodes auxiliaires pour les tests
      */
-    private String getTimeIn1Minute() {
+    private String getTimeIn2Minutes() {
         java.util.Calendar calendar = java.util.Calendar.getInstance();
-        calendar.add(java.util.Calendar.MINUTE, 1);
+        calendar.add(java.util.Calendar.MINUTE, 2);
         return String.format("%02d:%02d",
                 calendar.get(java.util.Calendar.HOUR_OF_DAY),
                 calendar.get(java.util.Calendar.MINUTE));
@@ -0,0 +1,59 @@
+package com.example.studentagenda.notification;
+
+import com.example.studentagenda.data.entity.Course;
+import com.example.studentagenda.data.entity.ReminderSchedule;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+// Différence entre les rappels voulus et ceux déjà enregistrés auprès d'AlarmManager
+public final class ReminderDiff {
+
+    private final List<ReminderSchedule> toSchedule; // Nouveaux ou modifiés (heure ou contenu)
+    private final List<Long> toCancel;               // Cours supprimés ou rappel désactivé
+    private final int unchanged;                     // Alarmes laissées telles quelles
+
+    private ReminderDiff(List<ReminderSchedule> toSchedule, List<Long> toCancel, int unchanged) {
+        this.toSchedule = toSchedule;
+        this.toCancel = toCancel;
+        this.unchanged = unchanged;
+    }
+
+    public static ReminderDiff compute(List<ReminderSchedule> desired, List<ReminderSchedule> registered) {
+        Map<Long, ReminderSchedule> current = new HashMap<>(registered.size() * 2);
+        for (ReminderSchedule entry : registered) {
+            current.put(entry.getCourseId(), entry);
+        }
+
+        List<ReminderSchedule> toSchedule = new ArrayList<>();
+        int unchanged = 0;
+        for (ReminderSchedule wanted : desired) {
+            ReminderSchedule existing = current.remove(wanted.getCourseId());
+            if (wanted.sameAs(existing)) {
+                unchanged++;
+            } else {
+                toSchedule.add(wanted);
+            }
+        }
+
+        // Tout ce qui reste dans le registre n'est plus voulu
+        return new ReminderDiff(toSchedule, new ArrayList<>(current.keySet()), unchanged);
+    }
+
+    // Empreinte des champs transmis dans l'intent du rappel (String.hashCode est stable)
+    public static int contentHash(Course course) {
+        return Objects.hash(course.getName(), course.getProfessor(), course.getRoom(), course.getStartTime());
+    }
+
+    public List<ReminderSchedule> getToSchedule() { return toSchedule; }
+
+    public List<Long> getToCancel() { return toCancel; }
+
+    public int getUnchanged() { return unchanged; }
+
+    public boolean isEmpty() {
+        return toSchedule.isEmpty() && toCancel.isEmpty();
+    }
+}
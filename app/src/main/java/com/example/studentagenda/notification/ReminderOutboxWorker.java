@@ -0,0 +1,64 @@
+package com.example.studentagenda.notification;
+
+import android.content.Context;
+import android.util.Log;
+import androidx.annotation.NonNull;
+import androidx.work.ExistingWorkPolicy;
+import androidx.work.OneTimeWorkRequest;
+import androidx.work.WorkManager;
+import androidx.work.Worker;
+import androidx.work.WorkerParameters;
+import com.example.studentagenda.data.CourseDatabase;
+import com.example.studentagenda.data.ReminderOutboxDao;
+import com.example.studentagenda.data.ReminderScheduleDao;
+import com.example.studentagenda.data.entity.ReminderOutbox;
+import java.util.List;
+
+// Vide l'outbox des rappels : toutes les demandes en attente sont regroupées en une seule
+// synchronisation (ReminderScheduler), limitée à leurs cours, puis retirées d'un coup
+public class ReminderOutboxWorker extends Worker {
+
+    private static final String TAG = "ReminderOutboxWorker";
+    private static final String UNIQUE_NAME = "reminder_outbox";
+
+    public ReminderOutboxWorker(@NonNull Context context, @NonNull WorkerParameters params) {
+        super(context, params);
+    }
+
+    // APPEND_OR_REPLACE : une demande arrivée pendant un vidage est traitée par le travail suivant
+    public static void enqueue(Context context) {
+        WorkManager.getInstance(context).enqueueUniqueWork(UNIQUE_NAME,
+                ExistingWorkPolicy.APPEND_OR_REPLACE,
+                new OneTimeWorkRequest.Builder(ReminderOutboxWorker.class).build());
+    }
+
+    @NonNull
+    @Override
+    public Result doWork() {
+        CourseDatabase database = CourseDatabase.getInstance(getApplicationContext());
+        ReminderOutboxDao outboxDao = database.reminderOutboxDao();
+        ReminderScheduler scheduler = ReminderScheduler.getInstance(getApplicationContext());
+        try {
+            Long maxId;
+            while ((maxId = outboxDao.getMaxId()) != null) {
+                Long oldest = outboxDao.getOldestEnqueuedAt(maxId);
+                // Cours relus après la lecture de maxId : ils incluent toutes les écritures traitées.
+                // Seuls les cours nommés par l'outbox sont resynchronisés, sauf demande globale
+                List<Long> courseIds = outboxDao.getCourseIdsUpTo(maxId);
+                ReminderDiff diff = courseIds.contains(ReminderOutbox.ALL_COURSES)
+                        || courseIds.size() > ReminderScheduleDao.BATCH_SIZE
+                        ? scheduler.syncFromDatabaseBlocking()
+                        : scheduler.syncCoursesBlocking(courseIds);
+                int drained = outboxDao.deleteUpTo(maxId);
+
+                Log.d(TAG, drained + " demande(s) regroupée(s) en une synchronisation ("
+                        + diff.getToSchedule().size() + " planifiés, " + diff.getToCancel().size() + " annulés), "
+                        + "attente max " + (oldest != null ? System.currentTimeMillis() - oldest : 0) + " ms");
+            }
+            return Result.success();
+        } catch (Exception e) {
+            Log.e(TAG, "Échec du traitement de l'outbox", e);
+            return Result.retry(); // Les demandes restent en base
+        }
+    }
+}
@@ -0,0 +1,335 @@
+package com.example.studentagenda.notification;
+
+import android.content.Context;
+import android.util.Log;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.WorkerThread;
+import androidx.room.InvalidationTracker;
+import com.example.studentagenda.data.CourseDatabase;
+import com.example.studentagenda.data.ReminderScheduleDao;
+import com.example.studentagenda.data.entity.Course;
+import com.example.studentagenda.data.entity.ReminderSchedule;
+import com.example.studentagenda.data.entity.ReminderSlot;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// Synchronise les alarmes de rappel avec les cours : seules les alarmes dont l'heure ou le contenu
+// a changé sont touchées, grâce au registre reminder_schedule de ce qui est déjà enregistré.
+// En mode CHAINED, le registre ne contient qu'une ligne (CHAIN_ID) : l'alarme du prochain rappel.
+public class ReminderScheduler {
+
+    private static final String TAG = "ReminderScheduler";
+
+    // Ligne du registre réservée à l'alarme chaînée (les ids de cours commencent à 1)
+    static final long CHAIN_ID = -1;
+
+    // Rappels affichés par un déclenchement : ceux dus jusqu'à une minute après l'alarme
+    static final long FIRE_WINDOW_MS = 60_000;
+
+    // Au-delà, un rappel manqué (téléphone éteint...) n'est plus affiché
+    static final long MAX_LATE_MS = 10 * 60_000;
+
+    private static volatile ReminderScheduler INSTANCE;
+
+    private final CourseDatabase database;
+    private final ReminderScheduleDao scheduleDao;
+    private final NotificationHelper notificationHelper;
+    private final ReminderSettings settings;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(); // Synchronisations en série
+
+    private ReminderScheduler(Context context) {
+        Context appContext = context.getApplicationContext();
+        this.database = CourseDatabase.getInstance(appContext);
+        this.scheduleDao = database.reminderScheduleDao();
+        this.notificationHelper = new NotificationHelper(appContext);
+        this.settings = new ReminderSettings(appContext);
+
+        // Toute écriture dans l'outbox (cours enregistré ou supprimé) déclenche son vidage
+        database.getInvalidationTracker().addObserver(new InvalidationTracker.Observer(new String[]{"reminder_outbox"}) {
+            @Override
+            public void onInvalidated(@NonNull Set<String> tables) {
+                if (database.reminderOutboxDao().count() > 0) { // Pas pour le vidage lui-même
+                    ReminderOutboxWorker.enqueue(appContext);
+                }
+            }
+        });
+        // Demandes restées en attente (processus tué avant leur traitement)
+        executor.execute(() -> {
+            if (database.reminderOutboxDao().count() > 0) {
+                ReminderOutboxWorker.enqueue(appContext);
+            }
+        });
+    }
+
+    public static ReminderScheduler getInstance(Context context) {
+        if (INSTANCE == null) {
+            synchronized (ReminderScheduler.class) {
+                if (INSTANCE == null) {
+                    INSTANCE = new ReminderScheduler(context);
+                }
+            }
+        }
+        return INSTANCE;
+    }
+
+    // Synchronise à partir d'une liste déjà chargée (observateur de la liste des cours)
+    public void requestSync(List<Course> courses) {
+        final List<Course> snapshot = new ArrayList<>(courses);
+        executor.execute(() -> sync(snapshot));
+    }
+
+    // Relit les cours en base puis synchronise ; onDone est appelé sur le thread du planificateur
+    public void requestSyncFromDatabase(@Nullable Runnable onDone) {
+        executor.execute(() -> {
+            try {
+                syncFromDatabase();
+            } finally {
+                if (onDone != null) {
+                    onDone.run();
+                }
+            }
+        });
+    }
+
+    // Changement de mode : la synchronisation remplace les alarmes de l'ancien mode
+    public void setMode(ReminderSettings.Mode mode) {
+        executor.execute(() -> {
+            if (mode == ReminderSettings.Mode.CHAINED && settings.getMode() != mode) {
+                settings.setChainWatermark(System.currentTimeMillis()); // Rien à rattraper
+            }
+            settings.setMode(mode);
+            syncFromDatabase();
+        });
+    }
+
+    public ReminderSettings.Mode getMode() {
+        return settings.getMode();
+    }
+
+    // Synchronisation bloquante pour les workers (exécutée sur le thread du planificateur)
+    @WorkerThread
+    public ReminderDiff syncBlocking(List<Course> courses) throws ExecutionException, InterruptedException {
+        return executor.submit(() -> sync(courses)).get();
+    }
+
+    // Idem, les cours étant relus en base sur le thread du planificateur
+    @WorkerThread
+    public ReminderDiff syncFromDatabaseBlocking() throws ExecutionException, InterruptedException {
+        return executor.submit(this::syncFromDatabase).get();
+    }
+
+    // Synchronisation limitée aux cours donnés (outbox) : seules leurs lignes du registre sont lues
+    @WorkerThread
+    public ReminderDiff syncCoursesBlocking(List<Long> courseIds) throws ExecutionException, InterruptedException {
+        return executor.submit(() -> syncCourses(courseIds)).get();
+    }
+
+    // Oublie le registre puis réenregistre toutes les alarmes (BootRestoreWorker) ;
+    // exécuté sur le thread du planificateur, l'appelant attend le résultat
+    @WorkerThread
+    public ReminderDiff fullResyncBlocking(List<Course> courses) throws ExecutionException, InterruptedException {
+        return executor.submit(() -> fullResync(courses)).get();
+    }
+
+    private ReminderDiff fullResync(List<Course> courses) {
+        long now = System.currentTimeMillis();
+        if (settings.getChainWatermark() > now + FIRE_WINDOW_MS) {
+            settings.setChainWatermark(now); // Horloge reculée : ne pas sauter les rappels à venir
+        }
+        scheduleDao.clear();
+        return sync(courses);
+    }
+
+    // Déclenchement de l'alarme chaînée : affiche les rappels dus puis arme le suivant
+    public void requestChainedFire(@Nullable Runnable onDone) {
+        executor.execute(() -> {
+            try {
+                // Heures lues sur l'index seul ; les cours complets ne sont chargés que pour les rappels dus
+                List<Long> due = collectDueChained(database.courseDao().getReminderSlots(), System.currentTimeMillis());
+                if (!due.isEmpty()) {
+                    for (Course course : database.courseDao().getCoursesByIds(due)) {
+                        notificationHelper.showReminderNotification(course);
+                    }
+                }
+                syncFromDatabase();
+            } finally {
+                if (onDone != null) {
+                    onDone.run();
+                }
+            }
+        });
+    }
+
+    // Ids des cours dont le rappel tombe après le dernier rappel affiché et avant now + FIRE_WINDOW_MS
+    @WorkerThread
+    List<Long> collectDueChained(List<ReminderSlot> slots, long now) {
+        long watermark = settings.getChainWatermark();
+        long from = Math.max(watermark, now - MAX_LATE_MS);
+        long to = now + FIRE_WINDOW_MS;
+        CourseScheduleEngine engine = CourseScheduleEngine.systemDefault();
+        List<Long> due = new ArrayList<>();
+        long lastDelivered = watermark;
+        for (ReminderSlot slot : slots) {
+            long fireAt = engine.nextReminder(
+                    CourseScheduleEngine.minuteOfWeek(slot.getDayOfWeek(), slot.getStartMinute()),
+                    NotificationHelper.DEFAULT_MINUTES_BEFORE, from);
+            if (fireAt > 0 && fireAt <= to) {
+                due.add(slot.getId());
+                lastDelivered = Math.max(lastDelivered, fireAt);
+            }
+        }
+        // Seuls les rappels affichés sont écartés : un cours ajouté depuis, dont le rappel tombe
+        // encore dans la fenêtre, reste dû au prochain passage
+        if (lastDelivered != watermark) {
+            settings.setChainWatermark(lastDelivered);
+        }
+        Log.d(TAG, "Alarme chaînée : " + due.size() + " rappel(s) affiché(s)");
+        return due;
+    }
+
+    // Lit en base le strict nécessaire : les heures (index seul) en mode chaîné,
+    // les cours au rappel activé en mode exact (contenu des alarmes)
+    @WorkerThread
+    private ReminderDiff syncFromDatabase() {
+        if (settings.getMode() == ReminderSettings.Mode.CHAINED) {
+            return syncChained(database.courseDao().getReminderSlots());
+        }
+        return sync(database.courseDao().getReminderCourses());
+    }
+
+    @WorkerThread
+    public ReminderDiff sync(List<Course> courses) {
+        if (settings.getMode() == ReminderSettings.Mode.CHAINED) {
+            List<ReminderSlot> slots = new ArrayList<>();
+            for (Course course : courses) {
+                if (course.isNotificationEnabled()) {
+                    slots.add(new ReminderSlot(course.getId(), course.getDayOfWeek(), course.getStartMinute()));
+                }
+            }
+            return syncChained(slots);
+        }
+
+        long now = System.currentTimeMillis();
+        Map<Long, Course> coursesById = new HashMap<>();
+        return apply(desiredSchedules(courses, coursesById, now), coursesById, now);
+    }
+
+    // Mode exact, cours modifiés ou supprimés seulement ; les alarmes des autres cours ne sont pas relues
+    @WorkerThread
+    private ReminderDiff syncCourses(List<Long> courseIds) {
+        if (settings.getMode() == ReminderSettings.Mode.CHAINED) {
+            return syncFromDatabase(); // L'alarme unique dépend de tous les cours
+        }
+        long now = System.currentTimeMillis();
+        List<ReminderSchedule> registered = scheduleDao.getByCourseIds(courseIds);
+        if (alarmsLost(registered, now)) {
+            return syncFromDatabase(); // Registre entier à réinitialiser
+        }
+        Map<Long, Course> coursesById = new HashMap<>();
+        List<ReminderSchedule> desired = desiredSchedules(database.courseDao().getCoursesByIds(courseIds),
+                coursesById, now);
+        // Un cours supprimé n'est plus relu : sa ligne du registre reste seule, donc annulée
+        return applyDiff(ReminderDiff.compute(desired, registered), coursesById);
+    }
+
+    // État voulu : un rappel par cours actif, à sa prochaine occurrence (coursesById est rempli au passage)
+    private static List<ReminderSchedule> desiredSchedules(List<Course> courses, Map<Long, Course> coursesById,
+                                                           long now) {
+        List<ReminderSchedule> desired = new ArrayList<>();
+        CourseScheduleEngine engine = CourseScheduleEngine.systemDefault(); // Fuseau lu une fois par passe
+        for (Course course : courses) {
+            if (!course.isNotificationEnabled()) {
+                continue;
+            }
+            long fireAt = engine.nextReminder(CourseScheduleEngine.minuteOfWeek(course),
+                    NotificationHelper.DEFAULT_MINUTES_BEFORE, now);
+            if (fireAt > 0) {
+                coursesById.put(course.getId(), course);
+                desired.add(new ReminderSchedule(course.getId(), fireAt, ReminderDiff.contentHash(course)));
+            }
+        }
+        return desired;
+    }
+
+    // Mode chaîné : une seule alarme, celle du rappel le plus proche (seules les heures comptent)
+    @WorkerThread
+    private ReminderDiff syncChained(List<ReminderSlot> slots) {
+        long now = System.currentTimeMillis();
+        // Rien avant le dernier rappel affiché
+        long after = Math.max(now, settings.getChainWatermark());
+        long earliest = Long.MAX_VALUE;
+        CourseScheduleEngine engine = CourseScheduleEngine.systemDefault();
+        for (ReminderSlot slot : slots) {
+            long fireAt = engine.nextReminder(
+                    CourseScheduleEngine.minuteOfWeek(slot.getDayOfWeek(), slot.getStartMinute()),
+                    NotificationHelper.DEFAULT_MINUTES_BEFORE, after);
+            if (fireAt > 0) {
+                earliest = Math.min(earliest, fireAt);
+            }
+        }
+        List<ReminderSchedule> desired = new ArrayList<>(1);
+        if (earliest != Long.MAX_VALUE) {
+            desired.add(new ReminderSchedule(CHAIN_ID, earliest, 0));
+        }
+        return apply(desired, Collections.emptyMap(), now);
+    }
+
+    // Compare l'état voulu au registre puis ne touche qu'aux alarmes qui diffèrent
+    @WorkerThread
+    private ReminderDiff apply(List<ReminderSchedule> desired, Map<Long, Course> coursesById, long now) {
+        List<ReminderSchedule> registered = scheduleDao.getAll();
+        if (alarmsLost(registered, now)) {
+            Log.i(TAG, "Alarmes perdues (redémarrage ou arrêt forcé) : registre réinitialisé");
+            scheduleDao.clear();
+            registered = new ArrayList<>();
+        }
+        return applyDiff(ReminderDiff.compute(desired, registered), coursesById);
+    }
+
+    // Annule et planifie les alarmes du diff, puis reporte le résultat dans le registre
+    @WorkerThread
+    private ReminderDiff applyDiff(ReminderDiff diff, Map<Long, Course> coursesById) {
+        for (Long courseId : diff.getToCancel()) {
+            if (courseId == CHAIN_ID) {
+                notificationHelper.cancelChainAlarm();
+            } else {
+                notificationHelper.cancelScheduledReminder(courseId);
+            }
+        }
+        for (ReminderSchedule entry : diff.getToSchedule()) {
+            if (entry.getCourseId() == CHAIN_ID) {
+                notificationHelper.scheduleChainAlarmAt(entry.getFireAt());
+            } else {
+                notificationHelper.scheduleReminderAt(coursesById.get(entry.getCourseId()), entry.getFireAt());
+            }
+        }
+        if (!diff.isEmpty()) {
+            scheduleDao.apply(diff.getToSchedule(), diff.getToCancel());
+        }
+
+        Log.d(TAG, "Synchronisation : " + diff.getToSchedule().size() + " planifiés, "
+                + diff.getToCancel().size() + " annulés, " + diff.getUnchanged() + " inchangés");
+        return diff;
+    }
+
+    // Le registre annonce une alarme à venir dont le PendingIntent n'existe plus :
+    // le système a tout effacé, le registre ne décrit plus la réalité
+    private boolean alarmsLost(List<ReminderSchedule> registered, long now) {
+        for (ReminderSchedule entry : registered) {
+            if (entry.getFireAt() > now) {
+                return entry.getCourseId() == CHAIN_ID
+                        ? !notificationHelper.isChainAlarmRegistered()
+                        : !notificationHelper.isReminderRegistered(entry.getCourseId());
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.studentagenda.notification;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+
+// Préférences du moteur de rappels (mode de planification, progression de l'alarme chaînée)
+public class ReminderSettings {
+
+    private static final String PREFS_NAME = "reminder_settings";
+    private static final String KEY_MODE = "reminder_mode";
+    private static final String KEY_CHAIN_WATERMARK = "chain_watermark";
+
+    // Façon d'enregistrer les rappels auprès d'AlarmManager
+    public enum Mode {
+        PER_COURSE, // Une alarme exacte par cours
+        CHAINED     // Une seule alarme pour le prochain rappel, réarmée à chaque déclenchement
+    }
+
+    private final SharedPreferences preferences;
+
+    public ReminderSettings(Context context) {
+        this.preferences = context.getApplicationContext()
+                .getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+    }
+
+    public Mode getMode() {
+        String value = preferences.getString(KEY_MODE, Mode.PER_COURSE.name());
+        try {
+            return Mode.valueOf(value);
+        } catch (IllegalArgumentException e) {
+            return Mode.PER_COURSE; // Valeur inconnue (ancienne version)
+        }
+    }
+
+    public void setMode(Mode mode) {
+        preferences.edit().putString(KEY_MODE, mode.name()).apply();
+    }
+
+    // Fin de la dernière fenêtre traitée par l'alarme chaînée : les rappels antérieurs sont déjà affichés
+    public long getChainWatermark() {
+        return preferences.getLong(KEY_CHAIN_WATERMARK, 0);
+    }
+
+    public void setChainWatermark(long time) {
+        preferences.edit().putLong(KEY_CHAIN_WATERMARK, time).apply();
+    }
+}
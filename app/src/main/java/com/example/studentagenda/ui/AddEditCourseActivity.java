@@ -3,20 +3,23 @@ package com.example.studentagenda.ui;
 // Import des classes nécessaires pour l'activité, les vues, le TimePicker et le ViewModel
 
 import com.example.studentagenda.notification.NotificationHelper;
+import com.example.studentagenda.notification.ReminderScheduler;
 
 import android.app.TimePickerDialog;
 import android.os.Bundle;
+import android.view.View;
 import android.widget.*;
-import androidx.annotation.NonNull;
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.lifecycle.ViewModelProvider;
-import com.example.studentagenda.data.CourseDatabase;
+import com.example.studentagenda.data.CourseTime;
 import com.example.studentagenda.data.entity.Course;
+import com.example.studentagenda.data.entity.CourseInterval;
 import com.example.studentagenda.databinding.ActivityAddEditCourseBinding;
 import com.example.studentagenda.ui.viewmodel.CourseViewModel;
-import java.text.ParseException;
+import com.example.studentagenda.ui.viewmodel.CourseViewModelFactory;
 import java.text.SimpleDateFormat;
 import java.util.Calendar;
+import java.util.List;
 import java.util.Locale;
 import java.util.Objects;
 
@@ -60,14 +63,11 @@ public class AddEditCourseActivity extends AppCompatActivity {
 
     // Méthode pour initialiser le ViewModel
     private void initializeViewModel() {
-        CourseDatabase database = CourseDatabase.getInstance(this); // Obtenir l'instance de la DB
-        viewModel = new ViewModelProvider(this, new ViewModelProvider.Factory() {
-            @NonNull
-            @Override
-            public <T extends androidx.lifecycle.ViewModel> T create(@NonNull Class<T> modelClass) {
-                return (T) new CourseViewModel(database.courseDao()); // Création du ViewModel avec le DAO
-            }
-        }).get(CourseViewModel.class);
+        // ViewModel branché sur le CourseRepository partagé
+        viewModel = new ViewModelProvider(this, new CourseViewModelFactory(this)).get(CourseViewModel.class);
+
+        // Vidage de l'outbox des rappels dès qu'un cours est enregistré
+        ReminderScheduler.getInstance(this);
     }
 
     // Méthode pour configurer les composants UI
@@ -75,6 +75,49 @@ public class AddEditCourseActivity extends AppCompatActivity {
         setupSpinners();      // Configuration des spinners pour type et jour
         setupTimePickers();   // Configuration des TimePickers
         setupClickListeners();// Configuration des boutons
+        setupConflictWarning(); // Avertissement en cas de chevauchement
+    }
+
+    // Vérifie les conflits à chaque changement de jour (les heures passent par showTimePicker)
+    private void setupConflictWarning() {
+        binding.spinnerDay.setOnItemSelectedListener(new AdapterView.OnItemSelectedListener() {
+            @Override
+            public void onItemSelected(AdapterView<?> parent, View view, int position, long id) {
+                checkConflicts();
+            }
+
+            @Override
+            public void onNothingSelected(AdapterView<?> parent) { }
+        });
+    }
+
+    // Cherche les cours du même jour qui chevauchent le créneau saisi
+    private void checkConflicts() {
+        int day = binding.spinnerDay.getSelectedItemPosition() + 1;
+        String startTime = binding.etStartTime.getText().toString().trim();
+        String endTime = binding.etEndTime.getText().toString().trim();
+        viewModel.checkConflicts(day, startTime, endTime, courseId,
+                conflicts -> runOnUiThread(() -> showConflicts(conflicts)));
+    }
+
+    // Affiche les cours en conflit sous les horaires (l'enregistrement reste possible)
+    private void showConflicts(List<CourseInterval> conflicts) {
+        if (conflicts.isEmpty()) {
+            binding.tvConflictWarning.setVisibility(View.GONE);
+            return;
+        }
+        StringBuilder text = new StringBuilder("⚠️ Chevauche ");
+        for (int i = 0; i < conflicts.size(); i++) {
+            CourseInterval conflict = conflicts.get(i);
+            if (i > 0) {
+                text.append(", ");
+            }
+            text.append(conflict.getName()).append(" (")
+                    .append(CourseTime.format(conflict.getStartMinute())).append('-')
+                    .append(CourseTime.format(conflict.getEndMinute())).append(')');
+        }
+        binding.tvConflictWarning.setText(text);
+        binding.tvConflictWarning.setVisibility(View.VISIBLE);
     }
 
     // Configuration des spinners (type de cours et jour de la semaine)
@@ -153,6 +196,7 @@ public class AddEditCourseActivity extends AppCompatActivity {
                     } else {
                         binding.etEndTime.setText(selectedTime);
                     }
+                    checkConflicts();
                 },
                 calendar.get(Calendar.HOUR_OF_DAY),
                 calendar.get(Calendar.MINUTE),
@@ -209,13 +253,9 @@ public class AddEditCourseActivity extends AppCompatActivity {
 
     // Vérifie que l'heure de fin est après l'heure de début
     private boolean isTimeValid(String startTime, String endTime) {
-        try {
-            java.util.Date start = timeFormat.parse(startTime);
-            java.util.Date end = timeFormat.parse(endTime);
-            return start != null && end != null && end.after(start);
-        } catch (ParseException e) {
-            return false; // Retourne false si parsing échoue
-        }
+        int start = CourseTime.parse(startTime);
+        int end = CourseTime.parse(endTime);
+        return start != CourseTime.INVALID && end != CourseTime.INVALID && end > start;
     }
 
     // Sauvegarde ou met à jour un cours
@@ -235,42 +275,42 @@ public class AddEditCourseActivity extends AppCompatActivity {
         course.setEndTime(binding.etEndTime.getText().toString().trim());
         course.setNotificationEnabled(binding.switchNotification.isChecked());
 
-        // Insertion ou mise à jour dans la base de données
-        if (courseId != -1) {
-
-            // Annuler l'ancien rappel avant de mettre à jour
-            NotificationHelper notificationHelper = new NotificationHelper(this);
-            notificationHelper.cancelScheduledReminder(courseId);
-
-            viewModel.update(course);
-            Toast.makeText(this, "Cours modifié avec succès", Toast.LENGTH_SHORT).show();
-
-        } else {
-            viewModel.insert(course);
-            Toast.makeText(this, "Cours ajouté avec succès", Toast.LENGTH_SHORT).show();
-        }
+        // Insertion ou mise à jour dans la base de données, avec la demande de rappel
+        // dans la même transaction (ReminderScheduler planifie ensuite avec le vrai id)
+        boolean editing = courseId != -1;
+        viewModel.save(course, new CourseViewModel.SaveCallback() {
+            @Override
+            public void onSaved(long savedId) {
+                runOnUiThread(() -> onCourseSaved(course, editing));
+            }
 
+            @Override
+            public void onSaveFailed(Throwable error) {
+                // Le formulaire reste ouvert : l'utilisateur peut réessayer
+                runOnUiThread(() -> Toast.makeText(AddEditCourseActivity.this,
+                        "Échec de l'enregistrement : " + error.getMessage(), Toast.LENGTH_LONG).show());
+            }
+        });
+    }
 
+    // Appelé une fois le cours enregistré : son id est connu
+    private void onCourseSaved(Course course, boolean editing) {
         // Si les notifications sont activées
         if (course.isNotificationEnabled()) {
             NotificationHelper notificationHelper = new NotificationHelper(this);
 
-            // 1. Notification immédiate
+            // Notification immédiate (le rappel 15 minutes avant est planifié par ReminderScheduler)
             notificationHelper.showImmediateNotification(course);
 
-            // 2. Planifier rappel 15 minutes avant
-            notificationHelper.scheduleReminder(course, 15);
-
             // Message supplémentaire
-            String message = (courseId != -1) ?
+            String message = editing ?
                     "Cours modifié et rappel planifié 15 minutes avant" :
                     "Cours ajouté et rappel planifié 15 minutes avant";
 
             Toast.makeText(this, message, Toast.LENGTH_LONG).show();
         } else {
-            // Si les notifications sont désactivées, annuler les rappels existants
-            NotificationHelper notificationHelper = new NotificationHelper(this);
-            notificationHelper.cancelScheduledReminder(course.getId());
+            Toast.makeText(this, editing ? "Cours modifié avec succès" : "Cours ajouté avec succès",
+                    Toast.LENGTH_SHORT).show();
         }
 
         finish(); // Ferme l'activité
@@ -301,6 +341,7 @@ public class AddEditCourseActivity extends AppCompatActivity {
 
                         // Activation ou non de la notification
                         binding.switchNotification.setChecked(course.isNotificationEnabled());
+                        checkConflicts();
                     });
                 }
             }
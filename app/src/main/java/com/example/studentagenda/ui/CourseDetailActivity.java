@@ -4,18 +4,15 @@ package com.example.studentagenda.ui;
 import android.content.Intent;
 import android.os.Bundle;
 import android.widget.*;
-import androidx.annotation.NonNull;
 import androidx.appcompat.app.AlertDialog;
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.lifecycle.ViewModelProvider;
 import com.example.studentagenda.R;
-import com.example.studentagenda.data.CourseDatabase;
+import com.example.studentagenda.data.CourseTime;
 import com.example.studentagenda.data.entity.Course;
 import com.example.studentagenda.databinding.ActivityCourseDetailBinding;
 import com.example.studentagenda.ui.viewmodel.CourseViewModel;
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
-import java.util.Locale;
+import com.example.studentagenda.ui.viewmodel.CourseViewModelFactory;
 import java.util.Objects;
 
 // Activité affichant les détails d'un cours
@@ -56,14 +53,7 @@ public class CourseDetailActivity extends AppCompatActivity {
 
     // Initialisation du ViewModel avec le DAO
     private void initializeViewModel() {
-        CourseDatabase database = CourseDatabase.getInstance(this);
-        viewModel = new ViewModelProvider(this, new ViewModelProvider.Factory() {
-            @NonNull
-            @Override
-            public <T extends androidx.lifecycle.ViewModel> T create(@NonNull Class<T> modelClass) {
-                return (T) new CourseViewModel(database.courseDao());
-            }
-        }).get(CourseViewModel.class);
+        viewModel = new ViewModelProvider(this, new CourseViewModelFactory(this)).get(CourseViewModel.class);
     }
 
     // Configuration des clics sur les boutons
@@ -136,26 +126,12 @@ public class CourseDetailActivity extends AppCompatActivity {
 
     // Calcul de la durée du cours à partir des heures de début et fin
     private String calculateDuration(String startTime, String endTime) {
-        try {
-            SimpleDateFormat format = new SimpleDateFormat("HH:mm", Locale.getDefault());
-            java.util.Date start = format.parse(startTime);
-            java.util.Date end = format.parse(endTime);
-
-            if (start != null && end != null) {
-                long diff = end.getTime() - start.getTime();
-                long hours = diff / (60 * 60 * 1000);
-                long minutes = (diff % (60 * 60 * 1000)) / (60 * 1000);
-
-                if (hours > 0) {
-                    return hours + "h" + (minutes > 0 ? minutes + "min" : "");
-                } else {
-                    return minutes + "min";
-                }
-            }
-        } catch (ParseException e) {
-            e.printStackTrace();
+        int start = CourseTime.parse(startTime);
+        int end = CourseTime.parse(endTime);
+        if (start == CourseTime.INVALID || end == CourseTime.INVALID) {
+            return "N/A"; // Retourne N/A si le parsing échoue
         }
-        return "N/A"; // Retourne N/A si le parsing échoue
+        return CourseTime.formatDuration(end - start);
     }
 
     // Affichage des informations détaillées sous forme de texte
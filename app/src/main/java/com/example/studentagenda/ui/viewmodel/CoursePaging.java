@@ -0,0 +1,39 @@
+package com.example.studentagenda.ui.viewmodel;
+
+import androidx.paging.PagingConfig;
+
+// Réglages de la liste paginée : au-delà de PAGING_THRESHOLD cours, l'écran principal ne charge
+// plus toute la table mais des pages dimensionnées sur le nombre de lignes visibles à l'écran.
+public final class CoursePaging {
+
+    // Nombre de cours à partir duquel la liste passe en mode paginé
+    public static final int PAGING_THRESHOLD = 2000;
+
+    private static final int DEFAULT_VISIBLE_ROWS = 10; // Écran non encore mesuré
+    private static final int MIN_PAGE_SIZE = 20;        // Une requête SQL par page : pas de pages minuscules
+    private static final int MAX_PAGES_IN_MEMORY = 6;   // Au-delà, les pages éloignées sont remplacées par des espaces réservés
+
+    private CoursePaging() { }
+
+    // Lignes entièrement ou partiellement visibles dans la hauteur donnée (en pixels)
+    static int visibleRows(int viewportHeightPx, int rowHeightPx) {
+        if (viewportHeightPx <= 0 || rowHeightPx <= 0) {
+            return DEFAULT_VISIBLE_ROWS;
+        }
+        return (viewportHeightPx + rowHeightPx - 1) / rowHeightPx;
+    }
+
+    // Page = deux écrans, préchargement un écran avant le bord, mémoire bornée à quelques pages.
+    // Espaces réservés activés : la barre de défilement reflète toute la liste dès le premier chargement.
+    public static PagingConfig configFor(int viewportHeightPx, int rowHeightPx) {
+        int visible = visibleRows(viewportHeightPx, rowHeightPx);
+        int pageSize = Math.max(MIN_PAGE_SIZE, 2 * visible);
+        return new PagingConfig(
+                pageSize,
+                visible,                       // prefetchDistance
+                true,                          // enablePlaceholders
+                2 * pageSize,                  // initialLoadSize
+                MAX_PAGES_IN_MEMORY * pageSize // maxSize (>= pageSize + 2 * prefetchDistance)
+        );
+    }
+}
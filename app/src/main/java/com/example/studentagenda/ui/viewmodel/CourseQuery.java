@@ -0,0 +1,45 @@
+package com.example.studentagenda.ui.viewmodel;
+
+import java.util.Objects;
+
+// État immuable de la requête affichée sur l'écran principal : filtre jour + texte recherché
+public final class CourseQuery {
+
+    private final Integer dayFilter; // Jour filtré (1 = Lundi), null = tous les jours
+    private final String text;       // Texte recherché, jamais null
+
+    public CourseQuery(Integer dayFilter, String text) {
+        this.dayFilter = dayFilter;
+        this.text = text != null ? text.trim() : "";
+    }
+
+    public Integer getDayFilter() { return dayFilter; }
+
+    public String getText() { return text; }
+
+    // Vrai si une recherche texte est active
+    public boolean hasText() {
+        return !text.isEmpty();
+    }
+
+    public CourseQuery withDayFilter(Integer day) {
+        return new CourseQuery(day, text);
+    }
+
+    public CourseQuery withText(String newText) {
+        return new CourseQuery(dayFilter, newText);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        CourseQuery query = (CourseQuery) o;
+        return Objects.equals(dayFilter, query.dayFilter) && text.equals(query.text);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(dayFilter, text);
+    }
+}
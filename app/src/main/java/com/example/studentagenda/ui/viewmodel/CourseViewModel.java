@@ -1,76 +1,448 @@
 package com.example.studentagenda.ui.viewmodel;
 
+import android.os.Handler;
+import android.os.Looper;
 import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MediatorLiveData;
+import androidx.lifecycle.MutableLiveData;
+import androidx.lifecycle.SavedStateHandle;
+import androidx.lifecycle.Transformations;
 import androidx.lifecycle.ViewModel;
-import com.example.studentagenda.data.CourseDao;
+import androidx.lifecycle.ViewModelKt;
+import androidx.paging.Pager;
+import androidx.paging.PagingConfig;
+import androidx.paging.PagingData;
+import androidx.paging.PagingLiveData;
+import androidx.paging.PagingSource;
+import com.example.studentagenda.data.CourseRepository;
+import com.example.studentagenda.data.CourseTime;
+import com.example.studentagenda.data.conflict.ConflictReport;
+import com.example.studentagenda.data.entity.Classroom;
 import com.example.studentagenda.data.entity.Course;
+import com.example.studentagenda.data.entity.CourseInterval;
+import com.example.studentagenda.data.entity.CourseListItem;
+import com.example.studentagenda.data.importer.CourseImporter;
+import com.example.studentagenda.data.importer.ImportStats;
+import com.example.studentagenda.data.planner.PlanPreferences;
+import com.example.studentagenda.data.planner.PlannerResult;
+import com.example.studentagenda.data.planner.PlannerRun;
+import com.example.studentagenda.data.planner.TimetablePlanner;
+import com.example.studentagenda.data.search.CourseSearchEngine;
+import com.example.studentagenda.data.search.CourseSearchRanker;
+import com.example.studentagenda.data.search.FtsQueryBuilder;
+import com.example.studentagenda.data.search.SearchNormalizer;
+import com.example.studentagenda.data.search.SearchResult;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.Objects;
 
 public class CourseViewModel extends ViewModel {
 
-    private final CourseDao courseDao;                // DAO pour accéder aux données
-    private final ExecutorService executorService;    // Exécuteur pour opérations en arrière-plan
-    private final LiveData<List<Course>> allCourses;  // Liste observable de tous les cours
+    // Délai d'attente après la dernière frappe avant de lancer la recherche
+    public static final long SEARCH_DEBOUNCE_MS = 250;
+    // Recherche approchée proposée quand aucun résultat exact (à partir de 3 caractères)
+    private static final int FUZZY_MIN_LENGTH = 3;
+    private static final int FUZZY_LIMIT = 50;
+    // Durée maximale d'une génération d'emplois du temps
+    private static final long PLANNER_BUDGET_MS = 5_000;
 
-    public CourseViewModel(CourseDao courseDao) {
-        this.courseDao = courseDao;
-        this.executorService = Executors.newSingleThreadExecutor(); // Thread unique pour Room
-        this.allCourses = courseDao.getAllCourses();                // Récupération des cours
+    // Clés de l'état sauvegardé (survit à la mort du processus)
+    private static final String KEY_DAY_FILTER = "query_day_filter";
+    private static final String KEY_SEARCH_TEXT = "query_search_text";
+
+    private final CourseRepository repository;        // Accès partagé aux cours (écritures ordonnées)
+    private final CourseSearchEngine searchEngine;    // Recherche en mémoire (repli sur la base)
+    private final LiveData<List<CourseListItem>> allCourses; // Liste observable de tous les cours
+    private final SavedStateHandle savedState;        // État de la requête sauvegardé
+    private final MutableLiveData<CourseQuery> query; // Requête courante (jour + texte)
+    private final LiveData<List<CourseListItem>> courses; // Résultat unique de la requête courante
+    private final LiveData<Boolean> usePaging;        // Vrai si la table est trop grande pour la liste complète
+    private final Handler debounceHandler = new Handler(Looper.getMainLooper());
+    private final Handler mainHandler = new Handler(Looper.getMainLooper()); // Résultats des lectures en arrière-plan
+    // Génération d'emplois du temps : conservée à la rotation, l'activité ne fait qu'observer
+    private final MutableLiveData<PlannerRun> plannerRun = new MutableLiveData<>();       // null si aucune en cours
+    private final MutableLiveData<PlannerResult> plannerResult = new MutableLiveData<>(); // null une fois affiché
+    private final MutableLiveData<Throwable> plannerError = new MutableLiveData<>();      // null une fois signalé
+    private String pendingText;                       // Texte en attente de la fin du délai
+    private LiveData<PagingData<CourseListItem>> pagedCourses; // Pages de la requête courante (créées à la demande)
+    private volatile PagingSource<Integer, CourseListItem> currentSource; // Invalidée quand la requête change
+
+    public CourseViewModel(CourseRepository repository, SavedStateHandle savedState) {
+        this.repository = repository;
+        this.searchEngine = repository.getSearchEngine();
+        this.savedState = savedState;
+        this.allCourses = repository.getAllCourses();               // Récupération des cours
+
+        // Restauration de la requête puis une seule source de résultats :
+        // switchMap détache l'ancienne requête Room dès que la requête change
+        this.query = new MutableLiveData<>(new CourseQuery(
+                savedState.get(KEY_DAY_FILTER),
+                savedState.get(KEY_SEARCH_TEXT)
+        ));
+        this.courses = Transformations.switchMap(query, this::loadCourses);
+        this.usePaging = Transformations.distinctUntilChanged(Transformations.map(
+                repository.countCourses(), count -> count != null && count >= CoursePaging.PAGING_THRESHOLD));
     }
 
     // Retourne tous les cours observables
-    public LiveData<List<Course>> getAllCourses() {
+    public LiveData<List<CourseListItem>> getAllCourses() {
         return allCourses;
     }
 
+    // Liste à afficher pour la requête courante (à observer une seule fois)
+    public LiveData<List<CourseListItem>> getCourses() {
+        return courses;
+    }
+
+    // Vrai quand la liste doit passer par getPagedCourses plutôt que getCourses
+    public LiveData<Boolean> getUsePaging() {
+        return usePaging;
+    }
+
+    // Pages de la requête courante, conservées à travers les changements de configuration
+    // (la configuration n'est prise en compte qu'au premier appel)
+    public LiveData<PagingData<CourseListItem>> getPagedCourses(PagingConfig config) {
+        if (pagedCourses == null) {
+            Pager<Integer, CourseListItem> pager = new Pager<>(config, this::createPagingSource);
+            pagedCourses = PagingLiveData.cachedIn(PagingLiveData.getLiveData(pager),
+                    ViewModelKt.getViewModelScope(this));
+        }
+        return pagedCourses;
+    }
+
+    // Requête actuellement appliquée
+    public CourseQuery getQuery() {
+        return query.getValue();
+    }
+
+    // Change le filtre jour (appliqué immédiatement, avec le texte en attente éventuel)
+    public void setDayFilter(Integer day) {
+        debounceHandler.removeCallbacksAndMessages(null);
+        CourseQuery current = query.getValue();
+        String text = pendingText != null ? pendingText : current.getText();
+        pendingText = null;
+        applyQuery(new CourseQuery(day, text));
+    }
+
+    // Change le texte recherché ; la requête n'est lancée qu'après SEARCH_DEBOUNCE_MS
+    public void setSearchText(String text) {
+        CourseQuery next = query.getValue().withText(text);
+        debounceHandler.removeCallbacksAndMessages(null);
+        pendingText = null;
+
+        if (next.equals(query.getValue())) {
+            return; // Même requête (ex : texte restauré après rotation)
+        }
+        if (!next.hasText()) {
+            applyQuery(next); // Effacement : retour immédiat à la liste complète
+            return;
+        }
+
+        pendingText = next.getText();
+        debounceHandler.postDelayed(() -> {
+            pendingText = null;
+            applyQuery(query.getValue().withText(next.getText()));
+        }, SEARCH_DEBOUNCE_MS);
+    }
+
+    // Publie la nouvelle requête si elle diffère et la sauvegarde
+    private void applyQuery(CourseQuery next) {
+        if (Objects.equals(next, query.getValue())) {
+            return;
+        }
+        savedState.set(KEY_DAY_FILTER, next.getDayFilter());
+        savedState.set(KEY_SEARCH_TEXT, next.getText());
+        query.setValue(next);
+
+        PagingSource<Integer, CourseListItem> source = currentSource;
+        if (source != null) {
+            source.invalidate(); // Le Pager redemande une source pour la nouvelle requête
+        }
+    }
+
+    // Source paginée correspondant à la requête courante (appelée par le Pager)
+    private PagingSource<Integer, CourseListItem> createPagingSource() {
+        CourseQuery courseQuery = query.getValue();
+        int day = courseQuery.getDayFilter() != null ? courseQuery.getDayFilter() : 0;
+        PagingSource<Integer, CourseListItem> source;
+        if (!courseQuery.hasText()) {
+            source = day == 0 ? repository.pageAllCourses() : repository.pageCoursesByDay(day);
+        } else {
+            String match = FtsQueryBuilder.build(courseQuery.getText());
+            if (match.isEmpty()) {
+                String key = SearchNormalizer.fold(courseQuery.getText());
+                source = repository.pageSearchByPrefix(key, SearchNormalizer.prefixUpperBound(key), day);
+            } else {
+                source = repository.pageSearchFts(match, day);
+            }
+        }
+        currentSource = source;
+        return source;
+    }
+
+    // Source Room correspondant à une requête
+    private LiveData<List<CourseListItem>> loadCourses(CourseQuery courseQuery) {
+        Integer day = courseQuery.getDayFilter();
+        if (!courseQuery.hasText()) {
+            return day == null ? allCourses : repository.getCoursesByDay(day);
+        }
+
+        // Index en mémoire si disponible (réévalué à chaque mise à jour de l'index), interrogé hors du
+        // thread principal ; sinon requête FTS sur la base
+        String text = courseQuery.getText();
+        return Transformations.switchMap(searchEngine.getVersion(), version -> {
+            MediatorLiveData<List<CourseListItem>> results = new MediatorLiveData<>();
+            repository.searchInMemory(text, day, FUZZY_MIN_LENGTH, FUZZY_LIMIT).thenAccept(inMemory -> {
+                if (inMemory != null) {
+                    results.postValue(toListItems(inMemory));
+                    return;
+                }
+                mainHandler.post(() -> {
+                    LiveData<List<CourseListItem>> fromDatabase = searchCourses(text);
+                    results.addSource(day == null ? fromDatabase
+                            : Transformations.map(fromDatabase, list -> filterByDay(list, day)), results::setValue);
+                });
+            });
+            return results;
+        });
+    }
+
+    // Garde uniquement les cours du jour demandé
+    private static List<CourseListItem> filterByDay(List<CourseListItem> list, int day) {
+        List<CourseListItem> filtered = new ArrayList<>();
+        for (CourseListItem item : list) {
+            if (item.getDayOfWeek() == day) {
+                filtered.add(item);
+            }
+        }
+        return filtered;
+    }
+
+    // Résultats de recherche (cours complets) réduits aux champs affichés par la liste
+    private static List<CourseListItem> toListItems(List<Course> courses) {
+        List<CourseListItem> items = new ArrayList<>(courses.size());
+        for (Course course : courses) {
+            items.add(CourseListItem.of(course));
+        }
+        return items;
+    }
+
     // Cours filtrés par jour
-    public LiveData<List<Course>> getCoursesByDay(int day) {
-        return courseDao.getCoursesByDay(day);
+    public LiveData<List<CourseListItem>> getCoursesByDay(int day) {
+        return repository.getCoursesByDay(day);
+    }
+
+    // Recherche de cours via l'index plein texte, triée par pertinence
+    // (accents et casse ignorés : la requête est normalisée comme les clés en base)
+    public LiveData<List<CourseListItem>> searchCourses(String query) {
+        String match = FtsQueryBuilder.build(query);
+        if (match.isEmpty()) {
+            // Pas de mot exploitable : recherche par préfixe sur les index des clés
+            String key = SearchNormalizer.fold(query);
+            return repository.searchCoursesByPrefix(key, SearchNormalizer.prefixUpperBound(key));
+        }
+        return Transformations.map(repository.searchCoursesFts(match),
+                matches -> toListItems(CourseSearchRanker.rankCourses(matches)));
+    }
+
+    // Recherche classée (ids + positions des correspondances) via un callback
+    public void searchRanked(String query, SearchCallback callback) {
+        String match = FtsQueryBuilder.build(query);
+        if (match.isEmpty()) {
+            callback.onResults(Collections.emptyList());
+            return;
+        }
+        repository.matchCourseIds(match)
+                .thenAccept(hits -> callback.onResults(CourseSearchRanker.rankHits(hits)));
+    }
+
+    // Cours qui chevauchent le créneau saisi ("HH:mm"), hors courseId (-1 pour un nouveau cours) ;
+    // liste vide si les heures sont invalides. Callback appelé hors du thread principal
+    public void checkConflicts(int day, String startTime, String endTime, long courseId,
+                               ConflictCallback callback) {
+        int start = CourseTime.parse(startTime);
+        int end = CourseTime.parse(endTime);
+        if (start == CourseTime.INVALID || end == CourseTime.INVALID || end <= start) {
+            callback.onConflicts(Collections.emptyList());
+            return;
+        }
+        repository.findConflicts(day, start, end, courseId).thenAccept(callback::onConflicts);
+    }
+
+    // Salles libres sur un créneau (minutes depuis minuit) ; callback appelé hors du thread principal
+    public void findFreeRooms(int day, int startMinute, int endMinute, FreeRoomsCallback callback) {
+        repository.findFreeRooms(day, startMinute, endMinute).thenAccept(callback::onFreeRooms);
+    }
+
+    // Génère des emplois du temps ; la recherche s'arrête après PLANNER_BUDGET_MS ou sur
+    // cancelPlanning(), et les meilleurs trouvés sont publiés dans getPlannerResult()
+    public void planTimetables() {
+        if (plannerRun.getValue() != null) {
+            return;
+        }
+        PlannerRun run = repository.planTimetables(PlanPreferences.DEFAULT,
+                TimetablePlanner.DEFAULT_MAX_PLANS, PLANNER_BUDGET_MS);
+        plannerRun.setValue(run);
+        run.getResult().whenComplete((result, error) -> {
+            plannerRun.postValue(null);
+            if (error != null) {
+                plannerError.postValue(error.getCause() != null ? error.getCause() : error);
+            } else {
+                plannerResult.postValue(result);
+            }
+        });
+    }
+
+    // Génération en cours (null sinon)
+    public LiveData<PlannerRun> getPlannerRun() {
+        return plannerRun;
+    }
+
+    // Dernier résultat pas encore consulté : de nouveau délivré après une rotation
+    public LiveData<PlannerResult> getPlannerResult() {
+        return plannerResult;
+    }
+
+    public LiveData<Throwable> getPlannerError() {
+        return plannerError;
+    }
+
+    // Arrête la recherche : le résultat contient les meilleurs emplois du temps trouvés jusque-là
+    public void cancelPlanning() {
+        PlannerRun run = plannerRun.getValue();
+        if (run != null) {
+            run.cancel();
+        }
+    }
+
+    // Appelés une fois le résultat fermé par l'utilisateur, ou l'erreur affichée
+    public void onPlannerResultShown() {
+        plannerResult.setValue(null);
+    }
+
+    public void onPlannerErrorShown() {
+        plannerError.setValue(null);
     }
 
-    // Recherche de cours via une requête
-    public LiveData<List<Course>> searchCourses(String query) {
-        return courseDao.searchCourses(query);
+    // Chevauchements de tout l'emploi du temps, tenus à jour
+    public LiveData<ConflictReport> getConflictReport() {
+        return repository.getConflictReport();
     }
 
     // Insertion en arrière-plan
     public void insert(Course course) {
-        executorService.execute(() -> {
-            courseDao.insert(course);
-        });
+        save(course, null);
     }
 
     // Mise à jour
     public void update(Course course) {
-        executorService.execute(() -> {
-            courseDao.update(course);
+        save(course, null);
+    }
+
+    // Insertion ou mise à jour + demande de rappel, dans une même transaction ;
+    // le callback (thread d'arrière-plan) reçoit l'id du cours, y compris celui généré, ou l'erreur
+    public void save(Course course, SaveCallback callback) {
+        repository.save(course).whenComplete((id, error) -> {
+            if (callback == null) {
+                return;
+            }
+            if (error != null) {
+                callback.onSaveFailed(error.getCause() != null ? error.getCause() : error);
+            } else {
+                callback.onSaved(id);
+            }
         });
     }
 
-    // Suppression d’un cours
+    // Suppression d’un cours (son rappel est annulé par l'outbox)
     public void delete(Course course) {
-        executorService.execute(() -> {
-            courseDao.delete(course);
-        });
+        repository.delete(course);
+    }
+
+    // Suppression d'une ligne de la liste
+    public void delete(CourseListItem item) {
+        repository.delete(item);
     }
 
     // Récupère un cours par son id via un callback
     public void getCourseById(long courseId, CourseCallback callback) {
-        executorService.execute(() -> {
-            Course course = courseDao.getCourseById(courseId);
-            callback.onCourseLoaded(course);
-        });
+        repository.getCourseById(courseId).thenAccept(callback::onCourseLoaded);
     }
 
     // Supprime tous les cours
     public void deleteAllCourses() {
-        executorService.execute(courseDao::deleteAllCourses);
+        repository.deleteAll();
+    }
+
+    // Import d'un fichier (CSV ou iCalendar) ; le callback est appelé hors du thread principal
+    public void importCourses(InputStream input, CourseImporter.Format format, ImportCallback callback) {
+        repository.importCourses(input, format, callback::onProgress).whenComplete((stats, error) -> {
+            if (error != null) {
+                callback.onImportFailed(error.getCause() != null ? error.getCause() : error);
+            } else {
+                callback.onImported(stats);
+            }
+        });
+    }
+
+    // Export de tous les cours dans le flux ; le callback est appelé hors du thread principal
+    public void exportCourses(OutputStream output, CourseImporter.Format format, ExportCallback callback) {
+        repository.exportCourses(output, format).whenComplete((count, error) -> {
+            if (error != null) {
+                callback.onExportFailed(error.getCause() != null ? error.getCause() : error);
+            } else {
+                callback.onExported(count);
+            }
+        });
+    }
+
+    @Override
+    protected void onCleared() {
+        debounceHandler.removeCallbacksAndMessages(null); // Annule une recherche en attente
+        mainHandler.removeCallbacksAndMessages(null);
+        cancelPlanning(); // Libère le pool de calcul
+        super.onCleared();
+    }
+
+    // Interface callback pour retourner l'id d'un cours enregistré
+    public interface SaveCallback {
+        void onSaved(long courseId);
+        void onSaveFailed(Throwable error);
     }
 
     // Interface callback pour retourner un cours hors du thread principal
     public interface CourseCallback {
         void onCourseLoaded(Course course);
     }
+
+    // Interface callback pour retourner les résultats d'une recherche classée
+    public interface SearchCallback {
+        void onResults(List<SearchResult> results);
+    }
+
+    // Interface callback pour retourner les cours en conflit avec un créneau
+    public interface ConflictCallback {
+        void onConflicts(List<CourseInterval> conflicts);
+    }
+
+    // Interface callback pour retourner les salles libres
+    public interface FreeRoomsCallback {
+        void onFreeRooms(List<Classroom> rooms);
+    }
+
+    // Interface callback pour retourner le bilan d'un import
+    public interface ImportCallback {
+        default void onProgress(ImportStats stats) { } // Après chaque lot écrit
+        void onImported(ImportStats stats);
+        void onImportFailed(Throwable error);
+    }
+
+    // Interface callback pour retourner le résultat d'un export
+    public interface ExportCallback {
+        void onExported(int count);
+        void onExportFailed(Throwable error);
+    }
 }
@@ -0,0 +1,29 @@
+package com.example.studentagenda.ui.viewmodel;
+
+import android.content.Context;
+import androidx.annotation.NonNull;
+import androidx.lifecycle.SavedStateHandleSupport;
+import androidx.lifecycle.ViewModel;
+import androidx.lifecycle.ViewModelProvider;
+import androidx.lifecycle.viewmodel.CreationExtras;
+import com.example.studentagenda.data.CourseRepository;
+
+// Fabrique unique des ViewModels de cours : tous partagent le même CourseRepository
+public class CourseViewModelFactory implements ViewModelProvider.Factory {
+
+    private final CourseRepository repository;
+
+    public CourseViewModelFactory(Context context) {
+        this.repository = CourseRepository.getInstance(context);
+    }
+
+    @NonNull
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T extends ViewModel> T create(@NonNull Class<T> modelClass, @NonNull CreationExtras extras) {
+        if (modelClass.isAssignableFrom(CourseViewModel.class)) {
+            return (T) new CourseViewModel(repository, SavedStateHandleSupport.createSavedStateHandle(extras));
+        }
+        throw new IllegalArgumentException("ViewModel inconnu : " + modelClass.getName());
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.studentagenda;
+
+import org.junit.Assume;
+
+// Benchmarks JVM : hors de la suite par défaut, lancés avec ./gradlew testDebugUnitTest -Pbenchmarks.
+// Ils affichent leurs mesures sans seuil de durée (dépendant de la machine) ; seuls les résultats
+// calculés sont vérifiés
+public final class Benchmarks {
+
+    private Benchmarks() { }
+
+    public static void assumeEnabled() {
+        Assume.assumeTrue("Benchmark ignoré (activer avec -Pbenchmarks)", Boolean.getBoolean("benchmarks"));
+    }
+}
@@ -0,0 +1,267 @@
+package com.example.studentagenda.data;
+
+import android.content.ContentValues;
+import android.content.Context;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.Cursor;
+import androidx.room.Room;
+import androidx.room.migration.Migration;
+import androidx.room.testing.MigrationTestHelper;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+import androidx.sqlite.db.SupportSQLiteOpenHelper;
+import androidx.sqlite.db.framework.FrameworkSQLiteOpenHelperFactory;
+import androidx.test.core.app.ApplicationProvider;
+import androidx.test.platform.app.InstrumentationRegistry;
+import com.example.studentagenda.Benchmarks;
+import com.example.studentagenda.data.entity.Course;
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+// Migrations exécutées sur la JVM : MigrationTestHelper crée la base à partir du schéma exporté
+// (app/schemas) d'une version et valide le résultat contre le schéma exporté de la version d'arrivée
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 34)
+public class CourseMigrationsTest {
+
+    private static final String DB_NAME = "migration-test";
+    private static final int BENCHMARK_ROWS = 100_000;
+
+    // Schéma v1 (identique à app/schemas/.../1.json), base des benchmarks de migration
+    private static final String CREATE_COURSES_V1 = "CREATE TABLE IF NOT EXISTS `courses` (" +
+            "`id` INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL, `name` TEXT, `professor` TEXT, " +
+            "`room` TEXT, `type` TEXT, `dayOfWeek` INTEGER NOT NULL, `startTime` TEXT, " +
+            "`endTime` TEXT, `notificationEnabled` INTEGER NOT NULL)";
+
+    @Rule
+    public MigrationTestHelper helper = new MigrationTestHelper(
+            InstrumentationRegistry.getInstrumentation(), CourseDatabase.class);
+
+    private Context context;
+
+    @Before
+    public void setUp() {
+        context = ApplicationProvider.getApplicationContext();
+        context.deleteDatabase(DB_NAME);
+    }
+
+    @After
+    public void tearDown() {
+        context.deleteDatabase(DB_NAME);
+    }
+
+    // Chaque migration seule, à partir du schéma exporté de sa version de départ : le résultat doit
+    // correspondre au schéma exporté de la version d'arrivée (tables, colonnes, index, FTS, clés étrangères)
+    @Test
+    public void eachMigration_matchesExportedSchema() throws IOException {
+        for (Migration migration : CourseMigrations.ALL) {
+            SupportSQLiteDatabase db = helper.createDatabase(DB_NAME, migration.startVersion);
+            for (int i = 0; i < 3; i++) {
+                insertCourse(db, migration.startVersion, "Cours " + i, "Professeur " + i, "Salle " + i,
+                        1 + i, "08:00", "10:00");
+            }
+            db.close();
+
+            db = helper.runMigrationsAndValidate(DB_NAME, migration.endVersion, true, migration);
+            try (Cursor cursor = db.query("SELECT COUNT(*) FROM courses")) {
+                cursor.moveToFirst();
+                assertEquals("Migration " + migration.startVersion + " -> " + migration.endVersion,
+                        3, cursor.getInt(0));
+            }
+            db.close();
+            context.deleteDatabase(DB_NAME);
+        }
+    }
+
+    @Test
+    public void migrateFromV1_keepsCoursesAndFillsDerivedColumns() throws IOException {
+        SupportSQLiteDatabase db = helper.createDatabase(DB_NAME, 1);
+        insertCourse(db, 1, "Mécanique Générale", "Élodie Durand", "B-201", 2, "08:30", "10:00");
+        db.close();
+
+        db = helper.runMigrationsAndValidate(DB_NAME, CourseMigrations.ALL.length + 1, true, CourseMigrations.ALL);
+        try (Cursor cursor = db.query("SELECT c.name, c.nameKey, p.nameKey, r.name, c.startMinute, c.endMinute " +
+                "FROM courses c JOIN professors p ON p.id = c.professorId JOIN rooms r ON r.id = c.roomId")) {
+            assertTrue(cursor.moveToFirst());
+            assertEquals("Mécanique Générale", cursor.getString(0));
+            assertEquals("mecanique generale", cursor.getString(1));
+            assertEquals("elodie durand", cursor.getString(2));
+            assertEquals("B-201", cursor.getString(3));
+            assertEquals(510, cursor.getInt(4));
+            assertEquals(600, cursor.getInt(5));
+        }
+        assertEquals(1, count(db, "SELECT docid FROM courses_fts WHERE courses_fts MATCH 'meca*'"));
+        assertEquals(1, count(db, "SELECT id FROM courses WHERE dayOfWeek = 2 AND startMinute <= 540 AND endMinute > 540"));
+
+        // Triggers FTS recréés par la migration : une mise à jour doit rester trouvable
+        db.execSQL("UPDATE courses SET name = 'Thermodynamique', nameKey = 'thermodynamique' WHERE id = 1");
+        assertEquals(1, count(db, "SELECT docid FROM courses_fts WHERE courses_fts MATCH 'thermo*'"));
+        assertEquals(0, count(db, "SELECT docid FROM courses_fts WHERE courses_fts MATCH 'meca*'"));
+        db.close();
+    }
+
+    // Durée de chaque migration, seule, sur une base de 100 000 cours (-Pbenchmarks)
+    @Test
+    public void benchmarkEachMigrationOn100kRows() {
+        Benchmarks.assumeEnabled();
+        for (Migration migration : CourseMigrations.ALL) {
+            context.deleteDatabase(DB_NAME);
+            SupportSQLiteOpenHelper helper = seed(migration.startVersion, BENCHMARK_ROWS);
+            SupportSQLiteDatabase db = helper.getWritableDatabase();
+
+            long start = System.nanoTime();
+            db.beginTransaction(); // Room exécute les migrations dans une transaction
+            try {
+                migration.migrate(db);
+                db.setTransactionSuccessful();
+            } finally {
+                db.endTransaction();
+            }
+            long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+            helper.close();
+
+            System.out.println("Migration " + migration.startVersion + " -> " + migration.endVersion
+                    + " (" + BENCHMARK_ROWS + " cours) : " + elapsedMs + " ms");
+        }
+    }
+
+    // v7 -> v8 sur 100 000 cours : taille du fichier et chaînes professeur/salle en mémoire après lecture
+    // de toute la table, avant (colonnes texte lues ligne par ligne) et après (dictionnaires partagés).
+    // La copie des clés dans la FTS (contenu propre depuis la v8) reprend une partie du gain sur le fichier
+    @Test
+    public void dictionaries_shrinkFileAndHeapOn100kRows() {
+        Benchmarks.assumeEnabled();
+        SupportSQLiteOpenHelper helper = seed(7, BENCHMARK_ROWS);
+        SupportSQLiteDatabase db = helper.getWritableDatabase();
+        db.execSQL("VACUUM");
+        Set<String> before = Collections.newSetFromMap(new IdentityHashMap<>());
+        try (Cursor cursor = db.query("SELECT professor, room FROM courses")) {
+            while (cursor.moveToNext()) {
+                before.add(cursor.getString(0));
+                before.add(cursor.getString(1));
+            }
+        }
+        helper.close();
+        File file = context.getDatabasePath(DB_NAME);
+        long sizeBefore = file.length();
+
+        Set<String> after = Collections.newSetFromMap(new IdentityHashMap<>());
+        CourseDatabase database = openMigrated();
+        try {
+            List<Course> courses = database.courseDao().getAllCoursesSnapshot();
+            assertEquals(BENCHMARK_ROWS, courses.size());
+            for (Course course : courses) {
+                after.add(course.getProfessor());
+                after.add(course.getRoom());
+            }
+            database.getOpenHelper().getWritableDatabase().execSQL("VACUUM");
+        } finally {
+            database.close();
+        }
+        long sizeAfter = file.length();
+
+        System.out.println("Dictionnaires (" + BENCHMARK_ROWS + " cours) : fichier " + sizeBefore / 1024
+                + " Ko -> " + sizeAfter / 1024 + " Ko ; chaînes professeur/salle " + before.size()
+                + " (" + charCount(before) / 1024 + " Ki caractères) -> " + after.size()
+                + " (" + charCount(after) / 1024 + " Ki caractères)");
+        assertEquals(500 + 120, after.size()); // Une instance par nom distinct
+        assertTrue(sizeAfter < sizeBefore);
+    }
+
+    private static long charCount(Set<String> strings) {
+        long chars = 0;
+        for (String value : strings) {
+            chars += value.length();
+        }
+        return chars;
+    }
+
+    // Crée la base en v1, y insère des cours puis applique les migrations jusqu'à la version voulue
+    private SupportSQLiteOpenHelper seed(int version, int rows) {
+        SupportSQLiteOpenHelper helper = new FrameworkSQLiteOpenHelperFactory().create(
+                SupportSQLiteOpenHelper.Configuration.builder(context)
+                        .name(DB_NAME)
+                        .callback(new SupportSQLiteOpenHelper.Callback(1) {
+                            @Override
+                            public void onCreate(SupportSQLiteDatabase db) {
+                                db.execSQL(CREATE_COURSES_V1);
+                            }
+
+                            @Override
+                            public void onUpgrade(SupportSQLiteDatabase db, int oldVersion, int newVersion) {
+                            }
+                        })
+                        .build());
+        SupportSQLiteDatabase db = helper.getWritableDatabase();
+
+        db.beginTransaction();
+        try {
+            String[] days = {"08:00", "09:30", "11:00", "14:00", "15:30"};
+            for (int i = 0; i < rows; i++) {
+                ContentValues values = new ContentValues();
+                values.put("name", "Cours " + i);
+                values.put("professor", "Professeur " + (i % 500));
+                values.put("room", "Salle " + (i % 120));
+                values.put("type", "CM");
+                values.put("dayOfWeek", 1 + i % 7);
+                values.put("startTime", days[i % days.length]);
+                values.put("endTime", "17:00");
+                values.put("notificationEnabled", i % 2);
+                db.insert("courses", SQLiteDatabase.CONFLICT_NONE, values);
+            }
+            for (Migration migration : CourseMigrations.ALL) {
+                if (migration.endVersion <= version) {
+                    migration.migrate(db);
+                }
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+        db.setVersion(version);
+        return helper;
+    }
+
+    // Insertion brute dans une base à la version donnée (colonnes professeur/salle avant la v8)
+    private static void insertCourse(SupportSQLiteDatabase db, int version, String name, String professor,
+                                     String room, int day, String startTime, String endTime) {
+        ContentValues values = new ContentValues();
+        values.put("name", name);
+        if (version < 8) {
+            values.put("professor", professor);
+            values.put("room", room);
+        }
+        values.put("type", "CM");
+        values.put("dayOfWeek", day);
+        values.put("startTime", startTime);
+        values.put("endTime", endTime);
+        values.put("notificationEnabled", 1);
+        db.insert("courses", SQLiteDatabase.CONFLICT_NONE, values);
+    }
+
+    private static int count(SupportSQLiteDatabase db, String sql) {
+        try (Cursor cursor = db.query(sql)) {
+            return cursor.getCount();
+        }
+    }
+
+    private CourseDatabase openMigrated() {
+        return Room.databaseBuilder(context, CourseDatabase.class, DB_NAME)
+                .addMigrations(CourseMigrations.ALL)
+                .allowMainThreadQueries()
+                .build();
+    }
+}
@@ -0,0 +1,174 @@
+package com.example.studentagenda.data;
+
+import com.example.studentagenda.data.entity.Course;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Regroupement des écritures par rafale, sans base : les rafales reçues sont enregistrées.
+ */
+public class CourseWriteQueueTest {
+
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+    private final List<Batch> batches = new ArrayList<>();
+    private long nextId = 100;
+
+    private final CourseWriteQueue queue = new CourseWriteQueue((deleteAll, saved, deleted) -> {
+        for (Course course : saved) {
+            if (course.getId() == 0) {
+                course.setId(nextId++);
+            }
+        }
+        batches.add(new Batch(deleteAll, new ArrayList<>(saved), new ArrayList<>(deleted)));
+    }, executor, 20);
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private static Course course(long id, boolean notification) {
+        return new Course(id, "Cours " + id, "Prof", "A1", Course.CourseType.CM, 1, "08:00", "10:00", notification);
+    }
+
+    private static <T> T await(CompletableFuture<T> future) throws Exception {
+        return future.get(2, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void burstOnSameCourse_isOneWriteWithLastValue() throws Exception {
+        List<CompletableFuture<Long>> futures = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            futures.add(queue.save(course(7, i % 2 == 0)));
+        }
+        assertEquals(1, queue.getQueueDepth());
+        for (CompletableFuture<Long> future : futures) {
+            assertEquals(Long.valueOf(7), await(future)); // Tous les appelants sont notifiés
+        }
+
+        assertEquals(1, batches.size());
+        assertEquals(1, batches.get(0).saved.size());
+        assertFalse(batches.get(0).saved.get(0).isNotificationEnabled()); // Dernière valeur (i = 9)
+
+        CourseWriteQueue.Metrics metrics = queue.getMetrics();
+        assertEquals(1, metrics.getFlushCount());
+        assertEquals(10, metrics.getMutationCount());
+        assertEquals(1, metrics.getAppliedCount());
+        assertEquals(0, metrics.getQueueDepth());
+    }
+
+    @Test
+    public void newCourses_areInsertedAndReceiveTheirIds() throws Exception {
+        Course first = course(0, true);
+        Course second = course(0, true);
+        CompletableFuture<Long> a = queue.save(first);
+        CompletableFuture<Long> b = queue.save(second);
+
+        assertEquals(Long.valueOf(100), await(a));
+        assertEquals(Long.valueOf(101), await(b));
+        assertEquals(1, batches.size());
+        assertEquals(2, batches.get(0).saved.size());
+    }
+
+    @Test
+    public void deleteAfterSave_keepsOnlyTheDelete() throws Exception {
+        queue.save(course(3, true));
+        await(queue.delete(course(3, true)));
+
+        assertEquals(1, batches.size());
+        assertTrue(batches.get(0).saved.isEmpty());
+        assertEquals(1, batches.get(0).deleted.size());
+    }
+
+    @Test
+    public void saveAfterDelete_keepsTheDelete() throws Exception {
+        CompletableFuture<Long> deleted = queue.delete(course(3, true));
+        CompletableFuture<Long> saved = queue.save(course(3, false));
+
+        assertEquals(Long.valueOf(3), await(deleted));
+        assertEquals(Long.valueOf(3), await(saved)); // Appelant notifié avec la suppression
+        assertEquals(1, batches.size());
+        assertTrue(batches.get(0).saved.isEmpty());
+        assertEquals(1, batches.get(0).deleted.size());
+    }
+
+    @Test
+    public void deleteAll_dropsPendingWritesButKeepsLaterOnes() throws Exception {
+        CompletableFuture<Long> dropped = queue.save(course(1, true));
+        queue.delete(course(2, true));
+        CompletableFuture<Void> cleared = queue.deleteAll();
+        CompletableFuture<Long> reimported = queue.save(course(0, true));
+
+        await(cleared);
+        assertEquals(Long.valueOf(1), await(dropped));
+        assertEquals(Long.valueOf(100), await(reimported));
+
+        assertEquals(1, batches.size());
+        Batch batch = batches.get(0);
+        assertTrue(batch.deleteAll);
+        assertEquals(1, batch.saved.size());
+        assertTrue(batch.deleted.isEmpty());
+    }
+
+    @Test
+    public void runAfterPending_appliesEarlierWritesFirst() throws Exception {
+        CompletableFuture<Void> cleared = queue.deleteAll();
+        List<String> order = new ArrayList<>();
+        await(queue.runAfterPending(() -> order.add("lot " + batches.size())));
+
+        assertTrue(cleared.isDone()); // Sans attendre le délai de regroupement
+        assertEquals(List.of("lot 1"), order);
+        assertTrue(batches.get(0).deleteAll);
+
+        Thread.sleep(50); // Le vidage planifié ne trouve plus rien à écrire
+        assertEquals(1, batches.size());
+        assertEquals(1, queue.getMetrics().getFlushCount());
+    }
+
+    @Test
+    public void writesAfterFlush_startANewBurst() throws Exception {
+        await(queue.save(course(1, true)));
+        await(queue.save(course(1, false)));
+
+        assertEquals(2, batches.size());
+        assertEquals(2, queue.getMetrics().getFlushCount());
+    }
+
+    @Test
+    public void failedFlush_failsEveryCaller() throws Exception {
+        CourseWriteQueue failing = new CourseWriteQueue((deleteAll, saved, deleted) -> {
+            throw new IllegalStateException("disque plein");
+        }, executor, 1);
+        CompletableFuture<Long> first = failing.save(course(4, true));
+        CompletableFuture<Long> second = failing.save(course(4, false));
+
+        for (CompletableFuture<Long> future : List.of(first, second)) {
+            try {
+                await(future);
+                fail("Échec attendu");
+            } catch (java.util.concurrent.ExecutionException e) {
+                assertTrue(e.getCause() instanceof IllegalStateException);
+            }
+        }
+    }
+
+    private static final class Batch {
+        final boolean deleteAll;
+        final List<Course> saved;
+        final List<Course> deleted;
+
+        Batch(boolean deleteAll, List<Course> saved, List<Course> deleted) {
+            this.deleteAll = deleteAll;
+            this.saved = saved;
+            this.deleted = deleted;
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.studentagenda.data.conflict;
+
+import com.example.studentagenda.Benchmarks;
+import com.example.studentagenda.data.entity.CourseInterval;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Détection des conflits : chevauchements stricts, cours édité exclu, rapport comparé à un calcul naïf.
+ */
+public class ConflictDetectorTest {
+
+    private static CourseInterval interval(long id, int day, int start, int end) {
+        return new CourseInterval(id, "Cours " + id, day, start, end);
+    }
+
+    @Test
+    public void overlapping_ignoresTouchingSlotsOtherDaysAndTheEditedCourse() {
+        ConflictDetector detector = new ConflictDetector(Arrays.asList(
+                interval(1, 1, 480, 570),    // Lundi 08:00-09:30
+                interval(2, 1, 570, 660),    // Lundi 09:30-11:00 : se touchent seulement
+                interval(3, 1, 540, 600),    // Lundi 09:00-10:00
+                interval(4, 2, 480, 570),    // Mardi
+                interval(5, 1, 600, 600)));  // Heures invalides (durée nulle)
+
+        assertEquals(Arrays.asList(1L, 3L), ids(detector.overlapping(1, 500, 560, -1)));
+        assertEquals(Arrays.asList(3L), ids(detector.overlapping(1, 480, 570, 1)));
+        assertTrue(detector.overlapping(1, 660, 720, -1).isEmpty());
+        assertTrue(detector.overlapping(8, 0, 1440, -1).isEmpty());
+
+        ConflictReport report = detector.report(10);
+        assertEquals(2, report.getTotal()); // 1/3 et 3/2
+        assertEquals(540, report.getConflicts().get(0).getOverlapStart());
+        assertEquals(570, report.getConflicts().get(0).getOverlapEnd());
+    }
+
+    @Test
+    public void queriesAndSweep_matchBruteForce() {
+        Random random = new Random(7);
+        List<CourseInterval> intervals = randomIntervals(random, 2_000, 240);
+        ConflictDetector detector = new ConflictDetector(intervals);
+
+        for (int q = 0; q < 500; q++) {
+            int day = 1 + random.nextInt(7);
+            int start = random.nextInt(1440);
+            int end = start + 1 + random.nextInt(180);
+            List<Long> expected = new ArrayList<>();
+            for (CourseInterval interval : intervals) {
+                if (interval.getDayOfWeek() == day && interval.getStartMinute() < end
+                        && interval.getEndMinute() > start) {
+                    expected.add(interval.getId());
+                }
+            }
+            List<Long> actual = ids(detector.overlapping(day, start, end, -1));
+            actual.sort(null);
+            expected.sort(null);
+            assertEquals(expected, actual);
+        }
+
+        long pairs = 0;
+        for (int i = 0; i < intervals.size(); i++) {
+            for (int j = i + 1; j < intervals.size(); j++) {
+                CourseInterval a = intervals.get(i);
+                CourseInterval b = intervals.get(j);
+                if (a.getDayOfWeek() == b.getDayOfWeek() && a.getStartMinute() < b.getEndMinute()
+                        && b.getStartMinute() < a.getEndMinute()) {
+                    pairs++;
+                }
+            }
+        }
+        assertEquals(pairs, detector.report(0).getTotal());
+    }
+
+    // Arbre d'intervalles face au parcours linéaire sur 100 000 créneaux (-Pbenchmarks)
+    @Test
+    public void benchmark_100kIntervals() {
+        Benchmarks.assumeEnabled();
+        Random random = new Random(42);
+        int rows = 100_000;
+        List<CourseInterval> intervals = randomIntervals(random, rows, 10);
+
+        long buildStart = System.nanoTime();
+        ConflictDetector detector = new ConflictDetector(intervals);
+        long buildMs = (System.nanoTime() - buildStart) / 1_000_000;
+
+        int[][] queries = new int[1_000][];
+        for (int i = 0; i < queries.length; i++) {
+            int start = random.nextInt(1430);
+            queries[i] = new int[]{1 + random.nextInt(7), start, start + 10};
+        }
+        for (int i = 0; i < 2_000; i++) { // Chauffe du JIT
+            int[] q = queries[i % queries.length];
+            detector.overlapping(q[0], q[1], q[2], -1);
+        }
+
+        long found = 0;
+        long treeStart = System.nanoTime();
+        for (int[] q : queries) {
+            found += detector.overlapping(q[0], q[1], q[2], -1).size();
+        }
+        double treeUs = (System.nanoTime() - treeStart) / 1e3 / queries.length;
+
+        // Référence : parcours linéaire de tous les créneaux
+        long scanned = 0;
+        long scanStart = System.nanoTime();
+        for (int[] q : queries) {
+            for (CourseInterval interval : intervals) {
+                if (interval.getDayOfWeek() == q[0] && interval.getStartMinute() < q[2]
+                        && interval.getEndMinute() > q[1]) {
+                    scanned++;
+                }
+            }
+        }
+        double scanUs = (System.nanoTime() - scanStart) / 1e3 / queries.length;
+        assertEquals(scanned, found);
+
+        long sweepStart = System.nanoTime();
+        long total = detector.report(200).getTotal();
+        long sweepMs = (System.nanoTime() - sweepStart) / 1_000_000;
+
+        System.out.println("ConflictDetector " + rows + " créneaux : construction " + buildMs
+                + " ms, requête " + String.format("%.1f", treeUs) + " µs (parcours linéaire "
+                + String.format("%.1f", scanUs) + " µs), balayage complet " + sweepMs + " ms pour "
+                + total + " chevauchements");
+    }
+
+    // Créneaux de 1 à maxDuration minutes répartis sur la semaine
+    private static List<CourseInterval> randomIntervals(Random random, int count, int maxDuration) {
+        List<CourseInterval> intervals = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int start = random.nextInt(1440 - maxDuration);
+            intervals.add(interval(i + 1, 1 + random.nextInt(7), start, start + 1 + random.nextInt(maxDuration)));
+        }
+        return intervals;
+    }
+
+    private static List<Long> ids(List<CourseInterval> intervals) {
+        List<Long> ids = new ArrayList<>();
+        for (CourseInterval interval : intervals) {
+            ids.add(interval.getId());
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,189 @@
+package com.example.studentagenda.data.export;
+
+import com.example.studentagenda.Benchmarks;
+import com.example.studentagenda.data.entity.Course;
+import com.example.studentagenda.data.importer.CourseImporter;
+import com.example.studentagenda.data.importer.ImportStats;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Aller-retour export en flux / relecture par les importeurs, pour chaque format.
+ */
+public class CourseExportTest {
+
+    private static final ZoneId PARIS = ZoneId.of("Europe/Paris");
+    private static final LocalDate WEEK = LocalDate.of(2024, 1, 15); // Lundi
+
+    private static Course course(long id, String name, String professor, String room, Course.CourseType type,
+                                 int day, String start, String end, boolean notification) {
+        Course course = new Course(id, name, professor, room, type, day, start, end, notification);
+        course.refreshDerivedFields();
+        return course;
+    }
+
+    private static List<Course> sample() {
+        List<Course> courses = new ArrayList<>();
+        courses.add(course(1, "Analyse, chapitre 1; limites", "Mme Durand", "Amphi A", Course.CourseType.CM,
+                1, "08:00", "10:00", true));
+        courses.add(course(2, "Programmation \"objet\"\\Java", "M. Martin", "B12", Course.CourseType.TP,
+                3, "14:00", "17:30", false));
+        courses.add(course(3, "Réseaux — ответ 日本語 🎓 " + "x".repeat(120), "Mme Durand", "Amphi A",
+                Course.CourseType.TD, 7, "18:15", "19:45", true));
+        return courses;
+    }
+
+    private static byte[] export(CourseImporter.Format format, List<Course> courses) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        CourseStreamWriter writer = CourseExporter.newWriter(format, out, PARIS, WEEK);
+        writer.begin();
+        Course reused = new Course(); // Comme CourseCursorReader : un seul objet pour toutes les lignes
+        for (Course course : courses) {
+            copy(course, reused);
+            writer.write(reused);
+        }
+        writer.end();
+        return out.toByteArray();
+    }
+
+    private static void copy(Course from, Course to) {
+        to.setId(from.getId());
+        to.setName(from.getName());
+        to.setProfessor(from.getProfessor());
+        to.setRoom(from.getRoom());
+        to.setType(from.getType());
+        to.setDayOfWeek(from.getDayOfWeek());
+        to.setStartTime(from.getStartTime());
+        to.setEndTime(from.getEndTime());
+        to.setStartMinute(from.getStartMinute());
+        to.setEndMinute(from.getEndMinute());
+        to.setNotificationEnabled(from.isNotificationEnabled());
+    }
+
+    private static List<Course> reimport(CourseImporter.Format format, byte[] data) throws IOException {
+        List<Course> courses = new ArrayList<>();
+        ImportStats stats = CourseImporter.importCourses(new ByteArrayInputStream(data), format, PARIS,
+                courses::addAll, null);
+        assertEquals(0, stats.getSkipped());
+        return courses;
+    }
+
+    private static void assertSameCourses(List<Course> expected, List<Course> actual, boolean idsKept) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            Course e = expected.get(i);
+            Course a = actual.get(i);
+            assertEquals(idsKept ? e.getId() : 0, a.getId());
+            assertEquals(e.getName(), a.getName());
+            assertEquals(e.getProfessor(), a.getProfessor());
+            assertEquals(e.getRoom(), a.getRoom());
+            assertEquals(e.getType(), a.getType());
+            assertEquals(e.getDayOfWeek(), a.getDayOfWeek());
+            assertEquals(e.getStartTime(), a.getStartTime());
+            assertEquals(e.getEndTime(), a.getEndTime());
+            assertEquals(e.isNotificationEnabled(), a.isNotificationEnabled());
+        }
+    }
+
+    @Test
+    public void ics_roundTrip() throws IOException {
+        byte[] ics = export(CourseImporter.Format.ICS, sample());
+
+        String text = new String(ics, StandardCharsets.UTF_8);
+        for (String line : text.split("\r\n")) {
+            assertTrue("Ligne trop longue : " + line, line.getBytes(StandardCharsets.UTF_8).length <= 75);
+        }
+        assertTrue(text.contains("RRULE:FREQ=WEEKLY;BYDAY=WE"));
+        assertSameCourses(sample(), reimport(CourseImporter.Format.ICS, ics), false); // UID non relu
+    }
+
+    @Test
+    public void json_roundTrip() throws IOException {
+        byte[] json = export(CourseImporter.Format.JSON, sample());
+        assertSameCourses(sample(), reimport(CourseImporter.Format.JSON, json), true);
+    }
+
+    @Test
+    public void binary_roundTrip_andDictionaryEncodesRepeatedStrings() throws IOException {
+        byte[] binary = export(CourseImporter.Format.BINARY, sample());
+        assertSameCourses(sample(), reimport(CourseImporter.Format.BINARY, binary), true);
+
+        // "Mme Durand" et "Amphi A" ne sont écrits en clair qu'une fois
+        String raw = new String(binary, StandardCharsets.ISO_8859_1);
+        assertEquals(raw.indexOf("Mme Durand"), raw.lastIndexOf("Mme Durand"));
+        assertEquals(raw.indexOf("Amphi A"), raw.lastIndexOf("Amphi A"));
+    }
+
+    @Test
+    public void json_unknownKeysAndNullsAreTolerated() throws IOException {
+        String json = "{\"app\":{\"name\":\"x\",\"tags\":[1,2.5,null]},\"courses\":["
+                + "{\"name\":\"Algèbre\\u0020L1\",\"professor\":null,\"dayOfWeek\":2,"
+                + "\"startTime\":\"09:00\",\"endTime\":\"11:00\",\"extra\":true},"
+                + "{\"name\":\"\",\"dayOfWeek\":2,\"startTime\":\"09:00\",\"endTime\":\"11:00\"}]}";
+        List<Course> courses = new ArrayList<>();
+        ImportStats stats = CourseImporter.importCourses(
+                new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)),
+                CourseImporter.Format.JSON, PARIS, courses::addAll, null);
+
+        assertEquals(1, courses.size());
+        assertEquals("Algèbre L1", courses.get(0).getName());
+        assertNull(courses.get(0).getProfessor());
+        assertEquals(1, stats.getSkipped());
+    }
+
+    @Test(expected = IOException.class)
+    public void binary_truncatedFile_isRejected() throws IOException {
+        byte[] binary = export(CourseImporter.Format.BINARY, sample());
+        byte[] truncated = new byte[binary.length / 2];
+        System.arraycopy(binary, 0, truncated, 0, truncated.length);
+        reimport(CourseImporter.Format.BINARY, truncated);
+    }
+
+    // Taille et durées d'export/relecture de 50 000 cours par format (-Pbenchmarks)
+    @Test
+    public void benchmarkFormats() throws IOException {
+        Benchmarks.assumeEnabled();
+        List<Course> courses = new ArrayList<>();
+        for (int i = 0; i < 50_000; i++) {
+            int start = 8 * 60 + (i % 20) * 30;
+            courses.add(course(i + 1, "Cours " + i, "Professeur " + i % 200, "Salle " + i % 150,
+                    Course.CourseType.values()[i % 4], 1 + i % 7,
+                    String.format("%02d:%02d", start / 60, start % 60),
+                    String.format("%02d:%02d", (start + 90) / 60, (start + 90) % 60), i % 3 != 0));
+        }
+
+        CourseImporter.Format[] formats = {
+                CourseImporter.Format.ICS, CourseImporter.Format.JSON, CourseImporter.Format.BINARY
+        };
+        int[] sizes = new int[formats.length];
+        for (int round = 0; round < 3; round++) { // Deux tours de préchauffage
+            for (int f = 0; f < formats.length; f++) {
+                long t0 = System.nanoTime();
+                byte[] data = export(formats[f], courses);
+                long t1 = System.nanoTime();
+                int[] count = {0};
+                CourseImporter.importCourses(new ByteArrayInputStream(data), formats[f], PARIS,
+                        chunk -> count[0] += chunk.size(), null);
+                long t2 = System.nanoTime();
+                assertEquals(courses.size(), count[0]);
+
+                if (round == 2) {
+                    sizes[f] = data.length;
+                    System.out.println(formats[f] + " : " + data.length / 1024 + " Kio, export "
+                            + (t1 - t0) / 1_000_000 + " ms, import " + (t2 - t1) / 1_000_000 + " ms");
+                }
+            }
+        }
+
+        assertTrue(sizes[2] < sizes[1] / 2); // Binaire nettement plus compact que JSON
+    }
+}
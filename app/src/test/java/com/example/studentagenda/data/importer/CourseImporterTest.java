@@ -0,0 +1,228 @@
+package com.example.studentagenda.data.importer;
+
+import com.example.studentagenda.Benchmarks;
+import com.example.studentagenda.data.entity.Course;
+import java.io.BufferedWriter;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.StringReader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Import en flux CSV et iCalendar ; les lots sont écrits dans une liste au lieu de la base.
+ */
+public class CourseImporterTest {
+
+    private static final ZoneId PARIS = ZoneId.of("Europe/Paris");
+
+    // Cours reçus et motifs de rejet
+    private static final class CollectingSink implements CourseSink {
+        final List<Course> courses = new ArrayList<>();
+        final List<String> skipped = new ArrayList<>();
+
+        @Override
+        public void accept(Course course) {
+            courses.add(course);
+        }
+
+        @Override
+        public void skip(long line, String reason) {
+            skipped.add(line + ": " + reason);
+        }
+    }
+
+    private static CollectingSink parseCsv(String csv) throws IOException {
+        CollectingSink sink = new CollectingSink();
+        new CsvCourseParser().parse(new StringReader(csv), sink);
+        return sink;
+    }
+
+    private static CollectingSink parseIcs(String ics) throws IOException {
+        CollectingSink sink = new CollectingSink();
+        new IcsCourseParser(PARIS).parse(new StringReader(ics), sink);
+        return sink;
+    }
+
+    @Test
+    public void csv_withFrenchHeaderAndSemicolons() throws IOException {
+        CollectingSink sink = parseCsv(
+                "Jour;Début;Fin;Nom;Salle;Professeur;Type;Rappel\n"
+                        + "Lundi;08:00;10:00;\"Analyse; chapitre 1\";B12;Mme Durand;CM;oui\n"
+                        + "mercredi;14h;15h30;Réseaux;\"Salle \"\"A\"\"\";M. Martin;TP;non\n");
+
+        assertEquals(2, sink.courses.size());
+        Course first = sink.courses.get(0);
+        assertEquals("Analyse; chapitre 1", first.getName());
+        assertEquals(1, first.getDayOfWeek());
+        assertEquals("08:00", first.getStartTime());
+        assertEquals(Course.CourseType.CM, first.getType());
+        assertTrue(first.isNotificationEnabled());
+
+        Course second = sink.courses.get(1);
+        assertEquals(3, second.getDayOfWeek());
+        assertEquals("15:30", second.getEndTime());
+        assertEquals("Salle \"A\"", second.getRoom());
+        assertFalse(second.isNotificationEnabled());
+    }
+
+    @Test
+    public void csv_withoutHeader_usesDefaultOrder_andSkipsInvalidRows() throws IOException {
+        CollectingSink sink = parseCsv(
+                "Algèbre,Dupont,A1,TD,2,09:00,11:00\r\n"
+                        + "\r\n"
+                        + "Sans jour,Dupont,A1,TD,9,09:00,11:00\r\n"
+                        + "Fin avant début,Dupont,A1,TD,3,11:00,09:00\r\n");
+
+        assertEquals(1, sink.courses.size());
+        assertEquals(2, sink.courses.get(0).getDayOfWeek());
+        assertEquals(2, sink.skipped.size());
+    }
+
+    @Test
+    public void ics_weeklyRule_foldedLines_andTimeZones() throws IOException {
+        CollectingSink sink = parseIcs("BEGIN:VCALENDAR\r\n"
+                + "BEGIN:VEVENT\r\n"
+                + "SUMMARY:TD Programmation\r\n"
+                + "  objet\r\n"
+                + "LOCATION:Salle B\\, 2e étage\r\n"
+                + "ORGANIZER;CN=\"Mme Leroy\":mailto:leroy@example.org\r\n"
+                + "DTSTART;TZID=Europe/Paris:20240115T083000\r\n"
+                + "DTEND;TZID=Europe/Paris:20240115T100000\r\n"
+                + "RRULE:FREQ=WEEKLY;BYDAY=MO,TH;UNTIL=20240630T000000Z\r\n"
+                + "END:VEVENT\r\n"
+                + "BEGIN:VEVENT\r\n"
+                + "SUMMARY:Amphi\r\n"
+                + "DTSTART:20240116T130000Z\r\n" // 14:00 à Paris (UTC+1)
+                + "DURATION:PT1H30M\r\n"
+                + "END:VEVENT\r\n"
+                + "END:VCALENDAR\r\n");
+
+        assertEquals(3, sink.courses.size());
+        Course monday = sink.courses.get(0);
+        assertEquals("TD Programmation objet", monday.getName());
+        assertEquals("Salle B, 2e étage", monday.getRoom());
+        assertEquals("Mme Leroy", monday.getProfessor());
+        assertEquals(Course.CourseType.TD, monday.getType());
+        assertEquals(1, monday.getDayOfWeek());
+        assertEquals(4, sink.courses.get(1).getDayOfWeek());
+
+        Course single = sink.courses.get(2);
+        assertEquals(2, single.getDayOfWeek());
+        assertEquals("14:00", single.getStartTime());
+        assertEquals("15:30", single.getEndTime());
+    }
+
+    @Test
+    public void ics_repeatedSessions_createOneCourse_andUnsupportedEventsAreSkipped() throws IOException {
+        StringBuilder ics = new StringBuilder("BEGIN:VCALENDAR\n");
+        for (int week = 0; week < 3; week++) { // Export "une séance par semaine"
+            ics.append("BEGIN:VEVENT\nSUMMARY:CM Physique\nLOCATION:Amphi A\n")
+                    .append("DTSTART:202401").append(15 + week * 7).append("T080000\n")
+                    .append("DTEND:202401").append(15 + week * 7).append("T100000\nEND:VEVENT\n");
+        }
+        ics.append("BEGIN:VEVENT\nSUMMARY:Examen\nDTSTART;VALUE=DATE:20240120\nEND:VEVENT\n")
+                .append("BEGIN:VEVENT\nSUMMARY:Réunion\nDTSTART:20240115T080000\nDTEND:20240115T090000\n")
+                .append("RRULE:FREQ=MONTHLY\nEND:VEVENT\n")
+                .append("END:VCALENDAR\n");
+
+        CollectingSink sink = parseIcs(ics.toString());
+
+        assertEquals(1, sink.courses.size());
+        assertEquals(4, sink.skipped.size()); // 2 séances répétées + journée entière + mensuel
+    }
+
+    @Test
+    public void chunkedWriter_writesFixedSizeChunks_andReportsProgress() throws IOException {
+        List<Integer> chunkSizes = new ArrayList<>();
+        List<Long> progress = new ArrayList<>();
+        ChunkedCourseWriter writer = new ChunkedCourseWriter(chunk -> chunkSizes.add(chunk.size()),
+                stats -> progress.add(stats.getImported()), 2);
+
+        new CsvCourseParser().parse(new StringReader("nom,jour,debut,fin\n"
+                + "A,1,08:00,09:00\nB,2,08:00,09:00\nC,3,08:00,09:00\nD,4,08:00,09:00\nE,5,08:00,09:00\n"), writer);
+        ImportStats stats = writer.finish();
+
+        assertEquals(List.of(2, 2, 1), chunkSizes);
+        assertEquals(List.of(2L, 4L, 5L), progress);
+        assertEquals(5, stats.getImported());
+        assertEquals(3, stats.getChunks());
+    }
+
+    @Test
+    public void importer_skipsByteOrderMark() throws IOException {
+        byte[] csv = "\uFEFFnom,jour,debut,fin\nA,1,08:00,09:00\n".getBytes(StandardCharsets.UTF_8);
+        List<Course> written = new ArrayList<>();
+        ImportStats stats = CourseImporter.importCourses(new ByteArrayInputStream(csv),
+                CourseImporter.Format.CSV, PARIS, written::addAll, null);
+
+        assertEquals(1, stats.getImported());
+        assertEquals("A", written.get(0).getName());
+        assertEquals(480, written.get(0).getStartMinute()); // Colonnes dérivées calculées
+    }
+
+    @Test
+    public void largeIcsFile_isImportedInBoundedChunks() throws IOException {
+        ImportStats stats = importGeneratedIcs(10 * ChunkedCourseWriter.DEFAULT_CHUNK_SIZE);
+        assertEquals(10, stats.getChunks());
+    }
+
+    // Débit sur 100 000 événements (-Pbenchmarks)
+    @Test
+    public void benchmarkLargeIcsImport() throws IOException {
+        Benchmarks.assumeEnabled();
+        ImportStats stats = importGeneratedIcs(100_000);
+        System.out.println("Import ICS : " + stats);
+    }
+
+    // Événements hebdomadaires générés : lecture en flux et lots bornés
+    private static ImportStats importGeneratedIcs(int events) throws IOException {
+        File file = File.createTempFile("timetable", ".ics");
+        try {
+            try (Writer out = new BufferedWriter(new OutputStreamWriter(
+                    Files.newOutputStream(file.toPath()), StandardCharsets.UTF_8))) {
+                out.write("BEGIN:VCALENDAR\r\nVERSION:2.0\r\n");
+                String[] days = {"MO", "TU", "WE", "TH", "FR", "SA", "SU"};
+                for (int i = 0; i < events; i++) {
+                    int hour = 8 + i % 10;
+                    out.write("BEGIN:VEVENT\r\nUID:" + i + "@example.org\r\n"
+                            + "SUMMARY:CM Cours " + i + "\r\nLOCATION:Salle " + i % 300 + "\r\n"
+                            + "DTSTART;TZID=Europe/Paris:20240115T" + (hour < 10 ? "0" : "") + hour + "0000\r\n"
+                            + "DTEND;TZID=Europe/Paris:20240115T" + (hour + 1 < 10 ? "0" : "") + (hour + 1) + "3000\r\n"
+                            + "RRULE:FREQ=WEEKLY;BYDAY=" + days[i % 7] + "\r\nEND:VEVENT\r\n");
+                }
+                out.write("END:VCALENDAR\r\n");
+            }
+
+            int[] largestChunk = {0};
+            long[] written = {0};
+            ImportStats stats;
+            try (InputStream in = new FileInputStream(file)) {
+                stats = CourseImporter.importCourses(in, CourseImporter.Format.ICS, PARIS, chunk -> {
+                    largestChunk[0] = Math.max(largestChunk[0], chunk.size());
+                    written[0] += chunk.size(); // Lot non conservé, comme après une transaction
+                }, null);
+            }
+
+            assertEquals(events, stats.getImported());
+            assertEquals(events, written[0]);
+            assertEquals(0, stats.getSkipped());
+            assertEquals(events / ChunkedCourseWriter.DEFAULT_CHUNK_SIZE, stats.getChunks());
+            assertEquals(ChunkedCourseWriter.DEFAULT_CHUNK_SIZE, largestChunk[0]);
+            return stats;
+        } finally {
+            assertTrue(file.delete());
+        }
+    }
+}
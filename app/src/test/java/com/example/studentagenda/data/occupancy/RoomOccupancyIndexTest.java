@@ -0,0 +1,195 @@
+package com.example.studentagenda.data.occupancy;
+
+import com.example.studentagenda.Benchmarks;
+import com.example.studentagenda.data.entity.RoomBooking;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Index d'occupation des salles : masques de créneaux, mises à jour et comparaison avec un parcours des cours.
+ */
+public class RoomOccupancyIndexTest {
+
+    private static final int TUESDAY = 2;
+
+    private static RoomBooking booking(long id, long roomId, int day, int start, int end) {
+        return new RoomBooking(id, roomId, day, start, end);
+    }
+
+    @Test
+    public void freeRooms_onTuesdayAfternoon() {
+        RoomOccupancyIndex index = new RoomOccupancyIndex();
+        index.setRooms(new HashSet<>(Arrays.asList(10L, 20L, 30L, 40L)));
+        index.put(booking(1, 10, TUESDAY, 13 * 60, 14 * 60));      // Se termine à 14:00 : libre après
+        index.put(booking(2, 20, TUESDAY, 15 * 60, 16 * 60 + 30)); // Chevauche
+        index.put(booking(3, 30, TUESDAY + 1, 14 * 60, 16 * 60));  // Autre jour
+
+        List<Long> free = index.freeRooms(TUESDAY, 14 * 60, 16 * 60);
+        Collections.sort(free);
+        assertEquals(Arrays.asList(10L, 30L, 40L), free);
+        assertTrue(index.isFree(10, TUESDAY, 14 * 60, 16 * 60));
+        assertFalse(index.isFree(20, TUESDAY, 16 * 60, 17 * 60));
+    }
+
+    @Test
+    public void removeAndMove_updateOnlyTheRoomDay() {
+        RoomOccupancyIndex index = new RoomOccupancyIndex();
+        index.put(booking(1, 10, TUESDAY, 8 * 60, 10 * 60));
+        index.put(booking(2, 10, TUESDAY, 9 * 60, 11 * 60)); // Même salle, créneaux qui se recouvrent
+
+        index.remove(1);
+        assertTrue(index.isFree(10, TUESDAY, 8 * 60, 9 * 60));
+        assertFalse(index.isFree(10, TUESDAY, 9 * 60, 10 * 60)); // Toujours occupé par le cours 2
+
+        index.put(booking(2, 20, TUESDAY, 9 * 60, 11 * 60)); // Cours déplacé dans une autre salle
+        assertTrue(index.isFree(10, TUESDAY, 0, 24 * 60));
+        assertFalse(index.isFree(20, TUESDAY, 10 * 60, 10 * 60 + 5));
+
+        index.retainOnly(Collections.emptySet());
+        assertTrue(index.isFree(20, TUESDAY, 0, 24 * 60));
+    }
+
+    @Test
+    public void freeSlots_roundCoursesOutwardToFiveMinutes() {
+        RoomOccupancyIndex index = new RoomOccupancyIndex();
+        index.put(booking(1, 10, TUESDAY, 8 * 60 + 2, 9 * 60 + 58)); // 08:02-09:58 -> 08:00-10:00
+        index.put(booking(2, 10, TUESDAY, 12 * 60, 13 * 60));
+
+        List<FreeSlot> slots = index.freeSlots(10, TUESDAY, 30);
+        assertEquals("[00:00-08:00, 10:00-12:00, 13:00-24:00]", slots.toString());
+        assertEquals(2, index.freeSlots(10, TUESDAY, 8 * 60).size()); // Seuls 00:00-08:00 et 13:00-24:00
+        assertEquals(1, index.freeSlots(10, TUESDAY + 1, 0).size()); // Journée entière
+    }
+
+    @Test
+    public void freeRooms_outsideTheDay_isClampedOrEmpty() {
+        RoomOccupancyIndex index = build(2, Collections.singletonList(booking(1, 0, TUESDAY, 0, 60)));
+
+        assertTrue(index.freeRooms(TUESDAY, -30, 0).isEmpty());
+        assertTrue(index.freeRooms(TUESDAY, 1440, 1500).isEmpty());
+        assertEquals(Collections.singletonList(1L), index.freeRooms(TUESDAY, -30, 30));
+        assertEquals(Arrays.asList(0L, 1L), index.freeRooms(TUESDAY, 1380, 1500));
+    }
+
+    @Test
+    public void freeRooms_matchBruteForce() {
+        Random random = new Random(3);
+        List<RoomBooking> bookings = randomBookings(random, 300, 5_000);
+        RoomOccupancyIndex index = build(300, bookings);
+
+        for (int q = 0; q < 500; q++) {
+            int day = 1 + random.nextInt(7);
+            int start = 5 * random.nextInt(280);
+            int end = Math.min(1440, start + 5 * (1 + random.nextInt(36)));
+            assertEquals(bruteForce(300, bookings, day, start, end), index.freeRooms(day, start, end));
+        }
+    }
+
+    // 5 000 salles et 100 000 cours : requêtes et mises à jour (-Pbenchmarks)
+    @Test
+    public void benchmark_thousandsOfRooms() {
+        Benchmarks.assumeEnabled();
+        Random random = new Random(42);
+        int rooms = 5_000;
+        List<RoomBooking> bookings = randomBookings(random, rooms, 100_000);
+
+        long buildStart = System.nanoTime();
+        RoomOccupancyIndex index = build(rooms, bookings);
+        long buildMs = (System.nanoTime() - buildStart) / 1_000_000;
+
+        int[][] queries = new int[1_000][];
+        for (int i = 0; i < queries.length; i++) {
+            int start = 8 * 60 + 5 * random.nextInt(120);
+            queries[i] = new int[]{1 + random.nextInt(7), start, start + 120};
+        }
+        for (int i = 0; i < 2_000; i++) { // Chauffe du JIT
+            int[] q = queries[i % queries.length];
+            index.freeRooms(q[0], q[1], q[2]);
+        }
+
+        long found = 0;
+        long indexStart = System.nanoTime();
+        for (int[] q : queries) {
+            found += index.freeRooms(q[0], q[1], q[2]).size();
+        }
+        double indexUs = (System.nanoTime() - indexStart) / 1e3 / queries.length;
+
+        long expected = 0;
+        long scanStart = System.nanoTime();
+        for (int[] q : queries) {
+            expected += bruteForce(rooms, bookings, q[0], q[1], q[2]).size();
+        }
+        double scanUs = (System.nanoTime() - scanStart) / 1e3 / queries.length;
+        assertEquals(expected, found);
+
+        long updateStart = System.nanoTime();
+        for (int i = 0; i < 1_000; i++) { // Déplacement d'un cours : retrait + ajout
+            RoomBooking old = bookings.get(i);
+            index.put(booking(old.getId(), random.nextInt(rooms), old.getDayOfWeek(),
+                    old.getStartMinute(), old.getEndMinute()));
+        }
+        double updateUs = (System.nanoTime() - updateStart) / 1e3 / 1_000;
+
+        System.out.println("RoomOccupancyIndex " + rooms + " salles, " + bookings.size() + " cours : construction "
+                + buildMs + " ms, salles libres " + String.format("%.1f", indexUs) + " µs (parcours des cours "
+                + String.format("%.1f", scanUs) + " µs), mise à jour " + String.format("%.2f", updateUs) + " µs");
+    }
+
+    // Cours de 30 minutes à 3 heures, entre 08:00 et 20:00
+    private static List<RoomBooking> randomBookings(Random random, int rooms, int count) {
+        List<RoomBooking> bookings = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int start = 8 * 60 + 5 * random.nextInt(144);
+            int end = Math.min(20 * 60, start + 30 + random.nextInt(151));
+            bookings.add(booking(i + 1, random.nextInt(rooms), 1 + random.nextInt(7), start, Math.max(end, start + 5)));
+        }
+        return bookings;
+    }
+
+    private static RoomOccupancyIndex build(int rooms, List<RoomBooking> bookings) {
+        RoomOccupancyIndex index = new RoomOccupancyIndex();
+        Set<Long> roomIds = new HashSet<>();
+        for (long room = 0; room < rooms; room++) {
+            roomIds.add(room);
+        }
+        index.setRooms(roomIds);
+        for (RoomBooking booking : bookings) {
+            index.put(booking);
+        }
+        return index;
+    }
+
+    // Référence : salles (ids 0..rooms-1) dont aucun cours ne chevauche le créneau (arrondi à 5 minutes)
+    private static List<Long> bruteForce(int rooms, List<RoomBooking> bookings, int day, int start, int end) {
+        boolean[] busy = new boolean[rooms];
+        for (RoomBooking booking : bookings) {
+            if (booking.getDayOfWeek() == day && roundDown(booking.getStartMinute()) < roundUp(end)
+                    && roundUp(booking.getEndMinute()) > roundDown(start)) {
+                busy[(int) booking.getRoomId()] = true;
+            }
+        }
+        List<Long> free = new ArrayList<>();
+        for (int room = 0; room < rooms; room++) {
+            if (!busy[room]) {
+                free.add((long) room);
+            }
+        }
+        return free;
+    }
+
+    private static int roundDown(int minute) {
+        return minute / 5 * 5;
+    }
+
+    private static int roundUp(int minute) {
+        return (minute + 4) / 5 * 5;
+    }
+}
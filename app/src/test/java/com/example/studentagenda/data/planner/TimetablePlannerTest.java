@@ -0,0 +1,169 @@
+package com.example.studentagenda.data.planner;
+
+import com.example.studentagenda.Benchmarks;
+import com.example.studentagenda.data.entity.Course;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Générateur d'emplois du temps : contraintes, classement, recherche parallèle, annulation et budget.
+ */
+public class TimetablePlannerTest {
+
+    private final ForkJoinPool pool = new ForkJoinPool(4);
+    private final ForkJoinPool singleThread = new ForkJoinPool(1);
+
+    @After
+    public void tearDown() {
+        pool.shutdownNow();
+        singleThread.shutdownNow();
+    }
+
+    private static long nextId = 1;
+
+    private static Course course(String name, Course.CourseType type, int day, String start, String end) {
+        Course course = new Course(nextId++, name, null, null, type, day, start, end, false);
+        course.refreshDerivedFields();
+        return course;
+    }
+
+    private static PlannerResult await(PlannerRun run) throws Exception {
+        return run.getResult().get(10, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void onePerSubjectAndType_withoutOverlap() throws Exception {
+        Course cm = course("Maths", Course.CourseType.CM, 1, "08:00", "10:00");
+        Course tdMonday = course("Maths", Course.CourseType.TD, 1, "09:00", "11:00");  // Chevauche le CM
+        Course tdTuesday = course("Maths", Course.CourseType.TD, 2, "08:00", "10:00"); // Chevauche la physique
+        Course tdWednesday = course("Maths", Course.CourseType.TD, 3, "14:00", "16:00");
+        Course physics = course("Physique", Course.CourseType.TD, 2, "09:00", "11:00");
+
+        PlannerResult result = await(new TimetablePlanner(pool).plan(
+                Arrays.asList(cm, tdMonday, tdTuesday, tdWednesday, physics), PlanPreferences.DEFAULT, 10, 0));
+
+        assertTrue(result.isComplete());
+        assertEquals(1, result.getPlans().size());
+        assertEquals(Arrays.asList(cm, physics, tdWednesday), result.getPlans().get(0).getCourses());
+    }
+
+    @Test
+    public void plansAreRanked_freeDaysFirst_gapsPenalized() throws Exception {
+        Course cm = course("Maths", Course.CourseType.CM, 1, "08:00", "10:00");
+        Course tdFriday = course("Maths", Course.CourseType.TD, 5, "10:00", "12:00");
+        Course tdMondayLate = course("Maths", Course.CourseType.TD, 1, "14:00", "16:00"); // 4 h de trou
+        Course tdMonday = course("Maths", Course.CourseType.TD, 1, "10:00", "12:00");
+
+        PlannerResult result = await(new TimetablePlanner(pool).plan(
+                Arrays.asList(cm, tdFriday, tdMondayLate, tdMonday), PlanPreferences.DEFAULT, 10, 0));
+
+        List<TimetablePlan> plans = result.getPlans();
+        assertEquals(3, plans.size());
+        // Lundi seul : 4 jours libres ; vendredi : 3 jours libres ; lundi après-midi : 4 jours libres mais 4 h de trou
+        assertSame(tdMonday, plans.get(0).getCourses().get(1));
+        assertSame(tdFriday, plans.get(1).getCourses().get(1));
+        assertSame(tdMondayLate, plans.get(2).getCourses().get(1));
+        assertEquals(4, plans.get(0).getFreeDays());
+        assertEquals(8 * 60, plans.get(0).getEarliestStart());
+        assertEquals(4 * 60, plans.get(2).getGapMinutes());
+        assertEquals("4 jours libres, début 08:00, aucun trou", plans.get(0).describe());
+    }
+
+    @Test
+    public void parallelSearch_findsTheSamePlansAsSequential() throws Exception {
+        List<Course> candidates = syntheticSections(new Random(7), 5, 4, 5);
+
+        PlannerResult parallel = await(new TimetablePlanner(pool).plan(candidates, PlanPreferences.DEFAULT, 5, 0));
+        PlannerResult sequential = await(new TimetablePlanner(singleThread).plan(
+                candidates, PlanPreferences.DEFAULT, 5, 0));
+
+        assertTrue(parallel.isComplete() && sequential.isComplete());
+        assertFalse(sequential.getPlans().isEmpty());
+        assertEquals(sequential.getPlans().size(), parallel.getPlans().size());
+        for (int i = 0; i < sequential.getPlans().size(); i++) {
+            assertEquals(sequential.getPlans().get(i).getScore(), parallel.getPlans().get(i).getScore(), 0);
+            assertEquals(sequential.getPlans().get(i).getCourses(), parallel.getPlans().get(i).getCourses());
+        }
+    }
+
+    @Test
+    public void cancelAndBudget_returnTheBestPlansFoundSoFar() throws Exception {
+        List<Course> candidates = syntheticSections(new Random(11), 10, 12, 14);
+
+        PlannerRun run = new TimetablePlanner(pool).plan(candidates, PlanPreferences.DEFAULT, 10, 0);
+        Thread.sleep(200);
+        run.cancel();
+        assertFalse(await(run).isComplete()); // await échoue si l'annulation n'aboutit pas
+
+        PlannerResult budgeted = await(new TimetablePlanner(pool).plan(candidates, PlanPreferences.DEFAULT, 10, 300));
+        assertFalse(budgeted.isComplete());
+        assertFalse(budgeted.getPlans().isEmpty());
+    }
+
+    // Débit séquentiel et parallèle, en nœuds explorés par seconde (-Pbenchmarks)
+    @Test
+    public void benchmark_hundredsOfSections() throws Exception {
+        Benchmarks.assumeEnabled();
+        // 10 matières x (1 CM + 12 TD + 14 TP) = 270 groupes, 30 composantes
+        List<Course> candidates = syntheticSections(new Random(42), 10, 12, 14);
+        int threads = Math.max(2, Runtime.getRuntime().availableProcessors());
+        ForkJoinPool wide = new ForkJoinPool(threads);
+        try {
+            await(new TimetablePlanner(wide).plan(candidates, PlanPreferences.DEFAULT, 10, 500)); // Chauffe du JIT
+
+            PlannerResult sequential = await(new TimetablePlanner(singleThread).plan(
+                    candidates, PlanPreferences.DEFAULT, 10, 2_000));
+            PlannerResult parallel = await(new TimetablePlanner(wide).plan(
+                    candidates, PlanPreferences.DEFAULT, 10, 2_000));
+
+            System.out.println("TimetablePlanner " + candidates.size() + " groupes : 1 thread "
+                    + rate(sequential) + " nœuds/s (meilleur score " + bestScore(sequential) + "), "
+                    + threads + " threads " + rate(parallel) + " nœuds/s (meilleur score "
+                    + bestScore(parallel) + ")");
+            assertFalse(sequential.getPlans().isEmpty());
+            assertFalse(parallel.getPlans().isEmpty());
+        } finally {
+            wide.shutdownNow();
+        }
+    }
+
+    private static long rate(PlannerResult result) {
+        return result.getExploredNodes() * 1_000 / Math.max(1, result.getElapsedMs());
+    }
+
+    private static String bestScore(PlannerResult result) {
+        return result.getPlans().isEmpty() ? "-" : String.format("%.2f", result.getPlans().get(0).getScore());
+    }
+
+    // Par matière : un CM fixe (grille sans conflit), TD de 1h30 et TP de 2 h à des horaires
+    // aléatoires (demi-heures, du lundi au samedi, 08:00-20:00)
+    private static List<Course> syntheticSections(Random random, int subjects, int tds, int tps) {
+        List<Course> courses = new ArrayList<>();
+        for (int s = 0; s < subjects; s++) {
+            String name = "Matière " + s;
+            int cmStart = 8 * 60 + (s / 6) * 90;
+            courses.add(course(name, Course.CourseType.CM, 1 + s % 6, time(cmStart), time(cmStart + 90)));
+            for (int i = 0; i < tds; i++) {
+                int start = 8 * 60 + 30 * random.nextInt(21);
+                courses.add(course(name, Course.CourseType.TD, 1 + random.nextInt(6), time(start), time(start + 90)));
+            }
+            for (int i = 0; i < tps; i++) {
+                int start = 8 * 60 + 30 * random.nextInt(20);
+                courses.add(course(name, Course.CourseType.TP, 1 + random.nextInt(6), time(start), time(start + 120)));
+            }
+        }
+        return courses;
+    }
+
+    private static String time(int minute) {
+        return String.format("%02d:%02d", minute / 60, minute % 60);
+    }
+}
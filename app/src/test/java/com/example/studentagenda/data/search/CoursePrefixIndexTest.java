@@ -0,0 +1,104 @@
+package com.example.studentagenda.data.search;
+
+import com.example.studentagenda.data.entity.Course;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Index de préfixes : mises à jour incrémentales, correspondances par préfixe et classement.
+ */
+public class CoursePrefixIndexTest {
+
+    private static Course course(long id, String name, String professor, String room, int day) {
+        Course course = new Course();
+        course.setId(id);
+        course.setName(name);
+        course.setProfessor(professor);
+        course.setRoom(room);
+        course.setDayOfWeek(day);
+        course.refreshDerivedFields();
+        return course;
+    }
+
+    private static long[] ids(List<Course> courses) {
+        long[] ids = new long[courses.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = courses.get(i).getId();
+        }
+        return ids;
+    }
+
+    @Test
+    public void everyQueryWord_mustPrefixAWord() {
+        CoursePrefixIndex index = new CoursePrefixIndex();
+        index.put(course(1, "Bases de données", "M. Dupont", "B202", 1));
+        index.put(course(2, "Électronique", "Mme Lefèvre", "A101", 2));
+
+        assertArrayEquals(new long[]{1}, ids(index.search("bas don", null)));
+        assertArrayEquals(new long[]{2}, ids(index.search("ELEC lef", null))); // Casse et accents ignorés
+        assertTrue(index.search("bas lef", null).isEmpty());
+        assertTrue(index.search("ases", null).isEmpty()); // Milieu de mot : pas un préfixe
+        assertTrue(index.search("  ", null).isEmpty());
+    }
+
+    @Test
+    public void nameMatches_rankBeforeProfessorAndRoom() {
+        CoursePrefixIndex index = new CoursePrefixIndex();
+        index.put(course(1, "Droit", "M. Dupont", "Salle Marie Curie", 1));
+        index.put(course(2, "Anglais", "Mme Martin", "C3", 1));
+        index.put(course(3, "Mathématiques", "M. Nguyen", "C4", 1));
+
+        assertArrayEquals(new long[]{3, 2, 1}, ids(index.search("ma", null)));
+    }
+
+    @Test
+    public void equalScores_sortByDayThenStart_andDayFilters() {
+        CoursePrefixIndex index = new CoursePrefixIndex();
+        Course late = course(1, "Physique", "M. Dupont", "A1", 2);
+        late.setStartMinute(600);
+        Course early = course(2, "Physique TP", "M. Dupont", "A2", 2);
+        early.setStartMinute(480);
+        index.put(late);
+        index.put(early);
+        index.put(course(3, "Physique", "M. Dupont", "A3", 1));
+
+        assertArrayEquals(new long[]{3, 2, 1}, ids(index.search("phy", null)));
+        assertArrayEquals(new long[]{2, 1}, ids(index.search("phy", 2)));
+    }
+
+    @Test
+    public void put_replacesThePreviousWordsOfTheCourse() {
+        CoursePrefixIndex index = new CoursePrefixIndex();
+        Course course = course(1, "Chimie", "M. Rousseau", "A101", 1);
+        index.put(course);
+        assertTrue(index.isUpToDate(course));
+
+        Course renamed = course(1, "Économie", "M. Rousseau", "A101", 1);
+        assertFalse(index.isUpToDate(renamed));
+        index.put(renamed);
+
+        assertTrue(index.isUpToDate(renamed));
+        assertEquals(1, index.size());
+        assertTrue(index.search("chim", null).isEmpty());
+        assertArrayEquals(new long[]{1}, ids(index.search("eco", null)));
+    }
+
+    @Test
+    public void retainOnly_dropsMissingCoursesAndTheirWords() {
+        CoursePrefixIndex index = new CoursePrefixIndex();
+        index.put(course(1, "Réseaux", "Mme Durand", "B1", 1));
+        index.put(course(2, "Anglais", "Mme Moreau", "B2", 2));
+        index.put(course(3, "Réseaux avancés", "M. Lefebvre", "B3", 3));
+
+        index.retainOnly(new HashSet<>(Arrays.asList(2L, 3L)));
+
+        assertEquals(2, index.size());
+        assertFalse(index.isUpToDate(course(1, "Réseaux", "Mme Durand", "B1", 1)));
+        assertTrue(index.search("durand", null).isEmpty());
+        assertArrayEquals(new long[]{3}, ids(index.search("res", null)));
+    }
+}
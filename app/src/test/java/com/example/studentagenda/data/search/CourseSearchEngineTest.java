@@ -0,0 +1,94 @@
+package com.example.studentagenda.data.search;
+
+import com.example.studentagenda.data.entity.Course;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import static org.junit.Assert.*;
+
+/**
+ * Moteur de recherche : mises à jour par différence et repli sur la base au-delà de la limite de taille.
+ */
+@RunWith(RobolectricTestRunner.class) // Log et LiveData
+@Config(sdk = 34)
+public class CourseSearchEngineTest {
+
+    private static final long NO_AUTO_RELOAD_MS = 3_600_000; // Les tests appellent reload() eux-mêmes
+
+    // Table en mémoire qui compte les lectures complètes
+    private static class FakeSource implements CourseSearchEngine.Source {
+        final List<Course> rows = new ArrayList<>();
+        int snapshotReads;
+
+        @Override
+        public int countCourses() {
+            return rows.size();
+        }
+
+        @Override
+        public List<Course> getAllCoursesSnapshot() {
+            snapshotReads++;
+            return new ArrayList<>(rows);
+        }
+    }
+
+    private static Course course(long id, String name, String professor, String room, int day) {
+        Course course = new Course();
+        course.setId(id);
+        course.setName(name);
+        course.setProfessor(professor);
+        course.setRoom(room);
+        course.setDayOfWeek(day);
+        course.refreshDerivedFields();
+        return course;
+    }
+
+    @Test
+    public void reload_indexesChangesAndDeletions() {
+        FakeSource source = new FakeSource();
+        source.rows.add(course(1, "Électronique", "Mme Lefèvre", "A101", 1));
+        source.rows.add(course(2, "Physique", "M. Dupont", "B202", 2));
+        CourseSearchEngine engine = new CourseSearchEngine(source, NO_AUTO_RELOAD_MS, 10);
+        assertNull(engine.search("phy", null)); // Pas encore construit : le DAO répond
+
+        engine.reload();
+        assertTrue(engine.isIndexed());
+        assertEquals(1, engine.search("phy", null).size());
+
+        source.rows.set(1, course(2, "Chimie", "M. Dupont", "B202", 2));
+        source.rows.remove(0);
+        engine.reload();
+
+        assertTrue(engine.search("phy", null).isEmpty());
+        assertTrue(engine.search("elec", null).isEmpty());
+        assertEquals(2, engine.search("chim", null).get(0).getId());
+    }
+
+    @Test
+    public void overLimit_skipsTheSnapshotAndFallsBackToTheDatabase() {
+        FakeSource source = new FakeSource();
+        source.rows.add(course(1, "Droit", "M. Martin", "C1", 1));
+        source.rows.add(course(2, "Anglais", "Mme Moreau", "C2", 2));
+        CourseSearchEngine engine = new CourseSearchEngine(source, NO_AUTO_RELOAD_MS, 2);
+        engine.reload();
+        assertTrue(engine.isIndexed());
+        assertEquals(1, source.snapshotReads);
+
+        source.rows.add(course(3, "Chimie", "M. Rousseau", "C3", 3));
+        engine.reload();
+
+        assertEquals(1, source.snapshotReads); // Comptage seul, table non lue
+        assertFalse(engine.isIndexed());
+        assertNull(engine.search("droit", null));
+        assertNull(engine.fuzzySearch("droit", null, 5));
+
+        source.rows.remove(2);
+        engine.reload();
+        assertTrue(engine.isIndexed());
+        assertEquals(1, engine.search("droit", null).size());
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.studentagenda.data.search;
+
+import java.nio.charset.StandardCharsets;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Bornes des recherches par préfixe, comparées comme le fait SQLite (octets UTF-8).
+ */
+public class SearchNormalizerTest {
+
+    @Test
+    public void prefixUpperBound_incrementsTheLastCodePoint() {
+        assertEquals("lef", SearchNormalizer.prefixUpperBound("lee"));
+        assertEquals("", SearchNormalizer.prefixUpperBound("퟿")); // Saute les substituts
+        assertEquals("a😁", SearchNormalizer.prefixUpperBound("a😀")); // 😀 -> 😁
+    }
+
+    @Test
+    public void prefixUpperBound_coversKeysWithSupplementaryCharacters() {
+        String key = "cours";
+        String bound = SearchNormalizer.prefixUpperBound(key);
+        for (String value : new String[]{"cours", "cours 📚", "cours𠀀", "cours�"}) {
+            assertTrue(value, utf8Compare(value, key) >= 0 && utf8Compare(value, bound) < 0);
+        }
+        for (String value : new String[]{"court", "coura", "cour"}) {
+            assertFalse(value, utf8Compare(value, key) >= 0 && utf8Compare(value, bound) < 0);
+        }
+    }
+
+    @Test
+    public void prefixUpperBound_withoutSuccessor() {
+        String max = new String(Character.toChars(Character.MAX_CODE_POINT));
+        assertEquals("b", SearchNormalizer.prefixUpperBound("a" + max));
+        assertEquals(max, SearchNormalizer.prefixUpperBound(""));
+        assertTrue(utf8Compare("😀", max) < 0);
+    }
+
+    // Comparaison BINARY de SQLite : octets UTF-8 non signés
+    private static int utf8Compare(String a, String b) {
+        byte[] x = a.getBytes(StandardCharsets.UTF_8);
+        byte[] y = b.getBytes(StandardCharsets.UTF_8);
+        for (int i = 0; i < Math.min(x.length, y.length); i++) {
+            int diff = (x[i] & 0xFF) - (y[i] & 0xFF);
+            if (diff != 0) {
+                return diff;
+            }
+        }
+        return x.length - y.length;
+    }
+}
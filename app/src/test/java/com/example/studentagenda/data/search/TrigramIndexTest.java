@@ -0,0 +1,130 @@
+package com.example.studentagenda.data.search;
+
+import com.example.studentagenda.Benchmarks;
+import com.example.studentagenda.data.entity.Course;
+import java.util.List;
+import java.util.Random;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Recherche tolérante aux fautes : classement, suppressions et compaction du vocabulaire.
+ */
+public class TrigramIndexTest {
+
+    private static final String[] NAMES = {"Électronique", "Mathématiques", "Physique", "Algorithmique",
+            "Réseaux", "Bases de données", "Anglais", "Droit", "Économie", "Chimie"};
+    private static final String[] PROFESSORS = {"Mme Lefèvre", "M. Dupont", "Mme Bérénice Martin",
+            "M. Nguyen", "Mme Durand", "M. Rousseau", "Mme Moreau", "M. Lefebvre"};
+
+    private static Course course(long id, String name, String professor, String room, int day) {
+        Course course = new Course();
+        course.setId(id);
+        course.setName(name);
+        course.setProfessor(professor);
+        course.setRoom(room);
+        course.setDayOfWeek(day);
+        course.refreshDerivedFields();
+        return course;
+    }
+
+    @Test
+    public void typoInProfessorName_isFound() {
+        TrigramIndex index = new TrigramIndex();
+        index.put(course(1, "Électronique", "Mme Lefèvre", "A101", 1));
+        index.put(course(2, "Physique", "M. Dupont", "B202", 2));
+
+        List<FuzzyMatch> matches = index.search("Lefevbre", null, 10);
+
+        assertFalse(matches.isEmpty());
+        assertEquals(1L, matches.get(0).getCourse().getId());
+    }
+
+    @Test
+    public void closerSpelling_ranksFirst() {
+        TrigramIndex index = new TrigramIndex();
+        index.put(course(1, "Droit", "M. Lefebvre", "C1", 1));
+        index.put(course(2, "Chimie", "Mme Lefèvre", "C2", 1));
+
+        List<FuzzyMatch> matches = index.search("lefebre", null, 10);
+
+        assertEquals(2, matches.size());
+        assertEquals(1L, matches.get(0).getCourse().getId());
+        assertTrue(matches.get(0).getSimilarity() >= matches.get(1).getSimilarity());
+    }
+
+    @Test
+    public void removedAndUpdatedCourses_areNotReturned() {
+        TrigramIndex index = new TrigramIndex();
+        index.put(course(1, "Anglais", "Mme Moreau", "D1", 3));
+        index.put(course(2, "Anglais", "M. Nguyen", "D2", 4));
+        index.remove(1);
+        index.put(course(2, "Économie", "M. Nguyen", "D2", 4));
+
+        assertTrue(index.search("anglias", null, 10).isEmpty());
+        assertEquals(1, index.search("economei", null, 10).size());
+        assertEquals(0, index.search("economei", 1, 10).size()); // Filtre sur le jour
+    }
+
+    @Test
+    public void compaction_dropsWordsAndTrigramsWithoutCourses() {
+        TrigramIndex index = new TrigramIndex();
+        TrigramIndex reference = new TrigramIndex(); // Construit avec les seuls cours restants
+        index.put(course(1, "Anglais", "Mme Moreau", "D1", 3));
+        reference.put(course(1, "Anglais", "Mme Moreau", "D1", 3));
+        for (int i = 0; i < 130; i++) { // Mots propres à chaque cours
+            index.put(course(100 + i, "Option" + i, "Intervenant" + i, "Salle" + i, 1));
+            if (i >= 66) {
+                reference.put(course(100 + i, "Option" + i, "Intervenant" + i, "Salle" + i, 1));
+            }
+        }
+        int vocabularyBefore = index.vocabularySize();
+        for (int i = 0; i < 66; i++) { // Le 66e retrait dépasse la moitié : compaction
+            index.remove(100 + i);
+        }
+
+        assertTrue(index.vocabularySize() < vocabularyBefore);
+        assertEquals(reference.vocabularySize(), index.vocabularySize());
+        assertEquals(reference.trigramCount(), index.trigramCount());
+        assertEquals(1, index.search("anglias", null, 10).size());
+        assertTrue(index.search("option12", null, 1).get(0).getCourse().getId() >= 166);
+
+        index.put(course(2, "Économie", "M. Nguyen", "D2", 4)); // Index toujours utilisable après compaction
+        assertEquals(2L, index.search("economei", null, 10).get(0).getCourse().getId());
+    }
+
+    @Test
+    public void benchmark_60kCourses() {
+        Benchmarks.assumeEnabled();
+        Random random = new Random(42);
+        TrigramIndex index = new TrigramIndex();
+        int rows = 60_000;
+
+        long buildStart = System.nanoTime();
+        for (int i = 0; i < rows; i++) {
+            index.put(course(i + 1,
+                    NAMES[random.nextInt(NAMES.length)] + " " + (i % 500),
+                    PROFESSORS[random.nextInt(PROFESSORS.length)],
+                    "Salle " + (char) ('A' + random.nextInt(6)) + random.nextInt(400),
+                    1 + random.nextInt(7)));
+        }
+        long buildMs = (System.nanoTime() - buildStart) / 1_000_000;
+
+        String[] queries = {"Lefevbre", "electornique", "mathematiqe", "dupnt", "resaux", "salle b12"};
+        for (int i = 0; i < 200; i++) { // Chauffe du JIT
+            index.search(queries[i % queries.length], null, 20);
+        }
+
+        int iterations = 1_000;
+        long searchStart = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            assertFalse(index.search(queries[i % queries.length], null, 20).isEmpty());
+        }
+        double avgMs = (System.nanoTime() - searchStart) / 1e6 / iterations;
+
+        System.out.println("TrigramIndex " + rows + " cours, vocabulaire " + index.vocabularySize()
+                + " mots : construction " + buildMs + " ms, recherche moyenne "
+                + String.format("%.3f", avgMs) + " ms");
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.studentagenda.notification;
+
+import com.example.studentagenda.Benchmarks;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Prochaine occurrence des cours hebdomadaires, y compris autour des changements d'heure.
+ * En 2024 à Paris : heure d'été le dimanche 31 mars (02:00 -> 03:00),
+ * heure d'hiver le dimanche 27 octobre (03:00 -> 02:00).
+ */
+public class CourseScheduleEngineTest {
+
+    private static final ZoneId PARIS = ZoneId.of("Europe/Paris");
+    private static final int MONDAY = 1;
+    private static final int SUNDAY = 7;
+
+    private final CourseScheduleEngine engine = new CourseScheduleEngine(PARIS);
+
+    private static long at(int year, int month, int day, int hour, int minute) {
+        return ZonedDateTime.of(LocalDateTime.of(year, month, day, hour, minute), PARIS)
+                .toInstant().toEpochMilli();
+    }
+
+    private static int mow(int day, int hour, int minute) {
+        return CourseScheduleEngine.minuteOfWeek(day, hour * 60 + minute);
+    }
+
+    @Test
+    public void laterToday_isToday() {
+        // Lundi 15 janvier 2024, 07:00 -> cours du lundi 08:00 le jour même
+        long next = engine.nextOccurrence(mow(MONDAY, 8, 0), at(2024, 1, 15, 7, 0));
+        assertEquals(at(2024, 1, 15, 8, 0), next);
+    }
+
+    @Test
+    public void earlierToday_isNextWeek() {
+        // Lundi 09:00 : le cours de 08:00 est passé, prochaine occurrence lundi suivant
+        long next = engine.nextOccurrence(mow(MONDAY, 8, 0), at(2024, 1, 15, 9, 0));
+        assertEquals(at(2024, 1, 22, 8, 0), next);
+    }
+
+    @Test
+    public void exactlyAtStart_isNextWeek() {
+        long next = engine.nextOccurrence(mow(MONDAY, 8, 0), at(2024, 1, 15, 8, 0));
+        assertEquals(at(2024, 1, 22, 8, 0), next);
+    }
+
+    @Test
+    public void acrossSpringForward_keepsLocalTime() {
+        // Samedi 30 mars (UTC+1) -> lundi 1er avril 08:00 (UTC+2)
+        long next = engine.nextOccurrence(mow(MONDAY, 8, 0), at(2024, 3, 30, 12, 0));
+        assertEquals(at(2024, 4, 1, 8, 0), next);
+    }
+
+    @Test
+    public void acrossFallBack_keepsLocalTime() {
+        long next = engine.nextOccurrence(mow(MONDAY, 8, 0), at(2024, 10, 26, 12, 0));
+        assertEquals(at(2024, 10, 28, 8, 0), next);
+    }
+
+    @Test
+    public void nonexistentTime_isShiftedByGap() {
+        // Dimanche 31 mars 02:30 n'existe pas : 03:30 heure d'été
+        long next = engine.nextOccurrence(mow(SUNDAY, 2, 30), at(2024, 3, 30, 12, 0));
+        assertEquals(ZonedDateTime.of(LocalDateTime.of(2024, 3, 31, 3, 30), PARIS).toInstant().toEpochMilli(), next);
+    }
+
+    @Test
+    public void repeatedTime_firesOnceOnFirstOccurrence() {
+        // Dimanche 27 octobre 02:30 existe deux fois : la première (UTC+2) est retenue
+        long first = ZonedDateTime.of(LocalDateTime.of(2024, 10, 27, 2, 30), PARIS)
+                .withEarlierOffsetAtOverlap().toInstant().toEpochMilli();
+        long next = engine.nextOccurrence(mow(SUNDAY, 2, 30), at(2024, 10, 26, 12, 0));
+        assertEquals(first, next);
+
+        // Juste après : pas de second déclenchement à 02:30 (UTC+1), mais la semaine suivante
+        long following = engine.nextOccurrence(mow(SUNDAY, 2, 30), first);
+        assertEquals(at(2024, 11, 3, 2, 30), following);
+    }
+
+    @Test
+    public void reminderLead_isRealDurationAcrossGap() {
+        // Cours dimanche 31 mars 03:10 (UTC+2) : 15 minutes avant = 01:55 (UTC+1)
+        long reminder = engine.nextReminder(mow(SUNDAY, 3, 10), 15, at(2024, 3, 30, 12, 0));
+        assertEquals(at(2024, 3, 31, 1, 55), reminder);
+    }
+
+    @Test
+    public void reminderAlreadyPassed_butCourseNotStarted_isNextWeek() {
+        // 07:50 : le rappel de 07:45 pour le cours de 08:00 est passé
+        long reminder = engine.nextReminder(mow(MONDAY, 8, 0), 15, at(2024, 1, 15, 7, 50));
+        assertEquals(at(2024, 1, 22, 7, 45), reminder);
+    }
+
+    // Coût d'un appel sur le chemin courant, sans changement d'heure (-Pbenchmarks)
+    @Test
+    public void benchmarkNextOccurrence() {
+        Benchmarks.assumeEnabled();
+        long start = at(2024, 1, 15, 0, 0);
+        long sink = 0;
+        for (int i = 0; i < 200_000; i++) { // Préchauffage
+            sink += engine.nextOccurrence(i % CourseScheduleEngine.MINUTES_PER_WEEK, start + i * 1_000L);
+        }
+
+        int iterations = 2_000_000;
+        long t0 = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            sink += engine.nextOccurrence(i % CourseScheduleEngine.MINUTES_PER_WEEK, start + i * 100L);
+        }
+        double nanosPerCall = (System.nanoTime() - t0) / (double) iterations;
+
+        System.out.println("nextOccurrence : " + String.format("%.1f", nanosPerCall) + " ns/appel (" + sink % 10 + ")");
+    }
+}
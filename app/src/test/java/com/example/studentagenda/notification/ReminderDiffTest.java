@@ -0,0 +1,66 @@
+package com.example.studentagenda.notification;
+
+import com.example.studentagenda.data.entity.ReminderSchedule;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Différence entre rappels voulus et registre des alarmes.
+ */
+public class ReminderDiffTest {
+
+    @Test
+    public void unchangedReminders_areNotTouched() {
+        List<ReminderSchedule> registered = Arrays.asList(
+                new ReminderSchedule(1, 1_000, 11),
+                new ReminderSchedule(2, 2_000, 22));
+        List<ReminderSchedule> desired = Arrays.asList(
+                new ReminderSchedule(1, 1_000, 11),
+                new ReminderSchedule(2, 2_000, 22));
+
+        ReminderDiff diff = ReminderDiff.compute(desired, registered);
+
+        assertTrue(diff.isEmpty());
+        assertEquals(2, diff.getUnchanged());
+    }
+
+    @Test
+    public void changedTimeOrContent_isRescheduled_andRemovedIsCancelled() {
+        List<ReminderSchedule> registered = Arrays.asList(
+                new ReminderSchedule(1, 1_000, 11),
+                new ReminderSchedule(2, 2_000, 22),
+                new ReminderSchedule(3, 3_000, 33));
+        List<ReminderSchedule> desired = Arrays.asList(
+                new ReminderSchedule(1, 1_500, 11), // Heure modifiée
+                new ReminderSchedule(2, 2_000, 99), // Salle ou nom modifié
+                new ReminderSchedule(4, 4_000, 44)); // Nouveau cours
+
+        ReminderDiff diff = ReminderDiff.compute(desired, registered);
+
+        List<Long> scheduled = new ArrayList<>();
+        for (ReminderSchedule entry : diff.getToSchedule()) {
+            scheduled.add(entry.getCourseId());
+        }
+        Collections.sort(scheduled);
+        assertEquals(Arrays.asList(1L, 2L, 4L), scheduled);
+        assertEquals(Collections.singletonList(3L), diff.getToCancel());
+        assertEquals(0, diff.getUnchanged());
+    }
+
+    @Test
+    public void emptyDesired_cancelsEverything() {
+        List<ReminderSchedule> registered = Arrays.asList(
+                new ReminderSchedule(1, 1_000, 11),
+                new ReminderSchedule(2, 2_000, 22));
+
+        ReminderDiff diff = ReminderDiff.compute(new ArrayList<>(), registered);
+
+        assertEquals(2, diff.getToCancel().size());
+        assertTrue(diff.getToSchedule().isEmpty());
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.studentagenda.ui.viewmodel;
+
+import androidx.paging.PagingConfig;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Dimensionnement des pages de la liste paginée.
+ */
+public class CoursePagingTest {
+
+    @Test
+    public void pagesFollowTheNumberOfVisibleRows() {
+        // Écran de 2400 px, lignes de 300 px : 8 lignes visibles
+        PagingConfig config = CoursePaging.configFor(2400, 300);
+
+        assertTrue(config.enablePlaceholders);
+        assertEquals(8, config.prefetchDistance);
+        assertEquals(20, config.pageSize); // Minimum imposé (2 écrans = 16)
+        assertEquals(40, config.initialLoadSize);
+        assertEquals(120, config.maxSize);
+    }
+
+    @Test
+    public void smallRows_giveLargerPages_andMemoryStaysBounded() {
+        PagingConfig config = CoursePaging.configFor(3000, 100); // 30 lignes visibles
+
+        assertEquals(30, config.prefetchDistance);
+        assertEquals(60, config.pageSize);
+        assertTrue(config.maxSize >= config.pageSize + 2 * config.prefetchDistance);
+        assertTrue(config.maxSize <= 10 * config.pageSize);
+    }
+
+    @Test
+    public void partialRowCounts_andUnmeasuredScreen() {
+        assertEquals(3, CoursePaging.visibleRows(250, 100));
+        assertEquals(10, CoursePaging.visibleRows(0, 100));
+        assertEquals(10, CoursePaging.visibleRows(1000, 0));
+    }
+}